@@ -0,0 +1,150 @@
+package ca.mcgill.ecse321.hotelsystem.benchmark;
+
+import ca.mcgill.ecse321.hotelsystem.Model.*;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository.BookingInterval;
+import ca.mcgill.ecse321.hotelsystem.service.OccupancyCalendar;
+import ca.mcgill.ecse321.hotelsystem.service.RoomAvailabilityIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AvailabilityBenchmark: compares the reserved room scan that getAvailableSpecificRoomByType used to do
+ * against a lookup in the RoomAvailabilityIndex and a word-wise check of the OccupancyCalendar,
+ * for one room type and one stay.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AvailabilityBenchmark {
+
+    @Param({"70", "1000"})
+    public int rooms;
+
+    @Param({"10", "100"})
+    public int reservationsPerRoom;
+
+    private List<SpecificRoom> roomsOfType;
+    private List<ReservedRoom> reservedRooms;
+    private RoomAvailabilityIndex index;
+    private OccupancyCalendar calendar;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Room suite = new Room("Suite", 1400, BedType.King, 4);
+        Room regular = new Room("Regular", 450, BedType.Queen, 2);
+        LocalDate start = LocalDate.of(2023, 1, 1);
+
+        roomsOfType = new ArrayList<>();
+        reservedRooms = new ArrayList<>();
+        List<BookingInterval> intervals = new ArrayList<>();
+        calendar = new OccupancyCalendar(OccupancyCalendar.alignedStart(start.toEpochDay()));
+        int reservedId = 1;
+        for (int number = 0; number < rooms; number++) {
+            SpecificRoom room = new SpecificRoom(number, ViewType.Mountain, "room", true, number % 4 == 0 ? suite : regular);
+            if (room.getRoom() == suite) {
+                roomsOfType.add(room);
+            }
+            LocalDate day = start;
+            for (int i = 0; i < reservationsPerRoom; i++) {
+                day = day.plusDays(random.nextInt(5));
+                LocalDate end = day.plusDays(1 + random.nextInt(6));
+                Reservation reservation = new Reservation(2, day, end, 0, false, CheckInStatus.BeforeCheckIn, null);
+                ReservedRoom reservedRoom = new ReservedRoom(reservation, room);
+                reservedRoom.setReservedID(reservedId);
+                reservedRooms.add(reservedRoom);
+                intervals.add(new Interval(reservedId, number, day, end));
+                calendar.mark(number, day.toEpochDay(), end.toEpochDay());
+                reservedId++;
+                day = end;
+            }
+        }
+        index = new RoomAvailabilityIndex();
+        index.load(intervals);
+
+        checkIn = start.plusDays(reservationsPerRoom * 3L);
+        checkOut = checkIn.plusDays(3);
+    }
+
+    @Benchmark
+    public List<SpecificRoom> reservedRoomScan() {
+        List<SpecificRoom> specificRooms = new ArrayList<>(roomsOfType);
+        List<SpecificRoom> roomsToRemove = new ArrayList<>();
+        for (SpecificRoom room : specificRooms) {
+            for (ReservedRoom reservedRoom : reservedRooms) {
+                SpecificRoom specificRoom = reservedRoom.getSpecificRoom();
+                if (specificRoom.getNumber() == room.getNumber()) {
+                    Reservation reservation = reservedRoom.getReservation();
+                    if ((reservation.getCheckIn().isBefore(checkOut) && reservation.getCheckOut().isAfter(checkIn)) ||
+                            (reservation.getCheckIn().isEqual(checkIn) || reservation.getCheckOut().isEqual(checkOut))) {
+                        roomsToRemove.add(room);
+                        break;
+                    }
+                }
+            }
+        }
+        specificRooms.removeAll(roomsToRemove);
+        return specificRooms;
+    }
+
+    @Benchmark
+    public List<SpecificRoom> availabilityIndex() {
+        List<SpecificRoom> availableRooms = new ArrayList<>();
+        for (SpecificRoom room : roomsOfType) {
+            if (index.isAvailable(room.getNumber(), checkIn, checkOut)) {
+                availableRooms.add(room);
+            }
+        }
+        return availableRooms;
+    }
+
+    @Benchmark
+    public List<SpecificRoom> occupancyCalendar() {
+        long firstNight = checkIn.toEpochDay();
+        long end = checkOut.toEpochDay();
+        List<SpecificRoom> availableRooms = new ArrayList<>();
+        for (SpecificRoom room : roomsOfType) {
+            if (calendar.isFree(room.getNumber(), firstNight, end)) {
+                availableRooms.add(room);
+            }
+        }
+        return availableRooms;
+    }
+
+    private static class Interval implements BookingInterval {
+        private final int reservedId;
+        private final int roomNumber;
+        private final LocalDate checkIn;
+        private final LocalDate checkOut;
+
+        private Interval(int reservedId, int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+            this.reservedId = reservedId;
+            this.roomNumber = roomNumber;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+        }
+
+        public int getReservedId() {
+            return reservedId;
+        }
+
+        public int getRoomNumber() {
+            return roomNumber;
+        }
+
+        public LocalDate getCheckIn() {
+            return checkIn;
+        }
+
+        public LocalDate getCheckOut() {
+            return checkOut;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package ca.mcgill.ecse321.hotelsystem.benchmark;
+
+import ca.mcgill.ecse321.hotelsystem.HotelsystemApplication;
+import ca.mcgill.ecse321.hotelsystem.Model.*;
+import ca.mcgill.ecse321.hotelsystem.repository.*;
+import ca.mcgill.ecse321.hotelsystem.service.ReservationService;
+import ca.mcgill.ecse321.hotelsystem.service.ReservedRoomService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ListEndpointBenchmark: latency of the /reservation and /reservedRoom list endpoints over HTTP, and of building
+ * their payload in process, once by serializing the entity graphs the dtos used to embed (customer, account,
+ * reservation, specific room, room) and once from the flat dtos selected by the projection queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ListEndpointBenchmark {
+
+    private static final int FIRST_SEEDED_NUMBER = 200000;
+
+    @Param({"1000"})
+    public int reservations;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private ReservationRepository reservationRepository;
+    private ReservedRoomRepository reservedRoomRepository;
+    private ReservationService reservationService;
+    private ReservedRoomService reservedRoomService;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(HotelsystemApplication.class)
+                // command line arguments win over a local application.properties pointing at PostgreSQL
+                .run("--spring.datasource.url=jdbc:h2:mem:listendpoints;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE,DATE,VIEW,NUMBER,TYPE,USER",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--server.port=0",
+                        "--logging.level.root=warn");
+        objectMapper = context.getBean(ObjectMapper.class);
+        reservationRepository = context.getBean(ReservationRepository.class);
+        reservedRoomRepository = context.getBean(ReservedRoomRepository.class);
+        reservationService = context.getBean(ReservationService.class);
+        reservedRoomService = context.getBean(ReservedRoomService.class);
+        httpClient = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // one customer with an account per ten reservations, every reservation books one room for two nights
+    private void seed() {
+        Room room = context.getBean(RoomRepository.class).findRoomByType("Suite");
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        CustomerRepository customerRepository = context.getBean(CustomerRepository.class);
+        SpecificRoomRepository specificRoomRepository = context.getBean(SpecificRoomRepository.class);
+
+        List<SpecificRoom> specificRooms = new ArrayList<>();
+        for (int i = 0; i < reservations / 10; i++) {
+            specificRooms.add(new SpecificRoom(FIRST_SEEDED_NUMBER + i, ViewType.Village, "seeded room", true, room));
+        }
+        specificRoomRepository.saveAll(specificRooms);
+
+        Customer customer = null;
+        List<Reservation> reservationList = new ArrayList<>();
+        List<ReservedRoom> reservedRooms = new ArrayList<>();
+        LocalDate checkIn = LocalDate.now();
+        for (int i = 0; i < reservations; i++) {
+            if (i % 10 == 0) {
+                Account account = accountRepository.save(new Account("password" + i, i + " Sherbrooke Street", LocalDate.of(1990, 1, 1)));
+                customer = customerRepository.save(new Customer("guest" + i + "@email.com", "guest " + i, account));
+                checkIn = LocalDate.now();
+            }
+            Reservation reservation = new Reservation(2, checkIn, checkIn.plusDays(2), 2 * room.getRate(), false, CheckInStatus.BeforeCheckIn, customer);
+            reservationList.add(reservation);
+            reservedRooms.add(new ReservedRoom(reservation, specificRooms.get(i / 10)));
+            checkIn = checkIn.plusDays(2);
+        }
+        reservationRepository.saveAll(reservationList);
+        reservedRoomRepository.saveAll(reservedRooms);
+    }
+
+    @Benchmark
+    public byte[] reservationEntityGraph() throws Exception {
+        return objectMapper.writeValueAsBytes(reservationRepository.findAll());
+    }
+
+    @Benchmark
+    public byte[] reservationProjection() throws Exception {
+        return objectMapper.writeValueAsBytes(reservationService.getAllReservationResponses());
+    }
+
+    @Benchmark
+    public byte[] reservedRoomEntityGraph() throws Exception {
+        return objectMapper.writeValueAsBytes(reservedRoomRepository.findAll());
+    }
+
+    @Benchmark
+    public byte[] reservedRoomProjection() throws Exception {
+        return objectMapper.writeValueAsBytes(reservedRoomService.getAllReservedRoomResponses());
+    }
+
+    @Benchmark
+    public byte[] reservationEndpoint() throws Exception {
+        return get("/reservation");
+    }
+
+    @Benchmark
+    public byte[] reservedRoomEndpoint() throws Exception {
+        return get("/reservedRoom");
+    }
+
+    private byte[] get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+}
@@ -0,0 +1,116 @@
+package ca.mcgill.ecse321.hotelsystem.benchmark;
+
+import ca.mcgill.ecse321.hotelsystem.HotelsystemApplication;
+import ca.mcgill.ecse321.hotelsystem.Model.*;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservationRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.SpecificRoomRepository;
+import ca.mcgill.ecse321.hotelsystem.service.ReservationService;
+import ca.mcgill.ecse321.hotelsystem.service.RoomAvailabilityIndex;
+import ca.mcgill.ecse321.hotelsystem.service.RoomService;
+import ca.mcgill.ecse321.hotelsystem.service.SpecificRoomService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PersistenceBenchmark: insert throughput of bulk room seeding and group bookings, with JDBC batching
+ * turned off (batch size 1) and with the batch size of the perf profile, against an in-memory H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PersistenceBenchmark {
+
+    // initDatabase seeds 40 Regular rooms, the group books all of them
+    private static final String ROOM_TYPE = "Regular";
+    private static final int GROUP_SIZE = 40;
+    private static final int FIRST_SEEDED_NUMBER = 100000;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    @Param({"200"})
+    public int rooms;
+
+    private ConfigurableApplicationContext context;
+    private SpecificRoomService specificRoomService;
+    private ReservationService reservationService;
+    private SpecificRoomRepository specificRoomRepository;
+    private ReservedRoomRepository reservedRoomRepository;
+    private ReservationRepository reservationRepository;
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+    private Room room;
+    private int nextNumber;
+    private LocalDate nextCheckIn;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(HotelsystemApplication.class)
+                .web(WebApplicationType.NONE)
+                // command line arguments win over a local application.properties pointing at PostgreSQL
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark" + batchSize + ";DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE,DATE,VIEW,NUMBER,TYPE,USER",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--hotelsystem.jdbc.batch-size=" + batchSize,
+                        "--logging.level.root=warn");
+        specificRoomService = context.getBean(SpecificRoomService.class);
+        reservationService = context.getBean(ReservationService.class);
+        specificRoomRepository = context.getBean(SpecificRoomRepository.class);
+        reservedRoomRepository = context.getBean(ReservedRoomRepository.class);
+        reservationRepository = context.getBean(ReservationRepository.class);
+        roomAvailabilityIndex = context.getBean(RoomAvailabilityIndex.class);
+
+        room = context.getBean(RoomService.class).getRoomByType("Suite");
+    }
+
+    @Setup(Level.Iteration)
+    public void resetIteration() {
+        nextNumber = FIRST_SEEDED_NUMBER;
+        nextCheckIn = LocalDate.now();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearIteration() {
+        reservedRoomRepository.deleteAll();
+        reservationRepository.deleteAll();
+        List<Integer> seeded = new ArrayList<>();
+        for (int number = FIRST_SEEDED_NUMBER; number < nextNumber; number++) {
+            seeded.add(number);
+        }
+        specificRoomRepository.deleteAllById(seeded);
+        roomAvailabilityIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SpecificRoom> seedRooms() {
+        List<SpecificRoom> specificRooms = new ArrayList<>();
+        for (int i = 0; i < rooms; i++) {
+            specificRooms.add(new SpecificRoom(nextNumber++, ViewType.Village, "seeded room", true, room));
+        }
+        return specificRoomService.createSpecificRooms(specificRooms);
+    }
+
+    @Benchmark
+    public List<ReservedRoom> groupBooking() {
+        Map<String, Integer> roomCounts = new HashMap<>();
+        roomCounts.put(ROOM_TYPE, GROUP_SIZE);
+        Reservation reservation = new Reservation(GROUP_SIZE * 2, nextCheckIn, nextCheckIn.plusDays(2), 0, false, CheckInStatus.BeforeCheckIn, null);
+        nextCheckIn = nextCheckIn.plusDays(2);
+        return reservationService.createBatchReservation(reservation, roomCounts);
+    }
+}
@@ -0,0 +1,60 @@
+package ca.mcgill.ecse321.hotelsystem.benchmark;
+
+import ca.mcgill.ecse321.hotelsystem.service.RosterSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RosterBenchmark: time RosterSolver takes to staff a week of three 8 hour slots a day, against the number of
+ * employees. Every employee can work 40 hours on 5 random days, and the slots ask for the given share of those hours,
+ * so at 1.0 the repair pass has to fill what the greedy pass leaves short.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RosterBenchmark {
+
+    private static final int DAY = 24 * 60;
+    private static final int HOUR = 60;
+    private static final int[][] SLOTS = {{6 * HOUR, 14 * HOUR}, {14 * HOUR, 22 * HOUR}, {10 * HOUR, 18 * HOUR}};
+
+    @Param({"50", "200", "1000"})
+    public int employees;
+
+    @Param({"0.9", "1.0"})
+    public double demand;
+
+    private RosterSolver solver;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        solver = new RosterSolver();
+        int slots = 7 * SLOTS.length;
+        int staff = (int) Math.round(demand * employees * 5 / slots);
+        for (int day = 0; day < 7; day++) {
+            for (int[] slot : SLOTS) {
+                solver.addSlot(day * DAY + slot[0], day * DAY + slot[1], staff);
+            }
+        }
+        for (int e = 0; e < employees; e++) {
+            int employee = solver.addEmployee(40 * HOUR);
+            int daysOff = 0;
+            for (int day = 0; day < 7; day++) {
+                if (daysOff < 2 && random.nextInt(7 - day) < 2 - daysOff) {
+                    daysOff++;
+                } else {
+                    solver.addWindow(employee, day * DAY, (day + 1) * DAY);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public List<RosterSolver.Assignment> solve() {
+        return solver.solve();
+    }
+}
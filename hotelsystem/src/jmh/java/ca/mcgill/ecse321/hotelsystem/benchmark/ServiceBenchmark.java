@@ -0,0 +1,323 @@
+package ca.mcgill.ecse321.hotelsystem.benchmark;
+
+import ca.mcgill.ecse321.hotelsystem.HotelsystemApplication;
+import ca.mcgill.ecse321.hotelsystem.Model.*;
+import ca.mcgill.ecse321.hotelsystem.dto.CoverageHeatmapDto;
+import ca.mcgill.ecse321.hotelsystem.dto.LabourCostDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftGridDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftResponseDto;
+import ca.mcgill.ecse321.hotelsystem.dto.SpecificRoomResponseDto;
+import ca.mcgill.ecse321.hotelsystem.exception.HRSException;
+import ca.mcgill.ecse321.hotelsystem.repository.EmployeeRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservationRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.ShiftRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.SpecificRoomRepository;
+import ca.mcgill.ecse321.hotelsystem.service.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Time;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * ServiceBenchmark: the service methods on the booking and scheduling paths, against an in-memory H2 database
+ * holding a year and a half of history and half a year of bookings ahead for a few thousand rooms (about a million
+ * reserved nights), and a year of shifts for a hundred employees.
+ * Availability is measured with both backends of getAvailableSpecificRoomByType, the index and the anti-join query,
+ * and shift overlaps with both backends of ShiftService, the ShiftIntervalIndex and the employee and date query;
+ * the other benchmarks do not depend on the backend and run once.
+ * Rows made by the write benchmarks are deleted after every iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceBenchmark {
+
+    private static final String[] ROOM_TYPES = {"Suite", "Deluxe", "Luxury", "Regular"};
+    private static final int FIRST_ROOM_NUMBER = 300000;
+    // seeded rows take their ids from here up, far above what the sequences hand out during a run
+    private static final int FIRST_SEEDED_ID = 10000000;
+    private static final int NIGHTS_PER_WEEK = 5;
+    private static final int EMPLOYEES = 100;
+    private static final int SHIFT_DAYS = 365;
+    private static final int CHUNK = 10000;
+
+    @Param({"2000"})
+    public int rooms;
+
+    @Param({"104"})
+    public int weeks;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private SpecificRoomService specificRoomService;
+    private ReservedRoomService reservedRoomService;
+    private ShiftService shiftService;
+    private LabourReportService labourReportService;
+    private ReservationRepository reservationRepository;
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+    private List<SpecificRoom> seededRooms;
+    private List<Employee> employees;
+    private List<SpecificRoom> roomDtoSource;
+    private List<Shift> shiftDtoSource;
+    private LocalDate firstWeek;
+    private LocalDate firstShiftDay;
+    private LocalDate availabilityCheckIn;
+    private int shifts;
+    private int conflicts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(HotelsystemApplication.class)
+                .web(WebApplicationType.NONE)
+                // command line arguments win over a local application.properties pointing at PostgreSQL
+                .run("--spring.datasource.url=jdbc:h2:mem:service;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE,DATE,VIEW,NUMBER,TYPE,USER",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--logging.level.root=warn");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        specificRoomService = context.getBean(SpecificRoomService.class);
+        reservedRoomService = context.getBean(ReservedRoomService.class);
+        shiftService = context.getBean(ShiftService.class);
+        labourReportService = context.getBean(LabourReportService.class);
+        reservationRepository = context.getBean(ReservationRepository.class);
+        roomAvailabilityIndex = context.getBean(RoomAvailabilityIndex.class);
+
+        firstWeek = LocalDate.now().minusWeeks(weeks * 3L / 4).with(DayOfWeek.MONDAY);
+        firstShiftDay = LocalDate.now().minusDays(SHIFT_DAYS / 2);
+        seedRooms();
+        seedBookings();
+        seedShifts();
+        roomAvailabilityIndex.rebuild();
+        context.getBean(ShiftIntervalIndex.class).rebuild();
+
+        // a two night stay at the end of a week ahead, every other room is still free
+        availabilityCheckIn = firstWeek.plusWeeks(weeks - 4).plusDays(5);
+        roomDtoSource = context.getBean(SpecificRoomRepository.class).findAll();
+        shiftDtoSource = new ArrayList<>();
+        ShiftRepository shiftRepository = context.getBean(ShiftRepository.class);
+        for (int day = 0; day < 7; day++) {
+            shiftDtoSource.addAll(shiftRepository.findShiftsByDate(firstShiftDay.plusDays(day)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seedRooms() {
+        RoomService roomService = context.getBean(RoomService.class);
+        seededRooms = new ArrayList<>();
+        for (int i = 0; i < rooms; i++) {
+            Room room = roomService.getRoomByType(ROOM_TYPES[i % ROOM_TYPES.length]);
+            seededRooms.add(new SpecificRoom(FIRST_ROOM_NUMBER + i, ViewType.values()[i % ViewType.values().length], "seeded room", true, room));
+        }
+        seededRooms = specificRoomService.createSpecificRooms(seededRooms);
+    }
+
+    // every room is booked five nights a week, starting on Monday for even numbers and on Tuesday for odd ones
+    private void seedBookings() {
+        List<Object[]> reservations = new ArrayList<>();
+        List<Object[]> reservedRooms = new ArrayList<>();
+        int id = FIRST_SEEDED_ID;
+        for (int week = 0; week < weeks; week++) {
+            for (int i = 0; i < rooms; i++) {
+                LocalDate checkIn = firstWeek.plusWeeks(week).plusDays(i % 2);
+                reservations.add(new Object[]{id, 2, checkIn, checkIn.plusDays(NIGHTS_PER_WEEK), 0, false, CheckInStatus.BeforeCheckIn.ordinal()});
+                reservedRooms.add(new Object[]{id, id, FIRST_ROOM_NUMBER + i});
+                id++;
+                if (reservations.size() == CHUNK) {
+                    insertBookings(reservations, reservedRooms);
+                }
+            }
+        }
+        insertBookings(reservations, reservedRooms);
+    }
+
+    private void insertBookings(List<Object[]> reservations, List<Object[]> reservedRooms) {
+        jdbcTemplate.batchUpdate("insert into reservation (reservationid, num_people, checkin, check_out, total_price, paid, checked_in) values (?, ?, ?, ?, ?, ?, ?)", reservations);
+        jdbcTemplate.batchUpdate("insert into reserved_room (reservedid, reservation_reservationid, specific_room_number) values (?, ?, ?)", reservedRooms);
+        reservations.clear();
+        reservedRooms.clear();
+    }
+
+    // one eight hour shift a day per employee, day and evening shifts alternate between employees
+    private void seedShifts() {
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setEmail("employee" + i + "@hotel.com");
+            employee.setName("employee " + i);
+            employees.add(employee);
+        }
+        employeeRepository.saveAll(employees);
+
+        List<Object[]> shifts = new ArrayList<>();
+        int id = FIRST_SEEDED_ID;
+        for (int day = 0; day < SHIFT_DAYS; day++) {
+            for (int i = 0; i < EMPLOYEES; i++) {
+                Time start = i % 2 == 0 ? Time.valueOf("07:00:00") : Time.valueOf("15:00:00");
+                Time end = i % 2 == 0 ? Time.valueOf("15:00:00") : Time.valueOf("23:00:00");
+                shifts.add(new Object[]{id++, firstShiftDay.plusDays(day), start, end, employees.get(i).getEmail()});
+                if (shifts.size() == CHUNK) {
+                    jdbcTemplate.batchUpdate("insert into shift (shift_id, date, start_time, end_time, employee_email) values (?, ?, ?, ?, ?)", shifts);
+                    shifts.clear();
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into shift (shift_id, date, start_time, end_time, employee_email) values (?, ?, ?, ?, ?)", shifts);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetIteration() {
+        shifts = 0;
+        conflicts = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearIteration() {
+        jdbcTemplate.update("delete from reserved_room where reservedid < ?", FIRST_SEEDED_ID);
+        jdbcTemplate.update("delete from reservation where reservationid < ?", FIRST_SEEDED_ID);
+        jdbcTemplate.update("delete from shift where shift_id < ?", FIRST_SEEDED_ID);
+        roomAvailabilityIndex.rebuild();
+    }
+
+    /**
+     * Backend: the backend of the availability and shift overlap checks, set on the services of the running context
+     */
+    @State(Scope.Benchmark)
+    public static class Backend {
+        @Param({"index", "database"})
+        public String backend;
+
+        @Setup(Level.Trial)
+        public void select(ServiceBenchmark benchmark) {
+            setField(benchmark.specificRoomService, "availabilityBackend", backend);
+            setField(benchmark.shiftService, "shiftBackend", backend);
+        }
+
+        // the services are proxied, the field is on the target
+        private static void setField(Object service, String field, String value) {
+            Object target = AopProxyUtils.getSingletonTarget(service);
+            new DirectFieldAccessor(target != null ? target : service).setPropertyValue(field, value);
+        }
+    }
+
+    /**
+     * Booking: a saved reservation in the first free week after the seeded ones and the room to assign to it,
+     * the rooms are taken in turn
+     */
+    @State(Scope.Thread)
+    public static class Booking {
+        private int next;
+        private Reservation reservation;
+        private ReservedRoom reservedRoom;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            next = 0;
+        }
+
+        @Setup(Level.Invocation)
+        public void prepare(ServiceBenchmark benchmark) {
+            LocalDate checkIn = benchmark.firstWeek.plusWeeks(benchmark.weeks + next / benchmark.rooms);
+            reservation = benchmark.reservationRepository.save(new Reservation(2, checkIn, checkIn.plusDays(2), 0, false, CheckInStatus.BeforeCheckIn, null));
+            reservedRoom = new ReservedRoom(null, benchmark.seededRooms.get(next % benchmark.rooms));
+            next++;
+        }
+    }
+
+    @Benchmark
+    public List<SpecificRoom> availableRoomsByType(Backend backend) {
+        return specificRoomService.getAvailableSpecificRoomByType(availabilityCheckIn, availabilityCheckIn.plusDays(2), "Suite");
+    }
+
+    @Benchmark
+    public ReservedRoom assignReservedRoom(Booking booking) {
+        return reservedRoomService.assignReservedRoomToReservation(booking.reservation, booking.reservedRoom);
+    }
+
+    @Benchmark
+    public Object assignConflictingReservedRoom() {
+        // a stay across the seeded bookings of the same room, rejected before anything is written
+        LocalDate checkIn = firstWeek.plusWeeks(weeks / 2).plusDays(2);
+        Reservation reservation = new Reservation(2, checkIn, checkIn.plusDays(2), 0, false, CheckInStatus.BeforeCheckIn, null);
+        try {
+            return reservedRoomService.assignReservedRoomToReservation(reservation, new ReservedRoom(null, seededRooms.get(conflicts++ % rooms)));
+        } catch (HRSException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Shift createShift(Backend backend) {
+        // a shift on a day past the seeded year, so the validation passes and the shift is saved
+        Employee employee = employees.get(shifts % EMPLOYEES);
+        LocalDate date = firstShiftDay.plusDays(SHIFT_DAYS + shifts / EMPLOYEES);
+        shifts++;
+        return shiftService.createShift(new Shift(Time.valueOf("07:00:00"), Time.valueOf("15:00:00"), date, employee));
+    }
+
+    @Benchmark
+    public Object createOverlappingShift(Backend backend) {
+        // starts inside the seeded day shift of the employee, the validation rejects it
+        Employee employee = employees.get(0);
+        LocalDate date = firstShiftDay.plusDays(shifts++ % SHIFT_DAYS);
+        try {
+            return shiftService.createShift(new Shift(Time.valueOf("08:00:00"), Time.valueOf("09:00:00"), date, employee));
+        } catch (HRSException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public ShiftGridDto weekGrid() {
+        return shiftService.getShiftGrid(firstShiftDay, firstShiftDay.plusDays(6), null);
+    }
+
+    @Benchmark
+    public List<ShiftResponseDto> weekByDays() {
+        // what a roster page did before the range query, one query per day
+        List<ShiftResponseDto> week = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            for (Shift shift : shiftService.getShiftsByDate(firstShiftDay.plusDays(day))) {
+                week.add(new ShiftResponseDto(shift));
+            }
+        }
+        return week;
+    }
+
+    @Benchmark
+    public List<LabourCostDto> weeklyLabourCostOfYear() {
+        // every seeded shift, aggregated by the database
+        return labourReportService.getWeeklyCost(firstShiftDay, firstShiftDay.plusDays(SHIFT_DAYS));
+    }
+
+    @Benchmark
+    public CoverageHeatmapDto coverageOfYear() {
+        return labourReportService.getCoverage(firstShiftDay, firstShiftDay.plusDays(SHIFT_DAYS));
+    }
+
+    @Benchmark
+    public List<SpecificRoomResponseDto> specificRoomDtos() {
+        return roomDtoSource.stream().map(SpecificRoomResponseDto::new).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ShiftResponseDto> shiftDtos() {
+        return shiftDtoSource.stream().map(ShiftResponseDto::new).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,117 @@
+package ca.mcgill.ecse321.hotelsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * HotelClient: sends the requests of the traffic mix to the application and times them.
+ * One client is shared by all the workers, every request is timed from sending until its whole body is read.
+ */
+class HotelClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    // dates go out as 2024-07-01, like the paths
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final String baseUrl;
+
+    HotelClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        // HTTP/1.1 keeps one connection per worker instead of multiplexing all the workers over a single one
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+
+    /**
+     * Response: status and parsed body of a request, the body is a MissingNode when it is not JSON
+     */
+    record Response(int status, JsonNode body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    Response get(LatencyRecorder recorder, String endpoint, String path) {
+        return send(recorder, endpoint, HttpRequest.newBuilder(uri(path)).GET());
+    }
+
+    Response post(LatencyRecorder recorder, String endpoint, String path, Object body) {
+        return send(recorder, endpoint, HttpRequest.newBuilder(uri(path)).POST(json(body)).header("Content-Type", "application/json"));
+    }
+
+    Response put(LatencyRecorder recorder, String endpoint, String path) {
+        return send(recorder, endpoint, HttpRequest.newBuilder(uri(path)).PUT(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    /**
+     * fetch: an untimed request, to look up the data the traffic mix works on
+     * @param path path of the request
+     * @return parsed body
+     * @throws IllegalStateException if the request fails
+     */
+    JsonNode fetch(String path) {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(uri(path)).timeout(TIMEOUT).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET " + path + " answered " + response.statusCode());
+            }
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException("GET " + path + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("GET " + path + " interrupted", e);
+        }
+    }
+
+    private Response send(LatencyRecorder recorder, String endpoint, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request.timeout(TIMEOUT).build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, 0);
+            return new Response(0, MissingNode.getInstance());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(0, MissingNode.getInstance());
+        }
+        recorder.record(endpoint, System.nanoTime() - start, response.statusCode());
+        return new Response(response.statusCode(), parse(response.body()));
+    }
+
+    private JsonNode parse(byte[] body) {
+        try {
+            return body.length == 0 ? MissingNode.getInstance() : objectMapper.readTree(body);
+        } catch (IOException e) {
+            // error pages and plain text answers
+            return MissingNode.getInstance();
+        }
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("cannot serialize " + body, e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
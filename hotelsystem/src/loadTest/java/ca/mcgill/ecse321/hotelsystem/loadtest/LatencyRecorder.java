@@ -0,0 +1,109 @@
+package ca.mcgill.ecse321.hotelsystem.loadtest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * LatencyRecorder: the response times and outcomes of the requests of one worker thread, by endpoint.
+ * Every worker owns its recorder, nothing is shared while the load runs, the recorders of a stage are merged once it is over.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new LinkedHashMap<>();
+
+    /**
+     * record: adds one request
+     * @param endpoint method and path template of the request, e.g. GET /shifts/get/{employeeEmail}
+     * @param nanos response time
+     * @param status http status, 0 when no response came back
+     */
+    void record(String endpoint, long nanos, int status) {
+        samples.computeIfAbsent(endpoint, e -> new Samples()).add(nanos, status);
+    }
+
+    /**
+     * merge: the statistics of all the recorders of a stage
+     * @param recorders recorders of the workers
+     * @param seconds length of the stage, for the throughput
+     * @return statistics by endpoint, in endpoint order
+     */
+    static Map<String, EndpointStats> merge(Collection<LatencyRecorder> recorders, double seconds) {
+        Map<String, Samples> merged = new TreeMap<>();
+        for (LatencyRecorder recorder : recorders) {
+            recorder.samples.forEach((endpoint, s) -> merged.computeIfAbsent(endpoint, e -> new Samples()).addAll(s));
+        }
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        merged.forEach((endpoint, s) -> stats.put(endpoint, s.stats(seconds)));
+        return stats;
+    }
+
+    /**
+     * total: the statistics of all the requests of a stage, whatever their endpoint
+     * @param recorders recorders of the workers
+     * @param seconds length of the stage, for the throughput
+     * @return statistics of all the requests
+     */
+    static EndpointStats total(Collection<LatencyRecorder> recorders, double seconds) {
+        Samples all = new Samples();
+        recorders.forEach(recorder -> recorder.samples.values().forEach(all::addAll));
+        return all.stats(seconds);
+    }
+
+    /**
+     * EndpointStats: requests served in a stage, latencies in milliseconds
+     * @param rejected requests answered with a 4xx status, e.g. a room booked by another worker in the meantime
+     * @param errors requests answered with a 5xx status or without response
+     */
+    record EndpointStats(int requests, int rejected, int errors, double throughput, double p50, double p95, double p99, double max) {
+    }
+
+    private static class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private int rejected;
+        private int errors;
+
+        void add(long latency, int status) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latency;
+            if (status == 0 || status >= 500) {
+                errors++;
+            } else if (status >= 400) {
+                rejected++;
+            }
+        }
+
+        void addAll(Samples other) {
+            nanos = Arrays.copyOf(nanos, Math.max(nanos.length, size + other.size));
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+            rejected += other.rejected;
+            errors += other.errors;
+        }
+
+        EndpointStats stats(double seconds) {
+            if (size == 0) {
+                return new EndpointStats(0, 0, 0, 0, 0, 0, 0, 0);
+            }
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new EndpointStats(size, rejected, errors, size / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99), millis(sorted[size - 1]));
+        }
+
+        // nearest rank
+        private static double percentile(long[] sorted, double p) {
+            int rank = (int) Math.ceil(p * sorted.length);
+            return millis(sorted[Math.max(rank - 1, 0)]);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
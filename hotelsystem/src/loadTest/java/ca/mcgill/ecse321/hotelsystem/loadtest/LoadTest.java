@@ -0,0 +1,170 @@
+package ca.mcgill.ecse321.hotelsystem.loadtest;
+
+import ca.mcgill.ecse321.hotelsystem.HotelsystemApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * LoadTest: replays the traffic mix of the front desk, the booking site and the staff against the application, at
+ * increasing concurrency, and reports the throughput and the p50, p95 and p99 latencies of every endpoint.
+ * The concurrency where the throughput stops growing while the p99 keeps climbing is where the service saturates.
+ *
+ * Run it with ./gradlew loadTest, the settings are system properties, given as -P on the gradle command line:
+ * <ul>
+ *     <li>loadtest.target: url of an application already running, e.g. http://localhost:8080. Without it the
+ *     application is started in this process, with the generate profile so there is a data set to work on</li>
+ *     <li>loadtest.database: h2 (default) runs the started application on an in-memory database, local uses the
+ *     datasource of application.properties, e.g. a local PostgreSQL</li>
+ *     <li>loadtest.profiles: profiles of the started application, generate by default, e.g. perf,generate</li>
+ *     <li>loadtest.concurrency: the numbers of concurrent users of the stages, 4,16,64 by default</li>
+ *     <li>loadtest.warmup: seconds of traffic before the first stage, not reported, 15 by default</li>
+ *     <li>loadtest.duration: seconds of each stage, 30 by default</li>
+ *     <li>loadtest.mix: weights of the operations, e.g. availability=40,booking=15,checkIn=10,shifts=25,repairStatus=10</li>
+ *     <li>loadtest.seed: seed of the random choices of the users, 42 by default</li>
+ *     <li>loadtest.report: csv file the statistics of every stage are appended to, to compare runs</li>
+ * </ul>
+ */
+public class LoadTest {
+
+    private static final String H2_URL = "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE,DATE,VIEW,NUMBER,TYPE,USER";
+
+    public static void main(String[] args) throws Exception {
+        String target = System.getProperty("loadtest.target");
+        int[] concurrency = Arrays.stream(System.getProperty("loadtest.concurrency", "4,16,64").split(","))
+                .mapToInt(users -> Integer.parseInt(users.trim())).toArray();
+        int warmup = Integer.getInteger("loadtest.warmup", 15);
+        int duration = Integer.getInteger("loadtest.duration", 30);
+        long seed = Long.getLong("loadtest.seed", 42);
+        String report = System.getProperty("loadtest.report");
+
+        ConfigurableApplicationContext context = null;
+        if (target == null) {
+            context = start(System.getProperty("loadtest.database", "h2"), System.getProperty("loadtest.profiles", "generate"));
+            target = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            HotelClient client = new HotelClient(target);
+            TrafficMix mix = TrafficMix.load(client, System.getProperty("loadtest.mix"));
+            System.out.printf("%nLoad test of %s, %s%n", target, mix.describe());
+
+            if (warmup > 0) {
+                System.out.printf("warming up for %d s with %d users%n", warmup, concurrency[0]);
+                run(client, mix, concurrency[0], warmup, seed - 1);
+            }
+            List<String[]> summary = new ArrayList<>();
+            for (int users : concurrency) {
+                Stage stage = run(client, mix, users, duration, seed);
+                print(users, stage);
+                LatencyRecorder.EndpointStats total = LatencyRecorder.total(stage.recorders(), stage.seconds());
+                summary.add(new String[]{String.valueOf(users), format(total.throughput()), format(total.p50()), format(total.p95()), format(total.p99()),
+                        String.valueOf(total.errors())});
+                if (report != null) {
+                    append(Path.of(report), users, stage);
+                }
+            }
+            System.out.printf("%n%-8s %10s %10s %10s %10s %8s%n", "users", "req/s", "p50 ms", "p95 ms", "p99 ms", "errors");
+            summary.forEach(row -> System.out.printf("%-8s %10s %10s %10s %10s %8s%n", (Object[]) row));
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String database, String profiles) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0",
+                "--logging.level.root=warn",
+                "--logging.level.ca.mcgill.ecse321.hotelsystem=info"));
+        if (database.equals("h2")) {
+            // command line arguments win over a local application.properties pointing at PostgreSQL
+            args.addAll(List.of("--spring.datasource.url=" + H2_URL,
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.hibernate.ddl-auto=create-drop"));
+        } else if (!database.equals("local")) {
+            throw new IllegalArgumentException("loadtest.database is h2 or local, not " + database);
+        }
+        return new SpringApplicationBuilder(HotelsystemApplication.class)
+                .profiles(profiles.split(","))
+                .run(args.toArray(new String[0]));
+    }
+
+    /**
+     * Stage: the recorders of the users of a stage and its length, from the first request sent to the last answer
+     */
+    private record Stage(List<LatencyRecorder> recorders, double seconds) {
+    }
+
+    // every user sends its next request as soon as the previous one is answered, until the end of the stage
+    private static Stage run(HotelClient client, TrafficMix mix, int users, int seconds, long seed) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        try {
+            long start = System.nanoTime();
+            long end = start + seconds * 1_000_000_000L;
+            List<Future<LatencyRecorder>> futures = new ArrayList<>();
+            for (int user = 0; user < users; user++) {
+                Random random = new Random(seed * 1000 + user);
+                futures.add(executor.submit(() -> {
+                    LatencyRecorder recorder = new LatencyRecorder();
+                    while (System.nanoTime() < end) {
+                        mix.next(client, recorder, random);
+                    }
+                    return recorder;
+                }));
+            }
+            List<LatencyRecorder> recorders = new ArrayList<>();
+            for (Future<LatencyRecorder> future : futures) {
+                recorders.add(future.get());
+            }
+            return new Stage(recorders, (System.nanoTime() - start) / 1e9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void print(int users, Stage stage) {
+        System.out.printf("%n%d users, %.1f s%n", users, stage.seconds());
+        System.out.printf("%-62s %8s %8s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "rejected", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        LatencyRecorder.merge(stage.recorders(), stage.seconds()).forEach((endpoint, s) -> print(endpoint, s));
+        print("all", LatencyRecorder.total(stage.recorders(), stage.seconds()));
+    }
+
+    private static void print(String endpoint, LatencyRecorder.EndpointStats s) {
+        System.out.printf("%-62s %8d %8d %7d %9s %9s %9s %9s %9s%n", endpoint, s.requests(), s.rejected(), s.errors(),
+                format(s.throughput()), format(s.p50()), format(s.p95()), format(s.p99()), format(s.max()));
+    }
+
+    private static void append(Path report, int users, Stage stage) throws IOException {
+        boolean header = !Files.exists(report);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(report, StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (header) {
+                out.println("time,users,endpoint,requests,rejected,errors,throughput,p50,p95,p99,max");
+            }
+            String time = LocalDateTime.now().withNano(0).toString();
+            Map<String, LatencyRecorder.EndpointStats> stats = LatencyRecorder.merge(stage.recorders(), stage.seconds());
+            stats.put("all", LatencyRecorder.total(stage.recorders(), stage.seconds()));
+            stats.forEach((endpoint, s) -> out.printf(Locale.ROOT, "%s,%d,\"%s\",%d,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f%n", time, users, endpoint,
+                    s.requests(), s.rejected(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max()));
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, value < 100 ? "%.2f" : "%.0f", value);
+    }
+}
@@ -0,0 +1,241 @@
+package ca.mcgill.ecse321.hotelsystem.loadtest;
+
+import ca.mcgill.ecse321.hotelsystem.Model.CompletionStatus;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservationRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservedRoomRequestDto;
+import ca.mcgill.ecse321.hotelsystem.service.Paging;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * TrafficMix: the requests of the front desk, the booking site and the staff, picked at random by weight.
+ * The rooms types, guests, employees and repairs it works on are looked up once over HTTP, so the mix runs against
+ * any data set, the generated one of the generate profile or a copy of production.
+ * Reservations booked by the mix are checked in later by the mix, like guests arriving.
+ */
+class TrafficMix {
+
+    // stays are searched and booked over the next months, for one to a week of nights
+    private static final int BOOKING_HORIZON_DAYS = 180;
+    private static final int MAX_NIGHTS = 7;
+    // shifts are looked up around today
+    private static final int SHIFT_DAYS = 14;
+    // booked reservations waiting to be checked in, the oldest are dropped beyond this
+    private static final int MAX_ARRIVALS = 10000;
+
+    /**
+     * Operation: one kind of user action, some of them send several requests
+     */
+    enum Operation {
+        // availability search of the booking site, by room type or over all types
+        AVAILABILITY("availability", 40),
+        // search, reservation, then assignment of one of the free rooms
+        BOOKING("booking", 15),
+        // check-in of a reservation booked earlier
+        CHECK_IN("checkIn", 10),
+        // an employee's shifts or the shifts of a day
+        SHIFTS("shifts", 25),
+        // repair status update by the maintenance staff
+        REPAIR_STATUS("repairStatus", 10);
+
+        private final String key;
+        private final int defaultWeight;
+
+        Operation(String key, int defaultWeight) {
+            this.key = key;
+            this.defaultWeight = defaultWeight;
+        }
+    }
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final List<String> roomTypes;
+    private final List<String> customerEmails;
+    private final List<String> employeeEmails;
+    private final List<Integer> repairIds;
+    private final Queue<Integer> arrivals = new ConcurrentLinkedQueue<>();
+
+    private TrafficMix(Map<Operation, Integer> weights, List<String> roomTypes, List<String> customerEmails, List<String> employeeEmails, List<Integer> repairIds) {
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.roomTypes = roomTypes;
+        this.customerEmails = customerEmails;
+        this.employeeEmails = employeeEmails;
+        this.repairIds = repairIds;
+    }
+
+    /**
+     * load: looks up the data the mix works on
+     * @param client client of the application
+     * @param mix weights of the operations, e.g. availability=40,booking=15, missing operations keep their default weight
+     * and a weight of 0 leaves an operation out, null for the defaults
+     * @return the traffic mix
+     * @throws IllegalArgumentException if the weights are invalid
+     * @throws IllegalStateException if the application has no room type, guest or employee to work with
+     */
+    static TrafficMix load(HotelClient client, String mix) {
+        Map<Operation, Integer> weights = weights(mix);
+        List<String> roomTypes = values(client.fetch("/rooms"), room -> room.get("type").asText());
+        List<String> customerEmails = values(client.fetch("/customers?page=0&size=" + Paging.MAX_SIZE), customer -> customer.get("email").asText());
+        List<String> employeeEmails = values(client.fetch("/employees"), employee -> employee.get("email").asText());
+        List<Integer> repairIds = values(client.fetch("/repair?page=0&size=" + Paging.MAX_SIZE), repair -> repair.get("repairId").asInt());
+        if (roomTypes.isEmpty() || customerEmails.isEmpty() || employeeEmails.isEmpty()) {
+            throw new IllegalStateException("the application needs room types, customers and employees, start it with the generate profile");
+        }
+        if (repairIds.isEmpty() && weights.remove(Operation.REPAIR_STATUS) != null && weights.isEmpty()) {
+            throw new IllegalStateException("the application has no repair to update");
+        }
+        return new TrafficMix(weights, roomTypes, customerEmails, employeeEmails, repairIds);
+    }
+
+    /**
+     * describe: the operations and their weights, for the report
+     * @return e.g. availability=40 booking=15
+     */
+    String describe() {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < operations.length; i++) {
+            int weight = cumulativeWeights[i] - (i == 0 ? 0 : cumulativeWeights[i - 1]);
+            description.append(i == 0 ? "" : " ").append(operations[i].key).append('=').append(weight);
+        }
+        return description.append(" over ").append(roomTypes.size()).append(" room types, ").append(customerEmails.size())
+                .append(" guests, ").append(employeeEmails.size()).append(" employees, ").append(repairIds.size()).append(" repairs").toString();
+    }
+
+    /**
+     * next: runs one operation picked at random
+     * @param client client of the application
+     * @param recorder recorder of the calling worker
+     * @param random random of the calling worker
+     */
+    void next(HotelClient client, LatencyRecorder recorder, Random random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (cumulativeWeights[i] <= pick) {
+            i++;
+        }
+        switch (operations[i]) {
+            case AVAILABILITY -> searchAvailability(client, recorder, random);
+            case BOOKING -> book(client, recorder, random);
+            case CHECK_IN -> checkIn(client, recorder, random);
+            case SHIFTS -> lookUpShifts(client, recorder, random);
+            case REPAIR_STATUS -> updateRepairStatus(client, recorder, random);
+        }
+    }
+
+    private void searchAvailability(HotelClient client, LatencyRecorder recorder, Random random) {
+        LocalDate checkIn = LocalDate.now().plusDays(random.nextInt(BOOKING_HORIZON_DAYS));
+        LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(MAX_NIGHTS));
+        if (random.nextInt(4) == 0) {
+            client.get(recorder, "GET /specificRoom/available/{checkIn}/{checkOut}", "/specificRoom/available/" + checkIn + "/" + checkOut);
+        } else {
+            searchAvailability(client, recorder, pick(roomTypes, random), checkIn, checkOut);
+        }
+    }
+
+    private HotelClient.Response searchAvailability(HotelClient client, LatencyRecorder recorder, String type, LocalDate checkIn, LocalDate checkOut) {
+        return client.get(recorder, "GET /specificRoom/available/type/{type}/{checkIn}/{checkOut}",
+                "/specificRoom/available/type/" + type + "/" + checkIn + "/" + checkOut);
+    }
+
+    private void book(HotelClient client, LatencyRecorder recorder, Random random) {
+        // most guests book a few weeks ahead, some for tonight
+        LocalDate checkIn = LocalDate.now().plusDays(random.nextInt(4) == 0 ? 0 : random.nextInt(BOOKING_HORIZON_DAYS));
+        LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(MAX_NIGHTS));
+        HotelClient.Response available = searchAvailability(client, recorder, pick(roomTypes, random), checkIn, checkOut);
+        if (!available.ok() || available.body().isEmpty()) {
+            return;
+        }
+        JsonNode room = available.body().get(random.nextInt(available.body().size()));
+        HotelClient.Response reservation = client.post(recorder, "POST /reservation/new", "/reservation/new",
+                new ReservationRequestDto(1 + random.nextInt(4), checkIn, checkOut, pick(customerEmails, random)));
+        if (!reservation.ok()) {
+            return;
+        }
+        int reservationId = reservation.body().get("reservationId").asInt();
+        // another worker may have taken the room since the search, the assignment is then rejected with a conflict
+        HotelClient.Response reservedRoom = client.post(recorder, "POST /reservedRoom/new", "/reservedRoom/new",
+                new ReservedRoomRequestDto(reservationId, room.get("number").asInt()));
+        if (reservedRoom.ok()) {
+            arrivals.add(reservationId);
+            if (arrivals.size() > MAX_ARRIVALS) {
+                arrivals.poll();
+            }
+        }
+    }
+
+    private void checkIn(HotelClient client, LatencyRecorder recorder, Random random) {
+        Integer reservationId = arrivals.poll();
+        if (reservationId == null) {
+            // nobody to check in yet, the guest books instead
+            book(client, recorder, random);
+            return;
+        }
+        client.put(recorder, "PUT /reservation/{reservationId}/checkIn", "/reservation/" + reservationId + "/checkIn");
+    }
+
+    private void lookUpShifts(HotelClient client, LatencyRecorder recorder, Random random) {
+        if (random.nextBoolean()) {
+            client.get(recorder, "GET /shifts/get/{employeeEmail}", "/shifts/get/" + pick(employeeEmails, random));
+        } else {
+            LocalDate date = LocalDate.now().plusDays(random.nextInt(2 * SHIFT_DAYS) - SHIFT_DAYS);
+            client.get(recorder, "GET /shifts/date/get/{date}", "/shifts/date/get/" + date);
+        }
+    }
+
+    private void updateRepairStatus(HotelClient client, LatencyRecorder recorder, Random random) {
+        CompletionStatus status = CompletionStatus.values()[random.nextInt(CompletionStatus.values().length)];
+        client.post(recorder, "POST /repair/status/{id}", "/repair/status/" + pick(repairIds, random), status);
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static <T> List<T> values(JsonNode array, Function<JsonNode, T> value) {
+        List<T> values = new ArrayList<>();
+        array.forEach(element -> values.add(value.apply(element)));
+        return values;
+    }
+
+    private static Map<Operation, Integer> weights(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            weights.put(operation, operation.defaultWeight);
+        }
+        if (mix != null && !mix.isBlank()) {
+            for (String entry : mix.split(",")) {
+                String[] keyAndWeight = entry.trim().split("=");
+                Operation operation = null;
+                for (Operation candidate : Operation.values()) {
+                    if (keyAndWeight.length == 2 && candidate.key.equals(keyAndWeight[0].trim())) {
+                        operation = candidate;
+                    }
+                }
+                if (operation == null) {
+                    throw new IllegalArgumentException("unknown operation weight: " + entry + ", the operations are availability, booking, checkIn, shifts and repairStatus");
+                }
+                weights.put(operation, Integer.parseInt(keyAndWeight[1].trim()));
+            }
+        }
+        weights.values().removeIf(weight -> weight <= 0);
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("the traffic mix has no operation left: " + mix);
+        }
+        return weights;
+    }
+}
@@ -3,15 +3,37 @@ package ca.mcgill.ecse321.hotelsystem;
 import ca.mcgill.ecse321.hotelsystem.Model.*;
 import ca.mcgill.ecse321.hotelsystem.repository.OwnerRepository;
 import ca.mcgill.ecse321.hotelsystem.service.*;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.PropertySource;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @SpringBootApplication
+@PropertySource("classpath:metrics.properties")
 public class HotelsystemApplication {
 
 	// created mock owner and employee for login
@@ -26,26 +48,86 @@ public class HotelsystemApplication {
 				Room deleuxeRoom = roomService.createRoom(new Room("Deluxe", 600, BedType.Queen, 4));
 				Room luxuryRoom = roomService.createRoom(new Room("Luxury", 950, BedType.King, 2));
 				Room suite = roomService.createRoom(new Room("Suite", 1400, BedType.King, 4));
+				// one transaction for all the rooms, their inserts go out in JDBC batches
+				List<SpecificRoom> specificRooms = new ArrayList<>();
 				int num = 100;
 				for (int i = 0; i < 10; i++) {
-					SpecificRoom specificRoom = specificRoomService.createSpecificRoom(new SpecificRoom(num+i, ViewType.Mountain, "Suite with two king beds.", Boolean.TRUE, suite));
+					specificRooms.add(new SpecificRoom(num+i, ViewType.Mountain, "Suite with two king beds.", Boolean.TRUE, suite));
 				}
 				for (int i = 10; i < 20; i++) {
-					SpecificRoom specificRoom = specificRoomService.createSpecificRoom(new SpecificRoom(num+i, ViewType.Mountain, "Deluxe room with two queen beds.", Boolean.TRUE, deleuxeRoom));
+					specificRooms.add(new SpecificRoom(num+i, ViewType.Mountain, "Deluxe room with two queen beds.", Boolean.TRUE, deleuxeRoom));
 				}
 				for (int i = 20; i < 30; i++) {
-					SpecificRoom specificRoom = specificRoomService.createSpecificRoom(new SpecificRoom(num+i, ViewType.Mountain, "Luxury room with one king bed.", Boolean.TRUE, luxuryRoom));
+					specificRooms.add(new SpecificRoom(num+i, ViewType.Mountain, "Luxury room with one king bed.", Boolean.TRUE, luxuryRoom));
 				}
 				for (int i = 30; i < 50; i++) {
-					SpecificRoom specificRoom = specificRoomService.createSpecificRoom(new SpecificRoom(num+i, ViewType.Village, "Regular room with one queen bed.", Boolean.TRUE, regRoom));
+					specificRooms.add(new SpecificRoom(num+i, ViewType.Village, "Regular room with one queen bed.", Boolean.TRUE, regRoom));
 				}
 				for (int i = 50; i < 70; i++) {
-					SpecificRoom specificRoom = specificRoomService.createSpecificRoom(new SpecificRoom(num+i, ViewType.Forest, "Regular room with one queen bed.", Boolean.TRUE, regRoom));
+					specificRooms.add(new SpecificRoom(num+i, ViewType.Forest, "Regular room with one queen bed.", Boolean.TRUE, regRoom));
 				}
+				specificRoomService.createSpecificRooms(specificRooms);
 			}
 		};
 	}
 
+	// batch the inserts of a flush, e.g. the reserved rooms of a group booking, unless spring.jpa.properties already sets it
+	@Bean
+	HibernatePropertiesCustomizer jdbcBatching(@Value("${hotelsystem.jdbc.batch-size:50}") int batchSize) {
+		return properties -> {
+			properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+			properties.putIfAbsent("hibernate.order_inserts", true);
+		};
+	}
+
+	// second-level cache of the reference entities and of the cacheable specific room queries, kept on the heap by ehcache
+	// with at most size entries per region. each context gets its own cache manager, hibernate closes it with the
+	// session factory, and none is built when the cache is off or spring.jpa.properties brings its own.
+	// accounts are left out, they hold the password
+	@Bean
+	HibernatePropertiesCustomizer secondLevelCache(@Value("${hotelsystem.second-level-cache.enabled:true}") boolean enabled,
+												   @Value("${hotelsystem.second-level-cache.size:10000}") long size) {
+		return properties -> {
+			if (!enabled) {
+				properties.putIfAbsent("hibernate.cache.use_second_level_cache", false);
+				return;
+			}
+			properties.putIfAbsent("hibernate.cache.use_second_level_cache", true);
+			properties.putIfAbsent("hibernate.cache.use_query_cache", true);
+			if (!Boolean.parseBoolean(properties.get("hibernate.cache.use_second_level_cache").toString())
+					|| properties.containsKey("hibernate.cache.region.factory_class")
+					|| properties.containsKey("hibernate.javax.cache.cache_manager")) {
+				return;
+			}
+			CacheConfiguration<Object, Object> region = CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(size)).build();
+			Map<String, CacheConfiguration<?, ?>> regions = new HashMap<>();
+			for (Class<?> entity : List.of(Room.class, SpecificRoom.class, Employee.class, Owner.class)) {
+				regions.put(entity.getName(), region);
+			}
+			regions.put(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region);
+			// one entry per table, never evicted at this size
+			regions.put(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region);
+			EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+			URI uri = URI.create("hotelsystem:second-level-cache:" + UUID.randomUUID());
+			CacheManager cacheManager = provider.getCacheManager(uri, new DefaultConfiguration(regions, HotelsystemApplication.class.getClassLoader()));
+			properties.put("hibernate.cache.region.factory_class", "jcache");
+			properties.put("hibernate.javax.cache.cache_manager", cacheManager);
+		};
+	}
+
+	// evicts the room catalog cache whenever hibernate flushes an update or a delete of a room or specific room,
+	// whether a service or a repository made it
+	@Bean
+	HibernatePropertiesCustomizer roomCatalogEviction(RoomCatalogListener roomCatalogListener) {
+		return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(roomCatalogListener));
+	}
+
+	// times the methods of the classes annotated with @Timed, e.g. the booking services
+	@Bean
+	TimedAspect timedAspect(MeterRegistry meterRegistry) {
+		return new TimedAspect(meterRegistry);
+	}
+
 	public static void main(String[] args) {
 		SpringApplication.run(HotelsystemApplication.class, args);
 	}
@@ -1,8 +1,13 @@
 package ca.mcgill.ecse321.hotelsystem.Model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Employee extends User {
 
     private int salary;
@@ -0,0 +1,69 @@
+package ca.mcgill.ecse321.hotelsystem.Model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * FolioEntry: one line of the folio of a reservation, the charge of a reserved room, its refund, or a payment.
+ * Charges are positive and refunds and payments negative, what is left to pay is the price the reservation
+ * was created with plus the sum of its entries.
+ */
+@Entity
+@Table(indexes = {@Index(name = "folio_entry_reservation_idx", columnList = "reservation_reservationid"),
+        @Index(name = "folio_entry_reserved_room_idx", columnList = "reservedRoomId")})
+public class FolioEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "folio_entry_seq")
+    @SequenceGenerator(name = "folio_entry_seq", sequenceName = "folio_entry_seq", allocationSize = 50)
+    private int entryId;
+
+    // the folio goes away with its reservation
+    @ManyToOne
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Reservation reservation;
+
+    // id of the reserved room a charge or refund is for, kept once the reserved room is deleted
+    private Integer reservedRoomId;
+
+    private FolioEntryType type;
+    private int amount;
+    private LocalDateTime postedAt;
+
+    public FolioEntry(Reservation reservation, Integer reservedRoomId, FolioEntryType type, int amount) {
+        this.reservation = reservation;
+        this.reservedRoomId = reservedRoomId;
+        this.type = type;
+        this.amount = amount;
+        this.postedAt = LocalDateTime.now();
+    }
+
+    public FolioEntry() {
+    }
+
+    public int getEntryId() {
+        return entryId;
+    }
+
+    public Reservation getReservation() {
+        return reservation;
+    }
+
+    public Integer getReservedRoomId() {
+        return reservedRoomId;
+    }
+
+    public FolioEntryType getType() {
+        return type;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getPostedAt() {
+        return postedAt;
+    }
+}
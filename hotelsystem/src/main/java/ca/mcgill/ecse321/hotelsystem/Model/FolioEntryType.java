@@ -0,0 +1,7 @@
+package ca.mcgill.ecse321.hotelsystem.Model;
+
+public enum FolioEntryType {
+    RoomCharge,
+    RoomRefund,
+    Payment
+}
@@ -0,0 +1,114 @@
+package ca.mcgill.ecse321.hotelsystem.Model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * NightlyRollup: what was sold of a room type for one night, kept current by ReportService as reservations change.
+ * The primary key starts with the night, so the rows of a date range are read from the index alone.
+ */
+@Entity
+@IdClass(NightlyRollupId.class)
+public class NightlyRollup {
+    @Id
+    private LocalDate night;
+    @Id
+    private String roomType;
+    private int roomsSold;
+    // room charges minus refunds posted to the folios, spread over the nights of the stay
+    private long revenue;
+    // rooms sold, by the check-in status of their reservation
+    private int beforeCheckIn;
+    private int checkedIn;
+    private int checkedOut;
+    private int noShow;
+
+    public NightlyRollup(LocalDate night, String roomType) {
+        this.night = night;
+        this.roomType = roomType;
+    }
+
+    public NightlyRollup() {
+    }
+
+    public LocalDate getNight() {
+        return night;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public int getRoomsSold() {
+        return roomsSold;
+    }
+
+    public void setRoomsSold(int roomsSold) {
+        this.roomsSold = roomsSold;
+    }
+
+    public long getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(long revenue) {
+        this.revenue = revenue;
+    }
+
+    public int getBeforeCheckIn() {
+        return beforeCheckIn;
+    }
+
+    public int getCheckedIn() {
+        return checkedIn;
+    }
+
+    public int getCheckedOut() {
+        return checkedOut;
+    }
+
+    public int getNoShow() {
+        return noShow;
+    }
+
+    /**
+     * getStatusCount: rooms sold for the night whose reservation has the status
+     * @param status check-in status
+     * @return number of rooms
+     */
+    public int getStatusCount(CheckInStatus status) {
+        return switch (status) {
+            case BeforeCheckIn -> beforeCheckIn;
+            case CheckedIn -> checkedIn;
+            case CheckedOut -> checkedOut;
+            case NoShow -> noShow;
+        };
+    }
+
+    /**
+     * addStatusCount: add rooms, or remove them with a negative count, to the rooms sold with a status
+     * @param status check-in status
+     * @param rooms number of rooms
+     */
+    public void addStatusCount(CheckInStatus status, int rooms) {
+        switch (status) {
+            case BeforeCheckIn -> beforeCheckIn += rooms;
+            case CheckedIn -> checkedIn += rooms;
+            case CheckedOut -> checkedOut += rooms;
+            case NoShow -> noShow += rooms;
+        }
+    }
+
+    /**
+     * clear: forget everything sold for the night
+     */
+    public void clear() {
+        roomsSold = 0;
+        revenue = 0;
+        beforeCheckIn = 0;
+        checkedIn = 0;
+        checkedOut = 0;
+        noShow = 0;
+    }
+}
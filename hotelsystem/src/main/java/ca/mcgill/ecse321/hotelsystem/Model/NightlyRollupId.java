@@ -0,0 +1,40 @@
+package ca.mcgill.ecse321.hotelsystem.Model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class NightlyRollupId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate night;
+    private String roomType;
+
+    public NightlyRollupId(LocalDate night, String roomType) {
+        this.night = night;
+        this.roomType = roomType;
+    }
+
+    public NightlyRollupId() {
+    }
+
+    public LocalDate getNight() {
+        return night;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NightlyRollupId other)) return false;
+        return Objects.equals(night, other.night) && Objects.equals(roomType, other.roomType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(night, roomType);
+    }
+}
@@ -5,7 +5,8 @@ import jakarta.persistence.*;
 @Entity
 public class Repair {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "repair_seq")
+    @SequenceGenerator(name = "repair_seq", sequenceName = "repair_seq", allocationSize = 50)
     private int repairId;
     
     private CompletionStatus status;
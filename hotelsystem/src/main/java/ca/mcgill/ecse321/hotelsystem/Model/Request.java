@@ -5,7 +5,8 @@ import jakarta.persistence.*;
 @Entity
 public class Request {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "request_seq")
+    @SequenceGenerator(name = "request_seq", sequenceName = "request_seq", allocationSize = 50)
     private int requestId;
     private CompletionStatus status;
     private String description;
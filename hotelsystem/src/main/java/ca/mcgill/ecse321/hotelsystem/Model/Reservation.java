@@ -5,14 +5,20 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = @Index(name = "reservation_stay_idx", columnList = "checkOut, checkin"))
 public class Reservation {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_seq")
+    @SequenceGenerator(name = "reservation_seq", sequenceName = "reservation_seq", allocationSize = 50)
     private int reservationID;
     private int numPeople;
     private LocalDate checkin;
     private LocalDate checkOut;
+    // what is left to pay, only ever moved by ReservationRepository.applyFolioEntries, so concurrent charges and
+    // payments cannot overwrite each other when the reservation is saved
+    @Column(updatable = false)
     private int totalPrice;
+    @Column(updatable = false)
     private boolean paid;
     private CheckInStatus checkedIn;
 
@@ -37,6 +43,10 @@ public class Reservation {
         return reservationID;
     }
 
+    public void setReservationID(int reservationID) {
+        this.reservationID = reservationID;
+    }
+
     public int getNumPeople() {
         return numPeople;
     }
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 
 
 @Entity
+@Table(indexes = @Index(name = "reserved_room_room_reservation_idx", columnList = "specific_room_number, reservation_reservationid"))
 public class ReservedRoom {
 
     @ManyToOne
@@ -13,7 +14,8 @@ public class ReservedRoom {
     private SpecificRoom specificRoom;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reserved_room_seq")
+    @SequenceGenerator(name = "reserved_room_seq", sequenceName = "reserved_room_seq", allocationSize = 50)
     private int reservedID;
 
     public ReservedRoom(Reservation reservation, SpecificRoom specificRoom) {
@@ -10,9 +10,14 @@ import java.time.LocalDate;
 import jakarta.persistence.*;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "shift_employee_date_idx", columnList = "employee_email, date"),
+        @Index(name = "shift_date_idx", columnList = "date")
+})
 public class Shift {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shift_seq")
+    @SequenceGenerator(name = "shift_seq", sequenceName = "shift_seq", allocationSize = 50)
     private int shiftId;
     private Time startTime;
     private Time endTime;
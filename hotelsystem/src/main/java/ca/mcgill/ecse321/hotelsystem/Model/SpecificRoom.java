@@ -1,9 +1,13 @@
 package ca.mcgill.ecse321.hotelsystem.Model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class SpecificRoom {
     @Id
     private int number;
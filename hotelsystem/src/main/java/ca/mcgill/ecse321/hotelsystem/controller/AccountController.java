@@ -21,12 +21,18 @@ public class AccountController {
     private AccountService accountService;
 
     /**
-     * GetAllAccounts: get a list of all accounts in the system
-     * @return list of account response dtos
+     * GetAllAccounts: get a list of all accounts in the system, or one page of them ordered by account number
+     * @param page: page number, starting at 0, the whole list is returned when page, size and after are all missing
+     * @param size: number of accounts of a page, 50 by default
+     * @param after: return the accounts after this account number, the last one of the previous page
+     * @return list of account response dtos, with an X-Has-Next header when paged
      */
     @GetMapping(value = {"/accounts", "/accounts/"})
-    public List<AccountResponseDto> getAllAccounts(){
-        return accountService.getAllAccounts().stream().map(AccountResponseDto::new).collect(Collectors.toList());
+    public ResponseEntity<List<AccountResponseDto>> getAllAccounts(@RequestParam(required = false) Integer page, @RequestParam(required = false) Integer size, @RequestParam(required = false) Integer after){
+        if (PageResponse.isPaged(page, size, after)) {
+            return PageResponse.of(accountService.getAccounts(after, PageResponse.page(page), PageResponse.size(size)), AccountResponseDto::new);
+        }
+        return ResponseEntity.ok(accountService.getAllAccounts().stream().map(AccountResponseDto::new).collect(Collectors.toList()));
     }
 
     /**
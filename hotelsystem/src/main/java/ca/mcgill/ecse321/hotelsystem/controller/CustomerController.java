@@ -24,12 +24,18 @@ public class CustomerController {
     private AccountService accountService;
 
     /**
-     * GetAllCustomers: get a list of all customers in the system
-     * @return list of customer response dtos
+     * GetAllCustomers: get a list of all customers in the system, or one page of them ordered by email
+     * @param page: page number, starting at 0, the whole list is returned when page, size and after are all missing
+     * @param size: number of customers of a page, 50 by default
+     * @param after: return the customers after this email, the last one of the previous page
+     * @return list of customer response dtos, with an X-Has-Next header when paged
      */
     @GetMapping(value = {"/customers", "/customers/"})
-    public List<CustomerResponseDto> getAllCustomers(){
-        return customerService.getAllCustomers().stream().map(CustomerResponseDto::new).collect(Collectors.toList());
+    public ResponseEntity<List<CustomerResponseDto>> getAllCustomers(@RequestParam(required = false) Integer page, @RequestParam(required = false) Integer size, @RequestParam(required = false) String after){
+        if (PageResponse.isPaged(page, size, after)) {
+            return PageResponse.of(customerService.getCustomers(after, PageResponse.page(page), PageResponse.size(size)), CustomerResponseDto::new);
+        }
+        return ResponseEntity.ok(customerService.getAllCustomers().stream().map(CustomerResponseDto::new).collect(Collectors.toList()));
     }
 
     /**
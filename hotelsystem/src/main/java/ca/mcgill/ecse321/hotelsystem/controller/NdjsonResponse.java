@@ -0,0 +1,48 @@
+package ca.mcgill.ecse321.hotelsystem.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * NdjsonResponse: writes an export as newline delimited JSON, one dto per line, while the service streams the
+ * dtos out of the database, so the dtos of the whole table are never held in memory.
+ */
+final class NdjsonResponse {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private NdjsonResponse() {
+    }
+
+    /**
+     * of: streaming response for an export
+     * @param objectMapper mapper used to write each line
+     * @param export service method that hands the dto of every line to a consumer
+     * @return the response, written after the controller method returns
+     */
+    static <D> ResponseEntity<StreamingResponseBody> of(ObjectMapper objectMapper, Consumer<Consumer<D>> export) {
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out);
+            export.accept(dto -> {
+                try {
+                    buffered.write(writer.writeValueAsBytes(dto));
+                    buffered.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            buffered.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
@@ -0,0 +1,42 @@
+package ca.mcgill.ecse321.hotelsystem.controller;
+
+import ca.mcgill.ecse321.hotelsystem.service.Paging;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * PageResponse: shared handling of the optional page, size and after parameters of the list endpoints.
+ * Without any of them an endpoint still returns the whole list, with one of them it returns a single page
+ * and tells the client in the X-Has-Next header whether to ask for the next one.
+ */
+final class PageResponse {
+
+    static final String HAS_NEXT_HEADER = "X-Has-Next";
+
+    private PageResponse() {
+    }
+
+    static boolean isPaged(Integer page, Integer size, Object after) {
+        return page != null || size != null || after != null;
+    }
+
+    static int page(Integer page) {
+        return page == null ? 0 : page;
+    }
+
+    static int size(Integer size) {
+        return size == null ? Paging.DEFAULT_SIZE : size;
+    }
+
+    static <T, D> ResponseEntity<List<D>> of(Slice<T> slice, Function<T, D> toDto) {
+        List<D> dtos = slice.getContent().stream().map(toDto).toList();
+        return ResponseEntity.ok().header(HAS_NEXT_HEADER, String.valueOf(slice.hasNext())).body(dtos);
+    }
+
+    static <D> ResponseEntity<List<D>> of(Slice<D> slice) {
+        return ResponseEntity.ok().header(HAS_NEXT_HEADER, String.valueOf(slice.hasNext())).body(slice.getContent());
+    }
+}
@@ -8,6 +8,7 @@ import ca.mcgill.ecse321.hotelsystem.service.RepairService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.ResponseEntity;
 
 import java.util.List;
 @CrossOrigin(origins="*")
@@ -19,13 +20,19 @@ public class RepairController {
     private RepairService service;
 
     /**
-     * Get all the repairs that are currently in the database
-     * @return List of all repairs
+     * Get all the repairs that are currently in the database, or one page of them ordered by id
+     * @param page page number, starting at 0, the whole list is returned when page, size and after are all missing
+     * @param size number of elements of a page, 50 by default
+     * @param after return the elements after this repair id, the last one of the previous page
+     * @return List of all repairs, with an X-Has-Next header when paged
      */
     @GetMapping ("/repair")
     @ResponseStatus(HttpStatus.OK)
-    public List<RepairResponseDto> getAllRepairs() {
-        return service.getAllRepairs().stream().map(rep -> new RepairResponseDto(rep)).toList();
+    public ResponseEntity<List<RepairResponseDto>> getAllRepairs(@RequestParam(required = false) Integer page, @RequestParam(required = false) Integer size, @RequestParam(required = false) Integer after) {
+        if (PageResponse.isPaged(page, size, after)) {
+            return PageResponse.of(service.getRepairs(after, PageResponse.page(page), PageResponse.size(size)), RepairResponseDto::new);
+        }
+        return ResponseEntity.ok(service.getAllRepairs().stream().map(rep -> new RepairResponseDto(rep)).toList());
     }
 
     /**
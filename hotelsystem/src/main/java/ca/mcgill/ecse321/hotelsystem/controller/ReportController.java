@@ -0,0 +1,98 @@
+package ca.mcgill.ecse321.hotelsystem.controller;
+
+import ca.mcgill.ecse321.hotelsystem.dto.CoverageHeatmapDto;
+import ca.mcgill.ecse321.hotelsystem.dto.LabourCostDto;
+import ca.mcgill.ecse321.hotelsystem.dto.NightlyReportDto;
+import ca.mcgill.ecse321.hotelsystem.dto.RoomTypeReportDto;
+import ca.mcgill.ecse321.hotelsystem.service.LabourReportService;
+import ca.mcgill.ecse321.hotelsystem.service.ReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/owner/reports") // occupancy, revenue and labour reports of the owners
+public class ReportController {
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private LabourReportService labourReportService;
+
+    /**
+     * Occupancy, revenue and check-in statuses of every room type, night by night.
+     *
+     * @param from First night of the report.
+     * @param to Day after the last night of the report.
+     * @param type Room type, every type when left out.
+     * @return One NightlyReportDto per night and room type, ordered by night then type.
+     */
+    @GetMapping(value = "/nightly/{from}/{to}")
+    public List<NightlyReportDto> getNightlyReport(@PathVariable LocalDate from, @PathVariable LocalDate to, @RequestParam(required = false) String type) {
+        return reportService.getNightlyReport(from, to, type);
+    }
+
+    /**
+     * Occupancy, revenue and check-in statuses of every room type over a date range.
+     *
+     * @param from First night of the report.
+     * @param to Day after the last night of the report.
+     * @return One RoomTypeReportDto per room type, ordered by type.
+     */
+    @GetMapping(value = "/summary/{from}/{to}")
+    public List<RoomTypeReportDto> getSummary(@PathVariable LocalDate from, @PathVariable LocalDate to) {
+        return reportService.getSummary(from, to);
+    }
+
+    /**
+     * Shifts, hours and labour cost of each day, from the shifts and the salaries of their employees.
+     *
+     * @param from First day of the report.
+     * @param to Day after the last day of the report.
+     * @return One LabourCostDto per day, ordered by date.
+     */
+    @GetMapping(value = "/labour/daily/{from}/{to}")
+    public List<LabourCostDto> getDailyLabourCost(@PathVariable LocalDate from, @PathVariable LocalDate to) {
+        return labourReportService.getDailyCost(from, to);
+    }
+
+    /**
+     * Shifts, hours and labour cost of each week, weeks starting on Monday.
+     *
+     * @param from First day of the report.
+     * @param to Day after the last day of the report.
+     * @return One LabourCostDto per week, ordered by date, the first and last weeks cut to the range.
+     */
+    @GetMapping(value = "/labour/weekly/{from}/{to}")
+    public List<LabourCostDto> getWeeklyLabourCost(@PathVariable LocalDate from, @PathVariable LocalDate to) {
+        return labourReportService.getWeeklyCost(from, to);
+    }
+
+    /**
+     * Average number of employees on shift for each hour of each day of the week.
+     *
+     * @param from First day of the report.
+     * @param to Day after the last day of the report.
+     * @return The heatmap, seven days from Monday by 24 hours.
+     */
+    @GetMapping(value = "/coverage/{from}/{to}")
+    public CoverageHeatmapDto getCoverage(@PathVariable LocalDate from, @PathVariable LocalDate to) {
+        return labourReportService.getCoverage(from, to);
+    }
+
+    /**
+     * Recompute the reports from the reservations, after rows were written to the database directly.
+     *
+     * @return The number of nights and room types with rooms sold.
+     */
+    @PostMapping(value = "/rebuild")
+    public ResponseEntity<Integer> rebuild() {
+        return new ResponseEntity<Integer>(reportService.rebuild(), HttpStatus.OK);
+    }
+}
@@ -8,6 +8,7 @@ import ca.mcgill.ecse321.hotelsystem.service.RequestService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.ResponseEntity;
 
 import java.util.List;
 @CrossOrigin(origins="*")
@@ -18,13 +19,19 @@ public class RequestController {
     private RequestService service;
 
     /**
-     * Get all requests currently in the databasr
-     * @return List a requests
+     * Get all requests currently in the databasr, or one page of them ordered by id
+     * @param page page number, starting at 0, the whole list is returned when page, size and after are all missing
+     * @param size number of elements of a page, 50 by default
+     * @param after return the elements after this request id, the last one of the previous page
+     * @return List a requests, with an X-Has-Next header when paged
      */
     @GetMapping ("/request")
     @ResponseStatus(HttpStatus.OK)
-    public List<RequestResponseDto> getAllRequests() {
-        return service.getAllRequests().stream().map(req -> new RequestResponseDto(req)).toList();
+    public ResponseEntity<List<RequestResponseDto>> getAllRequests(@RequestParam(required = false) Integer page, @RequestParam(required = false) Integer size, @RequestParam(required = false) Integer after) {
+        if (PageResponse.isPaged(page, size, after)) {
+            return PageResponse.of(service.getRequests(after, PageResponse.page(page), PageResponse.size(size)), RequestResponseDto::new);
+        }
+        return ResponseEntity.ok(service.getAllRequests().stream().map(req -> new RequestResponseDto(req)).toList());
     }
 
     /**
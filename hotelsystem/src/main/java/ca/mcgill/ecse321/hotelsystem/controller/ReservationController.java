@@ -2,17 +2,25 @@ package ca.mcgill.ecse321.hotelsystem.controller;
 
 import ca.mcgill.ecse321.hotelsystem.Model.Customer;
 import ca.mcgill.ecse321.hotelsystem.Model.Reservation;
+import ca.mcgill.ecse321.hotelsystem.Model.ReservedRoom;
+import ca.mcgill.ecse321.hotelsystem.dto.BatchReservationRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.BatchReservationResponseDto;
+import ca.mcgill.ecse321.hotelsystem.dto.FolioEntryResponseDto;
+import ca.mcgill.ecse321.hotelsystem.dto.PaymentRequestDto;
 import ca.mcgill.ecse321.hotelsystem.dto.ReservationRequestDto;
 import ca.mcgill.ecse321.hotelsystem.dto.ReservationResponseDto;
 import ca.mcgill.ecse321.hotelsystem.service.CustomerService;
 import ca.mcgill.ecse321.hotelsystem.service.ReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @CrossOrigin(origins="*")
 @RestController //@Controller + @ResponseBody
@@ -23,6 +31,9 @@ public class ReservationController {
     @Autowired
     CustomerService customerService;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
     /**
      * create a new reservation
      * @param reservation info about the new reservation
@@ -37,17 +48,41 @@ public class ReservationController {
     }
 
     /**
-     * get all reservations
-     * @return list of dto reservation objects
+     * create a reservation and book all of its rooms at once, for group bookings
+     * @param batch reservation info and the number of rooms wanted for each room type
+     * @return dto of the new reservation and its rooms
+     */
+    @PostMapping("/reservation/batch")
+    public ResponseEntity<BatchReservationResponseDto> createBatchReservation(@RequestBody BatchReservationRequestDto batch) {
+        Customer customer = customerService.getCustomerByEmail(batch.getCustomerEmail());
+        Reservation res = batch.toModel(customer);
+        List<ReservedRoom> rooms = reservationService.createBatchReservation(res, batch.getRooms());
+        return new ResponseEntity<>(new BatchReservationResponseDto(rooms), HttpStatus.CREATED);
+    }
+
+    /**
+     * get all reservations, or one page of them ordered by id
+     * @param page page number, starting at 0, the whole list is returned when page, size and after are all missing
+     * @param size number of elements of a page, 50 by default
+     * @param after return the elements after this reservation id, the last one of the previous page
+     * @return list of dto reservation objects, with an X-Has-Next header when paged
      */
     @GetMapping("/reservation")
-    public List<ReservationResponseDto> getAllReservations() {
-        List<Reservation> list = reservationService.getAllReservations();
-        List<ReservationResponseDto> dtos = new ArrayList<>();
-        for(Reservation res: list) {
-            dtos.add(new ReservationResponseDto(res));
+    public ResponseEntity<List<ReservationResponseDto>> getAllReservations(@RequestParam(required = false) Integer page, @RequestParam(required = false) Integer size, @RequestParam(required = false) Integer after) {
+        if (PageResponse.isPaged(page, size, after)) {
+            return PageResponse.of(reservationService.getReservations(after, PageResponse.page(page), PageResponse.size(size)));
         }
-        return dtos;
+        return ResponseEntity.ok(reservationService.getAllReservationResponses());
+    }
+
+    /**
+     * export all reservations as newline delimited JSON, one reservation per line in id order,
+     * with the customer email instead of the customer
+     * @return streaming response body
+     */
+    @GetMapping(value = "/reservation/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportReservations() {
+        return NdjsonResponse.of(objectMapper, reservationService::exportReservations);
     }
 
     /**
@@ -56,12 +91,7 @@ public class ReservationController {
      */
     @GetMapping("/reservation/not-paid")
     public List<ReservationResponseDto> getAllReservationsNotPaid() {
-        List<Reservation> list = reservationService.getReservationsNotPaid();
-        List<ReservationResponseDto> dtos = new ArrayList<>();
-        for(Reservation res: list) {
-            dtos.add(new ReservationResponseDto(res));
-        }
-        return dtos;
+        return reservationService.getReservationResponsesNotPaid();
     }
 
     /**
@@ -106,12 +136,7 @@ public class ReservationController {
     @GetMapping("/reservation/customer/{customerEmail}")
     public List<ReservationResponseDto> getAllReservationsCustomer(@PathVariable(value = "customerEmail") String customerEmail) {
         Customer customer = customerService.getCustomerByEmail(customerEmail);
-        List<Reservation> list = reservationService.getReservationsByCustomer(customer);
-        List<ReservationResponseDto> dtos = new ArrayList<>();
-        for(Reservation res: list) {
-            dtos.add(new ReservationResponseDto(res));
-        }
-        return dtos;
+        return reservationService.getReservationResponsesByCustomer(customer);
     }
 
     /**
@@ -147,4 +172,29 @@ public class ReservationController {
         return new ResponseEntity<>(new ReservationResponseDto(newRes), HttpStatus.OK);
     }
 
+    /**
+     * Pay several reservations at once
+     * @param payments reservation id and amount of money of each payment
+     * @return updated dto objects, ordered by id
+     */
+    @PutMapping("/reservation/payments")
+    public List<ReservationResponseDto> payReservations(@RequestBody List<PaymentRequestDto> payments) {
+        Map<Integer, Integer> moneyByReservation = new HashMap<>();
+        for (PaymentRequestDto payment : payments) {
+            moneyByReservation.merge(payment.getReservationId(), payment.getMoney(), Integer::sum);
+        }
+        return reservationService.payReservations(moneyByReservation).stream().map(ReservationResponseDto::new).toList();
+    }
+
+    /**
+     * get the folio of a reservation, its room charges, refunds and payments
+     * @param id id
+     * @return list of dto objects, oldest first
+     */
+    @GetMapping("/reservation/{reservationId}/folio")
+    public List<FolioEntryResponseDto> getFolio(@PathVariable("reservationId") int id) {
+        Reservation reservation = reservationService.getReservation(id);
+        return reservationService.getFolio(reservation).stream().map(FolioEntryResponseDto::new).toList();
+    }
+
 }
@@ -5,10 +5,12 @@ import ca.mcgill.ecse321.hotelsystem.Model.SpecificRoom;
 import ca.mcgill.ecse321.hotelsystem.dto.ReservedRoomRequestDto;
 import ca.mcgill.ecse321.hotelsystem.dto.ReservedRoomResponseDto;
 import ca.mcgill.ecse321.hotelsystem.service.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @CrossOrigin(origins="*")
@@ -30,18 +32,32 @@ public class ReservedRoomController {
     @Autowired
     CustomerService customerService;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
     /**
-     * get all reserved rooms
-     * @return list of dto objects
+     * get all reserved rooms, or one page of them ordered by id
+     * @param page page number, starting at 0, the whole list is returned when page, size and after are all missing
+     * @param size number of elements of a page, 50 by default
+     * @param after return the elements after this reserved room id, the last one of the previous page
+     * @return list of dto objects, with an X-Has-Next header when paged
      */
     @GetMapping("/reservedRoom")
-    public List<ReservedRoomResponseDto> getAllReservedRooms() {
-        List<ReservedRoom> list = reservedRoomService.getAllReservedRooms();
-        List<ReservedRoomResponseDto> dtos = new ArrayList<>();
-        for(ReservedRoom room : list) {
-            dtos.add(new ReservedRoomResponseDto(room));
+    public ResponseEntity<List<ReservedRoomResponseDto>> getAllReservedRooms(@RequestParam(required = false) Integer page, @RequestParam(required = false) Integer size, @RequestParam(required = false) Integer after) {
+        if (PageResponse.isPaged(page, size, after)) {
+            return PageResponse.of(reservedRoomService.getReservedRooms(after, PageResponse.page(page), PageResponse.size(size)));
         }
-        return dtos;
+        return ResponseEntity.ok(reservedRoomService.getAllReservedRoomResponses());
+    }
+
+    /**
+     * export all reserved rooms as newline delimited JSON, one reserved room per line in id order,
+     * with the reservation id, stay, customer email and room number instead of the nested entities
+     * @return streaming response body
+     */
+    @GetMapping(value = "/reservedRoom/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportReservedRooms() {
+        return NdjsonResponse.of(objectMapper, reservedRoomService::exportReservedRooms);
     }
 
     /**
@@ -73,12 +89,7 @@ public class ReservedRoomController {
      */
     @GetMapping("/reservedRoom/reservation/{reservationId}")
     public List<ReservedRoomResponseDto> getReservedRoomsByReservation(@PathVariable("reservationId") int id) {
-        List<ReservedRoom> list = reservedRoomService.getReservedRoomsByReservation(id);
-        List<ReservedRoomResponseDto> dtos = new ArrayList<>();
-        for(ReservedRoom room : list) {
-            dtos.add(new ReservedRoomResponseDto(room));
-        }
-        return dtos;
+        return reservedRoomService.getReservedRoomResponsesByReservation(id);
     }
 
     /**
@@ -89,12 +100,7 @@ public class ReservedRoomController {
     @GetMapping("/reservedRoom/specificRoom/{specRoomNumber}")
     public List<ReservedRoomResponseDto> getReservedRoomBySpecRoom(@PathVariable("specRoomNumber") int number) {
         SpecificRoom specRoom = specificRoomService.findSpecificRoomByNumber(number);
-        List<ReservedRoom> list = reservedRoomService.getReservedRoomsBySpecRoom(specRoom);
-        List<ReservedRoomResponseDto> dtos = new ArrayList<>();
-        for(ReservedRoom room : list) {
-            dtos.add(new ReservedRoomResponseDto(room));
-        }
-        return dtos;
+        return reservedRoomService.getReservedRoomResponsesBySpecRoom(specRoom);
     }
 
     /**
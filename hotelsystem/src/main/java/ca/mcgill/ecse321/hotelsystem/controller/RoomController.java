@@ -1,8 +1,10 @@
 package ca.mcgill.ecse321.hotelsystem.controller;
 
 import ca.mcgill.ecse321.hotelsystem.Model.Room;
+import ca.mcgill.ecse321.hotelsystem.dto.CacheStatsDto;
 import ca.mcgill.ecse321.hotelsystem.dto.RoomRequestDto;
 import ca.mcgill.ecse321.hotelsystem.dto.RoomResponseDto;
+import ca.mcgill.ecse321.hotelsystem.service.RoomCatalogCache;
 import ca.mcgill.ecse321.hotelsystem.service.RoomService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -18,6 +20,9 @@ public class RoomController {
     @Autowired
     private RoomService roomService;
 
+    @Autowired
+    private RoomCatalogCache roomCatalogCache;
+
     /**
      * getAllRooms: get a list of all rooms in the system
      * @return a list of RoomResponseDto
@@ -27,6 +32,16 @@ public class RoomController {
         return roomService.getAllRooms().stream().map(RoomResponseDto::new).collect(Collectors.toList());
     }
 
+    /**
+     * getCatalogCacheStats: hits, misses and size of the caches of rooms by type and specific rooms by number
+     * @return a list of CacheStatsDto
+     */
+    @GetMapping(value = "/rooms/cache")
+    public List<CacheStatsDto> getCatalogCacheStats(){
+        return List.of(new CacheStatsDto("rooms", roomCatalogCache.getRooms()),
+                new CacheStatsDto("specificRooms", roomCatalogCache.getSpecificRooms()));
+    }
+
     /**
      * getRoomByType: get a list of all rooms in the system by type
      * @return a list of RoomResponseDto
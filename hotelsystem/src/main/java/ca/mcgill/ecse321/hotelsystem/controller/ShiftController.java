@@ -1,15 +1,25 @@
 package ca.mcgill.ecse321.hotelsystem.controller;
 
+import ca.mcgill.ecse321.hotelsystem.dto.RosterRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.RosterResponseDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftGridDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftImportResponseDto;
 import ca.mcgill.ecse321.hotelsystem.dto.ShiftRequestDto;
 import ca.mcgill.ecse321.hotelsystem.dto.ShiftResponseDto;
 import ca.mcgill.ecse321.hotelsystem.service.EmployeeService;
+import ca.mcgill.ecse321.hotelsystem.service.ShiftImportReader;
 import ca.mcgill.ecse321.hotelsystem.service.ShiftService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ca.mcgill.ecse321.hotelsystem.Model.Shift;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.Time;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -24,6 +34,9 @@ public class ShiftController {
       @Autowired
       private EmployeeService employeeService;
 
+      @Autowired
+      private ObjectMapper objectMapper;
+
       /**
        * createShift: creates a shift
        * @param shiftToCreate : shift to be created
@@ -42,17 +55,60 @@ public class ShiftController {
       }
 
       /**
-       * getAllShifts: gets all shifts
-       * @return list of all shift response objects
+       * generateRoster: creates the shifts of a week that cover the staff needed per time slot
+       * @param roster : week, coverage needed and availability of the employees
+       * @return response entity containing the shifts created and the slots left short
+       */
+      @PostMapping("/shift/roster")
+      public ResponseEntity<RosterResponseDto> generateRoster(@RequestBody RosterRequestDto roster) {
+            return new ResponseEntity<RosterResponseDto>(shiftService.generateRoster(roster), HttpStatus.CREATED);
+      }
+
+      /**
+       * importShifts: creates the shifts of a CSV file or a JSON array, read as it arrives
+       * @param contentType : text/csv, with a header line naming the date, startTime, endTime and employeeEmail columns,
+       *                    or application/json, for an array of objects with these fields
+       * @param body : the file
+       * @return response entity containing the number of shifts imported and the rows rejected with the reason
+       */
+      @PostMapping(value = "/shift/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+      public ResponseEntity<ShiftImportResponseDto> importShifts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+            ShiftImportReader reader = MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                        ? ShiftImportReader.json(objectMapper.getFactory(), body)
+                        : ShiftImportReader.csv(body);
+            return new ResponseEntity<ShiftImportResponseDto>(shiftService.importShifts(reader), HttpStatus.OK);
+      }
+
+      /**
+       * getAllShifts: gets all shifts, or one page of them ordered by shift ID
+       * @param page : page number, starting at 0, the whole list is returned when page, size and after are all missing
+       * @param size : number of shifts of a page, 50 by default
+       * @param after : return the shifts after this shift ID, the last one of the previous page
+       * @return list of all shift response objects, with an X-Has-Next header when paged
        */
       @GetMapping("/shifts/")
-      public List<ShiftResponseDto> getAllShifts() {
+      public ResponseEntity<List<ShiftResponseDto>> getAllShifts(@RequestParam(required = false) Integer page, @RequestParam(required = false) Integer size, @RequestParam(required = false) Integer after) {
+            if (PageResponse.isPaged(page, size, after)) {
+                  return PageResponse.of(shiftService.getShifts(after, PageResponse.page(page), PageResponse.size(size)), ShiftResponseDto::new);
+            }
             Iterable<Shift> allShifts = shiftService.getAllShifts();
             List<ShiftResponseDto> dtos = new ArrayList<ShiftResponseDto>();
             for (Shift s: allShifts) {
                   dtos.add(new ShiftResponseDto(s));
             }
-            return dtos;
+            return ResponseEntity.ok(dtos);
+      }
+
+      /**
+       * getShiftGrid : gets the shifts of a week or month view, grouped by employee and day
+       * @param from : first day of the view
+       * @param to : last day of the view, included
+       * @param employeeEmail : only the shifts of this employee, all employees when absent
+       * @return grid with one row per employee and one list of shifts per day
+       */
+      @GetMapping("/shifts/range")
+      public ShiftGridDto getShiftGrid(@RequestParam LocalDate from, @RequestParam LocalDate to, @RequestParam(required = false) String employeeEmail) {
+            return shiftService.getShiftGrid(from, to, employeeEmail);
       }
 
       /**
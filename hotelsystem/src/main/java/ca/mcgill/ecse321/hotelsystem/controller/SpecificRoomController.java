@@ -5,8 +5,11 @@ import ca.mcgill.ecse321.hotelsystem.Model.SpecificRoom;
 import ca.mcgill.ecse321.hotelsystem.Model.ViewType;
 import ca.mcgill.ecse321.hotelsystem.dto.ReservationRequestDto;
 import ca.mcgill.ecse321.hotelsystem.dto.SpecificRoomAvailableDto;
+import ca.mcgill.ecse321.hotelsystem.dto.SpecificRoomCalendarDto;
+import ca.mcgill.ecse321.hotelsystem.dto.SpecificRoomForSuggestionDTO;
 import ca.mcgill.ecse321.hotelsystem.dto.SpecificRoomRequestDto;
 import ca.mcgill.ecse321.hotelsystem.dto.SpecificRoomResponseDto;
+import ca.mcgill.ecse321.hotelsystem.service.OccupancyCalendar;
 import ca.mcgill.ecse321.hotelsystem.service.RoomService;
 import ca.mcgill.ecse321.hotelsystem.service.SpecificRoomService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @CrossOrigin(origins="*")
@@ -28,12 +32,18 @@ public class SpecificRoomController {
     private RoomService roomService;
 
     /**
-     * getAllRooms: get a list of all specific rooms in the system
-     * @return a list of SpecificRoomResponseDto
+     * getAllRooms: get a list of all specific rooms in the system, or one page of them ordered by number
+     * @param page: page number, starting at 0, the whole list is returned when page, size and after are all missing
+     * @param size: number of rooms of a page, 50 by default
+     * @param after: return the rooms after this room number, the last one of the previous page
+     * @return a list of SpecificRoomResponseDto, with an X-Has-Next header when paged
      */
     @GetMapping(value = "/specificRooms")
-    public List<SpecificRoomResponseDto> getAllRooms(){
-        return specificRoomService.getAllSpecificRooms().stream().map(SpecificRoomResponseDto::new).collect(Collectors.toList());
+    public ResponseEntity<List<SpecificRoomResponseDto>> getAllRooms(@RequestParam(required = false) Integer page, @RequestParam(required = false) Integer size, @RequestParam(required = false) Integer after){
+        if (PageResponse.isPaged(page, size, after)) {
+            return PageResponse.of(specificRoomService.getSpecificRooms(after, PageResponse.page(page), PageResponse.size(size)), SpecificRoomResponseDto::new);
+        }
+        return ResponseEntity.ok(specificRoomService.getAllSpecificRooms().stream().map(SpecificRoomResponseDto::new).collect(Collectors.toList()));
     }
 
     /**
@@ -53,6 +63,29 @@ public class SpecificRoomController {
         return specificRooms.stream().map(SpecificRoomResponseDto::new).collect(Collectors.toList());
     }
 
+    /**
+     * getAvailableSpecificRoomsGroupedByType: get the specific rooms free for a stay, grouped by room type
+     * @param checkIn: check-in date
+     * @param checkOut: check-out date
+     * @return a list of SpecificRoomForSuggestionDTO, one per room type with at least one free room
+     */
+    @GetMapping(value = "/specificRoom/available/{checkIn}/{checkOut}")
+    public List<SpecificRoomForSuggestionDTO> getAvailableSpecificRoomsGroupedByType(@PathVariable LocalDate checkIn, @PathVariable LocalDate checkOut){
+        Map<String, List<SpecificRoom>> roomsByType = specificRoomService.getAvailableSpecificRoomsGroupedByType(checkIn, checkOut);
+        return roomsByType.entrySet().stream().map(entry -> new SpecificRoomForSuggestionDTO(entry.getKey(), entry.getValue())).collect(Collectors.toList());
+    }
+
+    /**
+     * getSpecificRoomCalendar: get the nights booked for a specific room over the current horizon
+     * @param number: number of room
+     * @return a SpecificRoomCalendarDto
+     */
+    @GetMapping(value = "/specificRoom/calendar/{number}")
+    public ResponseEntity<SpecificRoomCalendarDto> getSpecificRoomCalendar(@PathVariable int number){
+        OccupancyCalendar calendar = specificRoomService.getSpecificRoomCalendar(number);
+        return new ResponseEntity<>(new SpecificRoomCalendarDto(number, calendar.getStartDate(), OccupancyCalendar.NIGHTS, calendar.words(number)), HttpStatus.OK);
+    }
+
     /**
      * getAllRooms: get a list of all specific rooms in the system by view
      * @param view: type of room
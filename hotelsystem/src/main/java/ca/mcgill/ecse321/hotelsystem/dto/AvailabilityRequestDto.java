@@ -0,0 +1,45 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AvailabilityRequestDto {
+
+    private String employeeEmail;
+    private int maxHours;
+    // windows the employee can work in, the employee field of each is ignored
+    private List<ShiftRequestDto> available = new ArrayList<>();
+
+    public AvailabilityRequestDto() {
+    }
+
+    public AvailabilityRequestDto(String employeeEmail, int maxHours, List<ShiftRequestDto> available) {
+        this.employeeEmail = employeeEmail;
+        this.maxHours = maxHours;
+        this.available = available;
+    }
+
+    public String getEmployeeEmail() {
+        return employeeEmail;
+    }
+
+    public void setEmployeeEmail(String employeeEmail) {
+        this.employeeEmail = employeeEmail;
+    }
+
+    public int getMaxHours() {
+        return maxHours;
+    }
+
+    public void setMaxHours(int maxHours) {
+        this.maxHours = maxHours;
+    }
+
+    public List<ShiftRequestDto> getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(List<ShiftRequestDto> available) {
+        this.available = available;
+    }
+}
@@ -0,0 +1,75 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import ca.mcgill.ecse321.hotelsystem.Model.CheckInStatus;
+import ca.mcgill.ecse321.hotelsystem.Model.Customer;
+import ca.mcgill.ecse321.hotelsystem.Model.Reservation;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public class BatchReservationRequestDto {
+
+    private int numPeople;
+    private LocalDate checkin;
+    private LocalDate checkOut;
+    private String customerEmail;
+
+    // room type -> number of rooms of that type
+    private Map<String, Integer> rooms;
+
+    public BatchReservationRequestDto() {
+
+    }
+
+    public BatchReservationRequestDto(int numPeople, LocalDate checkin, LocalDate checkOut, String customerEmail, Map<String, Integer> rooms) {
+        this.numPeople = numPeople;
+        this.checkin = checkin;
+        this.checkOut = checkOut;
+        this.customerEmail = customerEmail;
+        this.rooms = rooms;
+    }
+
+    public Reservation toModel(Customer c){
+        return new Reservation(numPeople, checkin, checkOut, 0, false, CheckInStatus.BeforeCheckIn, c);
+    }
+
+    public int getNumPeople() {
+        return numPeople;
+    }
+
+    public void setNumPeople(int numPeople) {
+        this.numPeople = numPeople;
+    }
+
+    public LocalDate getCheckin() {
+        return checkin;
+    }
+
+    public void setCheckin(LocalDate checkin) {
+        this.checkin = checkin;
+    }
+
+    public LocalDate getCheckOut() {
+        return checkOut;
+    }
+
+    public void setCheckOut(LocalDate checkOut) {
+        this.checkOut = checkOut;
+    }
+
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public void setCustomerEmail(String customerEmail) {
+        this.customerEmail = customerEmail;
+    }
+
+    public Map<String, Integer> getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(Map<String, Integer> rooms) {
+        this.rooms = rooms;
+    }
+}
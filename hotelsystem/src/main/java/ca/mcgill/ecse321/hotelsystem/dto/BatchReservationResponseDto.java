@@ -0,0 +1,40 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import ca.mcgill.ecse321.hotelsystem.Model.ReservedRoom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchReservationResponseDto {
+
+    private ReservationResponseDto reservation;
+    private List<SpecificRoomResponseDto> rooms;
+
+    public BatchReservationResponseDto() {
+
+    }
+
+    public BatchReservationResponseDto(List<ReservedRoom> reservedRooms) {
+        this.rooms = new ArrayList<>();
+        for (ReservedRoom reservedRoom : reservedRooms) {
+            if (reservation == null) this.reservation = new ReservationResponseDto(reservedRoom.getReservation());
+            this.rooms.add(new SpecificRoomResponseDto(reservedRoom.getSpecificRoom()));
+        }
+    }
+
+    public ReservationResponseDto getReservation() {
+        return reservation;
+    }
+
+    public void setReservation(ReservationResponseDto reservation) {
+        this.reservation = reservation;
+    }
+
+    public List<SpecificRoomResponseDto> getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(List<SpecificRoomResponseDto> rooms) {
+        this.rooms = rooms;
+    }
+}
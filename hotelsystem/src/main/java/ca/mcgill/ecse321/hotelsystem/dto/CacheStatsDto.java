@@ -0,0 +1,48 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import ca.mcgill.ecse321.hotelsystem.service.LruCache;
+
+public class CacheStatsDto {
+    private String name;
+    private int size;
+    private int capacity;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public CacheStatsDto(String name, LruCache<?, ?> cache) {
+        this.name = name;
+        this.size = cache.size();
+        this.capacity = cache.getCapacity();
+        this.hits = cache.getHits();
+        this.misses = cache.getMisses();
+        this.evictions = cache.getEvictions();
+    }
+
+    public CacheStatsDto() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+}
@@ -0,0 +1,62 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CoverageHeatmapDto {
+    private LocalDate from;
+    private LocalDate to;
+    // staff[d][h]: average number of employees on shift during hour h of day d of the week, Monday first
+    private List<List<Double>> staff = new ArrayList<>();
+    // the highest of those averages
+    private double peak;
+
+    public CoverageHeatmapDto(LocalDate from, LocalDate to, double[][] staff) {
+        this.from = from;
+        this.to = to;
+        for (double[] day : staff) {
+            List<Double> hours = new ArrayList<>(day.length);
+            for (double hour : day) {
+                hours.add(hour);
+                peak = Math.max(peak, hour);
+            }
+            this.staff.add(hours);
+        }
+    }
+
+    public CoverageHeatmapDto() {
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public List<List<Double>> getStaff() {
+        return staff;
+    }
+
+    public void setStaff(List<List<Double>> staff) {
+        this.staff = staff;
+    }
+
+    public double getPeak() {
+        return peak;
+    }
+
+    public void setPeak(double peak) {
+        this.peak = peak;
+    }
+}
@@ -0,0 +1,54 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import java.sql.Time;
+import java.time.LocalDate;
+
+public class CoverageRequestDto {
+
+    private LocalDate date;
+    private Time startTime;
+    private Time endTime;
+    private int staff;
+
+    public CoverageRequestDto() {
+    }
+
+    public CoverageRequestDto(LocalDate date, Time startTime, Time endTime, int staff) {
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.staff = staff;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Time getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Time startTime) {
+        this.startTime = startTime;
+    }
+
+    public Time getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(Time endTime) {
+        this.endTime = endTime;
+    }
+
+    public int getStaff() {
+        return staff;
+    }
+
+    public void setStaff(int staff) {
+        this.staff = staff;
+    }
+}
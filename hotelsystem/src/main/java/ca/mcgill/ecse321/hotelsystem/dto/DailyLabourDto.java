@@ -0,0 +1,37 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import java.time.LocalDate;
+
+/**
+ * DailyLabourDto: the shifts worked on a date, summed by the database
+ */
+public class DailyLabourDto {
+    private final LocalDate date;
+    private final long shifts;
+    private final long minutes;
+    // minutes of every shift times the yearly salary of its employee
+    private final long salaryMinutes;
+
+    public DailyLabourDto(LocalDate date, long shifts, long minutes, long salaryMinutes) {
+        this.date = date;
+        this.shifts = shifts;
+        this.minutes = minutes;
+        this.salaryMinutes = salaryMinutes;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public long getShifts() {
+        return shifts;
+    }
+
+    public long getMinutes() {
+        return minutes;
+    }
+
+    public long getSalaryMinutes() {
+        return salaryMinutes;
+    }
+}
@@ -0,0 +1,65 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import ca.mcgill.ecse321.hotelsystem.Model.FolioEntry;
+import ca.mcgill.ecse321.hotelsystem.Model.FolioEntryType;
+
+import java.time.LocalDateTime;
+
+public class FolioEntryResponseDto {
+    private int entryId;
+    private FolioEntryType type;
+    private int amount;
+    private Integer reservedRoomId;
+    private LocalDateTime postedAt;
+
+    public FolioEntryResponseDto(FolioEntry entry) {
+        this.entryId = entry.getEntryId();
+        this.type = entry.getType();
+        this.amount = entry.getAmount();
+        this.reservedRoomId = entry.getReservedRoomId();
+        this.postedAt = entry.getPostedAt();
+    }
+
+    public FolioEntryResponseDto() {
+    }
+
+    public int getEntryId() {
+        return entryId;
+    }
+
+    public void setEntryId(int entryId) {
+        this.entryId = entryId;
+    }
+
+    public FolioEntryType getType() {
+        return type;
+    }
+
+    public void setType(FolioEntryType type) {
+        this.type = type;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public void setAmount(int amount) {
+        this.amount = amount;
+    }
+
+    public Integer getReservedRoomId() {
+        return reservedRoomId;
+    }
+
+    public void setReservedRoomId(Integer reservedRoomId) {
+        this.reservedRoomId = reservedRoomId;
+    }
+
+    public LocalDateTime getPostedAt() {
+        return postedAt;
+    }
+
+    public void setPostedAt(LocalDateTime postedAt) {
+        this.postedAt = postedAt;
+    }
+}
@@ -0,0 +1,79 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import java.time.LocalDate;
+
+public class LabourCostDto {
+    // first day of the period, a day or the part of a week inside the report
+    private LocalDate start;
+    private int days;
+    private long shifts;
+    private double hours;
+    // hours paid at the yearly salary of each employee divided by the hours worked in a year
+    private double cost;
+    // sum of the minutes of every shift times the salary of its employee, the cost is computed from it without rounding
+    private long salaryMinutes;
+    private long minutes;
+
+    public LabourCostDto(LocalDate start, int days) {
+        this.start = start;
+        this.days = days;
+    }
+
+    public LabourCostDto() {
+    }
+
+    /**
+     * add: count the shifts of one day in the period
+     * @param shifts shifts worked that day
+     * @param minutes minutes of those shifts
+     * @param salaryMinutes minutes of those shifts times the salary of their employee
+     * @param yearlyMinutes minutes a salary pays for in a year
+     */
+    public void add(long shifts, long minutes, long salaryMinutes, long yearlyMinutes) {
+        this.shifts += shifts;
+        this.minutes += minutes;
+        this.salaryMinutes += salaryMinutes;
+        hours = this.minutes / 60.0;
+        cost = Math.round(this.salaryMinutes * 100.0 / yearlyMinutes) / 100.0;
+    }
+
+    public LocalDate getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDate start) {
+        this.start = start;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public void setDays(int days) {
+        this.days = days;
+    }
+
+    public long getShifts() {
+        return shifts;
+    }
+
+    public void setShifts(long shifts) {
+        this.shifts = shifts;
+    }
+
+    public double getHours() {
+        return hours;
+    }
+
+    public void setHours(double hours) {
+        this.hours = hours;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    public void setCost(double cost) {
+        this.cost = cost;
+    }
+}
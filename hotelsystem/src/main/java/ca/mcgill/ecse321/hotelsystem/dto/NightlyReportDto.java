@@ -0,0 +1,139 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import ca.mcgill.ecse321.hotelsystem.Model.NightlyRollup;
+
+import java.time.LocalDate;
+
+public class NightlyReportDto {
+    private LocalDate night;
+    private String roomType;
+    private int roomsAvailable;
+    private int roomsSold;
+    private long revenue;
+    // rooms sold / rooms available
+    private double occupancy;
+    // average daily rate, revenue / rooms sold
+    private double adr;
+    // revenue per available room, revenue / rooms available
+    private double revpar;
+    private int beforeCheckIn;
+    private int checkedIn;
+    private int checkedOut;
+    private int noShow;
+
+    public NightlyReportDto(LocalDate night, String roomType, int roomsAvailable, NightlyRollup rollup) {
+        this.night = night;
+        this.roomType = roomType;
+        this.roomsAvailable = roomsAvailable;
+        if (rollup != null) {
+            this.roomsSold = rollup.getRoomsSold();
+            this.revenue = rollup.getRevenue();
+            this.beforeCheckIn = rollup.getBeforeCheckIn();
+            this.checkedIn = rollup.getCheckedIn();
+            this.checkedOut = rollup.getCheckedOut();
+            this.noShow = rollup.getNoShow();
+        }
+        this.occupancy = roomsAvailable == 0 ? 0 : (double) roomsSold / roomsAvailable;
+        this.adr = roomsSold == 0 ? 0 : (double) revenue / roomsSold;
+        this.revpar = roomsAvailable == 0 ? 0 : (double) revenue / roomsAvailable;
+    }
+
+    public NightlyReportDto() {
+    }
+
+    public LocalDate getNight() {
+        return night;
+    }
+
+    public void setNight(LocalDate night) {
+        this.night = night;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+
+    public int getRoomsAvailable() {
+        return roomsAvailable;
+    }
+
+    public void setRoomsAvailable(int roomsAvailable) {
+        this.roomsAvailable = roomsAvailable;
+    }
+
+    public int getRoomsSold() {
+        return roomsSold;
+    }
+
+    public void setRoomsSold(int roomsSold) {
+        this.roomsSold = roomsSold;
+    }
+
+    public long getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(long revenue) {
+        this.revenue = revenue;
+    }
+
+    public double getOccupancy() {
+        return occupancy;
+    }
+
+    public void setOccupancy(double occupancy) {
+        this.occupancy = occupancy;
+    }
+
+    public double getAdr() {
+        return adr;
+    }
+
+    public void setAdr(double adr) {
+        this.adr = adr;
+    }
+
+    public double getRevpar() {
+        return revpar;
+    }
+
+    public void setRevpar(double revpar) {
+        this.revpar = revpar;
+    }
+
+    public int getBeforeCheckIn() {
+        return beforeCheckIn;
+    }
+
+    public void setBeforeCheckIn(int beforeCheckIn) {
+        this.beforeCheckIn = beforeCheckIn;
+    }
+
+    public int getCheckedIn() {
+        return checkedIn;
+    }
+
+    public void setCheckedIn(int checkedIn) {
+        this.checkedIn = checkedIn;
+    }
+
+    public int getCheckedOut() {
+        return checkedOut;
+    }
+
+    public void setCheckedOut(int checkedOut) {
+        this.checkedOut = checkedOut;
+    }
+
+    public int getNoShow() {
+        return noShow;
+    }
+
+    public void setNoShow(int noShow) {
+        this.noShow = noShow;
+    }
+}
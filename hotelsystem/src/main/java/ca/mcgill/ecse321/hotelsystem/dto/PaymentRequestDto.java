@@ -0,0 +1,30 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+public class PaymentRequestDto {
+    private int reservationId;
+    private int money;
+
+    public PaymentRequestDto() {
+    }
+
+    public PaymentRequestDto(int reservationId, int money) {
+        this.reservationId = reservationId;
+        this.money = money;
+    }
+
+    public int getReservationId() {
+        return reservationId;
+    }
+
+    public void setReservationId(int reservationId) {
+        this.reservationId = reservationId;
+    }
+
+    public int getMoney() {
+        return money;
+    }
+
+    public void setMoney(int money) {
+        this.money = money;
+    }
+}
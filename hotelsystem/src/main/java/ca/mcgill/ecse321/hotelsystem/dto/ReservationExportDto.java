@@ -0,0 +1,67 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import ca.mcgill.ecse321.hotelsystem.Model.CheckInStatus;
+
+import java.time.LocalDate;
+
+/**
+ * One line of the reservation export, with the email of the customer instead of the nested customer.
+ */
+public class ReservationExportDto {
+    private int reservationId;
+    private int numPeople;
+    private LocalDate checkin;
+    private LocalDate checkOut;
+    private int totalPrice;
+    private boolean paid;
+    private CheckInStatus checkedIn;
+    private String customerEmail;
+
+    public ReservationExportDto() {
+
+    }
+
+    public ReservationExportDto(int reservationId, int numPeople, LocalDate checkin, LocalDate checkOut, int totalPrice,
+                                boolean paid, CheckInStatus checkedIn, String customerEmail) {
+        this.reservationId = reservationId;
+        this.numPeople = numPeople;
+        this.checkin = checkin;
+        this.checkOut = checkOut;
+        this.totalPrice = totalPrice;
+        this.paid = paid;
+        this.checkedIn = checkedIn;
+        this.customerEmail = customerEmail;
+    }
+
+    public int getReservationId() {
+        return reservationId;
+    }
+
+    public int getNumPeople() {
+        return numPeople;
+    }
+
+    public LocalDate getCheckin() {
+        return checkin;
+    }
+
+    public LocalDate getCheckOut() {
+        return checkOut;
+    }
+
+    public int getTotalPrice() {
+        return totalPrice;
+    }
+
+    public boolean isPaid() {
+        return paid;
+    }
+
+    public CheckInStatus getCheckedIn() {
+        return checkedIn;
+    }
+
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+}
@@ -1,11 +1,14 @@
 package ca.mcgill.ecse321.hotelsystem.dto;
 
 import ca.mcgill.ecse321.hotelsystem.Model.CheckInStatus;
-import ca.mcgill.ecse321.hotelsystem.Model.Customer;
 import ca.mcgill.ecse321.hotelsystem.Model.Reservation;
 
 import java.time.LocalDate;
 
+/**
+ * Reservation as returned by the api, with the email and name of the customer instead of the customer entity
+ * (and its account). List endpoints build it directly in the query, see ReservationRepository.
+ */
 public class ReservationResponseDto {
     private int reservationId;
     private int numPeople;
@@ -14,8 +17,8 @@ public class ReservationResponseDto {
     private int totalPrice;
     private Boolean paid;
     private CheckInStatus checkedIn;
-
-    private Customer customer;
+    private String customerEmail;
+    private String customerName;
 
     public ReservationResponseDto() {
 
@@ -29,7 +32,23 @@ public class ReservationResponseDto {
         this.totalPrice = reservation.getTotalPrice();
         this.paid = reservation.isPaid();
         this.checkedIn = reservation.getCheckedIn();
-        this.customer = reservation.getCustomer();
+        if (reservation.getCustomer() != null) {
+            this.customerEmail = reservation.getCustomer().getEmail();
+            this.customerName = reservation.getCustomer().getName();
+        }
+    }
+
+    public ReservationResponseDto(int reservationId, int numPeople, LocalDate checkin, LocalDate checkOut, int totalPrice,
+                                  boolean paid, CheckInStatus checkedIn, String customerEmail, String customerName) {
+        this.reservationId = reservationId;
+        this.numPeople = numPeople;
+        this.checkin = checkin;
+        this.checkOut = checkOut;
+        this.totalPrice = totalPrice;
+        this.paid = paid;
+        this.checkedIn = checkedIn;
+        this.customerEmail = customerEmail;
+        this.customerName = customerName;
     }
 
     public int getReservationId() {
@@ -88,12 +107,20 @@ public class ReservationResponseDto {
         this.checkedIn = checkedIn;
     }
 
-    public Customer getCustomer() {
-        return customer;
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public void setCustomerEmail(String customerEmail) {
+        this.customerEmail = customerEmail;
+    }
+
+    public String getCustomerName() {
+        return customerName;
     }
 
-    public void setCustomer(Customer customer) {
-        this.customer = customer;
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
     }
 
 }
@@ -0,0 +1,54 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One line of the reserved room export, with the reservation id, stay, customer email and room number
+ * instead of the nested reservation and specific room.
+ */
+public class ReservedRoomExportDto {
+    private int reservedId;
+    private int reservationId;
+    private int roomNumber;
+    private LocalDate checkin;
+    private LocalDate checkOut;
+    private String customerEmail;
+
+    public ReservedRoomExportDto() {
+
+    }
+
+    public ReservedRoomExportDto(int reservedId, int reservationId, int roomNumber, LocalDate checkin, LocalDate checkOut,
+                                 String customerEmail) {
+        this.reservedId = reservedId;
+        this.reservationId = reservationId;
+        this.roomNumber = roomNumber;
+        this.checkin = checkin;
+        this.checkOut = checkOut;
+        this.customerEmail = customerEmail;
+    }
+
+    public int getReservedId() {
+        return reservedId;
+    }
+
+    public int getReservationId() {
+        return reservationId;
+    }
+
+    public int getRoomNumber() {
+        return roomNumber;
+    }
+
+    public LocalDate getCheckin() {
+        return checkin;
+    }
+
+    public LocalDate getCheckOut() {
+        return checkOut;
+    }
+
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+}
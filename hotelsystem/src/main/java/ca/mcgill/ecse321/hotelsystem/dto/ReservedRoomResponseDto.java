@@ -2,20 +2,45 @@ package ca.mcgill.ecse321.hotelsystem.dto;
 
 import ca.mcgill.ecse321.hotelsystem.Model.Reservation;
 import ca.mcgill.ecse321.hotelsystem.Model.ReservedRoom;
-import ca.mcgill.ecse321.hotelsystem.Model.SpecificRoom;
 
+import java.time.LocalDate;
+
+/**
+ * Reserved room as returned by the api, with the ids and dates it is used for instead of the reservation and
+ * specific room entities. List endpoints build it directly in the query, see ReservedRoomRepository.
+ */
 public class ReservedRoomResponseDto {
 
     private int reservedId;
-    private Reservation reservation;
-    private SpecificRoom room;
+    private int reservationId;
+    private int roomNumber;
+    private String roomType;
+    private LocalDate checkin;
+    private LocalDate checkOut;
+    private String customerEmail;
 
     public ReservedRoomResponseDto() {}
 
     public ReservedRoomResponseDto(ReservedRoom reservedRoom){
+        Reservation reservation = reservedRoom.getReservation();
         this.reservedId = reservedRoom.getReservedID();
-        this.room = reservedRoom.getSpecificRoom();
-        this.reservation = reservedRoom.getReservation();
+        this.reservationId = reservation.getReservationID();
+        this.roomNumber = reservedRoom.getSpecificRoom().getNumber();
+        this.roomType = reservedRoom.getSpecificRoom().getRoom() == null ? null : reservedRoom.getSpecificRoom().getRoom().getType();
+        this.checkin = reservation.getCheckIn();
+        this.checkOut = reservation.getCheckOut();
+        this.customerEmail = reservation.getCustomer() == null ? null : reservation.getCustomer().getEmail();
+    }
+
+    public ReservedRoomResponseDto(int reservedId, int reservationId, int roomNumber, String roomType,
+                                   LocalDate checkin, LocalDate checkOut, String customerEmail) {
+        this.reservedId = reservedId;
+        this.reservationId = reservationId;
+        this.roomNumber = roomNumber;
+        this.roomType = roomType;
+        this.checkin = checkin;
+        this.checkOut = checkOut;
+        this.customerEmail = customerEmail;
     }
 
     public int getReservedId() {
@@ -26,20 +51,51 @@ public class ReservedRoomResponseDto {
         this.reservedId = reservedId;
     }
 
+    public int getReservationId() {
+        return reservationId;
+    }
+
+    public void setReservationId(int reservationId) {
+        this.reservationId = reservationId;
+    }
+
+    public int getRoomNumber() {
+        return roomNumber;
+    }
+
+    public void setRoomNumber(int roomNumber) {
+        this.roomNumber = roomNumber;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+
+    public LocalDate getCheckin() {
+        return checkin;
+    }
+
+    public void setCheckin(LocalDate checkin) {
+        this.checkin = checkin;
+    }
 
-    public Reservation getReservation() {
-        return reservation;
+    public LocalDate getCheckOut() {
+        return checkOut;
     }
 
-    public void setReservation(Reservation reservation) {
-        this.reservation = reservation;
+    public void setCheckOut(LocalDate checkOut) {
+        this.checkOut = checkOut;
     }
 
-    public SpecificRoom getRoom() {
-        return room;
+    public String getCustomerEmail() {
+        return customerEmail;
     }
 
-    public void setRoom(SpecificRoom room) {
-        this.room = room;
+    public void setCustomerEmail(String customerEmail) {
+        this.customerEmail = customerEmail;
     }
 }
@@ -0,0 +1,138 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+public class RoomTypeReportDto {
+    private String roomType;
+    private int nights;
+    // room nights that could have been sold, rooms available times nights
+    private long roomNightsAvailable;
+    private long roomNightsSold;
+    private long revenue;
+    private double occupancy;
+    private double adr;
+    private double revpar;
+    private long beforeCheckIn;
+    private long checkedIn;
+    private long checkedOut;
+    private long noShow;
+
+    public RoomTypeReportDto(String roomType, int nights) {
+        this.roomType = roomType;
+        this.nights = nights;
+    }
+
+    public RoomTypeReportDto() {
+    }
+
+    /**
+     * add: count one night of the room type in the summary
+     * @param night report of the night
+     */
+    public void add(NightlyReportDto night) {
+        roomNightsAvailable += night.getRoomsAvailable();
+        roomNightsSold += night.getRoomsSold();
+        revenue += night.getRevenue();
+        beforeCheckIn += night.getBeforeCheckIn();
+        checkedIn += night.getCheckedIn();
+        checkedOut += night.getCheckedOut();
+        noShow += night.getNoShow();
+        occupancy = roomNightsAvailable == 0 ? 0 : (double) roomNightsSold / roomNightsAvailable;
+        adr = roomNightsSold == 0 ? 0 : (double) revenue / roomNightsSold;
+        revpar = roomNightsAvailable == 0 ? 0 : (double) revenue / roomNightsAvailable;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+
+    public int getNights() {
+        return nights;
+    }
+
+    public void setNights(int nights) {
+        this.nights = nights;
+    }
+
+    public long getRoomNightsAvailable() {
+        return roomNightsAvailable;
+    }
+
+    public void setRoomNightsAvailable(long roomNightsAvailable) {
+        this.roomNightsAvailable = roomNightsAvailable;
+    }
+
+    public long getRoomNightsSold() {
+        return roomNightsSold;
+    }
+
+    public void setRoomNightsSold(long roomNightsSold) {
+        this.roomNightsSold = roomNightsSold;
+    }
+
+    public long getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(long revenue) {
+        this.revenue = revenue;
+    }
+
+    public double getOccupancy() {
+        return occupancy;
+    }
+
+    public void setOccupancy(double occupancy) {
+        this.occupancy = occupancy;
+    }
+
+    public double getAdr() {
+        return adr;
+    }
+
+    public void setAdr(double adr) {
+        this.adr = adr;
+    }
+
+    public double getRevpar() {
+        return revpar;
+    }
+
+    public void setRevpar(double revpar) {
+        this.revpar = revpar;
+    }
+
+    public long getBeforeCheckIn() {
+        return beforeCheckIn;
+    }
+
+    public void setBeforeCheckIn(long beforeCheckIn) {
+        this.beforeCheckIn = beforeCheckIn;
+    }
+
+    public long getCheckedIn() {
+        return checkedIn;
+    }
+
+    public void setCheckedIn(long checkedIn) {
+        this.checkedIn = checkedIn;
+    }
+
+    public long getCheckedOut() {
+        return checkedOut;
+    }
+
+    public void setCheckedOut(long checkedOut) {
+        this.checkedOut = checkedOut;
+    }
+
+    public long getNoShow() {
+        return noShow;
+    }
+
+    public void setNoShow(long noShow) {
+        this.noShow = noShow;
+    }
+}
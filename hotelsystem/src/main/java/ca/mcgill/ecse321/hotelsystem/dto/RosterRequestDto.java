@@ -0,0 +1,45 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RosterRequestDto {
+
+    private LocalDate weekStart;
+    private List<CoverageRequestDto> coverage = new ArrayList<>();
+    private List<AvailabilityRequestDto> employees = new ArrayList<>();
+
+    public RosterRequestDto() {
+    }
+
+    public RosterRequestDto(LocalDate weekStart, List<CoverageRequestDto> coverage, List<AvailabilityRequestDto> employees) {
+        this.weekStart = weekStart;
+        this.coverage = coverage;
+        this.employees = employees;
+    }
+
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+
+    public void setWeekStart(LocalDate weekStart) {
+        this.weekStart = weekStart;
+    }
+
+    public List<CoverageRequestDto> getCoverage() {
+        return coverage;
+    }
+
+    public void setCoverage(List<CoverageRequestDto> coverage) {
+        this.coverage = coverage;
+    }
+
+    public List<AvailabilityRequestDto> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<AvailabilityRequestDto> employees) {
+        this.employees = employees;
+    }
+}
@@ -0,0 +1,35 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RosterResponseDto {
+
+    private List<ShiftResponseDto> shifts = new ArrayList<>();
+    // coverage slots left short, staff is the number of employees still missing
+    private List<CoverageRequestDto> uncovered = new ArrayList<>();
+
+    public RosterResponseDto() {
+    }
+
+    public RosterResponseDto(List<ShiftResponseDto> shifts, List<CoverageRequestDto> uncovered) {
+        this.shifts = shifts;
+        this.uncovered = uncovered;
+    }
+
+    public List<ShiftResponseDto> getShifts() {
+        return shifts;
+    }
+
+    public void setShifts(List<ShiftResponseDto> shifts) {
+        this.shifts = shifts;
+    }
+
+    public List<CoverageRequestDto> getUncovered() {
+        return uncovered;
+    }
+
+    public void setUncovered(List<CoverageRequestDto> uncovered) {
+        this.uncovered = uncovered;
+    }
+}
@@ -0,0 +1,44 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import ca.mcgill.ecse321.hotelsystem.repository.ShiftRepository.ShiftInterval;
+
+import java.sql.Time;
+
+public class ShiftGridCellDto {
+    private int shiftId;
+    private Time startTime;
+    private Time endTime;
+
+    public ShiftGridCellDto() {
+    }
+
+    public ShiftGridCellDto(ShiftInterval shift) {
+        this.shiftId = shift.getShiftId();
+        this.startTime = shift.getStartTime();
+        this.endTime = shift.getEndTime();
+    }
+
+    public int getShiftId() {
+        return shiftId;
+    }
+
+    public void setShiftId(int shiftId) {
+        this.shiftId = shiftId;
+    }
+
+    public Time getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Time startTime) {
+        this.startTime = startTime;
+    }
+
+    public Time getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(Time endTime) {
+        this.endTime = endTime;
+    }
+}
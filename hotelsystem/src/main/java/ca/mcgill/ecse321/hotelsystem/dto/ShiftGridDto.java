@@ -0,0 +1,44 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ShiftGridDto {
+    private LocalDate from;
+    private LocalDate to;
+    // one row per employee with shifts in the range, ordered by email, the shifts without an employee last
+    private List<ShiftGridRowDto> employees = new ArrayList<>();
+
+    public ShiftGridDto() {
+    }
+
+    public ShiftGridDto(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public List<ShiftGridRowDto> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<ShiftGridRowDto> employees) {
+        this.employees = employees;
+    }
+}
@@ -0,0 +1,37 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ShiftGridRowDto {
+    // null for the shifts without an employee
+    private String employeeEmail;
+    // one list per day of the grid, the first one is the from date of the grid
+    private List<List<ShiftGridCellDto>> days = new ArrayList<>();
+
+    public ShiftGridRowDto() {
+    }
+
+    public ShiftGridRowDto(String employeeEmail, int days) {
+        this.employeeEmail = employeeEmail;
+        for (int day = 0; day < days; day++) {
+            this.days.add(new ArrayList<>());
+        }
+    }
+
+    public String getEmployeeEmail() {
+        return employeeEmail;
+    }
+
+    public void setEmployeeEmail(String employeeEmail) {
+        this.employeeEmail = employeeEmail;
+    }
+
+    public List<List<ShiftGridCellDto>> getDays() {
+        return days;
+    }
+
+    public void setDays(List<List<ShiftGridCellDto>> days) {
+        this.days = days;
+    }
+}
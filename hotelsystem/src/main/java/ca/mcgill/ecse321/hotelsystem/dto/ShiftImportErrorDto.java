@@ -0,0 +1,31 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+public class ShiftImportErrorDto {
+    // line of the CSV file or position in the JSON array, starting at 1
+    private int row;
+    private String message;
+
+    public ShiftImportErrorDto() {
+    }
+
+    public ShiftImportErrorDto(int row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,38 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ShiftImportResponseDto {
+    private int imported;
+    private int rejected;
+    // the first rejected rows, at most ShiftService.MAX_IMPORT_ERRORS of them
+    private List<ShiftImportErrorDto> errors = new ArrayList<>();
+
+    public ShiftImportResponseDto() {
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<ShiftImportErrorDto> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ShiftImportErrorDto> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,45 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import ca.mcgill.ecse321.hotelsystem.repository.ShiftRepository.ShiftInterval;
+
+import java.sql.Time;
+import java.time.LocalDate;
+
+/**
+ * ShiftIntervalDto: the times and employee of a shift, built by the range queries straight from the selected columns
+ */
+public class ShiftIntervalDto implements ShiftInterval {
+    private final int shiftId;
+    private final String employeeEmail;
+    private final LocalDate date;
+    private final Time startTime;
+    private final Time endTime;
+
+    public ShiftIntervalDto(int shiftId, String employeeEmail, LocalDate date, Time startTime, Time endTime) {
+        this.shiftId = shiftId;
+        this.employeeEmail = employeeEmail;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public int getShiftId() {
+        return shiftId;
+    }
+
+    public String getEmployeeEmail() {
+        return employeeEmail;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Time getStartTime() {
+        return startTime;
+    }
+
+    public Time getEndTime() {
+        return endTime;
+    }
+}
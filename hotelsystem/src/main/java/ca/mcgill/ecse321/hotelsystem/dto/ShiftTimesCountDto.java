@@ -0,0 +1,37 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import java.sql.Time;
+import java.time.LocalDate;
+
+/**
+ * ShiftTimesCountDto: the number of staffed shifts of a date with the same start and end times
+ */
+public class ShiftTimesCountDto {
+    private final LocalDate date;
+    private final Time startTime;
+    private final Time endTime;
+    private final long shifts;
+
+    public ShiftTimesCountDto(LocalDate date, Time startTime, Time endTime, long shifts) {
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.shifts = shifts;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Time getStartTime() {
+        return startTime;
+    }
+
+    public Time getEndTime() {
+        return endTime;
+    }
+
+    public long getShifts() {
+        return shifts;
+    }
+}
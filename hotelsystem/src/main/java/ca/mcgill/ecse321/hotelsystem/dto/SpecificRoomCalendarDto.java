@@ -0,0 +1,59 @@
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SpecificRoomCalendarDto {
+    private int number;
+    private LocalDate startDate;
+    private int nights;
+    // bit i of word w is set when night startDate + 64 * w + i is booked, each word is sent as 16 hex digits
+    // since javascript numbers cannot hold 64 bits
+    private List<String> words;
+
+    public SpecificRoomCalendarDto(int number, LocalDate startDate, int nights, long[] words) {
+        this.number = number;
+        this.startDate = startDate;
+        this.nights = nights;
+        this.words = new ArrayList<>();
+        for (long word : words) {
+            this.words.add(String.format("%016x", word));
+        }
+    }
+
+    public SpecificRoomCalendarDto() {
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public void setNumber(int number) {
+        this.number = number;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public int getNights() {
+        return nights;
+    }
+
+    public void setNights(int nights) {
+        this.nights = nights;
+    }
+
+    public List<String> getWords() {
+        return words;
+    }
+
+    public void setWords(List<String> words) {
+        this.words = words;
+    }
+}
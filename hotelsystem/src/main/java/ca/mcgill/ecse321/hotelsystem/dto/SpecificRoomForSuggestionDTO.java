@@ -1,2 +1,45 @@
-package ca.mcgill.ecse321.hotelsystem.dto;public class SpecificRoomForSuggestionDTO {
+package ca.mcgill.ecse321.hotelsystem.dto;
+
+import ca.mcgill.ecse321.hotelsystem.Model.SpecificRoom;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class SpecificRoomForSuggestionDTO {
+    private String roomType;
+    private int availableCount;
+    private List<SpecificRoomResponseDto> rooms;
+
+    public SpecificRoomForSuggestionDTO(String roomType, List<SpecificRoom> specificRooms) {
+        this.roomType = roomType;
+        this.availableCount = specificRooms.size();
+        this.rooms = specificRooms.stream().map(SpecificRoomResponseDto::new).collect(Collectors.toList());
+    }
+
+    public SpecificRoomForSuggestionDTO() {
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+
+    public int getAvailableCount() {
+        return availableCount;
+    }
+
+    public void setAvailableCount(int availableCount) {
+        this.availableCount = availableCount;
+    }
+
+    public List<SpecificRoomResponseDto> getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(List<SpecificRoomResponseDto> rooms) {
+        this.rooms = rooms;
+    }
 }
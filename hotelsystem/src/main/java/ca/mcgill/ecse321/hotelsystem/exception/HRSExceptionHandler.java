@@ -1,7 +1,9 @@
 package ca.mcgill.ecse321.hotelsystem.exception;
 
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.PersistenceException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,8 +12,13 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 @ControllerAdvice
 public class HRSExceptionHandler {
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @ExceptionHandler(HRSException.class)
     public ResponseEntity<String> handleHRSException(HRSException e) {
+        // hotelsystem.exceptions{status="409"}: e.g. bookings rejected for a room taken in the meantime
+        meterRegistry.counter("hotelsystem.exceptions", "status", String.valueOf(e.getStatus().value())).increment();
         return new ResponseEntity<String>(e.getMessage(), e.getStatus());
     }
 
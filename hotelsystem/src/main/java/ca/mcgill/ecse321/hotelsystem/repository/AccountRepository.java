@@ -1,15 +1,22 @@
 package ca.mcgill.ecse321.hotelsystem.repository;
 
 import ca.mcgill.ecse321.hotelsystem.Model.Account;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
 
 import java.util.List;
 
-public interface AccountRepository extends CrudRepository<Account, Integer> {
+public interface AccountRepository extends CrudRepository<Account, Integer>, PagingAndSortingRepository<Account, Integer> {
 
     Account findAccountByAccountNumber(int accountNumber);
     void deleteAccountByAccountNumber(int accountNumber);
 
     List<Account> findAll();
 
+    Slice<Account> findAllBy(Pageable pageable);
+
+    Slice<Account> findByAccountNumberGreaterThan(int after, Pageable pageable);
+
 }
\ No newline at end of file
@@ -1,15 +1,20 @@
 package ca.mcgill.ecse321.hotelsystem.repository;
 
 import ca.mcgill.ecse321.hotelsystem.Model.Customer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
 
 import java.util.List;
 
 
-public interface CustomerRepository extends CrudRepository<Customer, String> {
+public interface CustomerRepository extends CrudRepository<Customer, String>, PagingAndSortingRepository<Customer, String> {
     Customer findCustomerByEmail(String email);
     void deleteCustomerByEmail(String email);
     List<Customer> findCustomersByName(String name);
     Customer findCustomerByAccount_AccountNumber(int accountNumber);
     List<Customer> findAll();
+    Slice<Customer> findAllBy(Pageable pageable);
+    Slice<Customer> findByEmailGreaterThan(String after, Pageable pageable);
 }
@@ -0,0 +1,27 @@
+package ca.mcgill.ecse321.hotelsystem.repository;
+
+import ca.mcgill.ecse321.hotelsystem.Model.FolioEntry;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface FolioEntryRepository extends CrudRepository<FolioEntry, Integer> {
+
+    @Query("select f from FolioEntry f where f.reservation.reservationID = :id order by f.entryId")
+    List<FolioEntry> findByReservationID(@Param("id") int id);
+
+    /**
+     * sumByReservedRoomId: what is still charged for a reserved room, its charges minus its refunds
+     */
+    @Query("select coalesce(sum(f.amount), 0) from FolioEntry f where f.reservedRoomId = :id")
+    long sumByReservedRoomId(@Param("id") int id);
+
+    /**
+     * sumByReservedRoomIdIn: what is still charged for a group of reserved rooms, together
+     */
+    @Query("select coalesce(sum(f.amount), 0) from FolioEntry f where f.reservedRoomId in :ids")
+    long sumByReservedRoomIdIn(@Param("ids") Collection<Integer> ids);
+}
@@ -0,0 +1,42 @@
+package ca.mcgill.ecse321.hotelsystem.repository;
+
+import ca.mcgill.ecse321.hotelsystem.Model.NightlyRollup;
+import ca.mcgill.ecse321.hotelsystem.Model.NightlyRollupId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface NightlyRollupRepository extends CrudRepository<NightlyRollup, NightlyRollupId> {
+
+    /**
+     * findByNightRange: the rollups of the nights in [from, to), of every room type, read off the primary key
+     */
+    @Query("select n from NightlyRollup n where n.night >= :from and n.night < :to order by n.night, n.roomType")
+    List<NightlyRollup> findByNightRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * findByRoomTypeAndNightRange: the rollups of a room type for the nights in [from, to)
+     */
+    @Query("select n from NightlyRollup n where n.roomType = :type and n.night >= :from and n.night < :to order by n.night")
+    List<NightlyRollup> findByRoomTypeAndNightRange(@Param("type") String type, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select count(n) from NightlyRollup n where n.roomType = :type and n.night >= :from and n.night < :to")
+    long countByRoomTypeAndNightRange(@Param("type") String type, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * findByRoomTypeAndNightRangeForUpdate: the rollups of a room type for the nights in [from, to), locked until the
+     * end of the transaction, always in night order so that two bookings of the same type cannot deadlock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select n from NightlyRollup n where n.roomType = :type and n.night >= :from and n.night < :to order by n.night")
+    List<NightlyRollup> findByRoomTypeAndNightRangeForUpdate(@Param("type") String type, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select n from NightlyRollup n where n.roomType = :type order by n.night")
+    List<NightlyRollup> findByRoomTypeForUpdate(@Param("type") String type);
+}
@@ -1,15 +1,22 @@
 package ca.mcgill.ecse321.hotelsystem.repository;
 
 import ca.mcgill.ecse321.hotelsystem.Model.Repair;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
 
 import java.util.List;
 
-public interface RepairRepository extends CrudRepository<Repair, Integer> {
+public interface RepairRepository extends CrudRepository<Repair, Integer>, PagingAndSortingRepository<Repair, Integer> {
     Repair findRepairByRepairId(int repairId);
     List<Repair> findRepairsByEmployee_Email(String email);
     void deleteRepairByRepairId(int repairId);
 
     List<Repair> findAll();
 
+    Slice<Repair> findAllBy(Pageable pageable);
+
+    Slice<Repair> findByRepairIdGreaterThan(int after, Pageable pageable);
+
 }
\ No newline at end of file
@@ -2,11 +2,14 @@ package ca.mcgill.ecse321.hotelsystem.repository;
 
 import ca.mcgill.ecse321.hotelsystem.Model.CompletionStatus;
 import ca.mcgill.ecse321.hotelsystem.Model.Request;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
 
 import java.util.List;
 
-public interface RequestRepository extends CrudRepository<Request, Integer> {
+public interface RequestRepository extends CrudRepository<Request, Integer>, PagingAndSortingRepository<Request, Integer> {
     Request findRequestByRequestId(int id);
     List<Request> findRequestsByReservation_ReservationID(int id);
     void deleteRequestByRequestId(int id);
@@ -15,5 +18,9 @@ public interface RequestRepository extends CrudRepository<Request, Integer> {
 
     List<Request> findAll();
 
+    Slice<Request> findAllBy(Pageable pageable);
+
+    Slice<Request> findByRequestIdGreaterThan(int after, Pageable pageable);
+
 
 }
\ No newline at end of file
@@ -1,12 +1,28 @@
 package ca.mcgill.ecse321.hotelsystem.repository;
 
 import ca.mcgill.ecse321.hotelsystem.Model.Reservation;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservationExportDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservationResponseDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+public interface ReservationRepository extends CrudRepository<Reservation, Integer>, PagingAndSortingRepository<Reservation, Integer> {
+    // rows the JDBC driver fetches per round trip while streaming an export
+    String EXPORT_FETCH_SIZE = "500";
 
-public interface ReservationRepository extends CrudRepository<Reservation, Integer> {
     Reservation findReservationByReservationID(int id);
     List<Reservation> findReservationsByCheckin(LocalDate date);
     List<Reservation> findReservationsByCustomerEmail(String email); // potentially customer_email
@@ -14,4 +30,47 @@ public interface ReservationRepository extends CrudRepository<Reservation, Integ
     List<Reservation> findAll();
     List<Reservation> getReservationByCustomerEmail(String email);
     List<Reservation> getReservationByPaidIs(boolean paid);
-}
\ No newline at end of file
+
+    /*
+     * The list endpoints select the columns of their dto directly, in one query, instead of loading every
+     * reservation with its customer and account and serializing the whole graph.
+     */
+    String SELECT_DTO = "select new ca.mcgill.ecse321.hotelsystem.dto.ReservationResponseDto(r.reservationID, r.numPeople, " +
+            "r.checkin, r.checkOut, r.totalPrice, r.paid, r.checkedIn, c.email, c.name) from Reservation r left join r.customer c ";
+
+    @Query(SELECT_DTO + "order by r.reservationID")
+    List<ReservationResponseDto> findAllResponses();
+
+    @Query(SELECT_DTO + "where c.email = :email order by r.reservationID")
+    List<ReservationResponseDto> findResponsesByCustomerEmail(@Param("email") String email);
+
+    @Query(SELECT_DTO + "where r.paid = :paid order by r.reservationID")
+    List<ReservationResponseDto> findResponsesByPaid(@Param("paid") boolean paid);
+
+    @Query(SELECT_DTO)
+    Slice<ReservationResponseDto> findResponsesBy(Pageable pageable);
+
+    @Query(SELECT_DTO + "where r.reservationID > :after")
+    Slice<ReservationResponseDto> findResponsesByReservationIDGreaterThan(@Param("after") int after, Pageable pageable);
+
+    /**
+     * streamAllForExport: the export line of every reservation, with the email of its customer, ordered by id, read
+     * from a cursor EXPORT_FETCH_SIZE rows at a time instead of loading the whole table, must be consumed inside a
+     * transaction. No entity is loaded, so neither the customers nor their accounts are selected row by row.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("select new ca.mcgill.ecse321.hotelsystem.dto.ReservationExportDto(r.reservationID, r.numPeople, r.checkin, " +
+            "r.checkOut, r.totalPrice, r.paid, r.checkedIn, c.email) from Reservation r left join r.customer c order by r.reservationID")
+    Stream<ReservationExportDto> streamAllForExport();
+
+    /**
+     * applyFolioEntries: add the amounts of new folio entries to what is left to pay on their reservations, all of them
+     * in a single statement computed by the database, a reservation is paid once nothing is left
+     */
+    @Modifying
+    @Query("update Reservation r set " +
+            "r.paid = case when r.totalPrice + (select sum(f.amount) from FolioEntry f where f.reservation = r and f.entryId in :entryIds) <= 0 then true else false end, " +
+            "r.totalPrice = r.totalPrice + cast((select sum(f.amount) from FolioEntry f where f.reservation = r and f.entryId in :entryIds) as Integer) " +
+            "where r.reservationID in (select f.reservation.reservationID from FolioEntry f where f.entryId in :entryIds)")
+    int applyFolioEntries(@Param("entryIds") Collection<Integer> entryIds);
+}
@@ -1,13 +1,27 @@
 package ca.mcgill.ecse321.hotelsystem.repository;
 
+import ca.mcgill.ecse321.hotelsystem.Model.CheckInStatus;
 import ca.mcgill.ecse321.hotelsystem.Model.ReservedRoom;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservedRoomExportDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservedRoomResponseDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ReservedRoomRepository extends CrudRepository<ReservedRoom, Integer> {
+public interface ReservedRoomRepository extends CrudRepository<ReservedRoom, Integer>, PagingAndSortingRepository<ReservedRoom, Integer> {
     ReservedRoom findReservedRoomByReservedID(int id);
     List<ReservedRoom> findReservedRoomsByReservation_ReservationID(int id);
     List<ReservedRoom> findReservedRoomsBySpecificRoom_Number(int id);
@@ -15,4 +29,101 @@ public interface ReservedRoomRepository extends CrudRepository<ReservedRoom, Int
 
     List<ReservedRoom> findAll();
 
-}
\ No newline at end of file
+    /*
+     * The list endpoints select the columns of their dto directly, in one query, instead of loading the
+     * reservation, customer, account, specific room and room behind every reserved room.
+     */
+    String SELECT_DTO = "select new ca.mcgill.ecse321.hotelsystem.dto.ReservedRoomResponseDto(rr.reservedID, r.reservationID, " +
+            "s.number, t.type, r.checkin, r.checkOut, c.email) " +
+            "from ReservedRoom rr join rr.reservation r join rr.specificRoom s left join s.room t left join r.customer c ";
+
+    @Query(SELECT_DTO + "order by rr.reservedID")
+    List<ReservedRoomResponseDto> findAllResponses();
+
+    @Query(SELECT_DTO + "where r.reservationID = :id order by rr.reservedID")
+    List<ReservedRoomResponseDto> findResponsesByReservationID(@Param("id") int id);
+
+    @Query(SELECT_DTO + "where s.number = :number order by rr.reservedID")
+    List<ReservedRoomResponseDto> findResponsesBySpecificRoomNumber(@Param("number") int number);
+
+    @Query(SELECT_DTO)
+    Slice<ReservedRoomResponseDto> findResponsesBy(Pageable pageable);
+
+    @Query(SELECT_DTO + "where rr.reservedID > :after")
+    Slice<ReservedRoomResponseDto> findResponsesByReservedIDGreaterThan(@Param("after") int after, Pageable pageable);
+
+    /**
+     * findAllBookingIntervals: the stay dates of every reserved room in a single query,
+     * without loading the reservation, customer and specific room entities behind them
+     */
+    @Query("select rr.reservedID as reservedId, rr.specificRoom.number as roomNumber, r.checkin as checkIn, r.checkOut as checkOut " +
+            "from ReservedRoom rr join rr.reservation r")
+    List<BookingInterval> findAllBookingIntervals();
+
+    /**
+     * existsOverlappingReservation: whether a reservation of the room overlaps [checkIn, checkOut),
+     * checked by the database so that it sees bookings committed by other transactions
+     */
+    @Query("select count(rr) > 0 from ReservedRoom rr join rr.reservation r " +
+            "where rr.specificRoom.number = :number and r.checkin < :checkOut and r.checkOut > :checkIn")
+    boolean existsOverlappingReservation(@Param("number") int number, @Param("checkIn") LocalDate checkIn, @Param("checkOut") LocalDate checkOut);
+
+    /**
+     * findOverlappingRoomNumbers: the rooms among numbers that have a reservation overlapping [checkIn, checkOut)
+     */
+    @Query("select distinct rr.specificRoom.number from ReservedRoom rr join rr.reservation r " +
+            "where rr.specificRoom.number in :numbers and r.checkin < :checkOut and r.checkOut > :checkIn")
+    List<Integer> findOverlappingRoomNumbers(@Param("numbers") Collection<Integer> numbers, @Param("checkIn") LocalDate checkIn, @Param("checkOut") LocalDate checkOut);
+
+    /**
+     * streamAllForExport: the export line of every reserved room, with the stay and customer email of its reservation
+     * and its room number, ordered by id, read from a cursor ReservationRepository.EXPORT_FETCH_SIZE rows at a time,
+     * must be consumed inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ReservationRepository.EXPORT_FETCH_SIZE))
+    @Query("select new ca.mcgill.ecse321.hotelsystem.dto.ReservedRoomExportDto(rr.reservedID, r.reservationID, " +
+            "rr.specificRoom.number, r.checkin, r.checkOut, c.email) " +
+            "from ReservedRoom rr join rr.reservation r left join r.customer c order by rr.reservedID")
+    Stream<ReservedRoomExportDto> streamAllForExport();
+
+    /**
+     * countRoomsByTypeForReservation: the number of rooms of each room type booked in a reservation
+     */
+    @Query("select t.type as roomType, count(rr) as rooms from ReservedRoom rr join rr.specificRoom s join s.room t " +
+            "where rr.reservation.reservationID = :id group by t.type")
+    List<RoomTypeCount> countRoomsByTypeForReservation(@Param("id") int id);
+
+    /**
+     * findAllStays: the reserved rooms of every reservation counted by stay, status and room type, with what is
+     * charged for them on the folios, grouped by the database so the result does not grow with the number of rooms
+     * of a reservation
+     */
+    @Query("select r.checkin as checkIn, r.checkOut as checkOut, r.checkedIn as status, t.type as roomType, count(distinct rr) as rooms, " +
+            "coalesce(sum(f.amount), 0) as charged " +
+            "from ReservedRoom rr join rr.reservation r join rr.specificRoom s join s.room t " +
+            "left join FolioEntry f on f.reservedRoomId = rr.reservedID " +
+            "group by r.checkin, r.checkOut, r.checkedIn, t.type")
+    List<Stay> findAllStays();
+
+    interface RoomTypeCount {
+        String getRoomType();
+        long getRooms();
+    }
+
+    interface Stay {
+        LocalDate getCheckIn();
+        LocalDate getCheckOut();
+        CheckInStatus getStatus();
+        String getRoomType();
+        long getRooms();
+        long getCharged();
+    }
+
+    interface BookingInterval {
+        int getReservedId();
+        int getRoomNumber();
+        LocalDate getCheckIn();
+        LocalDate getCheckOut();
+    }
+
+}
@@ -1,7 +1,11 @@
 package ca.mcgill.ecse321.hotelsystem.repository;
 
 import ca.mcgill.ecse321.hotelsystem.Model.Room;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -9,4 +13,12 @@ public interface RoomRepository extends CrudRepository<Room, String> {
     Room findRoomByType(String type);
 
     List<Room> findAll();
+
+    /**
+     * findRoomByTypeForUpdate: the room type with its row locked until the end of the transaction,
+     * taken before the first rollups of the type are created for a range of nights
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Room r where r.type = :type")
+    Room findRoomByTypeForUpdate(@Param("type") String type);
 }
\ No newline at end of file
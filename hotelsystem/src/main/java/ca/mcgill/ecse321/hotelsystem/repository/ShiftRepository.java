@@ -1,22 +1,101 @@
 package ca.mcgill.ecse321.hotelsystem.repository;
 
 import ca.mcgill.ecse321.hotelsystem.Model.Shift;
+import ca.mcgill.ecse321.hotelsystem.dto.DailyLabourDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftIntervalDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftTimesCountDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
 
 import java.sql.Date;
 import java.sql.Time;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
-public interface ShiftRepository extends CrudRepository<Shift, Integer>{
+public interface ShiftRepository extends CrudRepository<Shift, Integer>, PagingAndSortingRepository<Shift, Integer> {
 
     Shift findShiftByShiftId(int shiftId);
     List<Shift> findShiftsByDate(LocalDate date);
     List<Shift> findShiftsByDateAndStartTime(LocalDate date, Time startTime);
     List<Shift> findShiftsByEmployeeEmail(String email);
+    List<Shift> findShiftsByDateBetween(LocalDate from, LocalDate to);
+
+    /**
+     * findShiftsByEmployeeEmailAndDate: the shifts of one employee on one date, served by the shift_employee_date_idx index
+     */
+    List<Shift> findShiftsByEmployeeEmailAndDate(String email, LocalDate date);
+
+    /**
+     * findShiftsByEmployeeEmailInAndDateBetween: the shifts of some employees over a date range, to check a chunk of an import at once
+     */
+    List<Shift> findShiftsByEmployeeEmailInAndDateBetween(Collection<String> emails, LocalDate from, LocalDate to);
+
+    /**
+     * findAllShiftIntervals: the times of every shift that has an employee in a single query,
+     * without loading the employees behind them
+     */
+    @Query("select s.shiftId as shiftId, s.employee.email as employeeEmail, s.date as date, s.startTime as startTime, s.endTime as endTime " +
+            "from Shift s where s.employee is not null")
+    List<ShiftInterval> findAllShiftIntervals();
+
+    /*
+     * The range queries behind the week and month views build their rows with a constructor expression: for a few
+     * hundred shifts an interface projection costs ten times the query itself.
+     */
+    String SELECT_INTERVAL = "select new ca.mcgill.ecse321.hotelsystem.dto.ShiftIntervalDto(s.shiftId, e.email, s.date, s.startTime, s.endTime) " +
+            "from Shift s left join s.employee e ";
+
+    /**
+     * findShiftIntervalsByDateRange: the times of the shifts from one date to another, both included, ordered by
+     * employee, date and start, served by the shift_date_idx index
+     */
+    @Query(SELECT_INTERVAL + "where s.date between :from and :to order by e.email nulls last, s.date, s.startTime")
+    List<ShiftIntervalDto> findShiftIntervalsByDateRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * findShiftIntervalsByEmployeeAndDateRange: the same for one employee, served by the shift_employee_date_idx index
+     */
+    @Query(SELECT_INTERVAL + "where s.employee.email = :email and s.date between :from and :to order by s.date, s.startTime")
+    List<ShiftIntervalDto> findShiftIntervalsByEmployeeAndDateRange(@Param("email") String email, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // length of a shift in minutes, a shift ends on the date it starts
+    String MINUTES = "(extract(hour from s.endTime) * 60 + extract(minute from s.endTime) - extract(hour from s.startTime) * 60 - extract(minute from s.startTime))";
+
+    /**
+     * sumLabourByDate: for each date in [from, to), the shifts worked, their minutes and their minutes weighted by the
+     * salary of the employee, aggregated by the database over the shift_date_idx range
+     */
+    @Query("select new ca.mcgill.ecse321.hotelsystem.dto.DailyLabourDto(s.date, count(s), sum(" + MINUTES + "), " +
+            "sum(" + MINUTES + " * cast(e.salary as long))) " +
+            "from Shift s join s.employee e where s.date >= :from and s.date < :to group by s.date order by s.date")
+    List<DailyLabourDto> sumLabourByDate(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * countShiftsByDateAndTimes: the number of staffed shifts of each date in [from, to) and each pair of times,
+     * a few rows per day whatever the number of employees
+     */
+    @Query("select new ca.mcgill.ecse321.hotelsystem.dto.ShiftTimesCountDto(s.date, s.startTime, s.endTime, count(s)) " +
+            "from Shift s where s.employee is not null and s.date >= :from and s.date < :to group by s.date, s.startTime, s.endTime")
+    List<ShiftTimesCountDto> countShiftsByDateAndTimes(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
     void deleteShiftByShiftId(int shiftId);
 
     List<Shift> findAll();
 
+    Slice<Shift> findAllBy(Pageable pageable);
+
+    Slice<Shift> findByShiftIdGreaterThan(int after, Pageable pageable);
 
-}
\ No newline at end of file
+    interface ShiftInterval {
+        int getShiftId();
+        String getEmployeeEmail();
+        LocalDate getDate();
+        Time getStartTime();
+        Time getEndTime();
+    }
+}
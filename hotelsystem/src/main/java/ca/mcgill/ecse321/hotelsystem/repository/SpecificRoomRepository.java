@@ -2,18 +2,79 @@ package ca.mcgill.ecse321.hotelsystem.repository;
 
 import ca.mcgill.ecse321.hotelsystem.Model.SpecificRoom;
 import ca.mcgill.ecse321.hotelsystem.Model.ViewType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
-public interface SpecificRoomRepository extends CrudRepository<SpecificRoom, Integer> {
+public interface SpecificRoomRepository extends CrudRepository<SpecificRoom, Integer>, PagingAndSortingRepository<SpecificRoom, Integer> {
     SpecificRoom findSpecificRoomByNumber(int number);
+    // the catalog queries go to the query cache, hibernate drops their results whenever the specific_room table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<SpecificRoom> findSpecificRoomsByView(ViewType view);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<SpecificRoom> findSpecificRoomsByRoom_Type(String type);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<SpecificRoom> findSpecificRoomsByOpenForUseIsTrue();
     List<SpecificRoom> findSpecificRoomsByOpenForUseIsFalse();
 
     List<SpecificRoom> findAll();
+
+    Slice<SpecificRoom> findAllBy(Pageable pageable);
+
+    Slice<SpecificRoom> findByNumberGreaterThan(int after, Pageable pageable);
     void deleteByNumber(int number);
 
-}
\ No newline at end of file
+    /**
+     * findSpecificRoomByNumberForUpdate: the specific room with its row locked until the end of the transaction,
+     * so that bookings of the same room are checked and saved one at a time
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from SpecificRoom s where s.number = :number")
+    SpecificRoom findSpecificRoomByNumberForUpdate(@Param("number") int number);
+
+    /**
+     * findSpecificRoomsByNumberInForUpdate: lock the rows of several specific rooms, always in room number order
+     * so that two group bookings sharing rooms cannot deadlock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from SpecificRoom s where s.number in :numbers order by s.number")
+    List<SpecificRoom> findSpecificRoomsByNumberInForUpdate(@Param("numbers") Collection<Integer> numbers);
+
+    /**
+     * findAvailableSpecificRoomsByType: specific rooms of a type with no reservation overlapping [checkIn, checkOut),
+     * answered by the database with a single anti-join
+     */
+    @Query("select s from SpecificRoom s where s.room.type = :type and not exists (" +
+            "select rr.reservedID from ReservedRoom rr join rr.reservation r " +
+            "where rr.specificRoom = s and r.checkin < :checkOut and r.checkOut > :checkIn)")
+    List<SpecificRoom> findAvailableSpecificRoomsByType(@Param("type") String type, @Param("checkIn") LocalDate checkIn, @Param("checkOut") LocalDate checkOut);
+
+    /**
+     * findAvailableSpecificRooms: specific rooms of every type with no reservation overlapping [checkIn, checkOut),
+     * ordered by room type so they can be grouped in one pass
+     */
+    @Query("select s from SpecificRoom s join fetch s.room t where not exists (" +
+            "select rr.reservedID from ReservedRoom rr join rr.reservation r " +
+            "where rr.specificRoom = s and r.checkin < :checkOut and r.checkOut > :checkIn) " +
+            "order by t.type, s.number")
+    List<SpecificRoom> findAvailableSpecificRooms(@Param("checkIn") LocalDate checkIn, @Param("checkOut") LocalDate checkOut);
+
+    /**
+     * countOpenRoomsByType: the number of specific rooms open for use of each room type
+     */
+    @Query("select t.type as roomType, count(s) as rooms from SpecificRoom s join s.room t where s.openForUse = true group by t.type")
+    List<ReservedRoomRepository.RoomTypeCount> countOpenRoomsByType();
+
+}
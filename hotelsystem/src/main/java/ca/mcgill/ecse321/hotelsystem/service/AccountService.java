@@ -5,6 +5,7 @@ import ca.mcgill.ecse321.hotelsystem.exception.HRSException;
 import ca.mcgill.ecse321.hotelsystem.repository.AccountRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
@@ -115,4 +116,19 @@ public class AccountService {
 
     }
 
-}
\ No newline at end of file
+    /**
+     * getAccounts: service method to fetch one page of accounts, ordered by id
+     * @param after only accounts with a larger id, the last one of the previous page, or null to use the page number
+     * @param page page number, starting at 0, ignored when after is given
+     * @param size number of accounts of a page
+     * @return the page, hasNext() tells if there are more
+     * @throws HRSException if the page or the size is out of range
+     */
+    @Transactional
+    public Slice<Account> getAccounts(Integer after, int page, int size) {
+        if (after != null) {
+            return accountRepository.findByAccountNumberGreaterThan(after, Paging.of(0, size, "accountNumber"));
+        }
+        return accountRepository.findAllBy(Paging.of(page, size, "accountNumber"));
+    }
+}
@@ -8,6 +8,7 @@ import ca.mcgill.ecse321.hotelsystem.repository.EmployeeRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.OwnerRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
@@ -121,4 +122,19 @@ public class CustomerService {
         }
     }
 
+    /**
+     * getCustomers: service method to fetch one page of customers, ordered by email
+     * @param after only customers with a larger email, the last one of the previous page, or null to use the page number
+     * @param page page number, starting at 0, ignored when after is given
+     * @param size number of customers of a page
+     * @return the page, hasNext() tells if there are more
+     * @throws HRSException if the page or the size is out of range
+     */
+    @Transactional
+    public Slice<Customer> getCustomers(String after, int page, int size) {
+        if (after != null) {
+            return customerRepository.findByEmailGreaterThan(after, Paging.of(0, size, "email"));
+        }
+        return customerRepository.findAllBy(Paging.of(page, size, "email"));
+    }
 }
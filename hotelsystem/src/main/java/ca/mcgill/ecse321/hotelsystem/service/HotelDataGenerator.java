@@ -0,0 +1,403 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import ca.mcgill.ecse321.hotelsystem.Model.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Time;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.*;
+
+/**
+ * HotelDataGenerator: fills the database with a synthetic hotel chain for load and scale testing, when the application
+ * runs with the generate profile, e.g. --spring.profiles.active=generate --hotelsystem.generate.properties=5
+ *
+ * Every property gets its own block of room numbers, its own guests and staff. Arrivals follow a seasonal occupancy
+ * (summer peak, holidays, busier weekends, fewer bookings on the books the further ahead), stays last one to fourteen
+ * nights with most of them short, and some reservations book a group of rooms. Guests come back, a few of them often.
+ * The nights of every room are charged to the folio of its reservation, paid reservations have a payment of the rest.
+ * Rows are written with batched JDBC inserts. Sequence backed ids are taken above the current value of their sequence,
+ * which is then moved past them, so the application keeps creating rows as usual afterwards.
+ * The generator runs once the command line runners are done, before the availability index is built. The data set
+ * is the same for the same settings, so it is written once per database: when the rooms of the first property are
+ * already there the generator does nothing.
+ */
+@Component
+@Profile("generate")
+public class HotelDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelDataGenerator.class);
+
+    // one block of room numbers per property: property p has rooms p * 100000 + 1 and up
+    private static final int PROPERTY_BLOCK = 100000;
+
+    private static final String[] ROOM_TYPES = {"Regular", "Deluxe", "Luxury", "Suite"};
+    private static final double[] ROOM_TYPE_SHARES = {0.5, 0.25, 0.15, 0.1};
+    // relative frequency of stays of 1, 2, ... 14 nights
+    private static final double[] STAY_WEIGHTS = {22, 24, 18, 11, 8, 5, 7, 1, 1, 1, 1, 1, 0, 1};
+    private static final double MEAN_STAY = meanStay();
+    private static final double GROUP_SHARE = 0.06;
+    private static final double REQUEST_SHARE = 0.15;
+    private static final double REPAIRS_PER_ROOM_AND_DAY = 0.004;
+
+    private static final String[] FIRST_NAMES = {"Olivia", "Liam", "Emma", "Noah", "Charlotte", "William", "Amelia", "Benjamin",
+            "Sophia", "Lucas", "Chloe", "Gabriel", "L\u00e9a", "F\u00e9lix", "Zo\u00e9", "Samuel", "Maya", "Arjun", "Yuki", "Omar"};
+    private static final String[] LAST_NAMES = {"Tremblay", "Gagnon", "Roy", "C\u00f4t\u00e9", "Bouchard", "Smith", "Brown", "Wilson",
+            "Martin", "Lee", "Nguyen", "Patel", "Singh", "Chen", "Kim", "Haddad", "Rossi", "Garcia", "M\u00fcller", "Kowalski"};
+    private static final String[] STREETS = {"Sherbrooke", "Saint-Catherine", "Peel", "University", "Saint-Denis", "Rachel", "Atwater", "Guy"};
+    private static final String[] REQUESTS = {"Extra towels", "Late checkout", "Airport shuttle", "Extra pillows", "Crib in the room",
+            "Wake-up call", "Room cleaning", "Restaurant reservation"};
+    private static final String[] REPAIRS = {"Leaking faucet", "Broken lamp", "Air conditioning not cooling", "Door lock jammed",
+            "Clogged drain", "TV remote missing", "Heater noisy", "Window does not close"};
+
+    @Value("${hotelsystem.generate.properties:1}")
+    int properties;
+
+    @Value("${hotelsystem.generate.rooms-per-property:300}")
+    int roomsPerProperty;
+
+    @Value("${hotelsystem.generate.customers-per-property:5000}")
+    int customersPerProperty;
+
+    @Value("${hotelsystem.generate.employees-per-property:40}")
+    int employeesPerProperty;
+
+    @Value("${hotelsystem.generate.history-days:730}")
+    int historyDays;
+
+    @Value("${hotelsystem.generate.future-days:180}")
+    int futureDays;
+
+    @Value("${hotelsystem.generate.batch-size:1000}")
+    int batchSize;
+
+    @Value("${hotelsystem.generate.seed:42}")
+    long seed;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    RoomCatalogCache roomCatalogCache;
+
+    @Autowired
+    ReportService reportService;
+
+    private Random random;
+    private LocalDate today;
+    private Batch accounts, customers, employees, specificRooms, reservations, reservedRooms, folioEntries, requests, shifts, repairs;
+    private SequenceIds accountIds, reservationIds, reservedRoomIds, folioEntryIds, requestIds, shiftIds, repairIds;
+
+    /**
+     * generate: write the rooms, guests, staff, bookings, requests, shifts and repairs of every property
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void generate() {
+        Integer generated = jdbcTemplate.queryForObject("select count(*) from specific_room where number > ?", Integer.class, PROPERTY_BLOCK);
+        if (generated != null && generated > 0) {
+            log.info("The database already holds {} generated specific rooms, nothing generated", generated);
+            return;
+        }
+        long started = System.currentTimeMillis();
+        random = new Random(seed);
+        today = LocalDate.now();
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        accountIds = new SequenceIds(sessionFactory, Account.class);
+        reservationIds = new SequenceIds(sessionFactory, Reservation.class);
+        reservedRoomIds = new SequenceIds(sessionFactory, ReservedRoom.class);
+        folioEntryIds = new SequenceIds(sessionFactory, FolioEntry.class);
+        requestIds = new SequenceIds(sessionFactory, Request.class);
+        shiftIds = new SequenceIds(sessionFactory, Shift.class);
+        repairIds = new SequenceIds(sessionFactory, Repair.class);
+
+        accounts = new Batch("insert into account (account_number, password, address, dob) values (?, ?, ?, ?)");
+        customers = new Batch("insert into customer (email, name, account_account_number) values (?, ?, ?)", accounts);
+        employees = new Batch("insert into employee (email, name, salary, account_account_number) values (?, ?, ?, ?)", accounts);
+        specificRooms = new Batch("insert into specific_room (number, view, description, open_for_use, room_type) values (?, ?, ?, ?, ?)");
+        reservations = new Batch("insert into reservation (reservationid, num_people, checkin, check_out, total_price, paid, checked_in, customer_email) values (?, ?, ?, ?, ?, ?, ?, ?)", customers);
+        reservedRooms = new Batch("insert into reserved_room (reservedid, reservation_reservationid, specific_room_number) values (?, ?, ?)", reservations, specificRooms);
+        folioEntries = new Batch("insert into folio_entry (entry_id, reservation_reservationid, reserved_room_id, type, amount, posted_at) values (?, ?, ?, ?, ?, ?)", reservations);
+        requests = new Batch("insert into request (request_id, status, description, reservation_reservationid) values (?, ?, ?, ?)", reservations);
+        shifts = new Batch("insert into shift (shift_id, date, start_time, end_time, employee_email) values (?, ?, ?, ?, ?)", employees);
+        repairs = new Batch("insert into repair (repair_id, status, description, employee_email) values (?, ?, ?, ?)", employees);
+
+        Map<String, Room> roomTypes = roomTypes();
+        for (int property = 1; property <= properties; property++) {
+            generateProperty(property, roomTypes);
+        }
+        for (Batch batch : List.of(accounts, customers, employees, specificRooms, reservations, reservedRooms, folioEntries, requests, shifts, repairs)) {
+            batch.flush();
+        }
+        for (SequenceIds ids : List.of(accountIds, reservationIds, reservedRoomIds, folioEntryIds, requestIds, shiftIds, repairIds)) {
+            ids.release();
+        }
+
+        // the rows were written behind hibernate's back
+        entityManagerFactory.getCache().evictAll();
+        roomCatalogCache.getRooms().invalidateAll();
+        roomCatalogCache.getSpecificRooms().invalidateAll();
+        reportService.rebuild();
+        log.info("Generated {} properties in {} ms: {} specific rooms, {} customers, {} employees, {} reservations, {} reserved rooms, {} folio entries, {} requests, {} shifts, {} repairs",
+                properties, System.currentTimeMillis() - started, specificRooms.total, customers.total, employees.total,
+                reservations.total, reservedRooms.total, folioEntries.total, requests.total, shifts.total, repairs.total);
+    }
+
+    // the room types the services accept, created when the database has none yet
+    private Map<String, Room> roomTypes() {
+        Map<String, Room> roomTypes = new LinkedHashMap<>();
+        jdbcTemplate.query("select type, rate, bed_type, capacity from room", row -> {
+            roomTypes.put(row.getString(1), new Room(row.getString(1), row.getInt(2), BedType.values()[row.getInt(3)], row.getInt(4)));
+        });
+        List<Room> defaults = List.of(new Room("Regular", 450, BedType.Queen, 2), new Room("Deluxe", 600, BedType.Queen, 4),
+                new Room("Luxury", 950, BedType.King, 2), new Room("Suite", 1400, BedType.King, 4));
+        for (Room room : defaults) {
+            if (!roomTypes.containsKey(room.getType())) {
+                jdbcTemplate.update("insert into room (type, rate, bed_type, capacity) values (?, ?, ?, ?)",
+                        room.getType(), room.getRate(), room.getBedType().ordinal(), room.getCapacity());
+                roomTypes.put(room.getType(), room);
+            }
+        }
+        return roomTypes;
+    }
+
+    private void generateProperty(int property, Map<String, Room> roomTypes) {
+        LocalDate first = today.minusDays(historyDays);
+        LocalDate last = today.plusDays(futureDays);
+
+        int[] numbers = new int[roomsPerProperty];
+        Room[] rooms = new Room[roomsPerProperty];
+        for (int i = 0; i < roomsPerProperty; i++) {
+            numbers[i] = property * PROPERTY_BLOCK + i + 1;
+            rooms[i] = roomTypes.get(ROOM_TYPES[pick(ROOM_TYPE_SHARES)]);
+            ViewType view = ViewType.values()[random.nextInt(ViewType.values().length)];
+            specificRooms.add(numbers[i], view.ordinal(), rooms[i].getType() + " room with a " + view.name().toLowerCase() + " view.", true, rooms[i].getType());
+        }
+
+        String[] guests = new String[customersPerProperty];
+        for (int i = 0; i < customersPerProperty; i++) {
+            guests[i] = "guest" + property + "." + i + "@example.com";
+            customers.add(guests[i], name(), account());
+        }
+        String[] staff = new String[employeesPerProperty];
+        for (int i = 0; i < employeesPerProperty; i++) {
+            staff[i] = "staff" + property + "." + i + "@example.com";
+            employees.add(staff[i], name(), 35000 + 1000 * random.nextInt(46), account());
+        }
+
+        // first night each room is free again, rooms of a group are taken next to each other
+        long[] freeFrom = new long[roomsPerProperty];
+        Arrays.fill(freeFrom, first.toEpochDay());
+        for (LocalDate day = first; day.isBefore(last); day = day.plusDays(1)) {
+            double expected = roomsPerProperty * occupancy(day) / MEAN_STAY;
+            int arrivals = (int) expected + (random.nextDouble() < expected % 1 ? 1 : 0);
+            for (int a = 0; a < arrivals; a++) {
+                int nights = 1 + pick(STAY_WEIGHTS);
+                int groupSize = random.nextDouble() < GROUP_SHARE ? 2 + random.nextInt(7) : 1;
+                List<Integer> booked = freeRooms(freeFrom, day.toEpochDay(), groupSize);
+                if (booked.isEmpty()) {
+                    break;
+                }
+                book(day, nights, booked, numbers, rooms, freeFrom, guests);
+            }
+            for (int r = 0; r < roomsPerProperty; r++) {
+                if (random.nextDouble() < REPAIRS_PER_ROOM_AND_DAY && !day.isAfter(today)) {
+                    CompletionStatus status = day.isBefore(today.minusDays(14)) ? CompletionStatus.Done : CompletionStatus.values()[random.nextInt(3)];
+                    repairs.add(repairIds.next(), status.ordinal(), "Room " + numbers[r] + ": " + REPAIRS[random.nextInt(REPAIRS.length)] + ".", staff[random.nextInt(staff.length)]);
+                }
+            }
+        }
+
+        // five days a week per employee, day and evening shifts, published four weeks ahead
+        Time[][] times = {{Time.valueOf("07:00:00"), Time.valueOf("15:00:00")}, {Time.valueOf("15:00:00"), Time.valueOf("23:00:00")}};
+        for (LocalDate day = first; day.isBefore(today.plusWeeks(4)); day = day.plusDays(1)) {
+            for (int e = 0; e < employeesPerProperty; e++) {
+                if ((day.getDayOfWeek().getValue() + e) % 7 < 5) {
+                    Time[] time = times[e % 2];
+                    shifts.add(shiftIds.next(), day, time[0], time[1], staff[e]);
+                }
+            }
+        }
+    }
+
+    private void book(LocalDate checkIn, int nights, List<Integer> booked, int[] numbers, Room[] rooms, long[] freeFrom, String[] guests) {
+        LocalDate checkOut = checkIn.plusDays(nights);
+        int reservationId = reservationIds.next();
+        int people = 0;
+        int price = 0;
+        for (int r : booked) {
+            freeFrom[r] = checkOut.toEpochDay();
+            people += 1 + random.nextInt(rooms[r].getCapacity());
+            price += rooms[r].getRate() * nights;
+        }
+        CheckInStatus status;
+        if (checkOut.isBefore(today) || checkOut.isEqual(today)) {
+            status = random.nextDouble() < 0.03 ? CheckInStatus.NoShow : CheckInStatus.CheckedOut;
+        } else if (!checkIn.isAfter(today)) {
+            status = CheckInStatus.CheckedIn;
+        } else {
+            status = CheckInStatus.BeforeCheckIn;
+        }
+        boolean paid = status == CheckInStatus.CheckedOut || random.nextDouble() < 0.3;
+        // a few regulars make most of the repeat stays
+        String guest = guests[(int) (guests.length * Math.pow(random.nextDouble(), 2))];
+        // the price is what the room charges on the folio add up to, a paid reservation has a payment of all of it
+        reservations.add(reservationId, people, checkIn, checkOut, paid ? 0 : price, paid, status.ordinal(), guest);
+        LocalDateTime postedAt = checkIn.minusDays(1 + random.nextInt(60)).atTime(12, 0);
+        for (int r : booked) {
+            int reservedId = reservedRoomIds.next();
+            reservedRooms.add(reservedId, reservationId, numbers[r]);
+            folioEntries.add(folioEntryIds.next(), reservationId, reservedId, FolioEntryType.RoomCharge.ordinal(), rooms[r].getRate() * nights, postedAt);
+        }
+        if (paid) {
+            folioEntries.add(folioEntryIds.next(), reservationId, null, FolioEntryType.Payment.ordinal(), -price, postedAt);
+        }
+        if (random.nextDouble() < REQUEST_SHARE) {
+            CompletionStatus requestStatus = status == CheckInStatus.BeforeCheckIn ? CompletionStatus.Pending
+                    : status == CheckInStatus.CheckedIn ? CompletionStatus.values()[random.nextInt(3)] : CompletionStatus.Done;
+            requests.add(requestIds.next(), requestStatus.ordinal(), REQUESTS[random.nextInt(REQUESTS.length)], reservationId);
+        }
+    }
+
+    // up to groupSize rooms free on the given night, from a random place in the property on
+    private List<Integer> freeRooms(long[] freeFrom, long night, int groupSize) {
+        List<Integer> free = new ArrayList<>(groupSize);
+        int start = random.nextInt(freeFrom.length);
+        for (int i = 0; i < freeFrom.length && free.size() < groupSize; i++) {
+            int r = (start + i) % freeFrom.length;
+            if (freeFrom[r] <= night) {
+                free.add(r);
+            }
+        }
+        return free;
+    }
+
+    // share of the rooms occupied on a night: summer peak, holidays and weekends, and for the nights ahead only what is already booked
+    private double occupancy(LocalDate day) {
+        double occupancy = 0.62 + 0.2 * Math.cos(2 * Math.PI * (day.getDayOfYear() - 196) / 365.0);
+        if ((day.getMonth() == Month.DECEMBER && day.getDayOfMonth() >= 20) || (day.getMonth() == Month.JANUARY && day.getDayOfMonth() <= 3)) {
+            occupancy += 0.12;
+        }
+        if (day.getDayOfWeek() == DayOfWeek.FRIDAY || day.getDayOfWeek() == DayOfWeek.SATURDAY) {
+            occupancy += 0.08;
+        }
+        if (day.isAfter(today)) {
+            occupancy *= 1 - 0.7 * (day.toEpochDay() - today.toEpochDay()) / (double) futureDays;
+        }
+        return Math.min(occupancy, 0.97);
+    }
+
+    private int account() {
+        int accountNumber = accountIds.next();
+        LocalDate dob = LocalDate.of(1940 + random.nextInt(66), 1 + random.nextInt(12), 1 + random.nextInt(28));
+        accounts.add(accountNumber, "password" + accountNumber, (1 + random.nextInt(4000)) + " " + STREETS[random.nextInt(STREETS.length)] + " Street", dob);
+        return accountNumber;
+    }
+
+    private String name() {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    // index drawn with probability proportional to its weight
+    private int pick(double[] weights) {
+        double total = Arrays.stream(weights).sum();
+        double x = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            x -= weights[i];
+            if (x < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static double meanStay() {
+        double weighted = 0;
+        double total = 0;
+        for (int i = 0; i < STAY_WEIGHTS.length; i++) {
+            weighted += (i + 1) * STAY_WEIGHTS[i];
+            total += STAY_WEIGHTS[i];
+        }
+        return weighted / total;
+    }
+
+    /**
+     * Batch: rows of one table, sent with a JDBC batch update once batchSize of them are waiting.
+     * The tables the rows reference are flushed first.
+     */
+    private class Batch {
+        private final String sql;
+        private final Batch[] parents;
+        private final List<Object[]> rows = new ArrayList<>();
+        private int total;
+
+        Batch(String sql, Batch... parents) {
+            this.sql = sql;
+            this.parents = parents;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            for (Batch parent : parents) {
+                parent.flush();
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                total += rows.size();
+                rows.clear();
+            }
+        }
+    }
+
+    /**
+     * SequenceIds: ids of a sequence backed entity, handed out above the current value of its sequence.
+     * release() restarts the sequence past them, hibernate's next block of ids then starts after the last one given.
+     * The sequence and the size of the blocks are those of the entity's @SequenceGenerator.
+     */
+    private class SequenceIds {
+        private final String sequence;
+        private final int allocationSize;
+        private long next;
+
+        SequenceIds(SessionFactoryImplementor sessionFactory, Class<?> entity) {
+            SequenceStyleGenerator generator = (SequenceStyleGenerator) sessionFactory.getMappingMetamodel().getEntityDescriptor(entity).getIdentifierGenerator();
+            Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+            this.sequence = generator.getDatabaseStructure().getPhysicalName().render();
+            this.allocationSize = generator.getOptimizer().getIncrementSize();
+            this.next = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class) + 1;
+        }
+
+        int next() {
+            return Math.toIntExact(next++);
+        }
+
+        void release() {
+            jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (next + allocationSize));
+        }
+    }
+}
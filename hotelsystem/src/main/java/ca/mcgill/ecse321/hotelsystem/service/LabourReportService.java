@@ -0,0 +1,133 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import ca.mcgill.ecse321.hotelsystem.dto.CoverageHeatmapDto;
+import ca.mcgill.ecse321.hotelsystem.dto.DailyLabourDto;
+import ca.mcgill.ecse321.hotelsystem.dto.LabourCostDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftTimesCountDto;
+import ca.mcgill.ecse321.hotelsystem.exception.HRSException;
+import ca.mcgill.ecse321.hotelsystem.repository.ShiftRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LabourReportService: labour cost and staff coverage computed from the shifts and the salaries of the employees.
+ *
+ * The database aggregates the shifts of the report's date range, read through the shift_date_idx index, so a report
+ * costs one query returning a row per day, or a few rows per day for the coverage, whatever the number of shifts or
+ * the length of the history. Salaries are read when the report is made: a raise shows in every report at once, there
+ * is nothing to revalue. Only the shifts with an employee are counted.
+ */
+@Service
+@Timed("hotelsystem.service")
+public class LabourReportService {
+
+    private static final int DAY_HOURS = 24;
+
+    @Autowired
+    ShiftRepository shiftRepository;
+
+    // hours a yearly salary pays for, 40 hours over 52 weeks
+    @Value("${hotelsystem.labour.yearly-hours:2080}")
+    int yearlyHours = 2080;
+
+    /**
+     * getDailyCost: shifts, hours and labour cost of each day of a date range
+     * @param from first day
+     * @param to day after the last day
+     * @return one LabourCostDto per day, days without shifts included, ordered by date
+     * @throws HRSException if the range is empty or longer than ReportService.MAX_REPORT_NIGHTS
+     */
+    @Transactional
+    public List<LabourCostDto> getDailyCost(LocalDate from, LocalDate to) {
+        int days = ReportService.checkRange(from, to);
+        Map<LocalDate, LabourCostDto> byDate = new HashMap<>();
+        List<LabourCostDto> report = new ArrayList<>(days);
+        for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+            LabourCostDto day = new LabourCostDto(date, 1);
+            byDate.put(date, day);
+            report.add(day);
+        }
+        for (DailyLabourDto labour : shiftRepository.sumLabourByDate(from, to)) {
+            byDate.get(labour.getDate()).add(labour.getShifts(), labour.getMinutes(), labour.getSalaryMinutes(), yearlyMinutes());
+        }
+        return report;
+    }
+
+    /**
+     * getWeeklyCost: shifts, hours and labour cost of each week of a date range, weeks starting on Monday
+     * @param from first day
+     * @param to day after the last day
+     * @return one LabourCostDto per week, starting at its Monday or at from, counting only the days of the range
+     * @throws HRSException if the range is empty or longer than ReportService.MAX_REPORT_NIGHTS
+     */
+    @Transactional
+    public List<LabourCostDto> getWeeklyCost(LocalDate from, LocalDate to) {
+        ReportService.checkRange(from, to);
+        List<LabourCostDto> report = new ArrayList<>();
+        Map<LocalDate, LabourCostDto> byMonday = new HashMap<>();
+        for (LocalDate start = from; start.isBefore(to); ) {
+            LocalDate next = week(start).plusWeeks(1);
+            LocalDate end = next.isBefore(to) ? next : to;
+            LabourCostDto week = new LabourCostDto(start, (int) ChronoUnit.DAYS.between(start, end));
+            byMonday.put(week(start), week);
+            report.add(week);
+            start = end;
+        }
+        for (DailyLabourDto labour : shiftRepository.sumLabourByDate(from, to)) {
+            byMonday.get(week(labour.getDate())).add(labour.getShifts(), labour.getMinutes(), labour.getSalaryMinutes(), yearlyMinutes());
+        }
+        return report;
+    }
+
+    /**
+     * getCoverage: average number of employees on shift for each hour of each day of the week over a date range
+     * @param from first day
+     * @param to day after the last day
+     * @return the heatmap, a day of the week that does not occur in the range has no staff
+     * @throws HRSException if the range is empty or longer than ReportService.MAX_REPORT_NIGHTS
+     */
+    @Transactional
+    public CoverageHeatmapDto getCoverage(LocalDate from, LocalDate to) {
+        ReportService.checkRange(from, to);
+        int[] weekdays = new int[DayOfWeek.values().length];
+        for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+            weekdays[date.getDayOfWeek().ordinal()]++;
+        }
+        // minutes worked by all the employees in each hour of each day of the week
+        long[][] minutes = new long[weekdays.length][DAY_HOURS];
+        for (ShiftTimesCountDto shifts : shiftRepository.countShiftsByDateAndTimes(from, to)) {
+            long[] day = minutes[shifts.getDate().getDayOfWeek().ordinal()];
+            int start = shifts.getStartTime().toLocalTime().toSecondOfDay() / 60;
+            int end = shifts.getEndTime().toLocalTime().toSecondOfDay() / 60;
+            for (int hour = start / 60; hour * 60 < end; hour++) {
+                day[hour] += shifts.getShifts() * (Math.min(end, (hour + 1) * 60) - Math.max(start, hour * 60));
+            }
+        }
+        double[][] staff = new double[weekdays.length][DAY_HOURS];
+        for (int d = 0; d < weekdays.length; d++) {
+            for (int hour = 0; hour < DAY_HOURS && weekdays[d] > 0; hour++) {
+                staff[d][hour] = Math.round(minutes[d][hour] * 100.0 / (60 * weekdays[d])) / 100.0;
+            }
+        }
+        return new CoverageHeatmapDto(from, to, staff);
+    }
+
+    private long yearlyMinutes() {
+        return yearlyHours * 60L;
+    }
+
+    private static LocalDate week(LocalDate date) {
+        return date.minusDays(date.getDayOfWeek().ordinal());
+    }
+}
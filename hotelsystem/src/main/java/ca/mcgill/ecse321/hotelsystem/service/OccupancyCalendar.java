@@ -0,0 +1,126 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OccupancyCalendar: one bit per night for every specific room, over a fixed horizon of NIGHTS nights.
+ *
+ * Bit i of a room is set when night startDay + i is booked. The horizon starts on an epoch day that is a
+ * multiple of 64, so word w of every room covers the same 64 nights and a stay is checked with a few
+ * word-wise AND operations. Nights outside the horizon are not recorded, callers check covers() first.
+ *
+ * Rows are copied on write: the words of a room are never changed once they are in the map, a write puts a new row
+ * in its place. Readers do not lock, they see either the old or the new row of a room, always a whole one.
+ */
+public class OccupancyCalendar {
+
+    public static final int WORDS = 12;
+    public static final int NIGHTS = WORDS * 64;
+
+    private final long startDay;
+
+    private final Map<Integer, long[]> nightsByRoom = new ConcurrentHashMap<>();
+
+    public OccupancyCalendar(long startDay) {
+        this.startDay = startDay;
+    }
+
+    /**
+     * alignedStart: first day of the horizon that contains the given day
+     * @param day epoch day
+     * @return the closest epoch day on or before day that is a multiple of 64
+     */
+    public static long alignedStart(long day) {
+        return day - Math.floorMod(day, 64);
+    }
+
+    public long getStartDay() {
+        return startDay;
+    }
+
+    public LocalDate getStartDate() {
+        return LocalDate.ofEpochDay(startDay);
+    }
+
+    /**
+     * covers: whether every night of [firstNight, end) is inside the horizon
+     */
+    public boolean covers(long firstNight, long end) {
+        return firstNight >= startDay && end <= startDay + NIGHTS;
+    }
+
+    /**
+     * mark: set the nights [firstNight, end) of a room, the part outside the horizon is ignored
+     */
+    public void mark(int roomNumber, long firstNight, long end) {
+        long from = Math.max(firstNight, startDay) - startDay;
+        long to = Math.min(end, startDay + NIGHTS) - startDay;
+        if (from >= to) {
+            return;
+        }
+        long[] current = nightsByRoom.get(roomNumber);
+        long[] words = current == null ? new long[WORDS] : Arrays.copyOf(current, WORDS);
+        for (int w = (int) (from >>> 6); w <= (int) ((to - 1) >>> 6); w++) {
+            words[w] |= mask(w, from, to);
+        }
+        nightsByRoom.put(roomNumber, words);
+    }
+
+    /**
+     * clear: forget every night of a room
+     */
+    public void clear(int roomNumber) {
+        nightsByRoom.remove(roomNumber);
+    }
+
+    /**
+     * replace: swap the nights of a room for its nights in another calendar with the same start, in a single step
+     * @param source calendar the row is taken from, it must not be written to afterwards
+     */
+    public void replace(int roomNumber, OccupancyCalendar source) {
+        long[] words = source.nightsByRoom.get(roomNumber);
+        if (words == null) {
+            nightsByRoom.remove(roomNumber);
+        } else {
+            nightsByRoom.put(roomNumber, words);
+        }
+    }
+
+    /**
+     * isFree: whether none of the nights [firstNight, end) of a room is set, the range must be covered
+     */
+    public boolean isFree(int roomNumber, long firstNight, long end) {
+        long[] words = nightsByRoom.get(roomNumber);
+        if (words == null) {
+            return true;
+        }
+        long from = firstNight - startDay;
+        long to = end - startDay;
+        for (int w = (int) (from >>> 6); w <= (int) ((to - 1) >>> 6); w++) {
+            if ((words[w] & mask(w, from, to)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * words: copy of the bits of a room, bit i of word w is night startDay + 64 * w + i
+     */
+    public long[] words(int roomNumber) {
+        long[] words = nightsByRoom.get(roomNumber);
+        return words == null ? new long[WORDS] : Arrays.copyOf(words, WORDS);
+    }
+
+    // bits of word w that fall inside [from, to), both relative to the start of the horizon
+    private static long mask(int w, long from, long to) {
+        long wordStart = (long) w << 6;
+        int low = (int) Math.max(0, from - wordStart);
+        int high = (int) Math.min(64, to - wordStart);
+        long upper = high == 64 ? -1L : (1L << high) - 1;
+        return upper & (-1L << low);
+    }
+}
@@ -0,0 +1,38 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import ca.mcgill.ecse321.hotelsystem.exception.HRSException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Paging: builds the page requests of the paginated list service methods, ordered by the id of the entity
+ * so that page and keyset (after=id) results are stable.
+ */
+public final class Paging {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 1000;
+
+    private Paging() {
+    }
+
+    /**
+     * of: page request for a page of a list ordered by id
+     * @param page page number, starting at 0
+     * @param size number of elements of a page
+     * @param idProperty name of the id property of the entity
+     * @return the page request
+     * @throws HRSException if the page or the size is out of range
+     */
+    public static Pageable of(int page, int size, String idProperty) {
+        if (page < 0) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "Page must not be negative.");
+        }
+        if (size <= 0 || size > MAX_SIZE) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "Page size must be between 1 and " + MAX_SIZE + ".");
+        }
+        return PageRequest.of(page, size, Sort.by(idProperty));
+    }
+}
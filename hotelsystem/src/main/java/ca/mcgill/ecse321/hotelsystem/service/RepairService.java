@@ -8,6 +8,7 @@ import ca.mcgill.ecse321.hotelsystem.repository.EmployeeRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.RepairRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
@@ -140,4 +141,20 @@ public class RepairService {
         }
         return repair;
     }
+
+    /**
+     * getRepairs: service method to fetch one page of repairs, ordered by id
+     * @param after only repairs with a larger id, the last one of the previous page, or null to use the page number
+     * @param page page number, starting at 0, ignored when after is given
+     * @param size number of repairs of a page
+     * @return the page, hasNext() tells if there are more
+     * @throws HRSException if the page or the size is out of range
+     */
+    @Transactional
+    public Slice<Repair> getRepairs(Integer after, int page, int size) {
+        if (after != null) {
+            return repairRepository.findByRepairIdGreaterThan(after, Paging.of(0, size, "repairId"));
+        }
+        return repairRepository.findAllBy(Paging.of(page, size, "repairId"));
+    }
 }
@@ -0,0 +1,326 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import ca.mcgill.ecse321.hotelsystem.Model.CheckInStatus;
+import ca.mcgill.ecse321.hotelsystem.Model.NightlyRollup;
+import ca.mcgill.ecse321.hotelsystem.Model.Reservation;
+import ca.mcgill.ecse321.hotelsystem.Model.ReservedRoom;
+import ca.mcgill.ecse321.hotelsystem.Model.Room;
+import ca.mcgill.ecse321.hotelsystem.dto.NightlyReportDto;
+import ca.mcgill.ecse321.hotelsystem.dto.RoomTypeReportDto;
+import ca.mcgill.ecse321.hotelsystem.exception.HRSException;
+import ca.mcgill.ecse321.hotelsystem.repository.FolioEntryRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.NightlyRollupRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository.RoomTypeCount;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository.Stay;
+import ca.mcgill.ecse321.hotelsystem.repository.RoomRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.SpecificRoomRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * ReportService: occupancy and revenue of every room type, night by night, for the owners.
+ *
+ * The numbers are kept in NightlyRollup rows, one per night and room type, updated in the transaction that books,
+ * cancels or checks in a reservation. A report reads the rows of its date range only, so it costs the same
+ * whatever the length of the booking history. Revenue is what was posted to the folios for the rooms, their charges
+ * minus their refunds, spread evenly over the nights of the stay with what does not divide on the first night;
+ * a later change of the rate of a room type does not change it.
+ *
+ * Rows are locked per room type in type order, and the room type row is locked before its first rollups are created,
+ * so concurrent bookings update the same nights one after the other and create them only once.
+ */
+@Service
+@Timed("hotelsystem.service")
+public class ReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+
+    // longest date range of a report
+    public static final int MAX_REPORT_NIGHTS = 366;
+
+    @Autowired
+    NightlyRollupRepository nightlyRollupRepository;
+
+    @Autowired
+    ReservedRoomRepository reservedRoomRepository;
+
+    @Autowired
+    SpecificRoomRepository specificRoomRepository;
+
+    @Autowired
+    RoomRepository roomRepository;
+
+    @Autowired
+    FolioEntryRepository folioEntryRepository;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    /**
+     * rebuildIfEmpty: compute the rollups at startup when there are none yet, e.g. for a database filled before they existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (nightlyRollupRepository.count() == 0 && reservedRoomRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * rebuild: recompute every rollup from the reservations, for rows written behind the services' back
+     * @return number of nights and room types with rooms sold
+     */
+    @Transactional
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        TreeSet<String> types = new TreeSet<>();
+        for (Room room : roomRepository.findAll()) {
+            types.add(room.getType());
+        }
+        Map<String, Map<LocalDate, NightlyRollup>> rollups = new HashMap<>();
+        for (String type : types) {
+            roomRepository.findRoomByTypeForUpdate(type);
+            Map<LocalDate, NightlyRollup> nights = new HashMap<>();
+            for (NightlyRollup rollup : nightlyRollupRepository.findByRoomTypeForUpdate(type)) {
+                rollup.clear();
+                nights.put(rollup.getNight(), rollup);
+            }
+            rollups.put(type, nights);
+        }
+        int sold = 0;
+        for (Stay stay : reservedRoomRepository.findAllStays()) {
+            Map<LocalDate, NightlyRollup> nights = rollups.get(stay.getRoomType());
+            if (nights == null) {
+                continue;
+            }
+            int count = (int) stay.getRooms();
+            LocalDate end = RoomAvailabilityIndex.stayEnd(stay.getCheckIn(), stay.getCheckOut());
+            long nightsOfStay = ChronoUnit.DAYS.between(stay.getCheckIn(), end);
+            for (LocalDate night = stay.getCheckIn(); night.isBefore(end); night = night.plusDays(1)) {
+                NightlyRollup rollup = nights.get(night);
+                if (rollup == null) {
+                    rollup = new NightlyRollup(night, stay.getRoomType());
+                    entityManager.persist(rollup);
+                    nights.put(night, rollup);
+                }
+                if (rollup.getRoomsSold() == 0) {
+                    sold++;
+                }
+                add(rollup, count, count, share(stay.getCharged(), nightsOfStay, night.equals(stay.getCheckIn())), null, stay.getStatus());
+            }
+        }
+        log.info("Rebuilt the nightly rollups in {} ms, {} nights and room types with rooms sold", System.currentTimeMillis() - started, sold);
+        return sold;
+    }
+
+    /**
+     * addReservedRooms: count the nights of rooms just booked in a reservation, once their charges are posted
+     * @param reservation reservation the rooms are booked in
+     * @param reservedRooms the new reserved rooms
+     */
+    @Transactional
+    public void addReservedRooms(Reservation reservation, Collection<ReservedRoom> reservedRooms) {
+        update(reservation, countByType(reservedRooms), chargedByType(reservedRooms), 1, null, reservation.getCheckedIn());
+    }
+
+    /**
+     * removeReservedRooms: stop counting the nights of rooms removed from a reservation, before their charges are refunded
+     * @param reservation reservation the rooms were booked in
+     * @param reservedRooms the deleted reserved rooms
+     */
+    @Transactional
+    public void removeReservedRooms(Reservation reservation, Collection<ReservedRoom> reservedRooms) {
+        update(reservation, countByType(reservedRooms), chargedByType(reservedRooms), -1, reservation.getCheckedIn(), null);
+    }
+
+    /**
+     * changeStatus: move the nights of every room of a reservation from its old check-in status to the new one
+     * @param reservation reservation whose status changed
+     * @param from status before the change
+     * @param to status after the change
+     */
+    @Transactional
+    public void changeStatus(Reservation reservation, CheckInStatus from, CheckInStatus to) {
+        if (from == to) {
+            return;
+        }
+        Map<String, Integer> roomsByType = new TreeMap<>();
+        for (RoomTypeCount count : reservedRoomRepository.countRoomsByTypeForReservation(reservation.getReservationID())) {
+            roomsByType.put(count.getRoomType(), (int) count.getRooms());
+        }
+        update(reservation, roomsByType, Map.of(), 0, from, to);
+    }
+
+    /**
+     * getNightlyReport: occupancy, revenue and check-in statuses of every room type for each night of a date range.
+     * Rooms available are the specific rooms open for use today.
+     * @param from first night
+     * @param to day after the last night
+     * @param type room type, or null for every type
+     * @return one report per night and room type, ordered by night then type
+     * @throws HRSException if the range is empty or longer than MAX_REPORT_NIGHTS
+     */
+    @Transactional
+    public List<NightlyReportDto> getNightlyReport(LocalDate from, LocalDate to, String type) {
+        int nights = checkRange(from, to);
+        Map<String, Integer> available = new TreeMap<>();
+        for (RoomTypeCount count : specificRoomRepository.countOpenRoomsByType()) {
+            available.put(count.getRoomType(), (int) count.getRooms());
+        }
+        List<NightlyRollup> rollups = type == null ? nightlyRollupRepository.findByNightRange(from, to)
+                : nightlyRollupRepository.findByRoomTypeAndNightRange(type, from, to);
+        Map<LocalDate, Map<String, NightlyRollup>> byNight = new HashMap<>();
+        TreeSet<String> types = new TreeSet<>();
+        for (NightlyRollup rollup : rollups) {
+            byNight.computeIfAbsent(rollup.getNight(), night -> new HashMap<>()).put(rollup.getRoomType(), rollup);
+            types.add(rollup.getRoomType());
+        }
+        if (type == null) {
+            types.addAll(available.keySet());
+        } else {
+            types.add(type);
+        }
+        List<NightlyReportDto> report = new ArrayList<>(nights * types.size());
+        for (LocalDate night = from; night.isBefore(to); night = night.plusDays(1)) {
+            Map<String, NightlyRollup> rows = byNight.getOrDefault(night, Map.of());
+            for (String roomType : types) {
+                report.add(new NightlyReportDto(night, roomType, available.getOrDefault(roomType, 0), rows.get(roomType)));
+            }
+        }
+        return report;
+    }
+
+    /**
+     * getSummary: occupancy, revenue and check-in statuses of every room type over a date range
+     * @param from first night
+     * @param to day after the last night
+     * @return one summary per room type, ordered by type
+     * @throws HRSException if the range is empty or longer than MAX_REPORT_NIGHTS
+     */
+    @Transactional
+    public List<RoomTypeReportDto> getSummary(LocalDate from, LocalDate to) {
+        int nights = checkRange(from, to);
+        Map<String, RoomTypeReportDto> summaries = new TreeMap<>();
+        for (NightlyReportDto night : getNightlyReport(from, to, null)) {
+            summaries.computeIfAbsent(night.getRoomType(), type -> new RoomTypeReportDto(type, nights)).add(night);
+        }
+        return new ArrayList<>(summaries.values());
+    }
+
+    static int checkRange(LocalDate from, LocalDate to) {
+        long nights = ChronoUnit.DAYS.between(from, to);
+        if (nights <= 0) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "The end of the report must be after its start.");
+        }
+        if (nights > MAX_REPORT_NIGHTS) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "A report covers at most " + MAX_REPORT_NIGHTS + " nights.");
+        }
+        return (int) nights;
+    }
+
+    // rooms of each type, in type order, the order the rollups are locked in
+    private static Map<String, Integer> countByType(Collection<ReservedRoom> reservedRooms) {
+        Map<String, Integer> roomsByType = new TreeMap<>();
+        for (ReservedRoom reservedRoom : reservedRooms) {
+            if (reservedRoom.getSpecificRoom() == null || reservedRoom.getSpecificRoom().getRoom() == null) {
+                continue;
+            }
+            roomsByType.merge(reservedRoom.getSpecificRoom().getRoom().getType(), 1, Integer::sum);
+        }
+        return roomsByType;
+    }
+
+    // what is posted to the folios for the rooms of each type
+    private Map<String, Long> chargedByType(Collection<ReservedRoom> reservedRooms) {
+        Map<String, List<Integer>> idsByType = new TreeMap<>();
+        for (ReservedRoom reservedRoom : reservedRooms) {
+            if (reservedRoom.getSpecificRoom() == null || reservedRoom.getSpecificRoom().getRoom() == null) {
+                continue;
+            }
+            idsByType.computeIfAbsent(reservedRoom.getSpecificRoom().getRoom().getType(), type -> new ArrayList<>()).add(reservedRoom.getReservedID());
+        }
+        Map<String, Long> charged = new TreeMap<>();
+        for (Map.Entry<String, List<Integer>> entry : idsByType.entrySet()) {
+            charged.put(entry.getKey(), folioEntryRepository.sumByReservedRoomIdIn(entry.getValue()));
+        }
+        return charged;
+    }
+
+    private void update(Reservation reservation, Map<String, Integer> roomsByType, Map<String, Long> chargedByType, int sign, CheckInStatus from, CheckInStatus to) {
+        if (reservation.getCheckIn() == null || reservation.getCheckOut() == null) {
+            return;
+        }
+        LocalDate end = RoomAvailabilityIndex.stayEnd(reservation.getCheckIn(), reservation.getCheckOut());
+        long nights = ChronoUnit.DAYS.between(reservation.getCheckIn(), end);
+        for (Map.Entry<String, Integer> entry : roomsByType.entrySet()) {
+            long charged = sign * chargedByType.getOrDefault(entry.getKey(), 0L);
+            for (NightlyRollup rollup : lockRollups(entry.getKey(), reservation.getCheckIn(), end)) {
+                add(rollup, entry.getValue(), sign * entry.getValue(), share(charged, nights, rollup.getNight().equals(reservation.getCheckIn())), from, to);
+            }
+        }
+    }
+
+    // the part of what was charged for a stay that goes to one of its nights, the first night takes the remainder
+    private static long share(long charged, long nights, boolean firstNight) {
+        return charged / nights + (firstNight ? charged % nights : 0);
+    }
+
+    // sold is the change in rooms sold, rooms the number of rooms whose status goes from one to the other
+    private static void add(NightlyRollup rollup, int rooms, int sold, long revenue, CheckInStatus from, CheckInStatus to) {
+        rollup.setRoomsSold(rollup.getRoomsSold() + sold);
+        rollup.setRevenue(rollup.getRevenue() + revenue);
+        if (from != null) {
+            rollup.addStatusCount(from, -rooms);
+        }
+        if (to != null) {
+            rollup.addStatusCount(to, rooms);
+        }
+    }
+
+    // the rollups of a room type for [from, to), locked, the missing ones created
+    private List<NightlyRollup> lockRollups(String type, LocalDate from, LocalDate to) {
+        long nights = ChronoUnit.DAYS.between(from, to);
+        if (nightlyRollupRepository.countByRoomTypeAndNightRange(type, from, to) == nights) {
+            return nightlyRollupRepository.findByRoomTypeAndNightRangeForUpdate(type, from, to);
+        }
+        // rollups are never deleted, under the room type lock the missing ones are created by one transaction only
+        roomRepository.findRoomByTypeForUpdate(type);
+        List<NightlyRollup> rollups = nightlyRollupRepository.findByRoomTypeAndNightRangeForUpdate(type, from, to);
+        if (rollups.size() == nights) {
+            return rollups;
+        }
+        Map<LocalDate, NightlyRollup> byNight = new TreeMap<>();
+        for (NightlyRollup rollup : rollups) {
+            byNight.put(rollup.getNight(), rollup);
+        }
+        for (LocalDate night = from; night.isBefore(to); night = night.plusDays(1)) {
+            if (!byNight.containsKey(night)) {
+                NightlyRollup rollup = new NightlyRollup(night, type);
+                entityManager.persist(rollup);
+                byNight.put(night, rollup);
+            }
+        }
+        return new ArrayList<>(byNight.values());
+    }
+}
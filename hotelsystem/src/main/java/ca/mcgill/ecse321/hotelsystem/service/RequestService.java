@@ -6,6 +6,7 @@ import ca.mcgill.ecse321.hotelsystem.repository.RequestRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.ReservationRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
@@ -125,4 +126,20 @@ public class RequestService {
         }
         return res;
     }
+
+    /**
+     * getRequests: service method to fetch one page of requests, ordered by id
+     * @param after only requests with a larger id, the last one of the previous page, or null to use the page number
+     * @param page page number, starting at 0, ignored when after is given
+     * @param size number of requests of a page
+     * @return the page, hasNext() tells if there are more
+     * @throws HRSException if the page or the size is out of range
+     */
+    @Transactional
+    public Slice<Request> getRequests(Integer after, int page, int size) {
+        if (after != null) {
+            return requestRepository.findByRequestIdGreaterThan(after, Paging.of(0, size, "requestId"));
+        }
+        return requestRepository.findAllBy(Paging.of(page, size, "requestId"));
+    }
 }
@@ -1,31 +1,59 @@
 package ca.mcgill.ecse321.hotelsystem.service;
 
 import ca.mcgill.ecse321.hotelsystem.Model.*;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservationExportDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservationResponseDto;
 import ca.mcgill.ecse321.hotelsystem.exception.HRSException;
+import ca.mcgill.ecse321.hotelsystem.repository.FolioEntryRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.RequestRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.ReservationRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.SpecificRoomRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 @Service
+@Timed("hotelsystem.service")
 public class ReservationService {
 
     @Autowired
     ReservationRepository reservationRepository;
 
+
     @Autowired
     ReservedRoomRepository reservedRoomRepository;
 
     @Autowired
     RequestRepository requestRepository;
 
+    @Autowired
+    RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Autowired
+    ReportService reportService;
+
+    @Autowired
+    SpecificRoomService specificRoomService;
+
+    @Autowired
+    SpecificRoomRepository specificRoomRepository;
+
+    @Autowired
+    FolioEntryRepository folioEntryRepository;
+
     /**
      * GetAllReservations: service method to fetch all existing reservations in the database
      * @return List of reservations
@@ -36,6 +64,34 @@ public class ReservationService {
         return reservationRepository.findAll();
     }
 
+    /**
+     * getAllReservationResponses: the dtos of all reservations, selected in a single query
+     * @return list of reservation dtos, ordered by id
+     */
+    @Transactional
+    public List<ReservationResponseDto> getAllReservationResponses() {
+        return reservationRepository.findAllResponses();
+    }
+
+    /**
+     * getReservationResponsesByCustomer: the dtos of the reservations of a customer, selected in a single query
+     * @param customer customer to select reservations
+     * @return list of reservation dtos, ordered by id
+     */
+    @Transactional
+    public List<ReservationResponseDto> getReservationResponsesByCustomer(Customer customer) {
+        return reservationRepository.findResponsesByCustomerEmail(customer.getEmail());
+    }
+
+    /**
+     * getReservationResponsesNotPaid: the dtos of the non paid reservations, selected in a single query
+     * @return list of reservation dtos, ordered by id
+     */
+    @Transactional
+    public List<ReservationResponseDto> getReservationResponsesNotPaid() {
+        return reservationRepository.findResponsesByPaid(false);
+    }
+
     /**
      * getReservation: get reservation with id
      * @param id unique id
@@ -67,6 +123,123 @@ public class ReservationService {
         return reservationRepository.save(reservation);
     }
 
+    /**
+     * createBatchReservation: service method to create a reservation and book all of its rooms in one transaction,
+     * either every room is booked or none is
+     * @param reservation reservation to be created
+     * @param roomCounts number of rooms wanted for each room type
+     * @return the created reserved rooms, all linked to the saved reservation
+     * @throws HRSException if the request is invalid or there are not enough free rooms of a type
+     */
+    @Transactional
+    public List<ReservedRoom> createBatchReservation(Reservation reservation, Map<String, Integer> roomCounts) {
+        isValid(reservation);
+        if(roomCounts == null || roomCounts.isEmpty()) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "no rooms requested");
+        }
+        LocalDate checkIn = reservation.getCheckIn();
+        LocalDate checkOut = reservation.getCheckOut();
+
+        //one availability check for every room type, then take the first free rooms of each type
+        Map<String, List<SpecificRoom>> available = specificRoomService.getAvailableSpecificRoomsGroupedByType(checkIn, checkOut);
+        List<SpecificRoom> chosen = new ArrayList<>();
+        for(Map.Entry<String, Integer> entry : roomCounts.entrySet()) {
+            Integer count = entry.getValue();
+            if(count == null || count <= 0) {
+                throw new HRSException(HttpStatus.BAD_REQUEST, "invalid number of " + entry.getKey() + " rooms");
+            }
+            List<SpecificRoom> free = available.getOrDefault(entry.getKey(), new ArrayList<>());
+            if(free.size() < count) {
+                throw new HRSException(HttpStatus.CONFLICT, "not enough " + entry.getKey() + " rooms available");
+            }
+            chosen.addAll(free.subList(0, count));
+        }
+
+        //lock the chosen rooms and make sure no other booking took one of them since the check
+        List<Integer> numbers = new ArrayList<>();
+        for(SpecificRoom room : chosen) {
+            numbers.add(room.getNumber());
+        }
+        specificRoomRepository.findSpecificRoomsByNumberInForUpdate(numbers);
+        LocalDate end = RoomAvailabilityIndex.stayEnd(checkIn, checkOut);
+        if(!reservedRoomRepository.findOverlappingRoomNumbers(numbers, checkIn, end).isEmpty()) {
+            throw new HRSException(HttpStatus.CONFLICT, "a room was booked by someone else, please try again");
+        }
+
+        reservation = reservationRepository.save(reservation);
+
+        List<ReservedRoom> reservedRooms = new ArrayList<>();
+        for(SpecificRoom room : chosen) {
+            reservedRooms.add(new ReservedRoom(reservation, room));
+        }
+        //the inserts are sent as one JDBC batch, see hibernate.jdbc.batch_size
+        List<ReservedRoom> saved = new ArrayList<>();
+        for(ReservedRoom room : reservedRoomRepository.saveAll(reservedRooms)) {
+            roomAvailabilityIndex.add(room);
+            saved.add(room);
+        }
+        postRoomCharges(reservation, saved);
+        reportService.addReservedRooms(reservation, saved);
+        return saved;
+    }
+
+    /**
+     * postRoomCharges: charge the nights of reserved rooms to the folio of their reservation
+     * @param reservation reservation the rooms are booked in
+     * @param reservedRooms saved reserved rooms, with their specific room and room type
+     */
+    @Transactional
+    public void postRoomCharges(Reservation reservation, List<ReservedRoom> reservedRooms) {
+        long days = ChronoUnit.DAYS.between(reservation.getCheckIn(), reservation.getCheckOut());
+        List<FolioEntry> entries = new ArrayList<>();
+        for(ReservedRoom room : reservedRooms) {
+            entries.add(new FolioEntry(reservation, room.getReservedID(), FolioEntryType.RoomCharge, room.getSpecificRoom().getRoom().getRate() * (int) days));
+        }
+        post(entries);
+    }
+
+    /**
+     * refundRoomCharges: take back what is still charged for a reserved room that is removed from its reservation
+     * @param reservation reservation the room was booked in
+     * @param reservedRoom the removed reserved room
+     */
+    @Transactional
+    public void refundRoomCharges(Reservation reservation, ReservedRoom reservedRoom) {
+        long charged = folioEntryRepository.sumByReservedRoomId(reservedRoom.getReservedID());
+        if(charged != 0) {
+            post(List.of(new FolioEntry(reservation, reservedRoom.getReservedID(), FolioEntryType.RoomRefund, (int) -charged)));
+        }
+    }
+
+    /**
+     * getFolio: the folio entries of a reservation, oldest first
+     * @param reservation reservation
+     * @return list of folio entries
+     */
+    @Transactional
+    public List<FolioEntry> getFolio(Reservation reservation) {
+        return folioEntryRepository.findByReservationID(reservation.getReservationID());
+    }
+
+    //the entries are inserted as one JDBC batch, see hibernate.jdbc.batch_size, and added to the balances by a single update
+    private void post(List<FolioEntry> entries) {
+        if(entries.isEmpty()) {
+            return;
+        }
+        folioEntryRepository.saveAll(entries);
+        List<Integer> ids = new ArrayList<>();
+        for(FolioEntry entry : entries) {
+            ids.add(entry.getEntryId());
+        }
+        reservationRepository.applyFolioEntries(ids);
+        //the reservations handed back show the entries of this call, their columns are only written by the update
+        for(FolioEntry entry : entries) {
+            Reservation reservation = entry.getReservation();
+            reservation.setTotalPrice(reservation.getTotalPrice() + entry.getAmount());
+            reservation.setPaid(reservation.getTotalPrice() <= 0);
+        }
+    }
+
     private void isValid(Reservation reservation) {
         if(reservation.getCheckIn().isAfter(reservation.getCheckOut())){
             throw new HRSException(HttpStatus.BAD_REQUEST, "invalid checkIn/checkOut dates");
@@ -86,9 +259,12 @@ public class ReservationService {
         if(reservation == null) {
             throw new HRSException(HttpStatus.NOT_FOUND, "reservation does not exist");
         }
-        for(ReservedRoom room: reservedRoomRepository.findReservedRoomsByReservation_ReservationID(reservation.getReservationID())) {
+        List<ReservedRoom> reservedRooms = reservedRoomRepository.findReservedRoomsByReservation_ReservationID(reservation.getReservationID());
+        for(ReservedRoom room: reservedRooms) {
             reservedRoomRepository.deleteByReservedID(room.getReservedID());
+            roomAvailabilityIndex.remove(room.getReservedID());
         }
+        reportService.removeReservedRooms(reservation, reservedRooms);
 
         for(Request request: requestRepository.findRequestsByReservation_ReservationID(reservation.getReservationID())) {
             requestRepository.deleteRequestByRequestId(request.getRequestId());
@@ -119,22 +295,46 @@ public class ReservationService {
         if(reservation.isPaid()) {
             throw new HRSException(HttpStatus.BAD_REQUEST, "already paid");
         }
-
-        int remaining = reservation.getTotalPrice() - money;
-
-//        if(change < 0) {
-//            throw new HRSException(HttpStatus.BAD_REQUEST, "money not sufficient");
-//        }
-
-        //allow for incremental payment
-        if(remaining <= 0) {
-            reservation.setPaid(true);
-            reservation.setTotalPrice(remaining);
-        } else {
-            reservation.setTotalPrice(remaining);
+        if(money <= 0) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "money not sufficient");
         }
+        //allow for incremental payment, what is left can go below 0 when the customer pays too much
+        post(List.of(new FolioEntry(reservation, null, FolioEntryType.Payment, -money)));
+        return reservation;
+    }
 
-        return reservationRepository.save(reservation);
+    /**
+     * payReservations: pay several reservations at once, e.g. when a group settles its bill, every payment is posted
+     * or none is
+     * @param moneyByReservation amount paid for each reservation id
+     * @return the reservations, ordered by id
+     * @throws HRSException if a reservation does not exist, is already paid, or an amount is not positive
+     */
+    @Transactional
+    public List<Reservation> payReservations(Map<Integer, Integer> moneyByReservation) {
+        if(moneyByReservation == null || moneyByReservation.isEmpty()) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "no payments");
+        }
+        Map<Integer, Reservation> reservations = new TreeMap<>();
+        for(Reservation reservation : reservationRepository.findAllById(moneyByReservation.keySet())) {
+            reservations.put(reservation.getReservationID(), reservation);
+        }
+        List<FolioEntry> entries = new ArrayList<>();
+        for(Map.Entry<Integer, Integer> payment : new TreeMap<>(moneyByReservation).entrySet()) {
+            Reservation reservation = reservations.get(payment.getKey());
+            if(reservation == null) {
+                throw new HRSException(HttpStatus.NOT_FOUND, "reservation " + payment.getKey() + " not in the system.");
+            }
+            if(reservation.isPaid()) {
+                throw new HRSException(HttpStatus.BAD_REQUEST, "reservation " + payment.getKey() + " already paid");
+            }
+            if(payment.getValue() == null || payment.getValue() <= 0) {
+                throw new HRSException(HttpStatus.BAD_REQUEST, "money not sufficient");
+            }
+            entries.add(new FolioEntry(reservation, null, FolioEntryType.Payment, -payment.getValue()));
+        }
+        post(entries);
+        return new ArrayList<>(reservations.values());
     }
 
     /**
@@ -148,6 +348,7 @@ public class ReservationService {
         if(reservation.getCheckedIn() == CheckInStatus.CheckedIn) {
             throw new HRSException(HttpStatus.BAD_REQUEST, "already checked in");
         }
+        reportService.changeStatus(reservation, reservation.getCheckedIn(), CheckInStatus.CheckedIn);
         reservation.setCheckedIn(CheckInStatus.CheckedIn);
         return reservationRepository.save(reservation);
     }
@@ -161,6 +362,7 @@ public class ReservationService {
         if(reservation.getCheckedIn() == CheckInStatus.BeforeCheckIn) {
             throw new HRSException(HttpStatus.BAD_REQUEST, "pending reservation, not checked in");
         }
+        reportService.changeStatus(reservation, reservation.getCheckedIn(), CheckInStatus.CheckedOut);
         reservation.setCheckedIn(CheckInStatus.CheckedOut);
         return reservationRepository.save(reservation);
     }
@@ -170,6 +372,7 @@ public class ReservationService {
         if(reservation.getCheckedIn() != CheckInStatus.BeforeCheckIn) {
             throw new HRSException(HttpStatus.BAD_REQUEST, "customer is checkedIn or already checkedOut");
         }
+        reportService.changeStatus(reservation, reservation.getCheckedIn(), CheckInStatus.NoShow);
         reservation.setCheckedIn(CheckInStatus.NoShow);
         return reservationRepository.save(reservation);
     }
@@ -199,4 +402,32 @@ public class ReservationService {
     }
 
     //TODO if other methods are needed, add
+
+    /**
+     * getReservations: service method to fetch one page of reservations, ordered by id
+     * @param after only reservations with a larger id, the last one of the previous page, or null to use the page number
+     * @param page page number, starting at 0, ignored when after is given
+     * @param size number of reservations of a page
+     * @return the page, hasNext() tells if there are more
+     * @throws HRSException if the page or the size is out of range
+     */
+    @Transactional
+    public Slice<ReservationResponseDto> getReservations(Integer after, int page, int size) {
+        if (after != null) {
+            return reservationRepository.findResponsesByReservationIDGreaterThan(after, Paging.of(0, size, "reservationID"));
+        }
+        return reservationRepository.findResponsesBy(Paging.of(page, size, "reservationID"));
+    }
+
+    /**
+     * exportReservations: service method to hand every reservation to the consumer, in id order, without holding them all in memory.
+     * The export lines are read from a database cursor, no reservation entity is loaded.
+     * @param consumer called once per reservation
+     */
+    @Transactional
+    public void exportReservations(Consumer<ReservationExportDto> consumer) {
+        try (Stream<ReservationExportDto> reservations = reservationRepository.streamAllForExport()) {
+            reservations.forEach(consumer);
+        }
+    }
 }
@@ -3,26 +3,32 @@ package ca.mcgill.ecse321.hotelsystem.service;
 import ca.mcgill.ecse321.hotelsystem.Model.Reservation;
 import ca.mcgill.ecse321.hotelsystem.Model.ReservedRoom;
 import ca.mcgill.ecse321.hotelsystem.Model.SpecificRoom;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservedRoomExportDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservedRoomResponseDto;
 import ca.mcgill.ecse321.hotelsystem.exception.HRSException;
-import ca.mcgill.ecse321.hotelsystem.repository.ReservationRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.SpecificRoomRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.sql.Date;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed("hotelsystem.service")
 public class ReservedRoomService {
 
     @Autowired
     ReservedRoomRepository reservedRoomRepository;
 
+
     @Autowired
     ReservationService reservationService;
 
@@ -30,28 +36,21 @@ public class ReservedRoomService {
     SpecificRoomService specificRoomService;
 
     @Autowired
-    ReservationRepository reservationRepository;
-//
-//    @Autowired
-//    SpecificRoomRepository specificRoomRepository;
+    RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Autowired
+    SpecificRoomRepository specificRoomRepository;
+
+    @Autowired
+    ReportService reportService;
 
     @Transactional
     public ReservedRoom createReservedRoom(ReservedRoom reservedRoom) {
         //input check in other services
         Reservation reservation = reservedRoom.getReservation();
         reservedRoom.setReservation(null); //temporarily sent to null
-        //reservedRoom = reservedRoomRepository.save(reservedRoom);
 
         reservedRoom = this.assignReservedRoomToReservation(reservation,reservedRoom); //this to check if valid
-        //set the price for the reservation
-        reservation = reservedRoom.getReservation();
-        //TODO check if it works
-        long days = ChronoUnit.DAYS.between(reservation.getCheckIn(), reservation.getCheckOut());
-        reservation.setTotalPrice((reservedRoom.getSpecificRoom().getRoom().getRate()*(int)days) + reservation.getTotalPrice()); //add additional price to the initial one
-        reservationRepository.save(reservation);
-        reservedRoom.setReservation(reservation);
-        reservedRoom = reservedRoomRepository.save(reservedRoom);
-
         return reservedRoom;
     }
 
@@ -106,6 +105,44 @@ public class ReservedRoomService {
         return reservedRoomRepository.findReservedRoomsBySpecificRoom_Number(specRoom.getNumber());
     }
 
+    /**
+     * getAllReservedRoomResponses: the dtos of all reserved rooms, selected in a single query
+     * @return list of reserved room dtos, ordered by id
+     */
+    @Transactional
+    public List<ReservedRoomResponseDto> getAllReservedRoomResponses() {
+        return reservedRoomRepository.findAllResponses();
+    }
+
+    /**
+     * getReservedRoomResponsesByReservation: the dtos of the reserved rooms booked in a reservation, selected in a single query
+     * @param reservationId reservation id
+     * @return list of reserved room dtos, ordered by id
+     * @throws HRSException if the reservation has no reserved room
+     */
+    @Transactional
+    public List<ReservedRoomResponseDto> getReservedRoomResponsesByReservation(int reservationId) {
+        List<ReservedRoomResponseDto> list = reservedRoomRepository.findResponsesByReservationID(reservationId);
+        if (list.isEmpty()) {
+            throw new HRSException(HttpStatus.NOT_FOUND, "no reserved room for given reservation with id: " + reservationId);
+        }
+        return list;
+    }
+
+    /**
+     * getReservedRoomResponsesBySpecRoom: the dtos of the reserved rooms linked to a specific room, selected in a single query
+     * @param specRoom specific room to find linked reserved rooms
+     * @return list of reserved room dtos, ordered by id
+     * @throws HRSException if the specific room does not exist
+     */
+    @Transactional
+    public List<ReservedRoomResponseDto> getReservedRoomResponsesBySpecRoom(SpecificRoom specRoom) {
+        if(specRoom == null) {
+            throw new HRSException(HttpStatus.NOT_FOUND, "specific room does not exist");
+        }
+        return reservedRoomRepository.findResponsesBySpecificRoomNumber(specRoom.getNumber());
+    }
+
     /**
      * deleteReservedRoom: service method to delete a reserved room
      * @param reservedRoom reserved room to be deleted
@@ -117,10 +154,17 @@ public class ReservedRoomService {
             throw new HRSException(HttpStatus.NOT_FOUND, "no reserved room with id doesn't exist");
         }
         reservedRoomRepository.delete(reservedRoom);
+        roomAvailabilityIndex.remove(reservedRoom.getReservedID());
+        if(reservedRoom.getReservation() != null) {
+            //the report takes back what was charged for the room, before it is refunded
+            reportService.removeReservedRooms(reservedRoom.getReservation(), List.of(reservedRoom));
+            reservationService.refundRoomCharges(reservedRoom.getReservation(), reservedRoom);
+        }
     }
 
     /**
-     * assignReservedRoomToReservation: service method to assign a room to a reservation
+     * assignReservedRoomToReservation: service method to assign a room to a reservation, the price of its nights is
+     * posted to the folio of the reservation, which is not saved again
      * @param reservation reservation to assign to
      * @param room reserved room to assign
      * @return the reservedRoom
@@ -128,22 +172,52 @@ public class ReservedRoomService {
     @Transactional
     public ReservedRoom assignReservedRoomToReservation(Reservation reservation, ReservedRoom room) {
         //2 reserved rooms cant be reserved at the same time, when assigning a room to a reservation
-        //get all reservations for specRoom and check checkIn and checkOut dates to make sure no overlap for the same room
+        //check the checkIn and checkOut dates of the other reservations of specRoom to make sure no overlap for the same room
         SpecificRoom specRoom = room.getSpecificRoom(); //TODO assume specRoom is not null and is already assigned to reservedRoom
-        //get reservedRooms for specRoom, and check the dates
-        List<ReservedRoom> list = reservedRoomRepository.findReservedRoomsBySpecificRoom_Number(specRoom.getNumber());
-        for(ReservedRoom resRoom : list) {
-            Reservation res = resRoom.getReservation();
-            if(res == null) continue; //if res null, then skip no need to check
-            LocalDate checkIn = res.getCheckIn();
-            LocalDate checkOut = res.getCheckOut();
-            if((reservation.getCheckIn().isBefore(checkOut) && reservation.getCheckIn().isAfter(checkIn)) ||
-                    (reservation.getCheckOut().isBefore(checkOut) && reservation.getCheckOut().isAfter(checkIn)) ||
-                    (reservation.getCheckIn().isBefore(checkOut) && reservation.getCheckOut().isAfter(checkIn))) {
-                throw new HRSException(HttpStatus.CONFLICT, "a reservation with conflicting check-in and check-out dates exists");
-            }
+        //the occupancy calendar rejects most conflicts with a few word-wise checks, before any lock is taken
+        if(roomAvailabilityIndex.isLoaded() && !roomAvailabilityIndex.isAvailable(specRoom.getNumber(), reservation.getCheckIn(), reservation.getCheckOut())) {
+            throw new HRSException(HttpStatus.CONFLICT, "a reservation with conflicting check-in and check-out dates exists");
+        }
+        //lock the specific room row, concurrent bookings of the same room then check and save one after the other
+        specificRoomRepository.findSpecificRoomByNumberForUpdate(specRoom.getNumber());
+        //the index only learns about a booking once its transaction commits, so the check under the lock asks the database
+        LocalDate end = RoomAvailabilityIndex.stayEnd(reservation.getCheckIn(), reservation.getCheckOut());
+        if(reservedRoomRepository.existsOverlappingReservation(specRoom.getNumber(), reservation.getCheckIn(), end)) {
+            throw new HRSException(HttpStatus.CONFLICT, "a reservation with conflicting check-in and check-out dates exists");
         }
         room.setReservation(reservation);
-        return reservedRoomRepository.save(room);
+        room = reservedRoomRepository.save(room);
+        roomAvailabilityIndex.add(room);
+        reservationService.postRoomCharges(reservation, List.of(room));
+        reportService.addReservedRooms(reservation, List.of(room));
+        return room;
+    }
+
+    /**
+     * getReservedRooms: service method to fetch one page of reserved rooms, ordered by id
+     * @param after only reserved rooms with a larger id, the last one of the previous page, or null to use the page number
+     * @param page page number, starting at 0, ignored when after is given
+     * @param size number of reserved rooms of a page
+     * @return the page, hasNext() tells if there are more
+     * @throws HRSException if the page or the size is out of range
+     */
+    @Transactional
+    public Slice<ReservedRoomResponseDto> getReservedRooms(Integer after, int page, int size) {
+        if (after != null) {
+            return reservedRoomRepository.findResponsesByReservedIDGreaterThan(after, Paging.of(0, size, "reservedID"));
+        }
+        return reservedRoomRepository.findResponsesBy(Paging.of(page, size, "reservedID"));
+    }
+
+    /**
+     * exportReservedRooms: service method to hand every reserved room to the consumer, in id order, without holding them all in memory.
+     * The export lines are read from a database cursor, no reserved room entity is loaded.
+     * @param consumer called once per reserved room
+     */
+    @Transactional
+    public void exportReservedRooms(Consumer<ReservedRoomExportDto> consumer) {
+        try (Stream<ReservedRoomExportDto> reservedRooms = reservedRoomRepository.streamAllForExport()) {
+            reservedRooms.forEach(consumer);
+        }
     }
 }
@@ -0,0 +1,228 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import ca.mcgill.ecse321.hotelsystem.Model.Reservation;
+import ca.mcgill.ecse321.hotelsystem.Model.ReservedRoom;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository.BookingInterval;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * RoomAvailabilityIndex: in-memory index of the nights booked for every specific room.
+ *
+ * Each room keeps its bookings sorted by check-in day, so checking whether a room is free for a stay
+ * is a single O(log n) lookup instead of a scan over every reserved room in the database.
+ * Nights inside a rolling horizon of about two years are also kept in an OccupancyCalendar, where a stay is
+ * checked with a few word-wise AND operations. The index is built once the application is ready and is
+ * kept current by the reserved room and reservation services. A room never holds two overlapping bookings (this is enforced by
+ * ReservedRoomService.assignReservedRoomToReservation), which is what makes the single lookup enough.
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    @Autowired
+    ReservedRoomRepository reservedRoomRepository;
+
+    // room number -> (check-in day, reserved id) -> check-out day
+    private final Map<Integer, NavigableMap<Long, Long>> bookingsByRoom = new ConcurrentHashMap<>();
+
+    // reserved id -> booking, so that a reserved room can be removed by its id alone
+    private final Map<Integer, Booking> bookingsById = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+
+    private volatile OccupancyCalendar calendar = new OccupancyCalendar(OccupancyCalendar.alignedStart(LocalDate.now().toEpochDay()));
+
+    /**
+     * rebuild: reload the index from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        load(reservedRoomRepository.findAllBookingIntervals());
+    }
+
+    /**
+     * load: replace the content of the index with the given bookings
+     * @param intervals stay dates of every reserved room
+     */
+    public synchronized void load(Collection<? extends BookingInterval> intervals) {
+        bookingsByRoom.clear();
+        bookingsById.clear();
+        for (BookingInterval interval : intervals) {
+            put(interval.getReservedId(), interval.getRoomNumber(), interval.getCheckIn(), interval.getCheckOut());
+        }
+        rollCalendar(LocalDate.now());
+        loaded = true;
+    }
+
+    /**
+     * isLoaded: whether the index has been built and can answer availability queries
+     * @return true once the index is built
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * add: record the nights of a reserved room once the current transaction commits
+     * @param reservedRoom saved reserved room, linked to its reservation and specific room
+     */
+    public void add(ReservedRoom reservedRoom) {
+        Reservation reservation = reservedRoom.getReservation();
+        if (reservation == null || reservedRoom.getSpecificRoom() == null) {
+            return;
+        }
+        int reservedId = reservedRoom.getReservedID();
+        int roomNumber = reservedRoom.getSpecificRoom().getNumber();
+        LocalDate checkIn = reservation.getCheckIn();
+        LocalDate checkOut = reservation.getCheckOut();
+        afterCommit(() -> put(reservedId, roomNumber, checkIn, checkOut));
+    }
+
+    /**
+     * remove: forget the nights of a reserved room once the current transaction commits
+     * @param reservedId id of the deleted reserved room
+     */
+    public void remove(int reservedId) {
+        afterCommit(() -> delete(reservedId));
+    }
+
+    /**
+     * isAvailable: check if a room has no booking overlapping a stay
+     * @param roomNumber specific room number
+     * @param checkIn check-in date
+     * @param checkOut check-out date
+     * @return true if no booking of the room overlaps [checkIn, checkOut)
+     */
+    public boolean isAvailable(int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        long firstNight = checkIn.toEpochDay();
+        long end = stayEnd(checkIn, checkOut).toEpochDay();
+        OccupancyCalendar current = currentCalendar();
+        if (current.covers(firstNight, end)) {
+            return current.isFree(roomNumber, firstNight, end);
+        }
+        NavigableMap<Long, Long> bookings = bookingsByRoom.get(roomNumber);
+        if (bookings == null) {
+            return true;
+        }
+        // the latest booking starting on or before the last night is the only one that can overlap
+        Map.Entry<Long, Long> latest = bookings.lowerEntry(key(end, 0));
+        return latest == null || latest.getValue() <= firstNight;
+    }
+
+    /**
+     * getCalendar: occupancy calendar of the current horizon, rolled forward if the horizon has started to expire
+     * @return the calendar, shared, its rows are replaced as bookings change, use OccupancyCalendar.words to read a room
+     */
+    public OccupancyCalendar getCalendar() {
+        return currentCalendar();
+    }
+
+    private synchronized void put(int reservedId, int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null) {
+            return;
+        }
+        delete(reservedId);
+        long firstNight = checkIn.toEpochDay();
+        long end = stayEnd(checkIn, checkOut).toEpochDay();
+        long key = key(firstNight, reservedId);
+        bookingsByRoom.computeIfAbsent(roomNumber, number -> new ConcurrentSkipListMap<>()).put(key, end);
+        bookingsById.put(reservedId, new Booking(roomNumber, key));
+        calendar.mark(roomNumber, firstNight, end);
+    }
+
+    private synchronized void delete(int reservedId) {
+        Booking booking = bookingsById.remove(reservedId);
+        if (booking == null) {
+            return;
+        }
+        NavigableMap<Long, Long> bookings = bookingsByRoom.get(booking.roomNumber);
+        if (bookings != null) {
+            bookings.remove(booking.key);
+            // bookings of a room never overlap, but redrawing the room keeps the calendar right even if they did;
+            // the row is drawn aside and swapped in, readers never see the room without its other bookings
+            OccupancyCalendar redrawn = new OccupancyCalendar(calendar.getStartDay());
+            markAll(redrawn, booking.roomNumber, bookings);
+            calendar.replace(booking.roomNumber, redrawn);
+        }
+    }
+
+    private OccupancyCalendar currentCalendar() {
+        OccupancyCalendar current = calendar;
+        LocalDate today = LocalDate.now();
+        if (OccupancyCalendar.alignedStart(today.toEpochDay()) != current.getStartDay()) {
+            synchronized (this) {
+                if (OccupancyCalendar.alignedStart(today.toEpochDay()) != calendar.getStartDay()) {
+                    rollCalendar(today);
+                }
+                current = calendar;
+            }
+        }
+        return current;
+    }
+
+    // moves the horizon so that it starts on the 64 night boundary before today and redraws it from the bookings
+    private synchronized void rollCalendar(LocalDate today) {
+        OccupancyCalendar rolled = new OccupancyCalendar(OccupancyCalendar.alignedStart(today.toEpochDay()));
+        for (Map.Entry<Integer, NavigableMap<Long, Long>> room : bookingsByRoom.entrySet()) {
+            markAll(rolled, room.getKey(), room.getValue());
+        }
+        calendar = rolled;
+    }
+
+    private static void markAll(OccupancyCalendar target, int roomNumber, NavigableMap<Long, Long> bookings) {
+        for (Map.Entry<Long, Long> booking : bookings.entrySet()) {
+            target.mark(roomNumber, booking.getKey() >> 32, booking.getValue());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * stayEnd: the day after the last night held by a stay, a stay with the same check-in and check-out date
+     * still holds the check-in night
+     * @param checkIn check-in date
+     * @param checkOut check-out date, not before checkIn
+     * @return checkOut, or the day after checkIn if the stay has no night
+     */
+    public static LocalDate stayEnd(LocalDate checkIn, LocalDate checkOut) {
+        return checkOut.isAfter(checkIn) ? checkOut : checkIn.plusDays(1);
+    }
+
+    // orders bookings by check-in day, then by reserved id for bookings starting on the same day
+    private static long key(long day, int reservedId) {
+        return (day << 32) | (reservedId & 0xffffffffL);
+    }
+
+    private static class Booking {
+        private final int roomNumber;
+        private final long key;
+
+        private Booking(int roomNumber, long key) {
+            this.roomNumber = roomNumber;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import ca.mcgill.ecse321.hotelsystem.Model.Room;
+import ca.mcgill.ecse321.hotelsystem.Model.SpecificRoom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Function;
+
+/**
+ * RoomCatalogCache: in-process cache of the room catalog, rooms by type and specific rooms by number, so that
+ * the lookups done by almost every booking and room update do not go to the database.
+ *
+ * The cache never holds the entities loaded by the caller's session: each row is copied into a plain, never
+ * managed instance when it is loaded, and every lookup hands out a fresh copy of it, so no thread sees another
+ * one's changes and nothing cached is tied to an open persistence context. Updates load the row from the
+ * repository instead. Every change to a Room or SpecificRoom row, through the services or
+ * straight through a repository, evicts it (see RoomCatalogListener), once when it is flushed and once more
+ * when its transaction ends, so a row cached by a concurrent reader in between does not survive the write.
+ */
+@Component
+public class RoomCatalogCache {
+
+    private final LruCache<String, Room> rooms;
+    private final LruCache<Integer, SpecificRoom> specificRooms;
+
+    public RoomCatalogCache(@Value("${hotelsystem.catalog-cache.size:1000}") int capacity) {
+        this.rooms = new LruCache<>(capacity);
+        this.specificRooms = new LruCache<>(capacity);
+    }
+
+    public Room getRoom(String type, Function<String, Room> loader) {
+        return copyOf(rooms.get(type, key -> copyOf(loader.apply(key))));
+    }
+
+    public SpecificRoom getSpecificRoom(int number, Function<Integer, SpecificRoom> loader) {
+        return copyOf(specificRooms.get(number, key -> copyOf(loader.apply(key))));
+    }
+
+    /**
+     * evictRoom: forget a room type, and every specific room since they hold the room they belong to
+     */
+    public void evictRoom(String type) {
+        rooms.invalidate(type);
+        specificRooms.invalidateAll();
+        afterCompletion(() -> {
+            rooms.invalidate(type);
+            specificRooms.invalidateAll();
+        });
+    }
+
+    public void evictSpecificRoom(int number) {
+        specificRooms.invalidate(number);
+        afterCompletion(() -> specificRooms.invalidate(number));
+    }
+
+    public LruCache<String, Room> getRooms() {
+        return rooms;
+    }
+
+    public LruCache<Integer, SpecificRoom> getSpecificRooms() {
+        return specificRooms;
+    }
+
+    private static Room copyOf(Room room) {
+        if (room == null) {
+            return null;
+        }
+        return new Room(room.getType(), room.getRate(), room.getBedType(), room.getCapacity());
+    }
+
+    private static SpecificRoom copyOf(SpecificRoom specificRoom) {
+        if (specificRoom == null) {
+            return null;
+        }
+        return new SpecificRoom(specificRoom.getNumber(), specificRoom.getView(), specificRoom.getDescription(),
+                specificRoom.getOpenForUse(), copyOf(specificRoom.getRoom()));
+    }
+
+    // runs whether the transaction commits or rolls back, a rolled back change may already have been read
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
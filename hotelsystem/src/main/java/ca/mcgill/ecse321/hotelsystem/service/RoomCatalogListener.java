@@ -0,0 +1,65 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import ca.mcgill.ecse321.hotelsystem.Model.Room;
+import ca.mcgill.ecse321.hotelsystem.Model.SpecificRoom;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * RoomCatalogListener: Hibernate post-update and post-delete listener that evicts a Room or SpecificRoom row from the
+ * RoomCatalogCache once the change is flushed. It is registered with the session factory as an integrator (see
+ * HotelsystemApplication), so the entities know nothing of the cache.
+ */
+@Component
+public class RoomCatalogListener implements Integrator, PostUpdateEventListener, PostDeleteEventListener {
+
+    @Autowired
+    RoomCatalogCache roomCatalogCache;
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        evict(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        evict(event.getEntity());
+    }
+
+    // the cache is evicted again when the transaction ends, nothing has to wait for the commit here
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    public void evict(Object entity) {
+        if (entity instanceof Room room) {
+            roomCatalogCache.evictRoom(room.getType());
+        } else if (entity instanceof SpecificRoom specificRoom) {
+            roomCatalogCache.evictSpecificRoom(specificRoom.getNumber());
+        }
+    }
+}
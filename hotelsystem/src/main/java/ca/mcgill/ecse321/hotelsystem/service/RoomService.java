@@ -16,6 +16,9 @@ public class RoomService {
     @Autowired
     RoomRepository roomRepository;
 
+    @Autowired
+    RoomCatalogCache roomCatalogCache;
+
     /**
      * GetAllRooms: service method to fetch all existing rooms in the database
      * @return List of rooms
@@ -52,20 +55,23 @@ public class RoomService {
     @Transactional
     public Room updateRoom(Room room){
         isValidRoom(room);
-        Room oldRoom = getRoomByType(room.getType());
+        //load the row itself, the cached room is a detached copy
+        Room oldRoom = roomRepository.findRoomByType(room.getType());
         if (oldRoom == null) {
             throw new HRSException(HttpStatus.NOT_FOUND, "No rooms in the system with type " + room.getType() + ".");
         }
         oldRoom.setRate(room.getRate());
         oldRoom.setCapacity(room.getCapacity());
         oldRoom.setBedType(room.getBedType());
-        return roomRepository.save(oldRoom);
+        oldRoom = roomRepository.save(oldRoom);
+        roomCatalogCache.evictRoom(oldRoom.getType());
+        return oldRoom;
     }
 
     /**
-     * updateRoom: service method that get a room by type
+     * updateRoom: service method that get a room by type, from the RoomCatalogCache when it is there
      * @param type: type of room
-     * @return room
+     * @return a detached copy of the room
      * @throws HRSException if type is invalid or room not found
      */
     @Transactional
@@ -73,7 +79,7 @@ public class RoomService {
         if(type == null || type.isEmpty()){
             throw new HRSException(HttpStatus.BAD_REQUEST, "Please enter a valid string.");
         }
-        Room room = roomRepository.findRoomByType(type);
+        Room room = roomCatalogCache.getRoom(type, roomRepository::findRoomByType);
         if(room ==  null){
             throw new HRSException(HttpStatus.NOT_FOUND, "No rooms in the system with type "+ type + ".");
         }
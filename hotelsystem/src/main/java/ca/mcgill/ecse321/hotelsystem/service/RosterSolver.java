@@ -0,0 +1,231 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * RosterSolver: assigns employees to the coverage slots of a week.
+ *
+ * Times are minutes from the start of the week. Slot s needs a number of employees over [start, end). An employee
+ * can take a slot that lies inside one of their availability windows, that does not overlap their busy times or their
+ * other slots, and that keeps them within their maximum minutes. Slots are filled greedily, the ones with the fewest
+ * candidates per missing employee first, each time with the candidate that has used the smallest part of their
+ * maximum. A repair pass then fills the slots left short: a candidate blocked by one of their slots hands it to
+ * another employee who can take it, which never uncovers anything, so the pass stops once no move is left.
+ */
+public class RosterSolver {
+
+    /**
+     * Assignment: employee e works slot s
+     */
+    public record Assignment(int slot, int employee) {
+    }
+
+    private final List<int[]> slots = new ArrayList<>();
+    private final List<Integer> maxMinutes = new ArrayList<>();
+    private final List<List<int[]>> windows = new ArrayList<>();
+    private final List<List<int[]>> busy = new ArrayList<>();
+
+    // state of the last solve
+    private List<List<Integer>> slotsOf;
+    private List<List<Integer>> staffOf;
+    private int[] load;
+
+    /**
+     * addSlot: add a coverage slot
+     * @param start first minute of the slot
+     * @param end minute the slot ends, after start
+     * @param staff number of employees needed
+     * @return index of the slot
+     */
+    public int addSlot(int start, int end, int staff) {
+        slots.add(new int[]{start, end, staff});
+        return slots.size() - 1;
+    }
+
+    /**
+     * addEmployee: add an employee who is not available until addWindow is called
+     * @param max most minutes the employee can work over the week, busy times included
+     * @return index of the employee
+     */
+    public int addEmployee(int max) {
+        maxMinutes.add(max);
+        windows.add(new ArrayList<>());
+        busy.add(new ArrayList<>());
+        return maxMinutes.size() - 1;
+    }
+
+    /**
+     * addWindow: let an employee work inside [start, end)
+     */
+    public void addWindow(int employee, int start, int end) {
+        windows.get(employee).add(new int[]{start, end});
+    }
+
+    /**
+     * addBusy: block [start, end) of an employee and count it towards their maximum, for shifts they already have
+     */
+    public void addBusy(int employee, int start, int end) {
+        busy.get(employee).add(new int[]{start, end});
+    }
+
+    /**
+     * solve: build a roster, can be called again after more slots or employees are added
+     * @return the assignments, ordered by slot then employee
+     */
+    public List<Assignment> solve() {
+        int slotCount = slots.size();
+        int employeeCount = maxMinutes.size();
+        slotsOf = new ArrayList<>(employeeCount);
+        staffOf = new ArrayList<>(slotCount);
+        load = new int[employeeCount];
+        for (int e = 0; e < employeeCount; e++) {
+            slotsOf.add(new ArrayList<>());
+            for (int[] interval : busy.get(e)) {
+                load[e] += interval[1] - interval[0];
+            }
+        }
+
+        List<List<Integer>> candidates = new ArrayList<>(slotCount);
+        for (int s = 0; s < slotCount; s++) {
+            staffOf.add(new ArrayList<>());
+            List<Integer> candidatesOfSlot = new ArrayList<>();
+            for (int e = 0; e < employeeCount; e++) {
+                if (isAvailable(e, s)) {
+                    candidatesOfSlot.add(e);
+                }
+            }
+            candidates.add(candidatesOfSlot);
+        }
+
+        Integer[] order = new Integer[slotCount];
+        for (int s = 0; s < slotCount; s++) {
+            order[s] = s;
+        }
+        Arrays.sort(order, Comparator.comparingDouble((Integer s) -> candidates.get(s).size() / (double) slots.get(s)[2])
+                .thenComparingInt(s -> slots.get(s)[0]));
+        for (int s : order) {
+            // taking slot s does not change whether the other candidates can take it, one scan is enough
+            List<Integer> free = new ArrayList<>();
+            for (int e : candidates.get(s)) {
+                if (canTake(e, s, -1)) {
+                    free.add(e);
+                }
+            }
+            free.sort(Comparator.comparingDouble(e -> load[e] / (double) maxMinutes.get(e)));
+            for (int i = 0; i < free.size() && missing(s) > 0; i++) {
+                assign(free.get(i), s);
+            }
+        }
+
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            for (int s : order) {
+                while (missing(s) > 0 && repair(s, candidates)) {
+                    moved = true;
+                }
+            }
+        }
+
+        List<Assignment> assignments = new ArrayList<>();
+        for (int s = 0; s < slotCount; s++) {
+            List<Integer> staff = new ArrayList<>(staffOf.get(s));
+            staff.sort(null);
+            for (int e : staff) {
+                assignments.add(new Assignment(s, e));
+            }
+        }
+        return assignments;
+    }
+
+    /**
+     * missing: number of employees a slot still needs after the last solve
+     */
+    public int missing(int slot) {
+        return slots.get(slot)[2] - staffOf.get(slot).size();
+    }
+
+    /**
+     * repair: give slot s one more employee by moving one slot of a candidate to another employee
+     * @return true if the slot got an employee
+     */
+    private boolean repair(int s, List<List<Integer>> candidates) {
+        for (int e : candidates.get(s)) {
+            if (staffOf.get(s).contains(e)) {
+                continue;
+            }
+            if (canTake(e, s, -1)) {
+                assign(e, s);
+                return true;
+            }
+            for (int t : slotsOf.get(e)) {
+                if (!canTake(e, s, t)) {
+                    continue;
+                }
+                for (int f : candidates.get(t)) {
+                    if (f != e && canTake(f, t, -1)) {
+                        unassign(e, t);
+                        assign(f, t);
+                        assign(e, s);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isAvailable(int e, int s) {
+        int[] slot = slots.get(s);
+        if (slot[1] - slot[0] > maxMinutes.get(e)) {
+            return false;
+        }
+        for (int[] window : windows.get(e)) {
+            if (window[0] <= slot[0] && slot[1] <= window[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * canTake: whether employee e can work slot s once slot ignored, or -1, is taken away from them
+     */
+    private boolean canTake(int e, int s, int ignored) {
+        int[] slot = slots.get(s);
+        int freed = ignored < 0 ? 0 : slots.get(ignored)[1] - slots.get(ignored)[0];
+        if (load[e] - freed + slot[1] - slot[0] > maxMinutes.get(e)) {
+            return false;
+        }
+        for (int t : slotsOf.get(e)) {
+            if (t == s || (t != ignored && overlaps(slots.get(t), slot))) {
+                return false;
+            }
+        }
+        for (int[] interval : busy.get(e)) {
+            if (overlaps(interval, slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void assign(int e, int s) {
+        slotsOf.get(e).add(s);
+        staffOf.get(s).add(e);
+        load[e] += slots.get(s)[1] - slots.get(s)[0];
+    }
+
+    private void unassign(int e, int s) {
+        slotsOf.get(e).remove(Integer.valueOf(s));
+        staffOf.get(s).remove(Integer.valueOf(e));
+        load[e] -= slots.get(s)[1] - slots.get(s)[0];
+    }
+
+    private static boolean overlaps(int[] a, int[] b) {
+        return a[0] < b[1] && b[0] < a[1];
+    }
+}
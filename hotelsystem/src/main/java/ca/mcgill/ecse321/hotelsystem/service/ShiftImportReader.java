@@ -0,0 +1,214 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import ca.mcgill.ecse321.hotelsystem.exception.HRSException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpStatus;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ShiftImportReader: reads the shifts of an import one row at a time, from a CSV file with a header line or from a
+ * JSON array of objects, so the file is never held in memory as a whole.
+ *
+ * The columns, or fields, are date (yyyy-mm-dd), startTime and endTime (hh:mm or hh:mm:ss) and employeeEmail, which
+ * may be left empty for a shift without an employee. A row that cannot be read is returned with an error and the next
+ * rows are still read, except after a JSON syntax error, which ends the import at that row.
+ */
+public abstract class ShiftImportReader implements Closeable {
+
+    static final List<String> COLUMNS = List.of("date", "startTime", "endTime", "employeeEmail");
+
+    /**
+     * Row: one shift of the import, number is the line of a CSV file or the position in a JSON array, starting at 1
+     */
+    public record Row(int number, LocalDate date, Time startTime, Time endTime, String employeeEmail, String error) {
+
+        static Row invalid(int number, String error) {
+            return new Row(number, null, null, null, null, error);
+        }
+    }
+
+    /**
+     * csv: reader of a CSV file, the header line names the columns in any order
+     * @throws HRSException if the header does not name every column
+     */
+    public static ShiftImportReader csv(InputStream in) throws IOException {
+        return new Csv(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * json: reader of a JSON array of shifts
+     * @throws HRSException if the content is not a JSON array
+     */
+    public static ShiftImportReader json(JsonFactory factory, InputStream in) throws IOException {
+        return new Json(factory.createParser(in));
+    }
+
+    /**
+     * next: read the next row
+     * @return the row, or null once every row is read
+     */
+    public abstract Row next() throws IOException;
+
+    static Row row(int number, String date, String startTime, String endTime, String employeeEmail) {
+        if (isBlank(date) || isBlank(startTime) || isBlank(endTime)) {
+            return Row.invalid(number, "Empty fields are present.");
+        }
+        LocalDate parsedDate;
+        try {
+            parsedDate = LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            return Row.invalid(number, "Invalid date " + date.trim() + ".");
+        }
+        Time parsedStart = time(startTime);
+        Time parsedEnd = time(endTime);
+        if (parsedStart == null || parsedEnd == null) {
+            return Row.invalid(number, "Invalid time " + (parsedStart == null ? startTime : endTime).trim() + ".");
+        }
+        return new Row(number, parsedDate, parsedStart, parsedEnd, isBlank(employeeEmail) ? null : employeeEmail.trim(), null);
+    }
+
+    // hh:mm is read as hh:mm:00
+    private static Time time(String value) {
+        String trimmed = value.trim();
+        try {
+            return Time.valueOf(trimmed.indexOf(':') == trimmed.lastIndexOf(':') ? trimmed + ":00" : trimmed);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static class Csv extends ShiftImportReader {
+
+        private final BufferedReader reader;
+        private final int[] columns = new int[COLUMNS.size()];
+        private int line = 1;
+
+        private Csv(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            String header = reader.readLine();
+            Map<String, Integer> positions = new HashMap<>();
+            String[] names = header == null ? new String[0] : split(header);
+            for (int i = 0; i < names.length; i++) {
+                positions.put(names[i].toLowerCase(Locale.ROOT), i);
+            }
+            for (int c = 0; c < columns.length; c++) {
+                Integer position = positions.get(COLUMNS.get(c).toLowerCase(Locale.ROOT));
+                if (position == null) {
+                    throw new HRSException(HttpStatus.BAD_REQUEST, "The CSV header must name the columns " + String.join(", ", COLUMNS) + ".");
+                }
+                columns[c] = position;
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+                if (text == null) {
+                    return null;
+                }
+            } while (text.isBlank());
+            String[] values = split(text);
+            String[] row = new String[columns.length];
+            for (int c = 0; c < columns.length; c++) {
+                row[c] = columns[c] < values.length ? values[columns[c]] : null;
+            }
+            return row(line, row[0], row[1], row[2], row[3]);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        // values hold no commas, surrounding quotes are dropped
+        private static String[] split(String text) {
+            String[] values = text.split(",", -1);
+            for (int i = 0; i < values.length; i++) {
+                String value = values[i].trim();
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                values[i] = value;
+            }
+            return values;
+        }
+    }
+
+    private static class Json extends ShiftImportReader {
+
+        private final JsonParser parser;
+        private int element = 0;
+        private boolean done = false;
+
+        private Json(JsonParser parser) throws IOException {
+            this.parser = parser;
+            JsonToken first;
+            try {
+                first = parser.nextToken();
+            } catch (JsonProcessingException e) {
+                first = null;
+            }
+            if (first != JsonToken.START_ARRAY) {
+                throw new HRSException(HttpStatus.BAD_REQUEST, "Expected a JSON array of shifts.");
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (done) {
+                return null;
+            }
+            element++;
+            try {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY || token == null) {
+                    done = true;
+                    return null;
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    return Row.invalid(element, "Expected a shift object.");
+                }
+                JsonNode shift = parser.readValueAsTree();
+                return row(element, text(shift, "date"), text(shift, "startTime"), text(shift, "endTime"), text(shift, "employeeEmail"));
+            } catch (JsonProcessingException e) {
+                done = true;
+                return Row.invalid(element, "Invalid JSON, the rest of the import is skipped: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+
+        private static String text(JsonNode shift, String field) {
+            JsonNode value = shift.get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import ca.mcgill.ecse321.hotelsystem.Model.Shift;
+import ca.mcgill.ecse321.hotelsystem.repository.ShiftRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.ShiftRepository.ShiftInterval;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * ShiftIntervalIndex: in-memory index of the shift times of every employee.
+ *
+ * Each employee keeps their shifts sorted by start, so checking a new shift against the shifts of its employee on
+ * its date is an O(log n) lookup followed by a walk over that day only, instead of loading every shift of the date.
+ * The index is built once the application is ready and is kept current by ShiftService. Shifts without an employee
+ * are left out, they cannot overlap anything.
+ */
+@Component
+public class ShiftIntervalIndex {
+
+    private static final long DAY_MINUTES = 24 * 60;
+
+    @Autowired
+    ShiftRepository shiftRepository;
+
+    // employee email -> (start minute, shift id) -> end minute
+    private final Map<String, NavigableMap<Long, Long>> shiftsByEmployee = new ConcurrentHashMap<>();
+
+    // shift id -> entry, so that a shift can be removed by its id alone
+    private final Map<Integer, Entry> shiftsById = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+
+    /**
+     * rebuild: reload the index from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        load(shiftRepository.findAllShiftIntervals());
+    }
+
+    /**
+     * load: replace the content of the index with the given shifts
+     * @param intervals times and employee of every shift
+     */
+    public synchronized void load(Collection<? extends ShiftInterval> intervals) {
+        shiftsByEmployee.clear();
+        shiftsById.clear();
+        for (ShiftInterval interval : intervals) {
+            put(interval.getShiftId(), interval.getEmployeeEmail(), interval.getDate(), interval.getStartTime(), interval.getEndTime());
+        }
+        loaded = true;
+    }
+
+    /**
+     * isLoaded: whether the index has been built and can answer overlap queries
+     * @return true once the index is built
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * add: record the times of a saved shift once the current transaction commits, replacing its previous times
+     * @param shift saved shift
+     */
+    public void add(Shift shift) {
+        int shiftId = shift.getShiftId();
+        String email = shift.getEmployee() == null ? null : shift.getEmployee().getEmail();
+        LocalDate date = shift.getDate();
+        Time startTime = shift.getStartTime();
+        Time endTime = shift.getEndTime();
+        afterCommit(() -> put(shiftId, email, date, startTime, endTime));
+    }
+
+    /**
+     * remove: forget a shift once the current transaction commits
+     * @param shiftId id of the deleted shift
+     */
+    public void remove(int shiftId) {
+        afterCommit(() -> delete(shiftId));
+    }
+
+    /**
+     * hasShiftStartingAt: check if an employee has a shift on a date starting at a time
+     * @param ignoredShiftId shift left out of the check, the one being updated, or null
+     */
+    public boolean hasShiftStartingAt(String email, LocalDate date, Time startTime, Integer ignoredShiftId) {
+        long start = minute(date, startTime);
+        return day(email, date).entrySet().stream()
+                .anyMatch(shift -> shift.getKey() >> 32 == start && !isShift(shift.getKey(), ignoredShiftId));
+    }
+
+    /**
+     * hasOverlap: check if an employee has a shift on a date that overlaps [startTime, endTime)
+     * @param ignoredShiftId shift left out of the check, the one being updated, or null
+     */
+    public boolean hasOverlap(String email, LocalDate date, Time startTime, Time endTime, Integer ignoredShiftId) {
+        long start = minute(date, startTime);
+        long end = minute(date, endTime);
+        // shifts starting at or after the end cannot overlap, the walk stops there
+        return day(email, date).headMap(key(end, 0)).entrySet().stream()
+                .anyMatch(shift -> start < shift.getValue() && end > shift.getKey() >> 32 && !isShift(shift.getKey(), ignoredShiftId));
+    }
+
+    // the shifts of an employee that start on a date
+    private NavigableMap<Long, Long> day(String email, LocalDate date) {
+        NavigableMap<Long, Long> shifts = shiftsByEmployee.get(email);
+        if (shifts == null) {
+            return new ConcurrentSkipListMap<>();
+        }
+        long dayStart = date.toEpochDay() * DAY_MINUTES;
+        return shifts.subMap(key(dayStart, 0), true, key(dayStart + DAY_MINUTES, 0), false);
+    }
+
+    private synchronized void put(int shiftId, String email, LocalDate date, Time startTime, Time endTime) {
+        delete(shiftId);
+        if (email == null || date == null || startTime == null || endTime == null) {
+            return;
+        }
+        long key = key(minute(date, startTime), shiftId);
+        shiftsByEmployee.computeIfAbsent(email, employee -> new ConcurrentSkipListMap<>()).put(key, minute(date, endTime));
+        shiftsById.put(shiftId, new Entry(email, key));
+    }
+
+    private synchronized void delete(int shiftId) {
+        Entry entry = shiftsById.remove(shiftId);
+        if (entry == null) {
+            return;
+        }
+        NavigableMap<Long, Long> shifts = shiftsByEmployee.get(entry.email);
+        if (shifts != null) {
+            shifts.remove(entry.key);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static boolean isShift(long key, Integer shiftId) {
+        return shiftId != null && (int) key == shiftId;
+    }
+
+    // minutes since the epoch, a shift ends on the date it starts
+    private static long minute(LocalDate date, Time time) {
+        return date.toEpochDay() * DAY_MINUTES + time.toLocalTime().toSecondOfDay() / 60;
+    }
+
+    // orders shifts by start minute, then by shift id for shifts starting at the same minute
+    private static long key(long minute, int shiftId) {
+        return (minute << 32) | (shiftId & 0xffffffffL);
+    }
+
+    private static class Entry {
+        private final String email;
+        private final long key;
+
+        private Entry(String email, long key) {
+            this.email = email;
+            this.key = key;
+        }
+    }
+}
@@ -2,30 +2,86 @@ package ca.mcgill.ecse321.hotelsystem.service;
 
 import ca.mcgill.ecse321.hotelsystem.Model.Employee;
 import ca.mcgill.ecse321.hotelsystem.Model.Shift;
+import ca.mcgill.ecse321.hotelsystem.dto.AvailabilityRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.CoverageRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.RosterRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.RosterResponseDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftGridCellDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftGridDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftGridRowDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftImportErrorDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftIntervalDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftImportResponseDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftResponseDto;
 import ca.mcgill.ecse321.hotelsystem.exception.HRSException;
 import ca.mcgill.ecse321.hotelsystem.repository.CustomerRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.EmployeeRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.ShiftRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.sql.Date;
 import java.sql.Time;
 
 
 @Service
+@Timed("hotelsystem.service")
 public class ShiftService {
 
+    private static final String SAME_START = "A shift with this start date, start time, and employee already exists.";
+    private static final String OVERLAP = "The employee has an overlapping shift on this date.";
+
+    // rows of an import checked, saved and committed together
+    static final int IMPORT_CHUNK = 500;
+    // rejected rows listed in the response of an import, the others are only counted
+    public static final int MAX_IMPORT_ERRORS = 1000;
+
+    // a month view with a week of margin on each side
+    public static final int MAX_GRID_DAYS = 45;
+
+    private static final int DAY_MINUTES = 24 * 60;
+    private static final int WEEK_MINUTES = 7 * DAY_MINUTES;
+
     @Autowired
     ShiftRepository shiftRepository;
 
     @Autowired
     EmployeeRepository employeeRepository;
 
+    @Autowired
+    ShiftIntervalIndex shiftIntervalIndex;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    // "database" queries the shifts of the employee on the date. "index" first asks the ShiftIntervalIndex and only
+    // queries when it finds a conflict; the index only knows the shifts written through this instance, so it is for
+    // a single instance that owns the shift table
+    @Value("${hotelsystem.shifts.backend:database}")
+    String shiftBackend;
+
     /**
      * GetAllShifts: service method to fetch all existing shifts in the database
      * @return List of shifts
@@ -112,7 +168,9 @@ public class ShiftService {
     @Transactional
     public Shift createShift(Shift shift) {
         isValidShift(shift);
-        return shiftRepository.save(shift);
+        Shift saved = shiftRepository.save(shift);
+        shiftIntervalIndex.add(saved);
+        return saved;
     }
 
     /**
@@ -130,13 +188,14 @@ public class ShiftService {
         }
         Shift shift = getShiftByShiftID(shiftID);
         shiftRepository.delete(shift);
+        shiftIntervalIndex.remove(shiftID);
     }
 
     /**
      * updateShift: updates a shift
      * @param shift : shift to update to
      * @param shiftID : old shift that needs updating
-     * @throws HRSException if either shift is null, fields are null, or new shift's timing is invalid
+     * @throws HRSException if either shift is null, fields are null, or new shift's timing is invalid or overlaps another shift of the employee
      * @return updated shift
      */
     @Transactional
@@ -154,14 +213,16 @@ public class ShiftService {
         if (previousShift == null) {
             throw new HRSException(HttpStatus.NOT_FOUND, "Shift not found.");
         }
-
+        checkOverlap(shift, shiftID);
 
         previousShift.setDate(shift.getDate());
         previousShift.setStartTime(shift.getStartTime());
         previousShift.setEndTime(shift.getEndTime());
         previousShift.setEmployee(shift.getEmployee());
 
-        return shiftRepository.save(previousShift);
+        Shift saved = shiftRepository.save(previousShift);
+        shiftIntervalIndex.add(saved);
+        return saved;
     }
 
     /**
@@ -178,29 +239,351 @@ public class ShiftService {
         if (shift.getStartTime().after(shift.getEndTime())) {
             throw new HRSException(HttpStatus.BAD_REQUEST, "Invalid start/end times.");
         }
-        // checks if an employee already has a shift at the same date and time
-        List<Shift> shiftsWithSameDateAndTime = shiftRepository.findShiftsByDateAndStartTime(shift.getDate(), shift.getStartTime());
+        checkOverlap(shift, null);
 
-        if (shiftsWithSameDateAndTime.stream().anyMatch(s -> s.getEmployee().getEmail().equals(shift.getEmployee().getEmail()))) {
-            throw new HRSException(HttpStatus.CONFLICT, "A shift with this start date, start time, and employee already exists.");
+        Employee employee = shift.getEmployee();
+
+        if (shift.getEmployee() != null && employeeRepository.findEmployeeByEmail(employee.getEmail()) == null) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "Employee does not exist.");
+        }
+    }
+
+    /**
+     * checkOverlap: helper method that checks a shift against the other shifts of its employee on its date only
+     * @param shift : shift that needs checking, with its date and times set
+     * @param ignoredShiftId : the shift being updated, left out of the check, or null for a new shift
+     * @throws HRSException if the employee has another shift with the same start time or an overlapping one
+     */
+    private void checkOverlap(Shift shift, Integer ignoredShiftId) {
+        if (shift.getEmployee() == null) {
+            return;
+        }
+        String email = shift.getEmployee().getEmail();
+        if ("index".equals(shiftBackend) && shiftIntervalIndex.isLoaded()
+                && !shiftIntervalIndex.hasShiftStartingAt(email, shift.getDate(), shift.getStartTime(), ignoredShiftId)
+                && !shiftIntervalIndex.hasOverlap(email, shift.getDate(), shift.getStartTime(), shift.getEndTime(), ignoredShiftId)) {
+            return;
+        }
+        // a conflict found by the index may be a shift deleted since, the database has the last word
+        List<Shift> shiftsOfDay = shiftRepository.findShiftsByEmployeeEmailAndDate(email, shift.getDate()).stream()
+                .filter(existingShift -> ignoredShiftId == null || existingShift.getShiftId() != ignoredShiftId).toList();
+        String conflict = conflict(shift, shiftsOfDay);
+        if (conflict != null) {
+            throw new HRSException(HttpStatus.CONFLICT, conflict);
         }
+    }
 
-        // write to determine no person overlaps shift
-        // same employee, same date, no overlap can occur
-        List<Shift> shiftsOnSameDate = shiftRepository.findShiftsByDate(shift.getDate());
+    /**
+     * conflict: helper method that compares a shift with the other shifts of its employee on its date
+     * @return the reason the shift cannot be added, or null if it can
+     */
+    private static String conflict(Shift shift, List<Shift> shiftsOfDay) {
+        if (shiftsOfDay.stream().anyMatch(existingShift -> existingShift.getStartTime().equals(shift.getStartTime()))) {
+            return SAME_START;
+        }
+        if (shiftsOfDay.stream().anyMatch(existingShift ->
+                shift.getStartTime().before(existingShift.getEndTime()) && shift.getEndTime().after(existingShift.getStartTime()))) {
+            return OVERLAP;
+        }
+        return null;
+    }
 
-        if (shiftsOnSameDate.stream().anyMatch(existingShift ->
-                existingShift.getEmployee().getEmail().equals(shift.getEmployee().getEmail()) &&
-                        (shift.getStartTime().before(existingShift.getEndTime()) &&
-                                shift.getEndTime().after(existingShift.getStartTime())))) {
+    /**
+     * importShifts: create the shifts of an import, read and saved a chunk of rows at a time
+     * @param reader rows of a CSV file or a JSON array
+     * @return the number of shifts imported and of rows rejected, with the first rejected rows and why
+     * @throws HRSException if the import cannot be read, the chunks saved before stay saved
+     *
+     * A row is rejected for the same reasons createShift refuses a shift, also when it overlaps an earlier row of the
+     * import. The employees and the existing shifts of a chunk are loaded with one query each and its shifts are
+     * inserted in JDBC batches, then the chunk is committed on its own.
+     */
+    public ShiftImportResponseDto importShifts(ShiftImportReader reader) {
+        ShiftImportResponseDto response = new ShiftImportResponseDto();
+        // known employees by email, null for the emails that do not exist
+        Map<String, Employee> employees = new HashMap<>();
+        List<ShiftImportReader.Row> chunk = new ArrayList<>(IMPORT_CHUNK);
+        try (reader) {
+            ShiftImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == IMPORT_CHUNK) {
+                    importChunk(chunk, employees, response);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "The import could not be read: " + e.getMessage());
+        }
+        importChunk(chunk, employees, response);
+        return response;
+    }
 
-            throw new HRSException(HttpStatus.CONFLICT, "The employee has an overlapping shift on this date.");
+    private void importChunk(List<ShiftImportReader.Row> rows, Map<String, Employee> employees, ShiftImportResponseDto response) {
+        if (rows.isEmpty()) {
+            return;
         }
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> emails = new HashSet<>();
+            LocalDate from = null;
+            LocalDate to = null;
+            for (ShiftImportReader.Row row : rows) {
+                if (row.error() == null && row.employeeEmail() != null) {
+                    emails.add(row.employeeEmail());
+                    from = from == null || row.date().isBefore(from) ? row.date() : from;
+                    to = to == null || row.date().isAfter(to) ? row.date() : to;
+                }
+            }
+            List<String> unknown = emails.stream().filter(email -> !employees.containsKey(email)).toList();
+            if (!unknown.isEmpty()) {
+                for (String email : unknown) {
+                    employees.put(email, null);
+                }
+                for (Employee employee : employeeRepository.findAllById(unknown)) {
+                    employees.put(employee.getEmail(), employee);
+                }
+            }
 
-        Employee employee = shift.getEmployee();
+            // employee email -> date -> shifts, the saved ones and the rows accepted so far
+            Map<String, Map<LocalDate, List<Shift>>> shiftsByEmployee = new HashMap<>();
+            if (!emails.isEmpty()) {
+                for (Shift shift : shiftRepository.findShiftsByEmployeeEmailInAndDateBetween(emails, from, to)) {
+                    shiftsByEmployee.computeIfAbsent(shift.getEmployee().getEmail(), email -> new HashMap<>())
+                            .computeIfAbsent(shift.getDate(), date -> new ArrayList<>()).add(shift);
+                }
+            }
 
-        if (shift.getEmployee() != null && employeeRepository.findEmployeeByEmail(employee.getEmail()) == null) {
-            throw new HRSException(HttpStatus.BAD_REQUEST, "Employee does not exist.");
+            List<Shift> shifts = new ArrayList<>();
+            for (ShiftImportReader.Row row : rows) {
+                String error = row.error();
+                Shift shift = null;
+                if (error == null && row.startTime().after(row.endTime())) {
+                    error = "Invalid start/end times.";
+                } else if (error == null && row.employeeEmail() != null && employees.get(row.employeeEmail()) == null) {
+                    error = "Employee does not exist.";
+                } else if (error == null) {
+                    shift = new Shift(row.startTime(), row.endTime(), row.date(), row.employeeEmail() == null ? null : employees.get(row.employeeEmail()));
+                    if (row.employeeEmail() != null) {
+                        List<Shift> shiftsOfDay = shiftsByEmployee.computeIfAbsent(row.employeeEmail(), email -> new HashMap<>())
+                                .computeIfAbsent(row.date(), date -> new ArrayList<>());
+                        error = conflict(shift, shiftsOfDay);
+                        if (error == null) {
+                            shiftsOfDay.add(shift);
+                        }
+                    }
+                }
+                if (error == null) {
+                    shifts.add(shift);
+                } else {
+                    response.setRejected(response.getRejected() + 1);
+                    if (response.getErrors().size() < MAX_IMPORT_ERRORS) {
+                        response.getErrors().add(new ShiftImportErrorDto(row.number(), error));
+                    }
+                }
+            }
+            shiftRepository.saveAll(shifts);
+            for (Shift shift : shifts) {
+                shiftIntervalIndex.add(shift);
+            }
+            response.setImported(response.getImported() + shifts.size());
+            // under open-in-view every chunk shares the request's persistence context, without this it would keep every
+            // shift of the import and check all of them again at each flush
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    /**
+     * getShifts: service method to fetch one page of shifts, ordered by id
+     * @param after only shifts with a larger id, the last one of the previous page, or null to use the page number
+     * @param page page number, starting at 0, ignored when after is given
+     * @param size number of shifts of a page
+     * @return the page, hasNext() tells if there are more
+     * @throws HRSException if the page or the size is out of range
+     */
+    @Transactional
+    public Slice<Shift> getShifts(Integer after, int page, int size) {
+        if (after != null) {
+            return shiftRepository.findByShiftIdGreaterThan(after, Paging.of(0, size, "shiftId"));
+        }
+        return shiftRepository.findAllBy(Paging.of(page, size, "shiftId"));
+    }
+
+    /**
+     * getShiftGrid: service method to fetch the shifts of a week or month view, grouped by employee and day
+     * @param from first day of the view
+     * @param to last day of the view, included
+     * @param email only the shifts of this employee, or null for every employee
+     * @return one row per employee with a list of shifts for every day of the view, ordered by start time
+     * @throws HRSException if a date is missing, the range is reversed or longer than MAX_GRID_DAYS
+     *
+     * The view costs one indexed query that reads the shift times only, the employees are never loaded.
+     */
+    @Transactional
+    public ShiftGridDto getShiftGrid(LocalDate from, LocalDate to, String email) {
+        if (from == null || to == null) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "Empty fields are present.");
+        }
+        if (to.isBefore(from)) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "The end date is before the start date.");
+        }
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_GRID_DAYS) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "The range cannot be longer than " + MAX_GRID_DAYS + " days.");
+        }
+        List<ShiftIntervalDto> shifts = email == null
+                ? shiftRepository.findShiftIntervalsByDateRange(from, to)
+                : shiftRepository.findShiftIntervalsByEmployeeAndDateRange(email, from, to);
+        ShiftGridDto grid = new ShiftGridDto(from, to);
+        // the shifts come ordered by employee, a new row starts whenever the employee changes
+        ShiftGridRowDto row = null;
+        for (ShiftIntervalDto shift : shifts) {
+            if (row == null || !Objects.equals(row.getEmployeeEmail(), shift.getEmployeeEmail())) {
+                row = new ShiftGridRowDto(shift.getEmployeeEmail(), days);
+                grid.getEmployees().add(row);
+            }
+            row.getDays().get((int) ChronoUnit.DAYS.between(from, shift.getDate())).add(new ShiftGridCellDto(shift));
+        }
+        return grid;
+    }
+
+    /**
+     * generateRoster: build the shifts of a week from the coverage needed and the availability of the employees,
+     * and save them together
+     * @param request first day of the week, employees needed per time slot, and for every employee their maximum
+     *                hours and the windows they can work in, the whole week when no window is given
+     * @return the shifts created, and the slots that could not be fully covered with the number of employees missing
+     * @throws HRSException if a field is missing, a time is invalid or outside the week, or an employee does not exist
+     *
+     * Shifts the employees already have that week block those times and count towards their maximum hours. Existing
+     * shifts with exactly the times of a slot count towards its coverage, so sending the same request again adds nothing.
+     */
+    @Transactional
+    public RosterResponseDto generateRoster(RosterRequestDto request) {
+        if (request == null || request.getWeekStart() == null) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "Week start is missing.");
+        }
+        if (request.getCoverage() == null || request.getCoverage().isEmpty()) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "No coverage requirements.");
+        }
+        if (request.getEmployees() == null || request.getEmployees().isEmpty()) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "No employees to schedule.");
+        }
+        LocalDate weekStart = request.getWeekStart();
+        List<Shift> existingShifts = shiftRepository.findShiftsByDateBetween(weekStart, weekStart.plusDays(6));
+
+        // start and end of a slot -> existing shifts with these times that can still count towards a slot
+        Map<Long, Integer> existingCoverage = new HashMap<>();
+        for (Shift shift : existingShifts) {
+            existingCoverage.merge(key(weekMinutes(weekStart, shift)), 1, Integer::sum);
+        }
+
+        RosterSolver solver = new RosterSolver();
+        List<CoverageRequestDto> coverage = request.getCoverage();
+        for (CoverageRequestDto slot : coverage) {
+            int[] minutes = toWeekMinutes(weekStart, slot.getDate(), slot.getStartTime(), slot.getEndTime());
+            if (slot.getStaff() < 1) {
+                throw new HRSException(HttpStatus.BAD_REQUEST, "Invalid staff count.");
+            }
+            int covered = Math.min(slot.getStaff(), existingCoverage.getOrDefault(key(minutes), 0));
+            existingCoverage.merge(key(minutes), -covered, Integer::sum);
+            solver.addSlot(minutes[0], minutes[1], slot.getStaff() - covered);
+        }
+
+        List<String> emails = new ArrayList<>();
+        for (AvailabilityRequestDto availability : request.getEmployees()) {
+            emails.add(availability.getEmployeeEmail());
+        }
+        Map<String, Employee> employeesByEmail = new HashMap<>();
+        for (Employee employee : employeeRepository.findAllById(emails)) {
+            employeesByEmail.put(employee.getEmail(), employee);
+        }
+        List<Employee> employees = new ArrayList<>();
+        Map<String, Integer> indexByEmail = new HashMap<>();
+        for (AvailabilityRequestDto availability : request.getEmployees()) {
+            Employee employee = employeesByEmail.get(availability.getEmployeeEmail());
+            if (employee == null) {
+                throw new HRSException(HttpStatus.BAD_REQUEST, "Employee does not exist.");
+            }
+            if (indexByEmail.containsKey(employee.getEmail())) {
+                throw new HRSException(HttpStatus.BAD_REQUEST, "Employee is listed more than once.");
+            }
+            if (availability.getMaxHours() < 0 || availability.getMaxHours() * 60 > WEEK_MINUTES) {
+                throw new HRSException(HttpStatus.BAD_REQUEST, "Invalid max hours.");
+            }
+            int index = solver.addEmployee(availability.getMaxHours() * 60);
+            if (availability.getAvailable() == null || availability.getAvailable().isEmpty()) {
+                solver.addWindow(index, 0, WEEK_MINUTES);
+            } else {
+                for (ShiftRequestDto window : availability.getAvailable()) {
+                    int[] minutes = toWeekMinutes(weekStart, window.getDate(), window.getStartTime(), window.getEndTime());
+                    solver.addWindow(index, minutes[0], minutes[1]);
+                }
+            }
+            indexByEmail.put(employee.getEmail(), index);
+            employees.add(employee);
         }
+        for (Shift shift : existingShifts) {
+            Integer index = shift.getEmployee() == null ? null : indexByEmail.get(shift.getEmployee().getEmail());
+            int[] minutes = weekMinutes(weekStart, shift);
+            if (index != null && minutes[0] < minutes[1]) {
+                solver.addBusy(index, minutes[0], minutes[1]);
+            }
+        }
+
+        List<Shift> shifts = new ArrayList<>();
+        for (RosterSolver.Assignment assignment : solver.solve()) {
+            CoverageRequestDto slot = coverage.get(assignment.slot());
+            shifts.add(new Shift(slot.getStartTime(), slot.getEndTime(), slot.getDate(), employees.get(assignment.employee())));
+        }
+        shiftRepository.saveAll(shifts);
+        for (Shift shift : shifts) {
+            shiftIntervalIndex.add(shift);
+        }
+
+        List<ShiftResponseDto> created = new ArrayList<>();
+        for (Shift shift : shifts) {
+            created.add(new ShiftResponseDto(shift));
+        }
+        List<CoverageRequestDto> uncovered = new ArrayList<>();
+        for (int s = 0; s < coverage.size(); s++) {
+            if (solver.missing(s) > 0) {
+                CoverageRequestDto slot = coverage.get(s);
+                uncovered.add(new CoverageRequestDto(slot.getDate(), slot.getStartTime(), slot.getEndTime(), solver.missing(s)));
+            }
+        }
+        return new RosterResponseDto(created, uncovered);
+    }
+
+    /**
+     * toWeekMinutes: helper method to turn a date and times into minutes from the start of the week
+     * @return the start and end minutes
+     * @throws HRSException if a field is missing, the start is not before the end or the date is outside the week
+     */
+    private static int[] toWeekMinutes(LocalDate weekStart, LocalDate date, Time startTime, Time endTime) {
+        if (date == null || startTime == null || endTime == null) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "Empty fields are present.");
+        }
+        if (!startTime.before(endTime)) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "Invalid start/end times.");
+        }
+        long day = ChronoUnit.DAYS.between(weekStart, date);
+        if (day < 0 || day >= 7) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "Date is outside the week.");
+        }
+        int dayStart = (int) day * DAY_MINUTES;
+        return new int[]{dayStart + startTime.toLocalTime().toSecondOfDay() / 60, dayStart + endTime.toLocalTime().toSecondOfDay() / 60};
+    }
+
+    /**
+     * weekMinutes: start and end of a saved shift in minutes from the start of the week, without the checks
+     */
+    private static int[] weekMinutes(LocalDate weekStart, Shift shift) {
+        int dayStart = (int) ChronoUnit.DAYS.between(weekStart, shift.getDate()) * DAY_MINUTES;
+        return new int[]{dayStart + shift.getStartTime().toLocalTime().toSecondOfDay() / 60, dayStart + shift.getEndTime().toLocalTime().toSecondOfDay() / 60};
+    }
+
+    private static long key(int[] minutes) {
+        return (long) minutes[0] * WEEK_MINUTES + minutes[1];
     }
 }
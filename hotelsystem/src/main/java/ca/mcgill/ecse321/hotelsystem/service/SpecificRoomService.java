@@ -1,29 +1,44 @@
 package ca.mcgill.ecse321.hotelsystem.service;
 
-import ca.mcgill.ecse321.hotelsystem.Model.Reservation;
-import ca.mcgill.ecse321.hotelsystem.Model.ReservedRoom;
 import ca.mcgill.ecse321.hotelsystem.Model.SpecificRoom;
 import ca.mcgill.ecse321.hotelsystem.Model.ViewType;
 import ca.mcgill.ecse321.hotelsystem.exception.HRSException;
-import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.SpecificRoomRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
+@Timed("hotelsystem.service")
 public class SpecificRoomService {
 
     @Autowired
     SpecificRoomRepository specificRoomRepository;
 
     @Autowired
-    ReservedRoomRepository reservedRoomRepository;
+    RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Autowired
+    RoomCatalogCache roomCatalogCache;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    // "index" answers availability from the in-memory RoomAvailabilityIndex, "database" from an anti-join query
+    @Value("${hotelsystem.availability.backend:index}")
+    String availabilityBackend;
 
     /**
      * GetAllSpecificRooms: service method to fetch all existing specific rooms in the database
@@ -41,10 +56,11 @@ public class SpecificRoomService {
     }
 
     /**
-     * findSpecificRoomByNumber: service method to fetch specific room in the database by number
+     * findSpecificRoomByNumber: service method to fetch specific room in the database by number,
+     * from the RoomCatalogCache when it is there
      *
      * @param number: room number
-     * @return a specific room
+     * @return a detached copy of the specific room
      * @throws HRSException if specific room does not exist in the system or the number is invalid
      */
     @Transactional
@@ -52,7 +68,7 @@ public class SpecificRoomService {
         if (number < 0) {
             throw new HRSException(HttpStatus.BAD_REQUEST, "Invalid number.");
         }
-        SpecificRoom specificRoom = specificRoomRepository.findSpecificRoomByNumber(number);
+        SpecificRoom specificRoom = roomCatalogCache.getSpecificRoom(number, specificRoomRepository::findSpecificRoomByNumber);
         if (specificRoom == null) {
             throw new HRSException(HttpStatus.NOT_FOUND, "There is no specific room in the system with number " + number + ".");
         }
@@ -125,6 +141,7 @@ public class SpecificRoomService {
             throw new HRSException(HttpStatus.NOT_FOUND, "There is no specific room in the system with number " + number + ".");
         }
         specificRoomRepository.deleteByNumber(number);
+        roomCatalogCache.evictSpecificRoom(number);
     }
 
     /**
@@ -143,6 +160,30 @@ public class SpecificRoomService {
         return specificRoom;
     }
 
+    /**
+     * createSpecificRooms: service method that creates several specific rooms in one transaction,
+     * so that their inserts can be sent as JDBC batches
+     *
+     * The rooms are persisted rather than saved: their number is assigned, so saveAll would merge each of them
+     * and select it first to find out it is new.
+     *
+     * @param specificRooms: new specific rooms, none of their numbers may exist yet
+     * @return the saved rooms
+     * @throws HRSException if one of the specific rooms is invalid, then none is created
+     */
+    @Transactional
+    public List<SpecificRoom> createSpecificRooms(List<SpecificRoom> specificRooms) {
+        for (SpecificRoom specificRoom : specificRooms) {
+            if (specificRoom.getNumber() < 0) {
+                throw new HRSException(HttpStatus.BAD_REQUEST, "Invalid number.");
+            }
+        }
+        for (SpecificRoom specificRoom : specificRooms) {
+            entityManager.persist(specificRoom);
+        }
+        return new ArrayList<>(specificRooms);
+    }
+
     /**
      * createRoom: service method that updates a specific room and adds it to the database
      *
@@ -152,40 +193,110 @@ public class SpecificRoomService {
      */
     @Transactional
     public SpecificRoom updateSpecificRoom(SpecificRoom specificRoom) {
-        SpecificRoom oldSpecificRoom = findSpecificRoomByNumber(specificRoom.getNumber());
+        if (specificRoom.getNumber() < 0) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "Invalid number.");
+        }
+        //load the row itself, the cached specific room is a detached copy
+        SpecificRoom oldSpecificRoom = specificRoomRepository.findSpecificRoomByNumber(specificRoom.getNumber());
         if (oldSpecificRoom == null) {
-            throw new HRSException(HttpStatus.NOT_FOUND, "No specific rooms in the system with number " + specificRoom.getNumber() + ".");
+            throw new HRSException(HttpStatus.NOT_FOUND, "There is no specific room in the system with number " + specificRoom.getNumber() + ".");
         }
 
         oldSpecificRoom.setRoom(specificRoom.getRoom());
         oldSpecificRoom.setDescription(specificRoom.getDescription());
         oldSpecificRoom.setView(specificRoom.getView());
         oldSpecificRoom.setOpenForUse(specificRoom.getOpenForUse());
-        return specificRoomRepository.save(oldSpecificRoom);
+        oldSpecificRoom = specificRoomRepository.save(oldSpecificRoom);
+        roomCatalogCache.evictSpecificRoom(oldSpecificRoom.getNumber());
+        return oldSpecificRoom;
     }
 
+    /**
+     * getAvailableSpecificRoomByType: service method to fetch the specific rooms of a type that are free for a stay
+     *
+     * @param checkIn: check-in date
+     * @param checkOut: check-out date
+     * @param type: room type
+     * @return List of specific rooms with no reservation overlapping the stay
+     */
+    @Transactional
     public List<SpecificRoom> getAvailableSpecificRoomByType(LocalDate checkIn, LocalDate checkOut, String type) {
+        if ("database".equals(availabilityBackend) || !roomAvailabilityIndex.isLoaded()) {
+            LocalDate end = RoomAvailabilityIndex.stayEnd(checkIn, checkOut);
+            return specificRoomRepository.findAvailableSpecificRoomsByType(type, checkIn, end);
+        }
         List<SpecificRoom> specificRooms = specificRoomRepository.findSpecificRoomsByRoom_Type(type);
-        List<ReservedRoom> reservedRooms = reservedRoomRepository.findAll();
-        List<SpecificRoom> roomsToRemove = new ArrayList<>();
-
+        List<SpecificRoom> availableRooms = new ArrayList<>();
         for (SpecificRoom room : specificRooms) {
-            for (ReservedRoom reservedRoom : reservedRooms) {
-                SpecificRoom specificRoom = reservedRoom.getSpecificRoom();
-                if (specificRoom.getNumber() == room.getNumber()) {
-                    Reservation reservation = reservedRoom.getReservation();
-                    if ((reservation.getCheckIn().isBefore(checkOut) && reservation.getCheckOut().isAfter(checkIn)) ||
-                            (reservation.getCheckIn().isEqual(checkIn) || reservation.getCheckOut().isEqual(checkOut))) {
-                        roomsToRemove.add(room);
-                        break;
-                    }
-                }
+            if (roomAvailabilityIndex.isAvailable(room.getNumber(), checkIn, checkOut)) {
+                availableRooms.add(room);
             }
         }
+        return availableRooms;
+    }
 
-        specificRooms.removeAll(roomsToRemove);
-        return specificRooms;
+    /**
+     * getSpecificRoomCalendar: service method to fetch the occupancy calendar of a specific room
+     *
+     * @param number: room number
+     * @return calendar of the current horizon, read its bits with OccupancyCalendar.words(number)
+     * @throws HRSException if the room does not exist or the calendar has not been built yet
+     */
+    @Transactional
+    public OccupancyCalendar getSpecificRoomCalendar(int number) {
+        findSpecificRoomByNumber(number);
+        if (!roomAvailabilityIndex.isLoaded()) {
+            throw new HRSException(HttpStatus.SERVICE_UNAVAILABLE, "The occupancy calendar is not ready yet.");
+        }
+        return roomAvailabilityIndex.getCalendar();
     }
 
+    /**
+     * getAvailableSpecificRoomsGroupedByType: service method to fetch the specific rooms of every type that are free for a stay,
+     * in a single pass over the specific rooms instead of one availability check per type
+     *
+     * @param checkIn: check-in date
+     * @param checkOut: check-out date
+     * @return available specific rooms keyed by room type, ordered by type; types with no free room are left out
+     * @throws HRSException if the check-out date is before the check-in date
+     */
+    @Transactional
+    public Map<String, List<SpecificRoom>> getAvailableSpecificRoomsGroupedByType(LocalDate checkIn, LocalDate checkOut) {
+        if (checkOut.isBefore(checkIn)) {
+            throw new HRSException(HttpStatus.BAD_REQUEST, "Check-out date must not be before check-in date.");
+        }
+        List<SpecificRoom> availableRooms;
+        if ("database".equals(availabilityBackend) || !roomAvailabilityIndex.isLoaded()) {
+            LocalDate end = RoomAvailabilityIndex.stayEnd(checkIn, checkOut);
+            availableRooms = specificRoomRepository.findAvailableSpecificRooms(checkIn, end);
+        } else {
+            availableRooms = new ArrayList<>();
+            for (SpecificRoom room : specificRoomRepository.findAll()) {
+                if (room.getRoom() != null && roomAvailabilityIndex.isAvailable(room.getNumber(), checkIn, checkOut)) {
+                    availableRooms.add(room);
+                }
+            }
+        }
+        Map<String, List<SpecificRoom>> roomsByType = new TreeMap<>();
+        for (SpecificRoom room : availableRooms) {
+            roomsByType.computeIfAbsent(room.getRoom().getType(), type -> new ArrayList<>()).add(room);
+        }
+        return roomsByType;
+    }
 
+    /**
+     * getSpecificRooms: service method to fetch one page of specific rooms, ordered by id
+     * @param after only specific rooms with a larger id, the last one of the previous page, or null to use the page number
+     * @param page page number, starting at 0, ignored when after is given
+     * @param size number of specific rooms of a page
+     * @return the page, hasNext() tells if there are more
+     * @throws HRSException if the page or the size is out of range
+     */
+    @Transactional
+    public Slice<SpecificRoom> getSpecificRooms(Integer after, int page, int size) {
+        if (after != null) {
+            return specificRoomRepository.findByNumberGreaterThan(after, Paging.of(0, size, "number"));
+        }
+        return specificRoomRepository.findAllBy(Paging.of(page, size, "number"));
+    }
 }
@@ -0,0 +1,40 @@
+package ca.mcgill.ecse321.hotelsystem.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * RepositoryTracing: a span for every repository method call made while a request is traced, named after the
+ * repository and the method, e.g. ReservedRoomRepository.findReservedRoomsBySpecificRoom_Number.
+ * The interceptor is added to the proxies Spring Data builds for the repositories, the way Spring Boot times them.
+ */
+@Component
+public class RepositoryTracing implements BeanPostProcessor {
+
+    // post processors are created before the other beans, the tracer is looked up on first use
+    private final ObjectProvider<RequestTracer> requestTracer;
+
+    public RepositoryTracing(ObjectProvider<RequestTracer> requestTracer) {
+        this.requestTracer = requestTracer;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor((proxyFactory, repository) -> {
+                String prefix = repository.getRepositoryInterface().getSimpleName() + ".";
+                proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                    RequestTracer tracer = requestTracer.getObject();
+                    if (!tracer.isTracing()) {
+                        return invocation.proceed();
+                    }
+                    return tracer.trace(prefix + invocation.getMethod().getName(), invocation::proceed);
+                });
+            }));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,222 @@
+package ca.mcgill.ecse321.hotelsystem.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * RequestTracer: records the spans of each HTTP request, the request itself, then the controller, service and repository
+ * methods it goes through, as a tree. Requests are traced by TracingFilter, the methods by TracingAspect and
+ * RepositoryTracing, a method called outside of a request is not traced.
+ *
+ * Finished traces are kept in memory, the last ones only, and read through /traces. They are also appended to a file
+ * as JSON lines when hotelsystem.tracing.file is set. A request slower than hotelsystem.tracing.slow-request-ms is
+ * logged with its span tree.
+ */
+@Component
+public class RequestTracer {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestTracer.class);
+
+    // a request that loads thousands of rows one by one keeps its first spans only
+    private static final int MAX_SPANS = 2000;
+
+    private final ThreadLocal<ActiveTrace> active = new ThreadLocal<>();
+    private final Deque<Trace> finished = new ArrayDeque<>();
+
+    @Value("${hotelsystem.tracing.enabled:true}")
+    boolean enabled;
+
+    @Value("${hotelsystem.tracing.slow-request-ms:500}")
+    long slowRequestMillis;
+
+    @Value("${hotelsystem.tracing.keep:200}")
+    int keep;
+
+    @Value("${hotelsystem.tracing.file:}")
+    String file;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private Writer writer;
+
+    /**
+     * start: starts the trace of a request on the calling thread
+     * @return the trace id, or null if tracing is disabled
+     */
+    String start() {
+        if (!enabled) {
+            return null;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String traceId = String.format("%016x%016x", random.nextLong(), random.nextLong());
+        active.set(new ActiveTrace(traceId, System.nanoTime()));
+        MDC.put("traceId", traceId);
+        return traceId;
+    }
+
+    /**
+     * finish: ends the trace of the calling thread's request, keeps it, exports it, and logs it if the request was slow
+     * @param name method and path template of the request
+     * @param status http status of the answer
+     * @param error exception the request failed with, or null
+     */
+    void finish(String name, int status, Throwable error) {
+        ActiveTrace trace = active.get();
+        if (trace == null) {
+            return;
+        }
+        active.remove();
+        MDC.remove("traceId");
+        // the root span is named once the request is mapped to its handler
+        Span root = trace.spans.getFirst();
+        root.rename(name);
+        root.finish(System.nanoTime(), error);
+        Trace done = new Trace(trace.traceId, name, trace.start, status, root.getDuration(), root, trace.dropped);
+        synchronized (finished) {
+            finished.addFirst(done);
+            while (finished.size() > keep) {
+                finished.removeLast();
+            }
+        }
+        export(done);
+        if (done.duration() >= slowRequestMillis) {
+            log.warn("slow request, {} ms: {}", done.duration(), done.tree());
+        }
+    }
+
+    /**
+     * isTracing: tells if the calling thread is serving a traced request
+     * @return true inside a traced request
+     */
+    public boolean isTracing() {
+        return active.get() != null;
+    }
+
+    /**
+     * trace: runs a method call as a span of the current request, or simply runs it outside of a request
+     * @param name span name, e.g. ReservedRoomService.createReservedRoom
+     * @param call the method call
+     * @return what the call returned
+     * @throws Throwable what the call threw
+     */
+    public <T> T trace(String name, ThrowingCall<T> call) throws Throwable {
+        ActiveTrace trace = active.get();
+        if (trace == null) {
+            return call.call();
+        }
+        if (trace.size >= MAX_SPANS) {
+            trace.dropped++;
+            return call.call();
+        }
+        Span span = new Span(name, System.nanoTime(), trace.startNanos);
+        trace.spans.getLast().add(span);
+        trace.spans.addLast(span);
+        trace.size++;
+        Throwable error = null;
+        try {
+            return call.call();
+        } catch (Throwable t) {
+            error = t;
+            throw t;
+        } finally {
+            span.finish(System.nanoTime(), error);
+            trace.spans.removeLast();
+        }
+    }
+
+    /**
+     * getTraces: the last finished traces, most recent first
+     * @return list of traces
+     */
+    public List<Trace> getTraces() {
+        synchronized (finished) {
+            return new ArrayList<>(finished);
+        }
+    }
+
+    /**
+     * getTrace: a finished trace, if it is still kept
+     * @param traceId id of the trace
+     * @return the trace, or empty
+     */
+    public Optional<Trace> getTrace(String traceId) {
+        synchronized (finished) {
+            for (Trace trace : finished) {
+                if (trace.traceId().equals(traceId)) {
+                    return Optional.of(trace);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * ThrowingCall: a method call, as a MethodInterceptor or an aspect proceeds with it
+     */
+    @FunctionalInterface
+    public interface ThrowingCall<T> {
+        T call() throws Throwable;
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private void export(Trace trace) {
+        if (file.isEmpty()) {
+            return;
+        }
+        try {
+            String line = objectMapper.writeValueAsString(trace);
+            synchronized (this) {
+                if (writer == null) {
+                    writer = Files.newBufferedWriter(Path.of(file), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                writer.write(line);
+                writer.write('\n');
+                writer.flush();
+            }
+        } catch (IOException e) {
+            log.warn("could not export trace {} to {}", trace.traceId(), file, e);
+        }
+    }
+
+    // the trace of the request on the current thread, the stack of its open spans starts with the root span
+    private static class ActiveTrace {
+        final String traceId;
+        final long startNanos;
+        final Instant start = Instant.now();
+        final Deque<Span> spans = new ArrayDeque<>();
+        int size;
+        int dropped;
+
+        ActiveTrace(String traceId, long startNanos) {
+            this.traceId = traceId;
+            this.startNanos = startNanos;
+            spans.add(new Span("request", startNanos, startNanos));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ca.mcgill.ecse321.hotelsystem.tracing;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Span: one timed call of a traced request, the request itself, a controller, service or repository method.
+ * Offsets and durations are in milliseconds, offsets from the start of the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Span {
+
+    private String name;
+    private final long startNanos;
+    private final double offset;
+    private double duration;
+    private String error;
+    private final List<Span> children = new ArrayList<>();
+
+    Span(String name, long startNanos, long traceStartNanos) {
+        this.name = name;
+        this.startNanos = startNanos;
+        this.offset = millis(startNanos - traceStartNanos);
+    }
+
+    void rename(String name) {
+        this.name = name;
+    }
+
+    void finish(long endNanos, Throwable error) {
+        this.duration = millis(endNanos - startNanos);
+        if (error != null) {
+            this.error = error.getClass().getSimpleName();
+        }
+    }
+
+    void add(Span child) {
+        children.add(child);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getOffset() {
+        return offset;
+    }
+
+    public double getDuration() {
+        return duration;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public List<Span> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    // one line per span, indented by depth, e.g. "   12.40 ms  +0.31  ReservedRoomService.createReservedRoom"
+    void appendTree(StringBuilder tree, int depth) {
+        tree.append(String.format("%n%10.2f ms %+8.2f  ", duration, offset)).append("  ".repeat(depth)).append(name);
+        if (error != null) {
+            tree.append("  !").append(error);
+        }
+        for (Span child : children) {
+            child.appendTree(tree, depth + 1);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
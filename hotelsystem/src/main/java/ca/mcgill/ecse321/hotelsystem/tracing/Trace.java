@@ -0,0 +1,30 @@
+package ca.mcgill.ecse321.hotelsystem.tracing;
+
+import java.time.Instant;
+
+/**
+ * Trace: a finished request and the tree of its spans
+ * @param traceId id of the request, sent back in the X-Trace-Id header
+ * @param name method and path template of the request, e.g. POST /reservedRoom/new
+ * @param start when the request came in
+ * @param status http status of the answer
+ * @param duration milliseconds from the request coming in to the answer
+ * @param root span of the request, the controller method is its child
+ * @param droppedSpans spans left out once a trace holds RequestTracer's maximum
+ */
+public record Trace(String traceId, String name, Instant start, int status, double duration, Span root, int droppedSpans) {
+
+    /**
+     * tree: the spans as indented text, one line per span with its duration and its offset from the start of the request
+     * @return the span tree
+     */
+    public String tree() {
+        StringBuilder tree = new StringBuilder();
+        tree.append(String.format("trace %s %s %d", traceId, name, status));
+        root.appendTree(tree, 0);
+        if (droppedSpans > 0) {
+            tree.append(String.format("%n... %d more spans", droppedSpans));
+        }
+        return tree.toString();
+    }
+}
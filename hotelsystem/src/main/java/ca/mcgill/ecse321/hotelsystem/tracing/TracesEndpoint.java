@@ -0,0 +1,46 @@
+package ca.mcgill.ecse321.hotelsystem.tracing;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * TracesEndpoint: the in-memory collector of the finished traces, /traces lists the last requests, slowest first,
+ * and /traces/{traceId} gives the span tree of one of them
+ */
+@Component
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    @Autowired
+    RequestTracer requestTracer;
+
+    /**
+     * traces: the last finished requests, slowest first, without their spans
+     * @return list of trace summaries
+     */
+    @ReadOperation
+    public List<TraceSummary> traces() {
+        return requestTracer.getTraces().stream()
+                .sorted((a, b) -> Double.compare(b.duration(), a.duration()))
+                .map(trace -> new TraceSummary(trace.traceId(), trace.name(), trace.start().toString(), trace.status(), trace.duration()))
+                .toList();
+    }
+
+    /**
+     * trace: one finished request with its span tree
+     * @param traceId id of the trace, from the X-Trace-Id header of the answer
+     * @return the trace, or null, answered with a 404, when it is no longer kept
+     */
+    @ReadOperation
+    public Trace trace(@Selector String traceId) {
+        return requestTracer.getTrace(traceId).orElse(null);
+    }
+
+    public record TraceSummary(String traceId, String name, String start, int status, double duration) {
+    }
+}
@@ -0,0 +1,29 @@
+package ca.mcgill.ecse321.hotelsystem.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * TracingAspect: a span for every call of a controller or service method made while a request is traced,
+ * named after the class and the method, e.g. ReservedRoomController.createReservedRoom.
+ * Calls from a service to one of its own methods do not go through the proxy and get no span of their own.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+
+    @Autowired
+    RequestTracer requestTracer;
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController) || @within(org.springframework.stereotype.Service)")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!requestTracer.isTracing()) {
+            return joinPoint.proceed();
+        }
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        return requestTracer.trace(name, joinPoint::proceed);
+    }
+}
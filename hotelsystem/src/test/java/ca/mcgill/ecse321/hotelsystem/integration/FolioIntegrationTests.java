@@ -0,0 +1,177 @@
+package ca.mcgill.ecse321.hotelsystem.integration;
+
+import ca.mcgill.ecse321.hotelsystem.Model.*;
+import ca.mcgill.ecse321.hotelsystem.dto.FolioEntryResponseDto;
+import ca.mcgill.ecse321.hotelsystem.dto.PaymentRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservationResponseDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservedRoomRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservedRoomResponseDto;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservationRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FolioIntegrationTests: room charges and payments posted at the same time to one reservation all count,
+ * and the folio lists them
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class FolioIntegrationTests {
+
+    private static final String TYPE = "Folio";
+    private static final int RATE = 150;
+    private static final int FIRST_ROOM = 9081;
+    private static final int ROOMS = 8;
+    private static final List<Integer> NUMBERS = IntStream.range(FIRST_ROOM, FIRST_ROOM + ROOMS).boxed().toList();
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private TestRestTemplate client;
+
+    private final List<Integer> reservationIds = new ArrayList<>();
+
+    @BeforeAll
+    public void createRooms() {
+        fixtures.createRooms(TYPE, RATE, NUMBERS);
+    }
+
+    @AfterEach
+    public void clearBookings() {
+        fixtures.clearBookings(NUMBERS, reservationIds);
+    }
+
+    @AfterAll
+    public void clearDatabase() {
+        fixtures.deleteRooms(TYPE, NUMBERS);
+    }
+
+    @Test
+    public void testConcurrentRoomChargesAllCount() throws Exception {
+        Reservation reservation = reservation(0);
+        List<Callable<HttpStatus>> bookings = new ArrayList<>();
+        for (int number = FIRST_ROOM; number < FIRST_ROOM + ROOMS; number++) {
+            ReservedRoomRequestDto request = new ReservedRoomRequestDto(reservation.getReservationID(), number);
+            bookings.add(() -> HttpStatus.valueOf(client.postForEntity("/reservedRoom/new", request, String.class).getStatusCode().value()));
+        }
+
+        for (HttpStatus status : concurrently(bookings)) {
+            assertEquals(HttpStatus.OK, status);
+        }
+
+        assertEquals(ROOMS * RATE * 3, reservationRepository.findReservationByReservationID(reservation.getReservationID()).getTotalPrice());
+        List<FolioEntryResponseDto> folio = folio(reservation);
+        assertEquals(ROOMS, folio.size());
+        assertTrue(folio.stream().allMatch(entry -> entry.getType() == FolioEntryType.RoomCharge && entry.getAmount() == RATE * 3));
+    }
+
+    @Test
+    public void testConcurrentPaymentsAllCount() throws Exception {
+        Reservation reservation = reservation(1000);
+        List<Callable<HttpStatus>> payments = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            payments.add(() -> HttpStatus.valueOf(client.exchange("/reservation/" + reservation.getReservationID() + "?money=50",
+                    HttpMethod.PUT, null, String.class).getStatusCode().value()));
+        }
+
+        for (HttpStatus status : concurrently(payments)) {
+            assertEquals(HttpStatus.OK, status);
+        }
+
+        Reservation paid = reservationRepository.findReservationByReservationID(reservation.getReservationID());
+        assertEquals(500, paid.getTotalPrice());
+        assertFalse(paid.isPaid());
+        assertEquals(10, folio(reservation).stream().filter(entry -> entry.getType() == FolioEntryType.Payment && entry.getAmount() == -50).count());
+    }
+
+    @Test
+    public void testRefundAndGroupPayment() {
+        Reservation reservation = reservation(0);
+        Reservation other = reservation(200);
+        ResponseEntity<ReservedRoomResponseDto> booked = client.postForEntity("/reservedRoom/new", new ReservedRoomRequestDto(reservation.getReservationID(), FIRST_ROOM), ReservedRoomResponseDto.class);
+        client.postForEntity("/reservedRoom/new", new ReservedRoomRequestDto(reservation.getReservationID(), FIRST_ROOM + 1), String.class);
+        assertEquals(HttpStatus.OK, booked.getStatusCode());
+
+        client.delete("/reservedRoom/" + booked.getBody().getReservedId());
+
+        List<FolioEntryResponseDto> folio = folio(reservation);
+        assertEquals(3, folio.size());
+        assertEquals(FolioEntryType.RoomRefund, folio.get(2).getType());
+        assertEquals(-RATE * 3, folio.get(2).getAmount());
+        assertEquals(RATE * 3, reservationRepository.findReservationByReservationID(reservation.getReservationID()).getTotalPrice());
+
+        List<PaymentRequestDto> payments = List.of(new PaymentRequestDto(reservation.getReservationID(), RATE * 3), new PaymentRequestDto(other.getReservationID(), 150));
+        ResponseEntity<ReservationResponseDto[]> response = client.exchange("/reservation/payments", HttpMethod.PUT, new HttpEntity<>(payments), ReservationResponseDto[].class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().length);
+        Reservation settled = reservationRepository.findReservationByReservationID(reservation.getReservationID());
+        assertEquals(0, settled.getTotalPrice());
+        assertTrue(settled.isPaid());
+        Reservation partly = reservationRepository.findReservationByReservationID(other.getReservationID());
+        assertEquals(50, partly.getTotalPrice());
+        assertFalse(partly.isPaid());
+
+        ResponseEntity<String> again = client.exchange("/reservation/payments", HttpMethod.PUT, new HttpEntity<>(payments), String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, again.getStatusCode());
+        assertEquals(50, reservationRepository.findReservationByReservationID(other.getReservationID()).getTotalPrice());
+    }
+
+    private Reservation reservation(int price) {
+        LocalDate checkIn = LocalDate.now().plusDays(60);
+        Reservation reservation = reservationRepository.save(new Reservation(2, checkIn, checkIn.plusDays(3), price, false, CheckInStatus.BeforeCheckIn, null));
+        reservationIds.add(reservation.getReservationID());
+        return reservation;
+    }
+
+    private List<FolioEntryResponseDto> folio(Reservation reservation) {
+        ResponseEntity<FolioEntryResponseDto[]> response = client.getForEntity("/reservation/" + reservation.getReservationID() + "/folio", FolioEntryResponseDto[].class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return List.of(response.getBody());
+    }
+
+    private static List<HttpStatus> concurrently(List<Callable<HttpStatus>> calls) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(calls.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<HttpStatus>> futures = new ArrayList<>();
+        for (Callable<HttpStatus> call : calls) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return call.call();
+            }));
+        }
+        start.countDown();
+        List<HttpStatus> statuses = new ArrayList<>();
+        for (Future<HttpStatus> future : futures) {
+            statuses.add(future.get());
+        }
+        executor.shutdown();
+        return statuses;
+    }
+}
@@ -0,0 +1,133 @@
+package ca.mcgill.ecse321.hotelsystem.integration;
+
+import ca.mcgill.ecse321.hotelsystem.Model.*;
+import ca.mcgill.ecse321.hotelsystem.repository.EmployeeRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservationRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.RoomRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.ShiftRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.SpecificRoomRepository;
+import ca.mcgill.ecse321.hotelsystem.service.RoomAvailabilityIndex;
+import ca.mcgill.ecse321.hotelsystem.service.ShiftIntervalIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * IntegrationFixtures: the employees, shifts, rooms and bookings an integration test sets up before its requests and
+ * removes after them, and the occupancy and shift indexes rebuilt whenever the rows change behind the services.
+ * Imported next to SqlStatementCounter by every integration test class, so they keep sharing one context.
+ */
+@TestComponent
+public class IntegrationFixtures {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    @Autowired
+    private ShiftIntervalIndex shiftIntervalIndex;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private SpecificRoomRepository specificRoomRepository;
+
+    @Autowired
+    private ReservedRoomRepository reservedRoomRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    /**
+     * createEmployees: saves employees with the emails prefix0@hotel.com, prefix1@hotel.com, ...
+     * @param prefix start of the emails, unique to the test class
+     * @param count number of employees
+     * @return the employees, in order
+     */
+    public List<Employee> createEmployees(String prefix, int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee();
+            employee.setEmail(prefix + i + "@hotel.com");
+            employees.add(employeeRepository.save(employee));
+        }
+        return employees;
+    }
+
+    /**
+     * saveShifts: saves the shifts and rebuilds the shift index from the database
+     * @param shifts shifts to save
+     */
+    public void saveShifts(List<Shift> shifts) {
+        shiftRepository.saveAll(shifts);
+        shiftIntervalIndex.rebuild();
+    }
+
+    /**
+     * clearShifts: deletes the shifts of a date range and rebuilds the shift index from the database
+     * @param from first date
+     * @param to last date, included
+     */
+    public void clearShifts(LocalDate from, LocalDate to) {
+        shiftRepository.deleteAll(shiftRepository.findShiftsByDateBetween(from, to));
+        shiftIntervalIndex.rebuild();
+    }
+
+    /**
+     * deleteEmployees: deletes the employees, their shifts must be cleared first
+     * @param emails emails of the employees
+     */
+    public void deleteEmployees(List<String> emails) {
+        employeeRepository.deleteAllById(emails);
+    }
+
+    /**
+     * createRooms: saves a room type with a queen bed for 2 and a specific room of it for each number
+     * @param type room type, unique to the test class
+     * @param rate rate of a night
+     * @param numbers specific room numbers, unique to the test class
+     * @return the room type
+     */
+    public Room createRooms(String type, int rate, List<Integer> numbers) {
+        Room room = roomRepository.save(new Room(type, rate, BedType.Queen, 2));
+        for (int number : numbers) {
+            specificRoomRepository.save(new SpecificRoom(number, ViewType.Mountain, "des", true, room));
+        }
+        return room;
+    }
+
+    /**
+     * clearBookings: deletes the reserved rooms of the specific rooms and the reservations, with their folio entries,
+     * then rebuilds the occupancy index from the database
+     * @param numbers specific room numbers
+     * @param reservationIds ids of the reservations the test saved, emptied
+     */
+    public void clearBookings(List<Integer> numbers, List<Integer> reservationIds) {
+        for (int number : numbers) {
+            reservedRoomRepository.deleteAll(reservedRoomRepository.findReservedRoomsBySpecificRoom_Number(number));
+        }
+        reservationRepository.deleteAllById(reservationIds);
+        reservationIds.clear();
+        roomAvailabilityIndex.rebuild();
+    }
+
+    /**
+     * deleteRooms: deletes the specific rooms and their room type, their bookings must be cleared first
+     * @param type room type
+     * @param numbers specific room numbers
+     */
+    public void deleteRooms(String type, List<Integer> numbers) {
+        specificRoomRepository.deleteAllById(numbers);
+        roomRepository.deleteById(type);
+    }
+}
@@ -0,0 +1,129 @@
+package ca.mcgill.ecse321.hotelsystem.integration;
+
+import ca.mcgill.ecse321.hotelsystem.Model.Employee;
+import ca.mcgill.ecse321.hotelsystem.Model.Shift;
+import ca.mcgill.ecse321.hotelsystem.dto.CoverageHeatmapDto;
+import ca.mcgill.ecse321.hotelsystem.dto.LabourCostDto;
+import ca.mcgill.ecse321.hotelsystem.repository.EmployeeRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LabourReportIntegrationTests: labour cost per day and week and the coverage heatmap add up the shifts of the range
+ * at the salaries of their employees, each in one query
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class LabourReportIntegrationTests {
+
+    private static final LocalDate MONDAY = LocalDate.of(2034, 6, 5);
+    // 25 and 20 an hour over 2080 hours a year
+    private static final String FIRST = "labour0@hotel.com";
+    private static final String SECOND = "labour1@hotel.com";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private SqlStatementCounter statements;
+
+    @Autowired
+    private TestRestTemplate client;
+
+    @BeforeAll
+    public void createShifts() {
+        Employee first = employeeRepository.save(new Employee(FIRST, "First", 52000, null));
+        Employee second = employeeRepository.save(new Employee(SECOND, "Second", 41600, null));
+        fixtures.saveShifts(List.of(
+                new Shift(Time.valueOf("08:00:00"), Time.valueOf("16:00:00"), MONDAY, first),
+                new Shift(Time.valueOf("08:00:00"), Time.valueOf("12:30:00"), MONDAY, second),
+                new Shift(Time.valueOf("16:00:00"), Time.valueOf("20:00:00"), MONDAY, null),
+                new Shift(Time.valueOf("16:00:00"), Time.valueOf("23:00:00"), MONDAY.plusDays(1), first),
+                new Shift(Time.valueOf("09:00:00"), Time.valueOf("17:00:00"), MONDAY.plusDays(7), second)));
+    }
+
+    @AfterAll
+    public void clearDatabase() {
+        fixtures.clearShifts(MONDAY, MONDAY.plusDays(13));
+        fixtures.deleteEmployees(List.of(FIRST, SECOND));
+    }
+
+    @Test
+    public void testDailyCost() {
+        ResponseEntity<LabourCostDto[]> response = statements.withinBudget(1,
+                () -> client.getForEntity("/owner/reports/labour/daily/" + MONDAY + "/" + MONDAY.plusDays(9), LabourCostDto[].class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        LabourCostDto[] days = response.getBody();
+        assertEquals(9, days.length);
+        assertDay(days[0], MONDAY, 1, 2, 12.5, 290.0);
+        assertDay(days[1], MONDAY.plusDays(1), 1, 1, 7.0, 175.0);
+        assertDay(days[2], MONDAY.plusDays(2), 1, 0, 0.0, 0.0);
+        assertDay(days[7], MONDAY.plusDays(7), 1, 1, 8.0, 160.0);
+    }
+
+    @Test
+    public void testWeeklyCost() {
+        ResponseEntity<LabourCostDto[]> response = statements.withinBudget(1,
+                () -> client.getForEntity("/owner/reports/labour/weekly/" + MONDAY.plusDays(1) + "/" + MONDAY.plusDays(9), LabourCostDto[].class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        LabourCostDto[] weeks = response.getBody();
+        assertEquals(2, weeks.length);
+        assertDay(weeks[0], MONDAY.plusDays(1), 6, 1, 7.0, 175.0);
+        assertDay(weeks[1], MONDAY.plusDays(7), 2, 1, 8.0, 160.0);
+    }
+
+    @Test
+    public void testCoverage() {
+        ResponseEntity<CoverageHeatmapDto> response = statements.withinBudget(1,
+                () -> client.getForEntity("/owner/reports/coverage/" + MONDAY + "/" + MONDAY.plusDays(14), CoverageHeatmapDto.class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<List<Double>> staff = response.getBody().getStaff();
+        assertEquals(7, staff.size());
+        assertEquals(24, staff.get(0).size());
+        // two Mondays in the range, the shift without an employee is left out
+        assertEquals(0.0, staff.get(0).get(7));
+        assertEquals(1.0, staff.get(0).get(8));
+        assertEquals(1.5, staff.get(0).get(9));
+        assertEquals(1.25, staff.get(0).get(12));
+        assertEquals(0.5, staff.get(0).get(16));
+        assertEquals(0.0, staff.get(0).get(17));
+        assertEquals(0.5, staff.get(1).get(22));
+        assertEquals(0.0, staff.get(2).get(12));
+        assertEquals(1.5, response.getBody().getPeak());
+    }
+
+    @Test
+    public void testInvalidRange() {
+        ResponseEntity<String> response = client.getForEntity("/owner/reports/labour/daily/" + MONDAY + "/" + MONDAY, String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    private static void assertDay(LabourCostDto day, LocalDate start, int days, long shifts, double hours, double cost) {
+        assertEquals(start, day.getStart());
+        assertEquals(days, day.getDays());
+        assertEquals(shifts, day.getShifts());
+        assertEquals(hours, day.getHours());
+        assertEquals(cost, day.getCost());
+    }
+}
@@ -0,0 +1,87 @@
+package ca.mcgill.ecse321.hotelsystem.integration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MetricsIntegrationTests: the request and service timers, the exception counter and the pool and memory gauges,
+ * read through /metrics and /prometheus
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
+public class MetricsIntegrationTests {
+
+    @Autowired
+    private TestRestTemplate client;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testRequestAndServiceTimers() {
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        ResponseEntity<List> available = client.getForEntity("/specificRoom/available/type/Suite/" + checkIn + "/" + checkIn.plusDays(2), List.class);
+        assertEquals(HttpStatus.OK, available.getStatusCode());
+
+        String scrape = scrape();
+        assertTrue(scrape.lines().anyMatch(line -> line.startsWith("http_server_requests_seconds_count{")
+                && line.contains("uri=\"/specificRoom/available/type/{type}/{checkIn}/{checkOut}\"")), scrape);
+        assertTrue(scrape.lines().anyMatch(line -> line.startsWith("hotelsystem_service_seconds_count{")
+                && line.contains("class=\"ca.mcgill.ecse321.hotelsystem.service.SpecificRoomService\"")
+                && line.contains("method=\"getAvailableSpecificRoomByType\"")), scrape);
+        // percentiles are computed by Prometheus from the buckets
+        assertTrue(scrape.contains("hotelsystem_service_seconds_bucket{"));
+    }
+
+    @Test
+    public void testExceptionCounter() {
+        double before = notFound();
+
+        ResponseEntity<String> response = client.getForEntity("/reservation/" + Integer.MAX_VALUE, String.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(before + 1, notFound());
+        ResponseEntity<Map> metric = client.getForEntity("/metrics/hotelsystem.exceptions?tag=status:404", Map.class);
+        assertEquals(HttpStatus.OK, metric.getStatusCode());
+        assertTrue(scrape().contains("hotelsystem_exceptions_total{status=\"404\",}"));
+    }
+
+    @Test
+    public void testPoolAndMemoryGauges() {
+        ResponseEntity<Map> names = client.getForEntity("/metrics", Map.class);
+
+        assertEquals(HttpStatus.OK, names.getStatusCode());
+        List<?> metrics = (List<?>) names.getBody().get("names");
+        assertTrue(metrics.contains("hikaricp.connections.active"), metrics.toString());
+        assertTrue(metrics.contains("jvm.memory.used"), metrics.toString());
+        String scrape = scrape();
+        assertTrue(scrape.contains("hikaricp_connections_active{"));
+        assertTrue(scrape.contains("jvm_memory_used_bytes{"));
+    }
+
+    private String scrape() {
+        ResponseEntity<String> response = client.getForEntity("/prometheus", String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody();
+    }
+
+    private double notFound() {
+        Counter counter = meterRegistry.find("hotelsystem.exceptions").tag("status", "404").counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -10,9 +10,11 @@ import ca.mcgill.ecse321.hotelsystem.repository.EmployeeRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.RepairRepository;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -23,6 +25,8 @@ import java.util.List;
 import java.util.Map;
 
 @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class RepairIntegrationTests {
@@ -36,6 +40,9 @@ public class RepairIntegrationTests {
     @Autowired
     private TestRestTemplate client;
 
+    @Autowired
+    private SqlStatementCounter statements;
+
     @Autowired
     private RepairRepository repairRepo;
 
@@ -93,7 +100,7 @@ public class RepairIntegrationTests {
     @Test
     @Order(3)
     public void testGetAllRepairs() {
-        ResponseEntity<List> res = client.getForEntity("/repair", List.class);
+        ResponseEntity<List> res = statements.withinBudget(3, () -> client.getForEntity("/repair", List.class));
         assertEquals(HttpStatus.OK, res.getStatusCode());
         assertNotNull(res.getBody());
         List<Map<String, Object>> reqs = res.getBody();
@@ -164,7 +171,7 @@ public class RepairIntegrationTests {
     @Test
     @Order(11)
     public void testGetRepairsForEmployee() {
-        ResponseEntity<List> res = client.getForEntity("/repair/employee/" + EMAIL2, List.class);
+        ResponseEntity<List> res = statements.withinBudget(3, () -> client.getForEntity("/repair/employee/" + EMAIL2, List.class));
         assertEquals(HttpStatus.OK, res.getStatusCode());
         assertNotNull(res.getBody());
         List<Map<String, Object>> reqs = res.getBody();
@@ -0,0 +1,191 @@
+package ca.mcgill.ecse321.hotelsystem.integration;
+
+import ca.mcgill.ecse321.hotelsystem.Model.*;
+import ca.mcgill.ecse321.hotelsystem.dto.NightlyReportDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservedRoomRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.RoomTypeReportDto;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservationRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.RoomRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReportIntegrationTests: the nightly rollups follow bookings, check-ins and cancellations, and a rebuild from the
+ * reservations gives the same reports
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReportIntegrationTests {
+
+    private static final String TYPE = "Report";
+    private static final int FIRST_ROOM = 9061;
+    private static final int SECOND_ROOM = 9062;
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(500);
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private TestRestTemplate client;
+
+    private final List<Integer> reservationIds = new ArrayList<>();
+
+    @BeforeAll
+    public void createRooms() {
+        fixtures.createRooms(TYPE, 120, List.of(FIRST_ROOM, SECOND_ROOM));
+    }
+
+    @AfterEach
+    public void clearBookings() {
+        fixtures.clearBookings(List.of(FIRST_ROOM, SECOND_ROOM), reservationIds);
+        client.postForEntity("/owner/reports/rebuild", null, Integer.class);
+    }
+
+    @AfterAll
+    public void clearDatabase() {
+        fixtures.deleteRooms(TYPE, List.of(FIRST_ROOM, SECOND_ROOM));
+    }
+
+    @Test
+    public void testBookingCheckInAndCancellation() {
+        Reservation reservation = book(CHECK_IN, CHECK_IN.plusDays(3), FIRST_ROOM);
+        book(CHECK_IN.plusDays(1), CHECK_IN.plusDays(2), SECOND_ROOM);
+
+        List<NightlyReportDto> nights = nightly(CHECK_IN, CHECK_IN.plusDays(4));
+        assertEquals(4, nights.size());
+        assertNight(nights.get(0), CHECK_IN, 1, 0, 0);
+        assertNight(nights.get(1), CHECK_IN.plusDays(1), 2, 0, 0);
+        assertNight(nights.get(2), CHECK_IN.plusDays(2), 1, 0, 0);
+        assertNight(nights.get(3), CHECK_IN.plusDays(3), 0, 0, 0);
+        assertEquals(2, nights.get(1).getRoomsAvailable());
+        assertEquals(1.0, nights.get(1).getOccupancy());
+        assertEquals(240, nights.get(1).getRevenue());
+        assertEquals(120.0, nights.get(1).getAdr());
+        assertEquals(120.0, nights.get(1).getRevpar());
+
+        assertEquals(HttpStatus.OK, client.exchange("/reservation/" + reservation.getReservationID() + "/checkIn",
+                HttpMethod.PUT, null, String.class).getStatusCode());
+        nights = nightly(CHECK_IN, CHECK_IN.plusDays(4));
+        assertNight(nights.get(0), CHECK_IN, 1, 1, 0);
+        assertNight(nights.get(1), CHECK_IN.plusDays(1), 2, 1, 0);
+
+        client.delete("/reservation/" + reservation.getReservationID());
+        nights = nightly(CHECK_IN, CHECK_IN.plusDays(4));
+        assertNight(nights.get(0), CHECK_IN, 0, 0, 0);
+        assertNight(nights.get(1), CHECK_IN.plusDays(1), 1, 0, 0);
+        assertNight(nights.get(2), CHECK_IN.plusDays(2), 0, 0, 0);
+    }
+
+    @Test
+    public void testNoShowAndSummary() {
+        Reservation reservation = book(CHECK_IN, CHECK_IN.plusDays(2), FIRST_ROOM);
+        assertEquals(HttpStatus.OK, client.exchange("/reservation/" + reservation.getReservationID() + "/noShow",
+                HttpMethod.PUT, null, String.class).getStatusCode());
+
+        ResponseEntity<RoomTypeReportDto[]> response = client.getForEntity("/owner/reports/summary/" + CHECK_IN + "/" + CHECK_IN.plusDays(4), RoomTypeReportDto[].class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        RoomTypeReportDto summary = Arrays.stream(response.getBody()).filter(report -> report.getRoomType().equals(TYPE)).findFirst().orElseThrow();
+        assertEquals(4, summary.getNights());
+        assertEquals(8, summary.getRoomNightsAvailable());
+        assertEquals(2, summary.getRoomNightsSold());
+        assertEquals(240, summary.getRevenue());
+        assertEquals(0.25, summary.getOccupancy());
+        assertEquals(120.0, summary.getAdr());
+        assertEquals(30.0, summary.getRevpar());
+        assertEquals(2, summary.getNoShow());
+        assertEquals(0, summary.getBeforeCheckIn());
+    }
+
+    @Test
+    public void testRebuildMatchesIncrementalUpdates() {
+        Reservation reservation = book(CHECK_IN, CHECK_IN.plusDays(3), FIRST_ROOM);
+        book(CHECK_IN.plusDays(2), CHECK_IN.plusDays(5), SECOND_ROOM);
+        client.exchange("/reservation/" + reservation.getReservationID() + "/checkIn", HttpMethod.PUT, null, String.class);
+        List<NightlyReportDto> incremental = nightly(CHECK_IN, CHECK_IN.plusDays(6));
+
+        ResponseEntity<Integer> rebuilt = client.postForEntity("/owner/reports/rebuild", null, Integer.class);
+
+        assertEquals(HttpStatus.OK, rebuilt.getStatusCode());
+        List<NightlyReportDto> rebuiltNights = nightly(CHECK_IN, CHECK_IN.plusDays(6));
+        assertEquals(incremental.size(), rebuiltNights.size());
+        for (int i = 0; i < incremental.size(); i++) {
+            assertNight(rebuiltNights.get(i), incremental.get(i).getNight(), incremental.get(i).getRoomsSold(),
+                    incremental.get(i).getCheckedIn(), incremental.get(i).getNoShow());
+            assertEquals(incremental.get(i).getRevenue(), rebuiltNights.get(i).getRevenue());
+            assertEquals(incremental.get(i).getBeforeCheckIn(), rebuiltNights.get(i).getBeforeCheckIn());
+        }
+    }
+
+    @Test
+    public void testRevenueKeepsTheChargedRate() {
+        book(CHECK_IN, CHECK_IN.plusDays(2), FIRST_ROOM);
+
+        // the nights were charged at 120, a new rate only applies to the next bookings
+        setRate(200);
+        book(CHECK_IN, CHECK_IN.plusDays(2), SECOND_ROOM);
+        setRate(120);
+
+        List<NightlyReportDto> nights = nightly(CHECK_IN, CHECK_IN.plusDays(2));
+        assertEquals(320, nights.get(0).getRevenue());
+        assertEquals(320, nights.get(1).getRevenue());
+        client.postForEntity("/owner/reports/rebuild", null, Integer.class);
+        assertEquals(320, nightly(CHECK_IN, CHECK_IN.plusDays(2)).get(0).getRevenue());
+    }
+
+    @Test
+    public void testInvalidRange() {
+        assertEquals(HttpStatus.BAD_REQUEST, client.getForEntity("/owner/reports/nightly/" + CHECK_IN + "/" + CHECK_IN, String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, client.getForEntity("/owner/reports/summary/" + CHECK_IN + "/" + CHECK_IN.plusYears(2), String.class).getStatusCode());
+    }
+
+    private Reservation book(LocalDate checkIn, LocalDate checkOut, int roomNumber) {
+        Reservation reservation = reservationRepository.save(new Reservation(2, checkIn, checkOut, 0, false, CheckInStatus.BeforeCheckIn, null));
+        reservationIds.add(reservation.getReservationID());
+        ResponseEntity<String> response = client.postForEntity("/reservedRoom/new", new ReservedRoomRequestDto(reservation.getReservationID(), roomNumber), String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), response.getBody());
+        return reservation;
+    }
+
+    // the room types of the tests are not among the ones the room service accepts, the row is changed directly
+    private void setRate(int rate) {
+        Room room = roomRepository.findRoomByType(TYPE);
+        room.setRate(rate);
+        roomRepository.save(room);
+    }
+
+    private List<NightlyReportDto> nightly(LocalDate from, LocalDate to) {
+        ResponseEntity<NightlyReportDto[]> response = client.getForEntity("/owner/reports/nightly/" + from + "/" + to + "?type=" + TYPE, NightlyReportDto[].class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return List.of(response.getBody());
+    }
+
+    private static void assertNight(NightlyReportDto report, LocalDate night, int roomsSold, int checkedIn, int noShow) {
+        assertEquals(night, report.getNight());
+        assertEquals(TYPE, report.getRoomType());
+        assertEquals(roomsSold, report.getRoomsSold(), "rooms sold on " + night);
+        assertEquals(checkedIn, report.getCheckedIn(), "checked in on " + night);
+        assertEquals(noShow, report.getNoShow(), "no-shows on " + night);
+    }
+}
@@ -1,26 +1,40 @@
 package ca.mcgill.ecse321.hotelsystem.integration;
 
-import ca.mcgill.ecse321.hotelsystem.Model.CheckInStatus;
+import ca.mcgill.ecse321.hotelsystem.Model.*;
+import ca.mcgill.ecse321.hotelsystem.dto.BatchReservationRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.BatchReservationResponseDto;
 import ca.mcgill.ecse321.hotelsystem.dto.CustomerRequestDto;
 import ca.mcgill.ecse321.hotelsystem.dto.CustomerResponseDto;
 import ca.mcgill.ecse321.hotelsystem.dto.ReservationRequestDto;
 import ca.mcgill.ecse321.hotelsystem.dto.ReservationResponseDto;
 import ca.mcgill.ecse321.hotelsystem.repository.ReservationRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.RoomRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.SpecificRoomRepository;
+import ca.mcgill.ecse321.hotelsystem.service.RoomAvailabilityIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class ReservationIntegrationTests {
@@ -28,16 +42,40 @@ public class ReservationIntegrationTests {
     @Autowired
     private ReservationRepository reservationRepository;
 
+    @Autowired
+    private ReservedRoomRepository reservedRoomRepository;
+
+    @Autowired
+    private SpecificRoomRepository specificRoomRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
     @Autowired
     private TestRestTemplate client;
 
+    @Autowired
+    private SqlStatementCounter statements;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     private static final String EMAIL = "john@email.com";
 
     private int reservationId;
 
     @AfterAll
     public void clearDatabase() {
+        for (int number = 9061; number <= 9063; number++) {
+            reservedRoomRepository.deleteAll(reservedRoomRepository.findReservedRoomsBySpecificRoom_Number(number));
+            specificRoomRepository.deleteById(number);
+        }
+        roomRepository.deleteById("Conference");
         reservationRepository.deleteAll();
+        roomAvailabilityIndex.rebuild();
     }
 
     @Test
@@ -49,7 +87,7 @@ public class ReservationIntegrationTests {
         assertEquals(HttpStatus.OK, reservationResponse.getStatusCode());
         assertNotNull(reservationResponse.getBody());
         assertTrue(reservationResponse.getBody().getReservationId() > 0, "Response body should have an ID.");
-        assertEquals(reservationResponse.getBody().getCustomer().getEmail(), EMAIL);
+        assertEquals(reservationResponse.getBody().getCustomerEmail(), EMAIL);
 
         reservationId = reservationResponse.getBody().getReservationId();
     }
@@ -66,7 +104,7 @@ public class ReservationIntegrationTests {
     @Test
     @Order(2)
     public void testGetAllReservations() {
-        ResponseEntity<List> reservationResponse = client.getForEntity("/reservation", List.class);
+        ResponseEntity<List> reservationResponse = statements.withinBudget(1, () -> client.getForEntity("/reservation", List.class));
 
         assertEquals(HttpStatus.OK, reservationResponse.getStatusCode());
         assertEquals(reservationResponse.getBody().size(), 1);
@@ -81,7 +119,7 @@ public class ReservationIntegrationTests {
         ResponseEntity<ReservationResponseDto> response = client.getForEntity("/reservation/"+reservationId, ReservationResponseDto.class);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(response.getBody().getCustomer().getEmail(), EMAIL);
+        assertEquals(response.getBody().getCustomerEmail(), EMAIL);
         assertEquals(response.getBody().getReservationId(), reservationId);
     }
 
@@ -98,7 +136,7 @@ public class ReservationIntegrationTests {
     @Test
     @Order(5)
     public void getAllReservationsForCustomer() {
-        ResponseEntity<List> reservationResponse = client.getForEntity("/reservation/customer/"+EMAIL, List.class);
+        ResponseEntity<List> reservationResponse = statements.withinBudget(2, () -> client.getForEntity("/reservation/customer/"+EMAIL, List.class));
 
         assertEquals(HttpStatus.OK, reservationResponse.getStatusCode());
         assertEquals(1, reservationResponse.getBody().size());
@@ -109,7 +147,7 @@ public class ReservationIntegrationTests {
     @Test
     @Order(6)
     public void testGetAllNonPaidReservations() {
-        ResponseEntity<List> reservationResponse = client.getForEntity("/reservation/not-paid", List.class);
+        ResponseEntity<List> reservationResponse = statements.withinBudget(1, () -> client.getForEntity("/reservation/not-paid", List.class));
 
         assertEquals(HttpStatus.OK, reservationResponse.getStatusCode());
         assertEquals(1, reservationResponse.getBody().size());
@@ -156,4 +194,121 @@ public class ReservationIntegrationTests {
         assertEquals(response2.getBody(),  "reservation not in the system.");
     }
 
+    @Test
+    @Order(11)
+    public void testCreateBatchReservation() {
+        Room room = roomRepository.save(new Room("Conference", 200, BedType.Queen, 2));
+        for (int number = 9061; number <= 9063; number++) {
+            specificRoomRepository.save(new SpecificRoom(number, ViewType.Forest, "des", true, room));
+        }
+        Map<String, Integer> rooms = new HashMap<>();
+        rooms.put("Conference", 2);
+
+        ResponseEntity<BatchReservationResponseDto> response = client.postForEntity("/reservation/batch", new BatchReservationRequestDto(4, LocalDate.of(2023,9,1), LocalDate.of(2023,9,4), EMAIL, rooms), BatchReservationResponseDto.class);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(2, response.getBody().getRooms().size());
+        assertEquals(2 * 200 * 3, response.getBody().getReservation().getTotalPrice());
+        assertEquals(2, reservedRoomRepository.findReservedRoomsByReservation_ReservationID(response.getBody().getReservation().getReservationId()).size());
+    }
+
+    @Test
+    @Order(12)
+    public void testCreateBatchReservationNotEnoughRooms() {
+        Map<String, Integer> rooms = new HashMap<>();
+        rooms.put("Conference", 2);
+        long reservations = reservationRepository.count();
+
+        //only one of the three rooms is still free for these dates
+        ResponseEntity<String> response = client.postForEntity("/reservation/batch", new BatchReservationRequestDto(4, LocalDate.of(2023,9,2), LocalDate.of(2023,9,3), EMAIL, rooms), String.class);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("not enough Conference rooms available", response.getBody());
+        assertEquals(reservations, reservationRepository.count());
+    }
+
+    @Test
+    @Order(13)
+    public void testGetReservationsPaged() {
+        client.postForEntity("/reservation/new", new ReservationRequestDto(2,LocalDate.of(2023,10,1),LocalDate.of(2023,10,4), EMAIL), ReservationResponseDto.class);
+        client.postForEntity("/reservation/new", new ReservationRequestDto(2,LocalDate.of(2023,11,1),LocalDate.of(2023,11,4), EMAIL), ReservationResponseDto.class);
+        long total = reservationRepository.count();
+
+        ResponseEntity<ReservationResponseDto[]> first = client.getForEntity("/reservation?size=2", ReservationResponseDto[].class);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(2, first.getBody().length);
+        assertEquals(String.valueOf(total > 2), first.getHeaders().getFirst("X-Has-Next"));
+        assertTrue(first.getBody()[0].getReservationId() < first.getBody()[1].getReservationId());
+
+        int last = first.getBody()[1].getReservationId();
+        ResponseEntity<ReservationResponseDto[]> next = client.getForEntity("/reservation?after=" + last + "&size=2", ReservationResponseDto[].class);
+        assertEquals(HttpStatus.OK, next.getStatusCode());
+        assertEquals(Math.min(2, total - 2), next.getBody().length);
+        for (ReservationResponseDto reservation : next.getBody()) {
+            assertTrue(reservation.getReservationId() > last);
+        }
+
+        ResponseEntity<String> invalid = client.getForEntity("/reservation?size=0", String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, invalid.getStatusCode());
+    }
+
+    @Test
+    @Order(14)
+    public void testExportReservations() throws Exception {
+        ResponseEntity<String> response = statements.withinBudget(1, () -> client.getForEntity("/reservation/export", String.class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        String[] lines = response.getBody().split("\n");
+        assertEquals(reservationRepository.count(), lines.length);
+        int previousId = 0;
+        for (String line : lines) {
+            JsonNode reservation = objectMapper.readTree(line);
+            assertTrue(reservation.get("reservationId").asInt() > previousId);
+            assertFalse(reservation.has("customer"));
+            previousId = reservation.get("reservationId").asInt();
+        }
+        assertEquals(EMAIL, objectMapper.readTree(lines[lines.length - 1]).get("customerEmail").asText());
+    }
+
+    @Test
+    @Order(15)
+    public void testExportReservedRooms() throws Exception {
+        ResponseEntity<String> response = statements.withinBudget(1, () -> client.getForEntity("/reservedRoom/export", String.class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<JsonNode> batchRooms = new ArrayList<>();
+        for (String line : response.getBody().split("\n")) {
+            JsonNode reservedRoom = objectMapper.readTree(line);
+            int number = reservedRoom.get("roomNumber").asInt();
+            if (number >= 9061 && number <= 9063) {
+                batchRooms.add(reservedRoom);
+            }
+        }
+        //the two Conference rooms of the batch reservation
+        assertEquals(2, batchRooms.size());
+        for (JsonNode reservedRoom : batchRooms) {
+            assertEquals(EMAIL, reservedRoom.get("customerEmail").asText());
+            assertEquals("2023-09-01", reservedRoom.get("checkin").asText());
+            assertEquals("2023-09-04", reservedRoom.get("checkOut").asText());
+            assertFalse(reservedRoom.has("reservation"));
+        }
+    }
+
+    @Test
+    @Order(16)
+    public void testListPayloadIsFlat() throws Exception {
+        ResponseEntity<String> response = client.getForEntity("/reservation/customer/" + EMAIL, String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode reservations = objectMapper.readTree(response.getBody());
+        assertTrue(reservations.size() > 0);
+        for (JsonNode reservation : reservations) {
+            assertEquals(EMAIL, reservation.get("customerEmail").asText());
+            assertEquals("john", reservation.get("customerName").asText());
+            assertFalse(reservation.has("customer"));
+        }
+        //no account, and so no password, is sent along with the customer
+        assertFalse(response.getBody().contains("password"));
+    }
 }
@@ -0,0 +1,131 @@
+package ca.mcgill.ecse321.hotelsystem.integration;
+
+import ca.mcgill.ecse321.hotelsystem.Model.*;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservedRoomRequestDto;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservationRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Many clients booking the same specific room at the same time, the room must never end up with two
+ * reservations that share a night.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReservedRoomConcurrencyIntegrationTests {
+
+    private static final int ROOM_NUMBER = 9051;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ReservedRoomRepository reservedRoomRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private TestRestTemplate client;
+
+    private final List<Integer> reservationIds = new ArrayList<>();
+
+    @BeforeAll
+    public void createRoom() {
+        fixtures.createRooms("Concurrency", 100, List.of(ROOM_NUMBER));
+    }
+
+    @AfterEach
+    public void clearBookings() {
+        fixtures.clearBookings(List.of(ROOM_NUMBER), reservationIds);
+    }
+
+    @AfterAll
+    public void clearDatabase() {
+        fixtures.deleteRooms("Concurrency", List.of(ROOM_NUMBER));
+    }
+
+    @Test
+    public void testSameStayBookedOnce() throws Exception {
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            reservations.add(reservationRepository.save(new Reservation(2, checkIn, checkIn.plusDays(3), 0, false, CheckInStatus.BeforeCheckIn, null)));
+        }
+
+        List<HttpStatus> statuses = bookConcurrently(reservations);
+
+        assertEquals(1, statuses.stream().filter(status -> status == HttpStatus.OK).count());
+        assertEquals(1, reservedRoomRepository.findReservedRoomsBySpecificRoom_Number(ROOM_NUMBER).size());
+        assertNoOverlap();
+    }
+
+    @Test
+    public void testStaggeredStaysNeverOverlap() throws Exception {
+        LocalDate start = LocalDate.now().plusDays(30);
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            //each stay overlaps the two before it and the two after it
+            reservations.add(reservationRepository.save(new Reservation(2, start.plusDays(i), start.plusDays(i + 3), 0, false, CheckInStatus.BeforeCheckIn, null)));
+        }
+
+        List<HttpStatus> statuses = bookConcurrently(reservations);
+
+        long booked = statuses.stream().filter(status -> status == HttpStatus.OK).count();
+        assertTrue(booked >= 1);
+        assertEquals(booked, reservedRoomRepository.findReservedRoomsBySpecificRoom_Number(ROOM_NUMBER).size());
+        assertNoOverlap();
+    }
+
+    private List<HttpStatus> bookConcurrently(List<Reservation> reservations) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(reservations.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<HttpStatus>> futures = new ArrayList<>();
+        for (Reservation reservation : reservations) {
+            reservationIds.add(reservation.getReservationID());
+            ReservedRoomRequestDto request = new ReservedRoomRequestDto(reservation.getReservationID(), ROOM_NUMBER);
+            futures.add(executor.submit(() -> {
+                start.await();
+                return HttpStatus.valueOf(client.postForEntity("/reservedRoom/new", request, String.class).getStatusCode().value());
+            }));
+        }
+        start.countDown();
+        List<HttpStatus> statuses = new ArrayList<>();
+        for (Future<HttpStatus> future : futures) {
+            statuses.add(future.get());
+        }
+        executor.shutdown();
+        return statuses;
+    }
+
+    private void assertNoOverlap() {
+        List<ReservedRoom> booked = reservedRoomRepository.findReservedRoomsBySpecificRoom_Number(ROOM_NUMBER);
+        for (int i = 0; i < booked.size(); i++) {
+            for (int j = i + 1; j < booked.size(); j++) {
+                Reservation a = booked.get(i).getReservation();
+                Reservation b = booked.get(j).getReservation();
+                assertFalse(a.getCheckIn().isBefore(b.getCheckOut()) && b.getCheckIn().isBefore(a.getCheckOut()),
+                        "reservations " + a.getReservationID() + " and " + b.getReservationID() + " share a night");
+            }
+        }
+    }
+}
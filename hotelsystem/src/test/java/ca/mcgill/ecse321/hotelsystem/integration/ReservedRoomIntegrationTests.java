@@ -11,8 +11,10 @@ import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.SpecificRoomRepository;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +27,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class ReservedRoomIntegrationTests {
@@ -41,6 +45,9 @@ public class ReservedRoomIntegrationTests {
     @Autowired
     private TestRestTemplate client;
 
+    @Autowired
+    private SqlStatementCounter statements;
+
     private int reservedRoom_id;
     private int resId;
     private int specRoomId;
@@ -67,8 +74,9 @@ public class ReservedRoomIntegrationTests {
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().getReservedId() > 0);
-        assertEquals(reservation.getReservationID(), response.getBody().getReservation().getReservationID());
-        assertEquals(specRoom.getNumber(), response.getBody().getRoom().getNumber());
+        assertEquals(reservation.getReservationID(), response.getBody().getReservationId());
+        assertEquals(specRoom.getNumber(), response.getBody().getRoomNumber());
+        assertEquals(checkInDate, response.getBody().getCheckin());
 
         reservedRoom_id = response.getBody().getReservedId();
         resId = reservation.getReservationID();
@@ -88,7 +96,7 @@ public class ReservedRoomIntegrationTests {
     @Test
     @Order(2)
     public void testGetAllReservedRooms() {
-        ResponseEntity<List> response = client.getForEntity("/reservedRoom", List.class);
+        ResponseEntity<List> response = statements.withinBudget(1, () -> client.getForEntity("/reservedRoom", List.class));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
@@ -119,7 +127,7 @@ public class ReservedRoomIntegrationTests {
     @Test
     @Order(5)
     public void testGetReservedRoomsByReservationId() {
-        ResponseEntity<List> response = client.getForEntity("/reservedRoom/reservation/"+resId, List.class);
+        ResponseEntity<List> response = statements.withinBudget(1, () -> client.getForEntity("/reservedRoom/reservation/"+resId, List.class));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
@@ -131,7 +139,7 @@ public class ReservedRoomIntegrationTests {
     @Test
     @Order(6)
     public void testGetReservedRoomsBySpecificRoomNumber() {
-        ResponseEntity<List> response = client.getForEntity("/reservedRoom/specificRoom/"+specRoomId, List.class);
+        ResponseEntity<List> response = statements.withinBudget(2, () -> client.getForEntity("/reservedRoom/specificRoom/"+specRoomId, List.class));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
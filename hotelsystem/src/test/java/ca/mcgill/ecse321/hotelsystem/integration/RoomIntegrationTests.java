@@ -1,12 +1,15 @@
 package ca.mcgill.ecse321.hotelsystem.integration;
 
 import ca.mcgill.ecse321.hotelsystem.Model.BedType;
+import ca.mcgill.ecse321.hotelsystem.Model.Room;
 import ca.mcgill.ecse321.hotelsystem.dto.*;
 import ca.mcgill.ecse321.hotelsystem.repository.RoomRepository;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -18,6 +21,8 @@ import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class RoomIntegrationTests {
@@ -89,6 +94,19 @@ public class RoomIntegrationTests {
         assertEquals(roomRequestDto2.getCapacity(), rooms.get(0).get("capacity"));
     }
 
+    @Test
+    @Order(5)
+    public void testRepositoryUpdateEvictsCachedRoom(){
+        assertEquals(950, client.getForEntity("/room/Suite", RoomResponseDto.class).getBody().getRate());
+        // straight through the repository, the catalog cache still forgets the room once it is flushed
+        Room room = roomRepository.findRoomByType("Suite");
+        room.setRate(900);
+        roomRepository.save(room);
+        assertEquals(900, client.getForEntity("/room/Suite", RoomResponseDto.class).getBody().getRate());
+        room.setRate(950);
+        roomRepository.save(room);
+    }
+
 
     private boolean equals(RoomResponseDto roomResponseDto, RoomRequestDto roomRequestDto){
         return roomResponseDto.getType().equals(roomRequestDto.getType()) && roomResponseDto.getRate() == roomRequestDto.getRate() && roomResponseDto.getBedType().equals(roomRequestDto.getBedType()) && roomResponseDto.getCapacity() == roomRequestDto.getCapacity();
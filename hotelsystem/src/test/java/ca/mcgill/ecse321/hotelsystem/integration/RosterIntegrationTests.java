@@ -0,0 +1,134 @@
+package ca.mcgill.ecse321.hotelsystem.integration;
+
+import ca.mcgill.ecse321.hotelsystem.Model.Employee;
+import ca.mcgill.ecse321.hotelsystem.dto.AvailabilityRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.CoverageRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.RosterRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.RosterResponseDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftResponseDto;
+import ca.mcgill.ecse321.hotelsystem.repository.ShiftRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RosterIntegrationTests: a generated roster covers every slot it can without overlapping shifts or going over the
+ * maximum hours, and is saved
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RosterIntegrationTests {
+
+    private static final LocalDate MONDAY = LocalDate.of(2031, 3, 3);
+    private static final int EMPLOYEES = 12;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private TestRestTemplate client;
+
+    private List<String> emails;
+
+    @BeforeAll
+    public void createEmployees() {
+        emails = fixtures.createEmployees("roster", EMPLOYEES).stream().map(Employee::getEmail).toList();
+    }
+
+    @AfterEach
+    public void clearShifts() {
+        fixtures.clearShifts(MONDAY, MONDAY.plusDays(6));
+    }
+
+    @AfterAll
+    public void clearDatabase() {
+        fixtures.deleteEmployees(emails);
+    }
+
+    @Test
+    public void testGenerateRoster() {
+        RosterRequestDto request = request();
+
+        ResponseEntity<RosterResponseDto> response = client.postForEntity("/shift/roster", request, RosterResponseDto.class);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        List<ShiftResponseDto> shifts = response.getBody().getShifts();
+        // 7 days of 2 + 2 + 1 employees, 35 shifts of 8 hours for 12 employees of at most 24 hours
+        assertEquals(35, shifts.size());
+        assertTrue(response.getBody().getUncovered().isEmpty());
+        assertEquals(35, shiftRepository.findShiftsByDateBetween(MONDAY, MONDAY.plusDays(6)).size());
+        Map<String, Integer> hours = new HashMap<>();
+        for (ShiftResponseDto shift : shifts) {
+            assertTrue(shift.getShiftId() > 0);
+            hours.merge(shift.getEmployeeEmail(), 8, Integer::sum);
+            for (ShiftResponseDto other : shifts) {
+                assertFalse(other != shift && other.getEmployeeEmail().equals(shift.getEmployeeEmail()) && other.getDate().equals(shift.getDate())
+                        && other.getStartTime().before(shift.getEndTime()) && shift.getStartTime().before(other.getEndTime()));
+            }
+        }
+        assertTrue(hours.values().stream().allMatch(h -> h <= 24));
+
+        ResponseEntity<RosterResponseDto> again = client.postForEntity("/shift/roster", request, RosterResponseDto.class);
+
+        assertEquals(HttpStatus.CREATED, again.getStatusCode());
+        assertTrue(again.getBody().getShifts().isEmpty());
+        assertEquals(35, shiftRepository.findShiftsByDateBetween(MONDAY, MONDAY.plusDays(6)).size());
+    }
+
+    @Test
+    public void testGenerateRosterShortStaffed() {
+        RosterRequestDto request = request();
+        request.setEmployees(request.getEmployees().subList(0, 3));
+
+        ResponseEntity<RosterResponseDto> response = client.postForEntity("/shift/roster", request, RosterResponseDto.class);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(9, response.getBody().getShifts().size());
+        assertEquals(26, response.getBody().getUncovered().stream().mapToInt(CoverageRequestDto::getStaff).sum());
+    }
+
+    @Test
+    public void testGenerateRosterInvalid() {
+        RosterRequestDto request = request();
+        request.getCoverage().get(0).setEndTime(Time.valueOf("05:00:00"));
+
+        ResponseEntity<String> response = client.postForEntity("/shift/roster", request, String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(shiftRepository.findShiftsByDateBetween(MONDAY, MONDAY.plusDays(6)).isEmpty());
+    }
+
+    private RosterRequestDto request() {
+        List<CoverageRequestDto> coverage = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            LocalDate date = MONDAY.plusDays(day);
+            coverage.add(new CoverageRequestDto(date, Time.valueOf("06:00:00"), Time.valueOf("14:00:00"), 2));
+            coverage.add(new CoverageRequestDto(date, Time.valueOf("14:00:00"), Time.valueOf("22:00:00"), 2));
+            coverage.add(new CoverageRequestDto(date, Time.valueOf("10:00:00"), Time.valueOf("18:00:00"), 1));
+        }
+        List<AvailabilityRequestDto> employees = new ArrayList<>();
+        for (String email : emails) {
+            employees.add(new AvailabilityRequestDto(email, 24, new ArrayList<>()));
+        }
+        return new RosterRequestDto(MONDAY, coverage, employees);
+    }
+}
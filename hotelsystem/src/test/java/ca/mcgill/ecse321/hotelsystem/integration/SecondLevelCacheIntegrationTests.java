@@ -0,0 +1,163 @@
+package ca.mcgill.ecse321.hotelsystem.integration;
+
+import ca.mcgill.ecse321.hotelsystem.Model.*;
+import ca.mcgill.ecse321.hotelsystem.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SecondLevelCacheIntegrationTests: counts the SQL statements of a request once with the second-level cache emptied
+ * and once with it warm
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SecondLevelCacheIntegrationTests {
+
+    private static final int FIRST_NUMBER = 7000;
+    private static final int EMPLOYEES = 3;
+
+    @Autowired
+    private TestRestTemplate client;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private SpecificRoomRepository specificRoomRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private final List<Integer> numbers = new ArrayList<>();
+    private final List<Shift> shifts = new ArrayList<>();
+    private final List<Employee> employees = new ArrayList<>();
+
+    @BeforeAll
+    public void setupCatalog() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        Room room = roomRepository.findRoomByType("Suite");
+        if (room == null) {
+            room = roomRepository.save(new Room("Suite", 1400, BedType.King, 4));
+        }
+        for (int i = 0; i < 5; i++) {
+            specificRoomRepository.save(new SpecificRoom(FIRST_NUMBER + i, ViewType.Forest, "cached room", true, room));
+            numbers.add(FIRST_NUMBER + i);
+        }
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Account account = accountRepository.save(new Account("password", "Cache Street", LocalDate.of(1990, 1, 1)));
+            Employee employee = employeeRepository.save(new Employee("cached" + i + "@email.com", "cached " + i, 1000, account));
+            employees.add(employee);
+            shifts.add(shiftRepository.save(new Shift(Time.valueOf("07:30:00"), Time.valueOf("09:30:00"), LocalDate.of(2001, 1, 1 + i), employee)));
+        }
+    }
+
+    @AfterAll
+    public void clearCatalog() {
+        shiftRepository.deleteAll(shifts);
+        for (Employee employee : employees) {
+            employeeRepository.delete(employee);
+            accountRepository.delete(employee.getAccount());
+        }
+        specificRoomRepository.deleteAllById(numbers);
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @Order(0)
+    public void testSpecificRoomsByTypeFromQueryCache() {
+        long cold = coldStatements("/specificRoom/type/Suite");
+        long warm = statements("/specificRoom/type/Suite");
+        assertTrue(cold >= 1, "cold: " + cold);
+        assertEquals(0, warm);
+    }
+
+    @Test
+    @Order(1)
+    public void testSpecificRoomsByViewFromQueryCache() {
+        long cold = coldStatements("/specificRoom/view/Forest");
+        long warm = statements("/specificRoom/view/Forest");
+        assertTrue(cold >= 1, "cold: " + cold);
+        assertEquals(0, warm);
+    }
+
+    @Test
+    @Order(2)
+    public void testSpecificRoomsOpenForUseFromQueryCache() {
+        long cold = coldStatements("/specificRoom/openForUse");
+        long warm = statements("/specificRoom/openForUse");
+        assertTrue(cold >= 1, "cold: " + cold);
+        assertEquals(0, warm);
+    }
+
+    @Test
+    @Order(3)
+    public void testShiftEmployeesFromEntityCache() {
+        // one query for the shifts, then one select per employee, with its account joined, until the employees are
+        // cached; the accounts hold the password and are never cached, a warm request still reads each of them
+        long cold = coldStatements("/shifts/");
+        long warm = statements("/shifts/");
+        assertTrue(cold >= 1 + EMPLOYEES, "cold: " + cold);
+        assertEquals(1 + EMPLOYEES, warm);
+    }
+
+    @Test
+    @Order(4)
+    public void testQueryCacheDroppedOnUpdate() {
+        statements("/specificRoom/view/Forest");
+        SpecificRoom specificRoom = specificRoomRepository.findSpecificRoomByNumber(FIRST_NUMBER);
+        specificRoom.setView(ViewType.Village);
+        specificRoomRepository.save(specificRoom);
+
+        // the update invalidates the cached result, the next request reads the table again and no longer sees the room
+        statistics.clear();
+        ResponseEntity<String> response = client.getForEntity("/specificRoom/view/Forest", String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(statistics.getPrepareStatementCount() >= 1);
+        assertFalse(response.getBody().contains("\"number\":" + FIRST_NUMBER));
+    }
+
+    private long coldStatements(String path) {
+        sessionFactory.getCache().evictAllRegions();
+        return statements(path);
+    }
+
+    private long statements(String path) {
+        statistics.clear();
+        ResponseEntity<String> response = client.getForEntity(path, String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,111 @@
+package ca.mcgill.ecse321.hotelsystem.integration;
+
+import ca.mcgill.ecse321.hotelsystem.Model.Employee;
+import ca.mcgill.ecse321.hotelsystem.Model.Shift;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftGridDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftGridRowDto;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ShiftGridIntegrationTests: a week or month view of the shifts is one query, grouped by employee and day
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ShiftGridIntegrationTests {
+
+    private static final LocalDate MONDAY = LocalDate.of(2033, 5, 2);
+    private static final int EMPLOYEES = 5;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private SqlStatementCounter statements;
+
+    @Autowired
+    private TestRestTemplate client;
+
+    private List<String> emails;
+
+    @BeforeAll
+    public void createShifts() {
+        List<Employee> employees = fixtures.createEmployees("grid", EMPLOYEES);
+        emails = employees.stream().map(Employee::getEmail).toList();
+        List<Shift> shifts = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = employees.get(i);
+            // employee i works every day of the week but day i, and the first day of the next week
+            for (int day = 0; day <= 7; day++) {
+                if (day != i) {
+                    shifts.add(new Shift(Time.valueOf("08:00:00"), Time.valueOf("16:00:00"), MONDAY.plusDays(day), employee));
+                }
+            }
+        }
+        shifts.add(new Shift(Time.valueOf("16:00:00"), Time.valueOf("23:00:00"), MONDAY, null));
+        fixtures.saveShifts(shifts);
+    }
+
+    @AfterAll
+    public void clearDatabase() {
+        fixtures.clearShifts(MONDAY, MONDAY.plusDays(7));
+        fixtures.deleteEmployees(emails);
+    }
+
+    @Test
+    public void testGetWeek() {
+        ResponseEntity<ShiftGridDto> response = statements.withinBudget(1,
+                () -> client.getForEntity("/shifts/range?from=" + MONDAY + "&to=" + MONDAY.plusDays(6), ShiftGridDto.class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ShiftGridDto grid = response.getBody();
+        assertEquals(EMPLOYEES + 1, grid.getEmployees().size());
+        for (int i = 0; i < EMPLOYEES; i++) {
+            ShiftGridRowDto row = grid.getEmployees().get(i);
+            assertEquals(emails.get(i), row.getEmployeeEmail());
+            assertEquals(7, row.getDays().size());
+            for (int day = 0; day < 7; day++) {
+                assertEquals(day == i ? 0 : 1, row.getDays().get(day).size());
+            }
+        }
+        ShiftGridRowDto unassigned = grid.getEmployees().get(EMPLOYEES);
+        assertNull(unassigned.getEmployeeEmail());
+        assertEquals(Time.valueOf("16:00:00"), unassigned.getDays().get(0).get(0).getStartTime());
+    }
+
+    @Test
+    public void testGetWeekOfEmployee() {
+        ResponseEntity<ShiftGridDto> response = statements.withinBudget(1,
+                () -> client.getForEntity("/shifts/range?from=" + MONDAY.plusDays(1) + "&to=" + MONDAY.plusDays(7) + "&employeeEmail=" + emails.get(2), ShiftGridDto.class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ShiftGridDto grid = response.getBody();
+        assertEquals(1, grid.getEmployees().size());
+        List<List<?>> days = new ArrayList<>(grid.getEmployees().get(0).getDays());
+        assertEquals(7, days.size());
+        assertEquals(0, days.get(1).size());
+        assertEquals(1, days.get(6).size());
+    }
+
+    @Test
+    public void testGetInvalidRange() {
+        ResponseEntity<String> response = client.getForEntity("/shifts/range?from=" + MONDAY + "&to=" + MONDAY.minusDays(1), String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
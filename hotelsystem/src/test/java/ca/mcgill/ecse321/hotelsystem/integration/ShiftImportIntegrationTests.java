@@ -0,0 +1,132 @@
+package ca.mcgill.ecse321.hotelsystem.integration;
+
+import ca.mcgill.ecse321.hotelsystem.Model.Employee;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftImportResponseDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftResponseDto;
+import ca.mcgill.ecse321.hotelsystem.repository.ShiftRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ShiftImportIntegrationTests: a CSV or JSON import larger than a chunk saves every valid row, checks each row against
+ * the saved shifts and the earlier rows, and reports the others by row
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ShiftImportIntegrationTests {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2032, 1, 1);
+    private static final int EMPLOYEES = 20;
+    private static final int DAYS = 30;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private TestRestTemplate client;
+
+    private List<String> emails;
+
+    @BeforeAll
+    public void createEmployees() {
+        emails = fixtures.createEmployees("import", EMPLOYEES).stream().map(Employee::getEmail).toList();
+    }
+
+    @AfterEach
+    public void clearShifts() {
+        fixtures.clearShifts(FIRST_DAY, FIRST_DAY.plusDays(DAYS));
+    }
+
+    @AfterAll
+    public void clearDatabase() {
+        fixtures.deleteEmployees(emails);
+    }
+
+    @Test
+    public void testImportCsv() {
+        // a month of two shifts a day for every employee, 1200 rows, then a repeated row and an unknown employee
+        StringBuilder csv = new StringBuilder("date,startTime,endTime,employeeEmail\n");
+        for (int day = 0; day < DAYS; day++) {
+            for (String email : emails) {
+                csv.append(FIRST_DAY.plusDays(day)).append(",07:00,11:00,").append(email).append('\n');
+                csv.append(FIRST_DAY.plusDays(day)).append(",12:00,16:00,").append(email).append('\n');
+            }
+        }
+        csv.append(FIRST_DAY).append(",10:00,13:00,").append(emails.get(0)).append('\n');
+        csv.append(FIRST_DAY).append(",10:00,13:00,nobody@hotel.com\n");
+
+        ResponseEntity<ShiftImportResponseDto> response = post(csv.toString(), MediaType.parseMediaType("text/csv"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(DAYS * EMPLOYEES * 2, response.getBody().getImported());
+        assertEquals(2, response.getBody().getRejected());
+        assertEquals(DAYS * EMPLOYEES * 2 + 2, response.getBody().getErrors().get(0).getRow());
+        assertEquals("The employee has an overlapping shift on this date.", response.getBody().getErrors().get(0).getMessage());
+        assertEquals("Employee does not exist.", response.getBody().getErrors().get(1).getMessage());
+        assertEquals(DAYS * 2, shiftRepository.findShiftsByEmployeeEmailInAndDateBetween(List.of(emails.get(3)), FIRST_DAY, FIRST_DAY.plusDays(DAYS)).size());
+
+        // the imported shifts are known to the checks of single shifts too
+        ShiftRequestDto overlapping = new ShiftRequestDto(Time.valueOf("15:00:00"), Time.valueOf("17:00:00"), FIRST_DAY.plusDays(3));
+        overlapping.setEmployeeEmail(emails.get(3));
+        assertEquals(HttpStatus.CONFLICT, client.postForEntity("/shift/create", overlapping, String.class).getStatusCode());
+        ShiftRequestDto evening = new ShiftRequestDto(Time.valueOf("17:00:00"), Time.valueOf("19:00:00"), FIRST_DAY.plusDays(3));
+        evening.setEmployeeEmail(emails.get(3));
+        assertEquals(HttpStatus.CREATED, client.postForEntity("/shift/create", evening, ShiftResponseDto.class).getStatusCode());
+    }
+
+    @Test
+    public void testImportJson() {
+        String json = "[{\"date\":\"" + FIRST_DAY + "\",\"startTime\":\"08:00\",\"endTime\":\"12:00\",\"employeeEmail\":\"" + emails.get(0) + "\"}," +
+                "{\"date\":\"" + FIRST_DAY + "\",\"startTime\":\"08:00\",\"endTime\":\"10:00\",\"employeeEmail\":\"" + emails.get(0) + "\"}," +
+                "{\"date\":\"" + FIRST_DAY + "\",\"startTime\":\"14:00\",\"endTime\":\"12:00\",\"employeeEmail\":\"" + emails.get(1) + "\"}," +
+                "{\"date\":\"" + FIRST_DAY + "\",\"startTime\":\"08:00\",\"endTime\":\"12:00\",\"employeeEmail\":\"" + emails.get(1) + "\"}]";
+
+        ResponseEntity<ShiftImportResponseDto> response = post(json, MediaType.APPLICATION_JSON);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().getImported());
+        assertEquals(2, response.getBody().getRejected());
+        assertEquals(2, response.getBody().getErrors().get(0).getRow());
+        assertEquals("A shift with this start date, start time, and employee already exists.", response.getBody().getErrors().get(0).getMessage());
+        assertEquals(3, response.getBody().getErrors().get(1).getRow());
+        assertEquals("Invalid start/end times.", response.getBody().getErrors().get(1).getMessage());
+    }
+
+    @Test
+    public void testImportInvalidFile() {
+        assertEquals(HttpStatus.BAD_REQUEST, post("{\"date\":\"" + FIRST_DAY + "\"}", MediaType.APPLICATION_JSON, String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, post("when,from,to,who\n", MediaType.parseMediaType("text/csv"), String.class).getStatusCode());
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, post("date", MediaType.TEXT_PLAIN, String.class).getStatusCode());
+    }
+
+    private ResponseEntity<ShiftImportResponseDto> post(String body, MediaType contentType) {
+        return post(body, contentType, ShiftImportResponseDto.class);
+    }
+
+    private <T> ResponseEntity<T> post(String body, MediaType contentType, Class<T> responseType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        return client.postForEntity("/shift/import", new HttpEntity<>(body, headers), responseType);
+    }
+}
@@ -6,10 +6,13 @@ import ca.mcgill.ecse321.hotelsystem.dto.ShiftRequestDto;
 import ca.mcgill.ecse321.hotelsystem.dto.ShiftResponseDto;
 import ca.mcgill.ecse321.hotelsystem.repository.EmployeeRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.ShiftRepository;
+import ca.mcgill.ecse321.hotelsystem.service.ShiftIntervalIndex;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -23,6 +26,8 @@ import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 
@@ -102,12 +107,18 @@ public class ShiftIntegrationTests {
 
       @Autowired
       private TestRestTemplate client;
+
+      @Autowired
+      private SqlStatementCounter statements;
       @Autowired
       private ShiftRepository shiftRepository;
 
       @Autowired
       private EmployeeRepository employeeRepository;
 
+      @Autowired
+      private ShiftIntervalIndex shiftIntervalIndex;
+
       /**
        * initializes our setup
        */
@@ -123,6 +134,7 @@ public class ShiftIntegrationTests {
       public void clearDatabase() {
             shiftRepository.deleteAll();
             employeeRepository.deleteAll();
+            shiftIntervalIndex.rebuild();
       }
 
       /**
@@ -270,7 +282,7 @@ public class ShiftIntegrationTests {
       @Test
       @Order(9)
       public void testGetValidShiftsByEmployeeEmail() {
-            ResponseEntity<List> response = client.getForEntity("/shifts/get/"+shiftSet.getEmployeeEmail(), List.class);
+            ResponseEntity<List> response = statements.withinBudget(2, () -> client.getForEntity("/shifts/get/"+shiftSet.getEmployeeEmail(), List.class));
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertEquals(1, response.getBody().size()); // this is returning 0
             List<Map<String,Object>> shift = response.getBody();
@@ -297,7 +309,7 @@ public class ShiftIntegrationTests {
       @Test
       @Order(11)
       public void testGetValidShiftsByDate() {
-            ResponseEntity<List> response = client.getForEntity("/shifts/date/get/" + shiftSet.getDate(), List.class);
+            ResponseEntity<List> response = statements.withinBudget(2, () -> client.getForEntity("/shifts/date/get/" + shiftSet.getDate(), List.class));
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertEquals(1, response.getBody().size());
             List<Map<String,Object>> shift = response.getBody();
@@ -348,7 +360,7 @@ public class ShiftIntegrationTests {
       @Test
       @Order(15)
       public void testGetAllShifts() {
-            ResponseEntity<List> response = client.getForEntity("/shifts/", List.class);
+            ResponseEntity<List> response = statements.withinBudget(2, () -> client.getForEntity("/shifts/", List.class));
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertEquals(response.getBody().size(), 1);
             List<Map<String, Object>> shifts = response.getBody();
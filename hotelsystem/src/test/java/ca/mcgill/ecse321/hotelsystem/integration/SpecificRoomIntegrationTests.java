@@ -3,6 +3,7 @@ package ca.mcgill.ecse321.hotelsystem.integration;
 
 import ca.mcgill.ecse321.hotelsystem.Model.BedType;
 import ca.mcgill.ecse321.hotelsystem.Model.Room;
+import ca.mcgill.ecse321.hotelsystem.Model.SpecificRoom;
 import ca.mcgill.ecse321.hotelsystem.Model.ViewType;
 import ca.mcgill.ecse321.hotelsystem.dto.SpecificRoomRequestDto;
 import ca.mcgill.ecse321.hotelsystem.dto.SpecificRoomResponseDto;
@@ -10,8 +11,10 @@ import ca.mcgill.ecse321.hotelsystem.repository.RoomRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.SpecificRoomRepository;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -23,6 +26,8 @@ import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class SpecificRoomIntegrationTests {
@@ -159,6 +164,43 @@ public class SpecificRoomIntegrationTests {
         assertEquals(HttpStatus.OK, response.getStatusCode());
     }
 
+    @Test
+    @Order(8)
+    public void testDeletedSpecificRoomIsNotCached(){
+        ResponseEntity<String> response = client.getForEntity("/specificRoom/number/101", String.class);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    @Order(9)
+    public void testRepositoryUpdateEvictsCachedSpecificRoom(){
+        Room room = roomRepository.findRoomByType("Suite");
+        specificRoomRepository.save(new SpecificRoom(102, ViewType.Forest, "before", true, room));
+        assertEquals("before", client.getForEntity("/specificRoom/number/102", SpecificRoomResponseDto.class).getBody().getDescription());
+
+        ResponseEntity<List> before = client.getForEntity("/rooms/cache", List.class);
+        assertEquals("before", client.getForEntity("/specificRoom/number/102", SpecificRoomResponseDto.class).getBody().getDescription());
+        ResponseEntity<List> after = client.getForEntity("/rooms/cache", List.class);
+        assertEquals(hits(before) + 1, hits(after));
+
+        //written straight through the repository, the entity listener still evicts the cached room
+        SpecificRoom specificRoom = specificRoomRepository.findSpecificRoomByNumber(102);
+        specificRoom.setDescription("after");
+        specificRoomRepository.save(specificRoom);
+        assertEquals("after", client.getForEntity("/specificRoom/number/102", SpecificRoomResponseDto.class).getBody().getDescription());
+        specificRoomRepository.deleteById(102);
+    }
+
+    private long hits(ResponseEntity<List> stats) {
+        List<Map<String, Object>> caches = stats.getBody();
+        for (Map<String, Object> cache : caches) {
+            if ("specificRooms".equals(cache.get("name"))) {
+                return ((Number) cache.get("hits")).longValue();
+            }
+        }
+        throw new AssertionError("no specificRooms cache");
+    }
+
     public Boolean equals(SpecificRoomResponseDto specificRoomResponseDto, SpecificRoomRequestDto specificRoomRequestDto){
         return specificRoomResponseDto.getRoomType().equals(specificRoomRequestDto.getRoomType()) && specificRoomResponseDto.getDescription().equals(specificRoomRequestDto.getDescription()) && specificRoomResponseDto.getView().equals(specificRoomRequestDto.getView()) && specificRoomResponseDto.getNumber() == specificRoomRequestDto.getNumber();
     }
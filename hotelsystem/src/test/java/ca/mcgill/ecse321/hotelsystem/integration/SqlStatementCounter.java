@@ -0,0 +1,132 @@
+package ca.mcgill.ecse321.hotelsystem.integration;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * SqlStatementCounter: wraps the application DataSource and records every SQL statement executed through it, so an
+ * integration test can declare how many statements a request may issue. A test imports it with
+ * {@code @Import({SqlStatementCounter.class, IntegrationFixtures.class})}, every integration test class does so they all share one context
+ * (they also all keep the metrics registries with {@code @AutoConfigureObservability(tracing = false)}, for the same reason).
+ * Statements are counted on every thread, budgets only make sense for requests sent one after the other.
+ */
+@TestComponent
+public class SqlStatementCounter implements BeanPostProcessor {
+
+    private final AtomicInteger count = new AtomicInteger();
+    // the sql of the statements of the request under a budget, null when no budget is being checked
+    private volatile List<String> recorded;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+            return new CountingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    /**
+     * withinBudget: runs the request and fails the test if it issued more SQL statements than the budget
+     * @param budget largest number of statements allowed
+     * @param request the request, usually a TestRestTemplate call
+     * @return what the request returned
+     */
+    public <T> T withinBudget(int budget, Supplier<T> request) {
+        List<String> issued = Collections.synchronizedList(new ArrayList<>());
+        recorded = issued;
+        T response;
+        try {
+            response = request.get();
+        } finally {
+            recorded = null;
+        }
+        if (issued.size() > budget) {
+            fail("issued " + issued.size() + " SQL statements, the budget is " + budget + "\n" + describe(issued));
+        }
+        return response;
+    }
+
+    /**
+     * count: number of statements executed since the context started
+     * @return number of statements
+     */
+    public int count() {
+        return count.get();
+    }
+
+    // the same statement run once per row is the mark of an N+1 select, repeated statements come first
+    private static String describe(List<String> issued) {
+        Map<String, Long> counts = issued.stream().collect(Collectors.groupingBy(sql -> sql, LinkedHashMap::new, Collectors.counting()));
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .map(entry -> "  " + entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return countStatements(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return countStatements(super.getConnection(username, password));
+        }
+
+        private Connection countStatements(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof Statement statement) {
+                            // prepared statements carry their sql, plain ones get it with each execute call
+                            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                            return countExecutions(statement, sql);
+                        }
+                        return result;
+                    });
+        }
+
+        private Statement countExecutions(Statement statement, String sql) {
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute")) {
+                            count.incrementAndGet();
+                            List<String> issued = recorded;
+                            if (issued != null) {
+                                issued.add(args != null && args.length > 0 && args[0] instanceof String s ? s : sql);
+                            }
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
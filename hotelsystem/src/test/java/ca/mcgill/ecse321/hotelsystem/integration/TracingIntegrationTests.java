@@ -0,0 +1,97 @@
+package ca.mcgill.ecse321.hotelsystem.integration;
+
+import ca.mcgill.ecse321.hotelsystem.tracing.RequestTracer;
+import ca.mcgill.ecse321.hotelsystem.tracing.Span;
+import ca.mcgill.ecse321.hotelsystem.tracing.Trace;
+import ca.mcgill.ecse321.hotelsystem.tracing.TracingFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TracingIntegrationTests: the span tree of a request, from the controller down to the repository, and the
+ * collector of the finished traces
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@Import({SqlStatementCounter.class, IntegrationFixtures.class})
+public class TracingIntegrationTests {
+
+    @Autowired
+    private TestRestTemplate client;
+
+    @Autowired
+    private RequestTracer requestTracer;
+
+    @Test
+    public void testSpanTree() {
+        ResponseEntity<String> response = client.getForEntity("/reservation/" + Integer.MAX_VALUE, String.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        String traceId = response.getHeaders().getFirst(TracingFilter.TRACE_ID_HEADER);
+        assertNotNull(traceId);
+        Trace trace = awaitTrace(traceId);
+        assertEquals("GET /reservation/{reservationId}", trace.name());
+        assertEquals(404, trace.status());
+
+        Span controller = child(trace.root(), "ReservationController.getReservationById");
+        Span service = child(controller, "ReservationService.getReservation");
+        assertEquals("HRSException", service.getError());
+        Span repository = child(service, "ReservationRepository.findReservationByReservationID");
+        assertNull(repository.getError());
+        assertTrue(repository.getDuration() <= service.getDuration());
+        assertTrue(service.getDuration() <= trace.duration());
+
+        String tree = trace.tree();
+        assertTrue(tree.contains("\n") && tree.indexOf("ReservationService.getReservation") < tree.indexOf("ReservationRepository.findReservationByReservationID"), tree);
+    }
+
+    @Test
+    public void testCollector() {
+        String traceId = client.getForEntity("/rooms", String.class).getHeaders().getFirst(TracingFilter.TRACE_ID_HEADER);
+
+        awaitTrace(traceId);
+        ResponseEntity<List> traces = client.getForEntity("/traces", List.class);
+        assertEquals(HttpStatus.OK, traces.getStatusCode());
+        assertTrue(traces.getBody().stream().anyMatch(trace -> traceId.equals(((Map<?, ?>) trace).get("traceId"))));
+
+        ResponseEntity<Map> trace = client.getForEntity("/traces/" + traceId, Map.class);
+        assertEquals(HttpStatus.OK, trace.getStatusCode());
+        assertEquals("GET /rooms", trace.getBody().get("name"));
+        Map<?, ?> root = (Map<?, ?>) trace.getBody().get("root");
+        assertEquals("RoomController.getAllRooms", ((Map<?, ?>) ((List<?>) root.get("children")).get(0)).get("name"));
+
+        assertEquals(HttpStatus.NOT_FOUND, client.getForEntity("/traces/unknown", String.class).getStatusCode());
+    }
+
+    // the answer can reach the client before the filter has finished the trace
+    private Trace awaitTrace(String traceId) {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            var trace = requestTracer.getTrace(traceId);
+            if (trace.isPresent()) {
+                return trace.get();
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return fail("trace " + traceId + " was not finished");
+    }
+
+    private static Span child(Span parent, String name) {
+        return parent.getChildren().stream().filter(span -> span.getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError(name + " is not a child of " + parent.getName()));
+    }
+}
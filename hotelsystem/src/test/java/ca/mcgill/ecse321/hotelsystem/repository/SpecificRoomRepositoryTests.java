@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,8 +21,16 @@ public class SpecificRoomRepositoryTests {
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservedRoomRepository reservedRoomRepository;
+
     @AfterEach
     public void clearDatabase() {
+        reservedRoomRepository.deleteAll();
+        reservationRepository.deleteAll();
         repo.deleteAll();
         roomRepository.deleteAll();
     }
@@ -222,4 +231,44 @@ public class SpecificRoomRepositoryTests {
         assertNotEquals(temp.getView(), specificRoom.getView());
         assertNotEquals(temp.getOpenForUse(), specificRoom.getOpenForUse());
     }
+
+    //test availability of a type over a stay
+    @Test
+    public void testFindAvailableSpecificRoomsByType() {
+        Room room = new Room("double", 5, BedType.Double, 2);
+        room = roomRepository.save(room);
+
+        SpecificRoom bookedRoom = repo.save(new SpecificRoom(24, ViewType.Forest, "{[=p_-;", true, room));
+        SpecificRoom freeRoom = repo.save(new SpecificRoom(25, ViewType.Forest, "{[=p_-;", true, room));
+
+        Reservation res = new Reservation(2, LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 5), 0, false, CheckInStatus.BeforeCheckIn, null);
+        res = reservationRepository.save(res);
+        reservedRoomRepository.save(new ReservedRoom(res, bookedRoom));
+
+        List<SpecificRoom> overlapping = repo.findAvailableSpecificRoomsByType("double", LocalDate.of(2023, 12, 4), LocalDate.of(2023, 12, 8));
+        assertEquals(1, overlapping.size());
+        assertEquals(freeRoom.getNumber(), overlapping.get(0).getNumber());
+
+        List<SpecificRoom> adjacent = repo.findAvailableSpecificRoomsByType("double", LocalDate.of(2023, 12, 5), LocalDate.of(2023, 12, 8));
+        assertEquals(2, adjacent.size());
+    }
+
+    @Test
+    public void testFindAvailableSpecificRooms() {
+        Room single = roomRepository.save(new Room("single", 5, BedType.Double, 1));
+        Room suite = roomRepository.save(new Room("suite", 50, BedType.King, 4));
+
+        SpecificRoom bookedRoom = repo.save(new SpecificRoom(26, ViewType.Forest, "{[=p_-;", true, suite));
+        SpecificRoom freeSuite = repo.save(new SpecificRoom(27, ViewType.Forest, "{[=p_-;", true, suite));
+        SpecificRoom freeSingle = repo.save(new SpecificRoom(28, ViewType.Forest, "{[=p_-;", true, single));
+
+        Reservation res = new Reservation(2, LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 5), 0, false, CheckInStatus.BeforeCheckIn, null);
+        res = reservationRepository.save(res);
+        reservedRoomRepository.save(new ReservedRoom(res, bookedRoom));
+
+        List<SpecificRoom> available = repo.findAvailableSpecificRooms(LocalDate.of(2023, 12, 2), LocalDate.of(2023, 12, 3));
+        assertEquals(2, available.size());
+        assertEquals(freeSingle.getNumber(), available.get(0).getNumber());
+        assertEquals(freeSuite.getNumber(), available.get(1).getNumber());
+    }
 }
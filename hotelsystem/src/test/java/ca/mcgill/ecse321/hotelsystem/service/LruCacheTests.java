@@ -0,0 +1,72 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class LruCacheTests {
+
+    @Test
+    public void testReadThrough() {
+        LruCache<Integer, String> cache = new LruCache<>(10);
+        int[] loads = new int[1];
+
+        assertEquals("room 1", cache.get(1, key -> { loads[0]++; return "room " + key; }));
+        assertEquals("room 1", cache.get(1, key -> { loads[0]++; return "room " + key; }));
+
+        assertEquals(1, loads[0]);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testMissingValueIsNotCached() {
+        LruCache<Integer, String> cache = new LruCache<>(10);
+
+        assertNull(cache.get(1, key -> null));
+        assertEquals("room 1", cache.get(1, key -> "room " + key));
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        LruCache<Integer, String> cache = new LruCache<>(2);
+        cache.get(1, key -> "room 1");
+        cache.get(2, key -> "room 2");
+        cache.get(1, key -> "not loaded");
+        cache.get(3, key -> "room 3");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertEquals("room 1", cache.get(1, key -> "reloaded"));
+        assertEquals("reloaded", cache.get(2, key -> "reloaded"));
+    }
+
+    @Test
+    public void testInvalidate() {
+        LruCache<Integer, String> cache = new LruCache<>(10);
+        cache.get(1, key -> "old");
+        cache.get(2, key -> "old");
+        cache.invalidate(1);
+
+        assertEquals("new", cache.get(1, key -> "new"));
+        assertEquals("old", cache.get(2, key -> "new"));
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testValueLoadedDuringInvalidationIsNotCached() {
+        LruCache<Integer, String> cache = new LruCache<>(10);
+
+        //the row is changed while it is being read
+        assertEquals("old", cache.get(1, key -> {
+            cache.invalidate(key);
+            return "old";
+        }));
+        assertEquals(0, cache.size());
+        assertEquals("new", cache.get(1, key -> "new"));
+    }
+}
@@ -0,0 +1,77 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class OccupancyCalendarTests {
+
+    private static final long START = 64 * 300;
+
+    @Test
+    public void testAlignedStart() {
+        assertEquals(START, OccupancyCalendar.alignedStart(START));
+        assertEquals(START, OccupancyCalendar.alignedStart(START + 63));
+        assertEquals(START + 64, OccupancyCalendar.alignedStart(START + 64));
+    }
+
+    @Test
+    public void testMarkAcrossWords() {
+        OccupancyCalendar calendar = new OccupancyCalendar(START);
+        calendar.mark(101, START + 60, START + 130);
+
+        long[] words = calendar.words(101);
+        assertEquals(0xfL << 60, words[0]);
+        assertEquals(-1L, words[1]);
+        assertEquals(0x3L, words[2]);
+
+        assertFalse(calendar.isFree(101, START + 129, START + 131));
+        assertFalse(calendar.isFree(101, START, START + 61));
+        assertTrue(calendar.isFree(101, START, START + 60));
+        assertTrue(calendar.isFree(101, START + 130, START + 200));
+        assertTrue(calendar.isFree(102, START + 60, START + 130));
+    }
+
+    @Test
+    public void testMarkOutsideHorizon() {
+        OccupancyCalendar calendar = new OccupancyCalendar(START);
+        calendar.mark(101, START - 10, START + 2);
+        calendar.mark(101, START + OccupancyCalendar.NIGHTS - 1, START + OccupancyCalendar.NIGHTS + 5);
+
+        long[] words = calendar.words(101);
+        assertEquals(0x3L, words[0]);
+        assertEquals(1L << 63, words[OccupancyCalendar.WORDS - 1]);
+        assertFalse(calendar.covers(START - 1, START + 2));
+        assertFalse(calendar.covers(START, START + OccupancyCalendar.NIGHTS + 1));
+        assertTrue(calendar.covers(START, START + OccupancyCalendar.NIGHTS));
+    }
+
+    @Test
+    public void testClear() {
+        OccupancyCalendar calendar = new OccupancyCalendar(START);
+        calendar.mark(101, START, START + 5);
+        calendar.clear(101);
+
+        assertTrue(calendar.isFree(101, START, START + 5));
+    }
+
+    @Test
+    public void testReplace() {
+        OccupancyCalendar calendar = new OccupancyCalendar(START);
+        calendar.mark(101, START, START + 5);
+        calendar.mark(101, START + 10, START + 12);
+        long[] before = calendar.words(101);
+        OccupancyCalendar redrawn = new OccupancyCalendar(START);
+        redrawn.mark(101, START + 10, START + 12);
+
+        calendar.replace(101, redrawn);
+
+        assertTrue(calendar.isFree(101, START, START + 5));
+        assertFalse(calendar.isFree(101, START + 10, START + 11));
+        assertEquals(0x1fL | 0x3L << 10, before[0]);
+        calendar.replace(101, new OccupancyCalendar(START));
+        assertTrue(calendar.isFree(101, START, START + 12));
+    }
+}
@@ -1,19 +1,30 @@
 package ca.mcgill.ecse321.hotelsystem.service;
 
 import ca.mcgill.ecse321.hotelsystem.Model.*;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservationExportDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ReservationResponseDto;
 import ca.mcgill.ecse321.hotelsystem.exception.HRSException;
+import ca.mcgill.ecse321.hotelsystem.repository.FolioEntryRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.RequestRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.ReservationRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.SpecificRoomRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,6 +41,21 @@ public class ReservationServiceTests {
     @Mock
     private RequestRepository requestRepository;
 
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Mock
+    private SpecificRoomService specificRoomService;
+
+    @Mock
+    private SpecificRoomRepository specificRoomRepository;
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private FolioEntryRepository folioEntryRepository;
+
     @InjectMocks
     private ReservationService reservationService;
 
@@ -52,6 +78,49 @@ public class ReservationServiceTests {
         assertEquals(reservations.get(1), list.get(1));
     }
 
+    @Test
+    public void testGetReservationsPage() {
+        ReservationResponseDto res1 = new ReservationResponseDto(2, 4, LocalDate.of(1990,3,3), LocalDate.of(1990,3,6), 5, false, CheckInStatus.BeforeCheckIn, "john@email.com", "john");
+        Pageable pageable = PageRequest.of(1, 1, Sort.by("reservationID"));
+        when(reservationRepository.findResponsesBy(pageable)).thenReturn(new SliceImpl<>(List.of(res1), pageable, true));
+
+        Slice<ReservationResponseDto> page = reservationService.getReservations(null, 1, 1);
+        assertEquals(1, page.getContent().size());
+        assertEquals(res1, page.getContent().get(0));
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    public void testGetReservationsAfter() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("reservationID"));
+        when(reservationRepository.findResponsesByReservationIDGreaterThan(7, pageable)).thenReturn(new SliceImpl<>(new ArrayList<>(), pageable, false));
+
+        Slice<ReservationResponseDto> page = reservationService.getReservations(7, 3, 2);
+        assertTrue(page.getContent().isEmpty());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    public void testGetReservationsInvalidSize() {
+        HRSException e = assertThrows(HRSException.class, () -> reservationService.getReservations(null, 0, 0));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        assertEquals("Page size must be between 1 and 1000.", e.getMessage());
+    }
+
+    @Test
+    public void testExportReservations() {
+        List<ReservationExportDto> reservations = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            reservations.add(new ReservationExportDto(i, 2, LocalDate.of(1990,3,3), LocalDate.of(1990,3,6), 5, false, CheckInStatus.BeforeCheckIn, null));
+        }
+        when(reservationRepository.streamAllForExport()).thenReturn(reservations.stream());
+
+        List<ReservationExportDto> exported = new ArrayList<>();
+        reservationService.exportReservations(exported::add);
+
+        assertEquals(reservations, exported);
+    }
+
     @Test
     public void testGetAllReservationsNotPaid() {
         Reservation res1 = new Reservation(4, LocalDate.of(1990,3,3), LocalDate.of(1990,3,6), 5, false, CheckInStatus.BeforeCheckIn, null);
@@ -182,6 +251,46 @@ public class ReservationServiceTests {
         Reservation out = reservationService.payReservation(res, 5);
 
         assertEquals(res1.isPaid(), out.isPaid());
+        assertEquals(0, out.getTotalPrice());
+        verify(folioEntryRepository, times(1)).saveAll(anyIterable());
+        verify(reservationRepository, times(1)).applyFolioEntries(anyCollection());
+        verify(reservationRepository, never()).save(res);
+    }
+
+    @Test
+    public void testPayReservations() {
+        Reservation res = new Reservation(4, LocalDate.of(1990,3,3), LocalDate.of(1990,3,6), 300, false, CheckInStatus.BeforeCheckIn, null);
+        res.setReservationID(1);
+        Reservation res2 = new Reservation(4, LocalDate.of(1990,3,3), LocalDate.of(1990,3,6), 300, false, CheckInStatus.BeforeCheckIn, null);
+        res2.setReservationID(2);
+        Map<Integer, Integer> payments = new HashMap<>();
+        payments.put(1, 300);
+        payments.put(2, 100);
+
+        when(reservationRepository.findAllById(anyIterable())).thenReturn(List.of(res2, res));
+
+        List<Reservation> out = reservationService.payReservations(payments);
+
+        assertEquals(List.of(res, res2), out);
+        assertTrue(res.isPaid());
+        assertEquals(0, res.getTotalPrice());
+        assertFalse(res2.isPaid());
+        assertEquals(200, res2.getTotalPrice());
+        //both payments in one batch of inserts and one update
+        verify(folioEntryRepository, times(1)).saveAll(anyIterable());
+        verify(reservationRepository, times(1)).applyFolioEntries(anyCollection());
+    }
+
+    @Test
+    public void testPayReservationsAlreadyPaid() {
+        Reservation res = new Reservation(4, LocalDate.of(1990,3,3), LocalDate.of(1990,3,6), 0, true, CheckInStatus.BeforeCheckIn, null);
+        res.setReservationID(1);
+        when(reservationRepository.findAllById(anyIterable())).thenReturn(List.of(res));
+
+        HRSException e = assertThrows(HRSException.class, () -> reservationService.payReservations(Map.of(1, 50)));
+        assertEquals("reservation 1 already paid", e.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        verify(reservationRepository, never()).applyFolioEntries(anyCollection());
     }
 
     @Test
@@ -229,6 +338,7 @@ public class ReservationServiceTests {
         assertDoesNotThrow(() -> reservationService.deleteReservation(res));
         assertDoesNotThrow(() -> requestRepository.deleteRequestByRequestId(request.getRequestId()));
         assertDoesNotThrow(() -> reservedRoomRepository.deleteByReservedID(room.getReservedID()));
+        verify(roomAvailabilityIndex, times(1)).remove(room.getReservedID());
     }
 
     @Test
@@ -243,4 +353,81 @@ public class ReservationServiceTests {
         assertEquals(e.getStatus(), HttpStatus.NOT_FOUND);
     }
 
-}
\ No newline at end of file
+    private Map<String, List<SpecificRoom>> availableRooms() {
+        Room regular = new Room("Regular", 450, BedType.Queen, 2);
+        Room suite = new Room("Suite", 1400, BedType.King, 4);
+        Map<String, List<SpecificRoom>> available = new HashMap<>();
+        available.put("Regular", new ArrayList<>(List.of(
+                new SpecificRoom(131, ViewType.Village, "des", true, regular),
+                new SpecificRoom(132, ViewType.Village, "des", true, regular),
+                new SpecificRoom(133, ViewType.Village, "des", true, regular))));
+        available.put("Suite", new ArrayList<>(List.of(new SpecificRoom(101, ViewType.Mountain, "des", true, suite))));
+        return available;
+    }
+
+    @Test
+    public void testCreateBatchReservation() {
+        Reservation res = new Reservation(6, LocalDate.of(1990,3,3), LocalDate.of(1990,3,6), 0, false, CheckInStatus.BeforeCheckIn, null);
+        Map<String, Integer> roomCounts = new HashMap<>();
+        roomCounts.put("Regular", 2);
+        roomCounts.put("Suite", 1);
+
+        when(specificRoomService.getAvailableSpecificRoomsGroupedByType(res.getCheckIn(), res.getCheckOut())).thenReturn(availableRooms());
+        when(reservedRoomRepository.findOverlappingRoomNumbers(anyCollection(), eq(res.getCheckIn()), eq(res.getCheckOut()))).thenReturn(new ArrayList<>());
+        when(reservationRepository.save(res)).thenReturn(res);
+        when(reservedRoomRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<ReservedRoom> out = reservationService.createBatchReservation(res, roomCounts);
+
+        assertEquals(3, out.size());
+        assertEquals((2 * 450 + 1400) * 3, res.getTotalPrice());
+        for (ReservedRoom room : out) {
+            assertEquals(res, room.getReservation());
+        }
+        verify(specificRoomRepository, times(1)).findSpecificRoomsByNumberInForUpdate(anyCollection());
+        verify(reservationRepository, times(1)).save(res);
+        verify(reservedRoomRepository, times(1)).saveAll(anyIterable());
+        verify(roomAvailabilityIndex, times(3)).add(any(ReservedRoom.class));
+        //the three room charges are posted together
+        verify(folioEntryRepository, times(1)).saveAll(anyIterable());
+        verify(reservationRepository, times(1)).applyFolioEntries(anyCollection());
+    }
+
+    @Test
+    public void testCreateBatchReservationNotEnoughRooms() {
+        Reservation res = new Reservation(6, LocalDate.of(1990,3,3), LocalDate.of(1990,3,6), 0, false, CheckInStatus.BeforeCheckIn, null);
+        Map<String, Integer> roomCounts = new HashMap<>();
+        roomCounts.put("Suite", 2);
+
+        when(specificRoomService.getAvailableSpecificRoomsGroupedByType(res.getCheckIn(), res.getCheckOut())).thenReturn(availableRooms());
+
+        HRSException e = assertThrows(HRSException.class, () -> reservationService.createBatchReservation(res, roomCounts));
+        assertEquals(HttpStatus.CONFLICT, e.getStatus());
+        assertEquals("not enough Suite rooms available", e.getMessage());
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    public void testCreateBatchReservationRoomTakenMeanwhile() {
+        Reservation res = new Reservation(6, LocalDate.of(1990,3,3), LocalDate.of(1990,3,6), 0, false, CheckInStatus.BeforeCheckIn, null);
+        Map<String, Integer> roomCounts = new HashMap<>();
+        roomCounts.put("Suite", 1);
+
+        when(specificRoomService.getAvailableSpecificRoomsGroupedByType(res.getCheckIn(), res.getCheckOut())).thenReturn(availableRooms());
+        when(reservedRoomRepository.findOverlappingRoomNumbers(anyCollection(), eq(res.getCheckIn()), eq(res.getCheckOut()))).thenReturn(List.of(101));
+
+        HRSException e = assertThrows(HRSException.class, () -> reservationService.createBatchReservation(res, roomCounts));
+        assertEquals(HttpStatus.CONFLICT, e.getStatus());
+        verify(reservationRepository, never()).save(any());
+        verify(reservedRoomRepository, never()).saveAll(anyIterable());
+    }
+
+    @Test
+    public void testCreateBatchReservationNoRooms() {
+        Reservation res = new Reservation(6, LocalDate.of(1990,3,3), LocalDate.of(1990,3,6), 0, false, CheckInStatus.BeforeCheckIn, null);
+
+        HRSException e = assertThrows(HRSException.class, () -> reservationService.createBatchReservation(res, new HashMap<>()));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        assertEquals("no rooms requested", e.getMessage());
+    }
+}
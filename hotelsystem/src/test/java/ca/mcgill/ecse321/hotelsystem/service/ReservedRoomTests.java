@@ -3,6 +3,7 @@ package ca.mcgill.ecse321.hotelsystem.service;
 import ca.mcgill.ecse321.hotelsystem.Model.*;
 import ca.mcgill.ecse321.hotelsystem.exception.HRSException;
 import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository;
+import ca.mcgill.ecse321.hotelsystem.repository.SpecificRoomRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -22,6 +23,18 @@ public class ReservedRoomTests {
     @Mock
     private ReservedRoomRepository reservedRoomRepository;
 
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Mock
+    private SpecificRoomRepository specificRoomRepository;
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private ReservationService reservationService;
+
     @InjectMocks
     private ReservedRoomService reservedRoomService;
 
@@ -33,14 +46,14 @@ public class ReservedRoomTests {
         ReservedRoom resRoom = new ReservedRoom(res, room);
 
         when(reservedRoomRepository.save(resRoom)).thenReturn(resRoom);
-
-        List<ReservedRoom> list = new ArrayList<>(); //empty list
-        when(reservedRoomRepository.findReservedRoomsBySpecificRoom_Number(room.getNumber())).thenReturn(list);
+        when(reservedRoomRepository.existsOverlappingReservation(20, res.getCheckIn(), res.getCheckOut())).thenReturn(false);
 
         ReservedRoom out = reservedRoomService.createReservedRoom(resRoom);
 
         assertEquals(resRoom, out);
-        verify(reservedRoomRepository, times(2)).save(resRoom);
+        //the reserved room is saved once, its price goes to the folio of the reservation
+        verify(reservedRoomRepository, times(1)).save(resRoom);
+        verify(reservationService, times(1)).postRoomCharges(res, List.of(resRoom));
 
     }
 
@@ -50,41 +63,85 @@ public class ReservedRoomTests {
         SpecificRoom room = new SpecificRoom(20, ViewType.Mountain, "sdfs", true, null);
         ReservedRoom resRoom = new ReservedRoom(null, room);
 
-        Reservation res = new Reservation(4, LocalDate.of(1990,3,3), LocalDate.of(1990,3,6), 5, false, CheckInStatus.BeforeCheckIn, null);
-        ReservedRoom resRoom2 = new ReservedRoom(res, room);
-
         Reservation res2 = new Reservation(4, LocalDate.of(1990,3,7), LocalDate.of(1990,3,10), 5, false, CheckInStatus.BeforeCheckIn, null);
-        List<ReservedRoom> list = new ArrayList<>();
-        list.add(resRoom2);
-        list.add(resRoom);
 
-        when(reservedRoomRepository.findReservedRoomsBySpecificRoom_Number(room.getNumber())).thenReturn(list);
+        //without the index the check under the lock alone decides
+        when(reservedRoomRepository.existsOverlappingReservation(20, res2.getCheckIn(), res2.getCheckOut())).thenReturn(false);
         when(reservedRoomRepository.save(resRoom)).thenReturn(resRoom);
 
         ReservedRoom out = reservedRoomService.assignReservedRoomToReservation(res2, resRoom);
 
         assertNotNull(out);
         assertEquals(res2, out.getReservation());
+        verify(specificRoomRepository, times(1)).findSpecificRoomByNumberForUpdate(20);
+        verify(roomAvailabilityIndex, times(1)).add(resRoom);
     }
 
     @Test
     public void testAssignInValidReservedRoomToReservation() {
         SpecificRoom room = new SpecificRoom(20, ViewType.Mountain, "sdfs", true, null);
-        Reservation res = new Reservation(4,LocalDate.of(1990,3,3), LocalDate.of(1990,3,6), 5, false, CheckInStatus.BeforeCheckIn, null);
-        ReservedRoom resRoom = new ReservedRoom(res, room);
-
         Reservation res2 = new Reservation(4, LocalDate.of(1990,3,4), LocalDate.of(1990,3,7), 5, false, CheckInStatus.BeforeCheckIn, null);
         ReservedRoom resRoom2 = new ReservedRoom(null, room);
 
-        List<ReservedRoom> list = new ArrayList<>();
-        list.add(resRoom2);
-        list.add(resRoom);
-
-        when(reservedRoomRepository.findReservedRoomsBySpecificRoom_Number(room.getNumber())).thenReturn(list);
+        //a reservation from the 3rd to the 6th holds the room
+        when(reservedRoomRepository.existsOverlappingReservation(20, res2.getCheckIn(), res2.getCheckOut())).thenReturn(true);
 
         HRSException e = assertThrows(HRSException.class, () -> reservedRoomService.assignReservedRoomToReservation(res2, resRoom2));
         assertEquals(e.getMessage(), "a reservation with conflicting check-in and check-out dates exists");
         assertEquals(e.getStatus(), HttpStatus.CONFLICT);
+        verify(reservedRoomRepository, never()).save(any());
+    }
+
+    @Test
+    public void testAssignReservedRoomToReservationWithIndex() {
+        SpecificRoom room = new SpecificRoom(20, ViewType.Mountain, "sdfs", true, null);
+        ReservedRoom resRoom = new ReservedRoom(null, room);
+        Reservation res = new Reservation(4, LocalDate.of(1990,3,7), LocalDate.of(1990,3,10), 5, false, CheckInStatus.BeforeCheckIn, null);
+
+        when(roomAvailabilityIndex.isLoaded()).thenReturn(true);
+        when(roomAvailabilityIndex.isAvailable(20, res.getCheckIn(), res.getCheckOut())).thenReturn(true);
+        when(reservedRoomRepository.save(resRoom)).thenReturn(resRoom);
+
+        ReservedRoom out = reservedRoomService.assignReservedRoomToReservation(res, resRoom);
+
+        assertEquals(res, out.getReservation());
+        verify(reservedRoomRepository, never()).findReservedRoomsBySpecificRoom_Number(anyInt());
+        verify(specificRoomRepository, times(1)).findSpecificRoomByNumberForUpdate(20);
+        verify(reservedRoomRepository, times(1)).existsOverlappingReservation(20, res.getCheckIn(), res.getCheckOut());
+        verify(roomAvailabilityIndex, times(1)).add(resRoom);
+    }
+
+    @Test
+    public void testAssignReservedRoomCommittedByAnotherTransaction() {
+        SpecificRoom room = new SpecificRoom(20, ViewType.Mountain, "sdfs", true, null);
+        ReservedRoom resRoom = new ReservedRoom(null, room);
+        Reservation res = new Reservation(4, LocalDate.of(1990,3,7), LocalDate.of(1990,3,10), 5, false, CheckInStatus.BeforeCheckIn, null);
+
+        //the index has not seen the other booking yet, the database has
+        when(roomAvailabilityIndex.isLoaded()).thenReturn(true);
+        when(roomAvailabilityIndex.isAvailable(20, res.getCheckIn(), res.getCheckOut())).thenReturn(true);
+        when(reservedRoomRepository.existsOverlappingReservation(20, res.getCheckIn(), res.getCheckOut())).thenReturn(true);
+
+        HRSException e = assertThrows(HRSException.class, () -> reservedRoomService.assignReservedRoomToReservation(res, resRoom));
+        assertEquals(e.getStatus(), HttpStatus.CONFLICT);
+        verify(specificRoomRepository, times(1)).findSpecificRoomByNumberForUpdate(20);
+        verify(reservedRoomRepository, never()).save(any());
+    }
+
+    @Test
+    public void testAssignInValidReservedRoomToReservationWithIndex() {
+        SpecificRoom room = new SpecificRoom(20, ViewType.Mountain, "sdfs", true, null);
+        ReservedRoom resRoom = new ReservedRoom(null, room);
+        Reservation res = new Reservation(4, LocalDate.of(1990,3,4), LocalDate.of(1990,3,7), 5, false, CheckInStatus.BeforeCheckIn, null);
+
+        when(roomAvailabilityIndex.isLoaded()).thenReturn(true);
+        when(roomAvailabilityIndex.isAvailable(20, res.getCheckIn(), res.getCheckOut())).thenReturn(false);
+
+        HRSException e = assertThrows(HRSException.class, () -> reservedRoomService.assignReservedRoomToReservation(res, resRoom));
+        assertEquals(e.getMessage(), "a reservation with conflicting check-in and check-out dates exists");
+        assertEquals(e.getStatus(), HttpStatus.CONFLICT);
+        verify(reservedRoomRepository, never()).save(any());
+        verify(specificRoomRepository, never()).findSpecificRoomByNumberForUpdate(anyInt());
     }
 
     @Test
@@ -186,6 +243,7 @@ public class ReservedRoomTests {
 
         when(reservedRoomRepository.findReservedRoomByReservedID(room.getReservedID())).thenReturn(room);
         assertDoesNotThrow(() -> reservedRoomService.deleteReservedRoom(room));
+        verify(roomAvailabilityIndex, times(1)).remove(room.getReservedID());
     }
 
     @Test
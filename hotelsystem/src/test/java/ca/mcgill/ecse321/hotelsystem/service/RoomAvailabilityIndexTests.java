@@ -0,0 +1,118 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import ca.mcgill.ecse321.hotelsystem.Model.*;
+import ca.mcgill.ecse321.hotelsystem.repository.ReservedRoomRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class RoomAvailabilityIndexTests {
+
+    @Mock
+    private ReservedRoomRepository reservedRoomRepository;
+
+    @InjectMocks
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    private ReservedRoom reservedRoom(int id, int number, LocalDate checkIn, LocalDate checkOut) {
+        SpecificRoom room = new SpecificRoom(number, ViewType.Mountain, "des", true, null);
+        Reservation res = new Reservation(2, checkIn, checkOut, 0, false, CheckInStatus.BeforeCheckIn, null);
+        ReservedRoom reservedRoom = new ReservedRoom(res, room);
+        reservedRoom.setReservedID(id);
+        return reservedRoom;
+    }
+
+    @Test
+    public void testRoomWithoutBookingsIsAvailable() {
+        assertTrue(roomAvailabilityIndex.isAvailable(101, LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 5)));
+    }
+
+    @Test
+    public void testOverlappingStayIsNotAvailable() {
+        roomAvailabilityIndex.add(reservedRoom(1, 101, LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 5)));
+
+        assertFalse(roomAvailabilityIndex.isAvailable(101, LocalDate.of(2023, 11, 28), LocalDate.of(2023, 12, 2)));
+        assertFalse(roomAvailabilityIndex.isAvailable(101, LocalDate.of(2023, 12, 4), LocalDate.of(2023, 12, 8)));
+        assertFalse(roomAvailabilityIndex.isAvailable(101, LocalDate.of(2023, 12, 2), LocalDate.of(2023, 12, 3)));
+        assertFalse(roomAvailabilityIndex.isAvailable(101, LocalDate.of(2023, 11, 20), LocalDate.of(2023, 12, 20)));
+        assertFalse(roomAvailabilityIndex.isAvailable(101, LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 1)));
+    }
+
+    @Test
+    public void testAdjacentStayIsAvailable() {
+        roomAvailabilityIndex.add(reservedRoom(1, 101, LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 5)));
+        roomAvailabilityIndex.add(reservedRoom(2, 101, LocalDate.of(2023, 12, 10), LocalDate.of(2023, 12, 12)));
+
+        assertTrue(roomAvailabilityIndex.isAvailable(101, LocalDate.of(2023, 11, 28), LocalDate.of(2023, 12, 1)));
+        assertTrue(roomAvailabilityIndex.isAvailable(101, LocalDate.of(2023, 12, 5), LocalDate.of(2023, 12, 10)));
+        assertTrue(roomAvailabilityIndex.isAvailable(101, LocalDate.of(2023, 12, 12), LocalDate.of(2023, 12, 15)));
+        assertTrue(roomAvailabilityIndex.isAvailable(102, LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 5)));
+    }
+
+    @Test
+    public void testRemovedBookingFreesRoom() {
+        roomAvailabilityIndex.add(reservedRoom(1, 101, LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 5)));
+        roomAvailabilityIndex.remove(1);
+
+        assertTrue(roomAvailabilityIndex.isAvailable(101, LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 5)));
+    }
+
+    @Test
+    public void testRebuild() {
+        ReservedRoomRepository.BookingInterval interval = new ReservedRoomRepository.BookingInterval() {
+            public int getReservedId() { return 7; }
+            public int getRoomNumber() { return 101; }
+            public LocalDate getCheckIn() { return LocalDate.of(2023, 12, 1); }
+            public LocalDate getCheckOut() { return LocalDate.of(2023, 12, 5); }
+        };
+        List<ReservedRoomRepository.BookingInterval> intervals = new ArrayList<>();
+        intervals.add(interval);
+        when(reservedRoomRepository.findAllBookingIntervals()).thenReturn(intervals);
+
+        assertFalse(roomAvailabilityIndex.isLoaded());
+        roomAvailabilityIndex.rebuild();
+
+        assertTrue(roomAvailabilityIndex.isLoaded());
+        assertFalse(roomAvailabilityIndex.isAvailable(101, LocalDate.of(2023, 12, 3), LocalDate.of(2023, 12, 4)));
+    }
+
+    @Test
+    public void testStayInsideCalendarHorizon() {
+        LocalDate today = LocalDate.now();
+        roomAvailabilityIndex.add(reservedRoom(1, 101, today.plusDays(60), today.plusDays(70)));
+        roomAvailabilityIndex.add(reservedRoom(2, 101, today.plusDays(70), today.plusDays(72)));
+
+        assertTrue(roomAvailabilityIndex.getCalendar().covers(today.toEpochDay(), today.plusDays(100).toEpochDay()));
+        assertFalse(roomAvailabilityIndex.isAvailable(101, today.plusDays(50), today.plusDays(61)));
+        assertFalse(roomAvailabilityIndex.isAvailable(101, today.plusDays(71), today.plusDays(80)));
+        assertTrue(roomAvailabilityIndex.isAvailable(101, today.plusDays(50), today.plusDays(60)));
+        assertTrue(roomAvailabilityIndex.isAvailable(101, today.plusDays(72), today.plusDays(90)));
+
+        roomAvailabilityIndex.remove(1);
+        assertTrue(roomAvailabilityIndex.isAvailable(101, today.plusDays(50), today.plusDays(70)));
+        assertFalse(roomAvailabilityIndex.isAvailable(101, today.plusDays(50), today.plusDays(71)));
+    }
+
+    @Test
+    public void testCalendarWords() {
+        LocalDate today = LocalDate.now();
+        roomAvailabilityIndex.add(reservedRoom(1, 101, today, today.plusDays(2)));
+
+        OccupancyCalendar calendar = roomAvailabilityIndex.getCalendar();
+        long[] words = calendar.words(101);
+        long offset = today.toEpochDay() - calendar.getStartDay();
+        assertEquals(OccupancyCalendar.WORDS, words.length);
+        assertEquals(2, Long.bitCount(words[0]) + Long.bitCount(words[1]));
+        assertTrue((words[(int) (offset / 64)] & (1L << (offset % 64))) != 0);
+        assertEquals(0, calendar.words(102)[0]);
+    }
+}
@@ -7,6 +7,7 @@ import ca.mcgill.ecse321.hotelsystem.repository.RoomRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 
@@ -21,6 +22,9 @@ public class RoomServiceTests {
     @Mock
     private RoomRepository roomRepository;
 
+    @Spy
+    private RoomCatalogCache roomCatalogCache = new RoomCatalogCache(100);
+
     @InjectMocks
     private RoomService roomService;
 
@@ -55,7 +59,11 @@ public class RoomServiceTests {
         when(roomRepository.findRoomByType("Suite")).thenReturn(room);
 
         Room result = roomService.getRoomByType(room.getType());
-        assertEquals(room, result);
+        assertNotSame(room, result);
+        assertEquals("Suite", result.getType());
+        assertEquals(999, result.getRate());
+        assertEquals(BedType.King, result.getBedType());
+        assertEquals(4, result.getCapacity());
     }
 
     @Test
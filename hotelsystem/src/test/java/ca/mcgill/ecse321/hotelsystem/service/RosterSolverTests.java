@@ -0,0 +1,81 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import ca.mcgill.ecse321.hotelsystem.service.RosterSolver.Assignment;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class RosterSolverTests {
+
+    private static final int DAY = 24 * 60;
+    private static final int HOUR = 60;
+
+    @Test
+    public void testWindowsOverlapAndMaxHours() {
+        RosterSolver solver = new RosterSolver();
+        int morning = solver.addSlot(6 * HOUR, 14 * HOUR, 2);
+        int late = solver.addSlot(12 * HOUR, 20 * HOUR, 1);
+        int nextDay = solver.addSlot(DAY + 6 * HOUR, DAY + 14 * HOUR, 1);
+        int mornings = solver.addEmployee(40 * HOUR);
+        solver.addWindow(mornings, 0, 14 * HOUR);
+        solver.addWindow(mornings, DAY, DAY + 14 * HOUR);
+        int anytime = solver.addEmployee(8 * HOUR);
+        solver.addWindow(anytime, 0, 7 * DAY);
+
+        List<Assignment> roster = solver.solve();
+
+        // only anytime can work the late slot, but they are needed for the morning and can work 8 hours only
+        assertEquals(List.of(new Assignment(morning, mornings), new Assignment(morning, anytime), new Assignment(nextDay, mornings)), roster);
+        assertEquals(0, solver.missing(morning));
+        assertEquals(1, solver.missing(late));
+        assertEquals(0, solver.missing(nextDay));
+    }
+
+    @Test
+    public void testRepairMovesBlockingSlot() {
+        RosterSolver solver = new RosterSolver();
+        int first = solver.addSlot(8 * HOUR, 16 * HOUR, 1);
+        int second = solver.addSlot(DAY + 8 * HOUR, DAY + 16 * HOUR, 1);
+        int both = solver.addEmployee(8 * HOUR);
+        solver.addWindow(both, 0, 2 * DAY);
+        int firstOnly = solver.addEmployee(40 * HOUR);
+        solver.addWindow(firstOnly, 0, DAY);
+        solver.addBusy(firstOnly, 0, 4 * HOUR);
+        int secondBusy = solver.addEmployee(40 * HOUR);
+        solver.addWindow(secondBusy, DAY, 2 * DAY);
+        solver.addBusy(secondBusy, DAY + 7 * HOUR, DAY + 9 * HOUR);
+
+        List<Assignment> roster = solver.solve();
+
+        // the greedy pass gives the first slot to the least loaded employee, who is the only one left for the second
+        assertEquals(List.of(new Assignment(first, firstOnly), new Assignment(second, both)), roster);
+        assertEquals(0, solver.missing(first));
+        assertEquals(0, solver.missing(second));
+    }
+
+    @Test
+    public void testSolveAgain() {
+        RosterSolver solver = new RosterSolver();
+        int slot = solver.addSlot(0, 8 * HOUR, 1);
+        int employee = solver.addEmployee(8 * HOUR);
+        solver.addWindow(employee, 0, DAY);
+
+        assertEquals(List.of(new Assignment(slot, employee)), solver.solve());
+        assertEquals(List.of(new Assignment(slot, employee)), solver.solve());
+    }
+
+    @Test
+    public void testNoCandidate() {
+        RosterSolver solver = new RosterSolver();
+        int slot = solver.addSlot(0, 8 * HOUR, 3);
+        int employee = solver.addEmployee(0);
+        solver.addWindow(employee, 0, DAY);
+
+        assertTrue(solver.solve().isEmpty());
+        assertEquals(3, solver.missing(slot));
+    }
+}
@@ -0,0 +1,111 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import ca.mcgill.ecse321.hotelsystem.exception.HRSException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ShiftImportReaderTests {
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testCsv() throws IOException {
+        ShiftImportReader reader = ShiftImportReader.csv(stream(
+                "employeeEmail,date,startTime,endTime\n" +
+                "janegill@gmail.com,2023-12-01,08:00:00,12:00:00\n" +
+                "\n" +
+                "\"johnbrown@gmail.com\", 2023-12-02 ,13:00,17:30\n" +
+                ",2023-12-03,08:00,12:00\n" +
+                "janegill@gmail.com,2023-13-01,08:00,12:00\n" +
+                "janegill@gmail.com,2023-12-04,8h,12:00\n" +
+                "janegill@gmail.com,2023-12-04\n"));
+
+        ShiftImportReader.Row row = reader.next();
+        assertEquals(2, row.number());
+        assertEquals("janegill@gmail.com", row.employeeEmail());
+        assertEquals(LocalDate.of(2023, 12, 1), row.date());
+        assertEquals(Time.valueOf("08:00:00"), row.startTime());
+        assertEquals(Time.valueOf("12:00:00"), row.endTime());
+        assertNull(row.error());
+
+        row = reader.next();
+        assertEquals(4, row.number());
+        assertEquals("johnbrown@gmail.com", row.employeeEmail());
+        assertEquals(LocalDate.of(2023, 12, 2), row.date());
+        assertEquals(Time.valueOf("17:30:00"), row.endTime());
+
+        row = reader.next();
+        assertNull(row.employeeEmail());
+        assertNull(row.error());
+
+        assertEquals("Invalid date 2023-13-01.", reader.next().error());
+        assertEquals("Invalid time 8h.", reader.next().error());
+        row = reader.next();
+        assertEquals(8, row.number());
+        assertEquals("Empty fields are present.", row.error());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testCsvWithoutHeader() {
+        HRSException e = assertThrows(HRSException.class, () -> ShiftImportReader.csv(stream("janegill@gmail.com,2023-12-01,08:00,12:00\n")));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        assertEquals("The CSV header must name the columns date, startTime, endTime, employeeEmail.", e.getMessage());
+    }
+
+    @Test
+    public void testJson() throws IOException {
+        ShiftImportReader reader = ShiftImportReader.json(new ObjectMapper().getFactory(), stream(
+                "[{\"date\":\"2023-12-01\",\"startTime\":\"08:00:00\",\"endTime\":\"12:00:00\",\"employeeEmail\":\"janegill@gmail.com\"}," +
+                " 42," +
+                " {\"date\":\"2023-12-01\",\"startTime\":\"08:00:00\",\"employeeEmail\":null}," +
+                " {\"date\":\"2023-12-02\",\"startTime\":\"13:00\",\"endTime\":\"17:00\",\"extra\":[1,2]}]"));
+
+        ShiftImportReader.Row row = reader.next();
+        assertEquals(1, row.number());
+        assertEquals("janegill@gmail.com", row.employeeEmail());
+        assertEquals(Time.valueOf("12:00:00"), row.endTime());
+        assertNull(row.error());
+        assertEquals("Expected a shift object.", reader.next().error());
+        assertEquals("Empty fields are present.", reader.next().error());
+        row = reader.next();
+        assertEquals(4, row.number());
+        assertNull(row.employeeEmail());
+        assertEquals(LocalDate.of(2023, 12, 2), row.date());
+        assertNull(reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testJsonSyntaxError() throws IOException {
+        ShiftImportReader reader = ShiftImportReader.json(new ObjectMapper().getFactory(), stream(
+                "[{\"date\":\"2023-12-01\",\"startTime\":\"08:00\",\"endTime\":\"12:00\"}, {\"date\": 2023-12-02}]"));
+
+        assertNull(reader.next().error());
+        ShiftImportReader.Row row = reader.next();
+        assertEquals(2, row.number());
+        assertTrue(row.error().startsWith("Invalid JSON, the rest of the import is skipped"));
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testJsonNotAnArray() {
+        HRSException e = assertThrows(HRSException.class, () -> ShiftImportReader.json(new ObjectMapper().getFactory(), stream("{\"date\":\"2023-12-01\"}")));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        assertEquals("Expected a JSON array of shifts.", e.getMessage());
+    }
+}
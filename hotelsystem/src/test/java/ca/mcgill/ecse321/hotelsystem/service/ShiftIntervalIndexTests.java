@@ -0,0 +1,106 @@
+package ca.mcgill.ecse321.hotelsystem.service;
+
+import ca.mcgill.ecse321.hotelsystem.Model.Employee;
+import ca.mcgill.ecse321.hotelsystem.Model.Shift;
+import ca.mcgill.ecse321.hotelsystem.repository.ShiftRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ShiftIntervalIndexTests {
+
+    private static final LocalDate DATE = LocalDate.of(2023, 12, 1);
+    private static final String EMAIL = "janegill@gmail.com";
+
+    @Mock
+    private ShiftRepository shiftRepository;
+
+    @InjectMocks
+    private ShiftIntervalIndex shiftIntervalIndex;
+
+    private Shift shift(int id, String email, LocalDate date, String start, String end) {
+        Employee employee = new Employee();
+        employee.setEmail(email);
+        Shift shift = new Shift(Time.valueOf(start), Time.valueOf(end), date, employee);
+        shift.setShiftId(id);
+        return shift;
+    }
+
+    @Test
+    public void testOverlappingShift() {
+        shiftIntervalIndex.add(shift(1, EMAIL, DATE, "08:00:00", "12:00:00"));
+        shiftIntervalIndex.add(shift(2, EMAIL, DATE, "14:00:00", "18:00:00"));
+
+        assertTrue(shiftIntervalIndex.hasOverlap(EMAIL, DATE, Time.valueOf("07:00:00"), Time.valueOf("09:00:00"), null));
+        assertTrue(shiftIntervalIndex.hasOverlap(EMAIL, DATE, Time.valueOf("11:00:00"), Time.valueOf("15:00:00"), null));
+        assertTrue(shiftIntervalIndex.hasOverlap(EMAIL, DATE, Time.valueOf("06:00:00"), Time.valueOf("20:00:00"), null));
+        assertTrue(shiftIntervalIndex.hasOverlap(EMAIL, DATE, Time.valueOf("15:00:00"), Time.valueOf("16:00:00"), null));
+    }
+
+    @Test
+    public void testAdjacentShift() {
+        shiftIntervalIndex.add(shift(1, EMAIL, DATE, "08:00:00", "12:00:00"));
+
+        assertFalse(shiftIntervalIndex.hasOverlap(EMAIL, DATE, Time.valueOf("12:00:00"), Time.valueOf("16:00:00"), null));
+        assertFalse(shiftIntervalIndex.hasOverlap(EMAIL, DATE, Time.valueOf("04:00:00"), Time.valueOf("08:00:00"), null));
+        assertFalse(shiftIntervalIndex.hasOverlap(EMAIL, DATE.plusDays(1), Time.valueOf("08:00:00"), Time.valueOf("12:00:00"), null));
+        assertFalse(shiftIntervalIndex.hasOverlap("johnbrown@gmail.com", DATE, Time.valueOf("08:00:00"), Time.valueOf("12:00:00"), null));
+    }
+
+    @Test
+    public void testShiftStartingAt() {
+        shiftIntervalIndex.add(shift(1, EMAIL, DATE, "08:00:00", "12:00:00"));
+
+        assertTrue(shiftIntervalIndex.hasShiftStartingAt(EMAIL, DATE, Time.valueOf("08:00:00"), null));
+        assertFalse(shiftIntervalIndex.hasShiftStartingAt(EMAIL, DATE, Time.valueOf("08:00:00"), 1));
+        assertFalse(shiftIntervalIndex.hasShiftStartingAt(EMAIL, DATE, Time.valueOf("09:00:00"), null));
+    }
+
+    @Test
+    public void testIgnoredShift() {
+        shiftIntervalIndex.add(shift(1, EMAIL, DATE, "08:00:00", "12:00:00"));
+
+        assertFalse(shiftIntervalIndex.hasOverlap(EMAIL, DATE, Time.valueOf("09:00:00"), Time.valueOf("13:00:00"), 1));
+        assertTrue(shiftIntervalIndex.hasOverlap(EMAIL, DATE, Time.valueOf("09:00:00"), Time.valueOf("13:00:00"), 2));
+    }
+
+    @Test
+    public void testMovedAndRemovedShift() {
+        shiftIntervalIndex.add(shift(1, EMAIL, DATE, "08:00:00", "12:00:00"));
+        shiftIntervalIndex.add(shift(1, EMAIL, DATE, "13:00:00", "17:00:00"));
+
+        assertFalse(shiftIntervalIndex.hasOverlap(EMAIL, DATE, Time.valueOf("08:00:00"), Time.valueOf("12:00:00"), null));
+        assertTrue(shiftIntervalIndex.hasOverlap(EMAIL, DATE, Time.valueOf("16:00:00"), Time.valueOf("18:00:00"), null));
+
+        shiftIntervalIndex.remove(1);
+
+        assertFalse(shiftIntervalIndex.hasOverlap(EMAIL, DATE, Time.valueOf("16:00:00"), Time.valueOf("18:00:00"), null));
+    }
+
+    @Test
+    public void testLoad() {
+        Shift shift = shift(7, EMAIL, DATE, "08:00:00", "12:00:00");
+        shiftIntervalIndex.add(shift(1, EMAIL, DATE, "14:00:00", "18:00:00"));
+        ShiftRepository.ShiftInterval interval = new ShiftRepository.ShiftInterval() {
+            public int getShiftId() { return shift.getShiftId(); }
+            public String getEmployeeEmail() { return EMAIL; }
+            public LocalDate getDate() { return shift.getDate(); }
+            public Time getStartTime() { return shift.getStartTime(); }
+            public Time getEndTime() { return shift.getEndTime(); }
+        };
+
+        shiftIntervalIndex.load(List.of(interval));
+
+        assertTrue(shiftIntervalIndex.isLoaded());
+        assertTrue(shiftIntervalIndex.hasOverlap(EMAIL, DATE, Time.valueOf("10:00:00"), Time.valueOf("11:00:00"), null));
+        assertFalse(shiftIntervalIndex.hasOverlap(EMAIL, DATE, Time.valueOf("15:00:00"), Time.valueOf("16:00:00"), null));
+    }
+}
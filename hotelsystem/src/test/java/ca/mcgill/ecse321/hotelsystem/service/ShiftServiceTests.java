@@ -3,18 +3,34 @@ package ca.mcgill.ecse321.hotelsystem.service;
 import ca.mcgill.ecse321.hotelsystem.Model.Account;
 import ca.mcgill.ecse321.hotelsystem.Model.Employee;
 import ca.mcgill.ecse321.hotelsystem.Model.Shift;
+import ca.mcgill.ecse321.hotelsystem.dto.AvailabilityRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.CoverageRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.RosterRequestDto;
+import ca.mcgill.ecse321.hotelsystem.dto.RosterResponseDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftGridDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftGridRowDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftImportResponseDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftIntervalDto;
+import ca.mcgill.ecse321.hotelsystem.dto.ShiftRequestDto;
 import ca.mcgill.ecse321.hotelsystem.exception.HRSException;
 import ca.mcgill.ecse321.hotelsystem.repository.ShiftRepository;
 import ca.mcgill.ecse321.hotelsystem.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.Time;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,6 +43,15 @@ public class ShiftServiceTests {
 
       @Mock
       private EmployeeRepository employeeRepository;
+
+      @Mock
+      private ShiftIntervalIndex shiftIntervalIndex;
+
+      @Mock
+      private TransactionTemplate transactionTemplate;
+
+      @Mock
+      private EntityManager entityManager;
       @InjectMocks
       private ShiftService shiftService;
 
@@ -301,7 +326,7 @@ public class ShiftServiceTests {
 
             Employee employee = new Employee(email,name,salary,account);
             Shift s1 = new Shift(startTime,endTime,date,employee);
-            when(shiftRepository.findShiftsByDateAndStartTime(date,startTime)).thenReturn(Collections.singletonList(s1));
+            when(shiftRepository.findShiftsByEmployeeEmailAndDate(email,date)).thenReturn(Collections.singletonList(s1));
 
 
             Shift s2 = new Shift(startTime, endTime, date, employee);
@@ -331,7 +356,7 @@ public class ShiftServiceTests {
             Employee employee = new Employee(email,name,salary,account);
 
             Shift s1 = new Shift(startTime1,endTime1,date,employee);
-            when(shiftRepository.findShiftsByDate(date)).thenReturn(Collections.singletonList(s1));
+            when(shiftRepository.findShiftsByEmployeeEmailAndDate(email,date)).thenReturn(Collections.singletonList(s1));
 
             Shift s2 = new Shift(startTime2,endTime2,date,employee);
             HRSException e = assertThrows(HRSException.class, () -> shiftService.createShift(s2));
@@ -502,6 +527,268 @@ public class ShiftServiceTests {
             assertEquals(e.getMessage(), "Invalid start/end times.");
       }
 
+      /**
+       * Tests that with the index backend a conflict found in the shift interval index is confirmed by the database
+       */
+      @Test
+      public void testCreateShiftOverlappingInIndex() {
+            LocalDate date = LocalDate.of(1993,4,20);
+            Time startTime = Time.valueOf("8:30:00");
+            Time endTime = Time.valueOf("10:30:00");
+            Employee employee = new Employee("janewhite@gmail.com","Jane White",6000,new Account());
+            Shift shift = new Shift(startTime,endTime,date,employee);
+            Shift existing = new Shift(Time.valueOf("7:30:00"),Time.valueOf("9:30:00"),date,employee);
+            shiftService.shiftBackend = "index";
+            when(shiftIntervalIndex.isLoaded()).thenReturn(true);
+            when(shiftIntervalIndex.hasOverlap("janewhite@gmail.com",date,startTime,endTime,null)).thenReturn(true);
+            when(shiftRepository.findShiftsByEmployeeEmailAndDate("janewhite@gmail.com",date)).thenReturn(List.of(existing));
+
+            HRSException e = assertThrows(HRSException.class, () -> shiftService.createShift(shift));
+            assertEquals(e.getStatus(),HttpStatus.CONFLICT);
+            assertEquals(e.getMessage(), "The employee has an overlapping shift on this date.");
+            verify(shiftRepository, times(1)).findShiftsByEmployeeEmailAndDate("janewhite@gmail.com",date);
+            verify(shiftRepository, never()).save(any());
+      }
 
+      /**
+       * Tests that a conflict in the index that the database no longer has, e.g. a shift deleted by another instance,
+       * does not reject the shift
+       */
+      @Test
+      public void testCreateShiftStaleInIndex() {
+            LocalDate date = LocalDate.of(1993,4,20);
+            Time startTime = Time.valueOf("8:30:00");
+            Time endTime = Time.valueOf("10:30:00");
+            Employee employee = new Employee("janewhite@gmail.com","Jane White",6000,new Account());
+            Shift shift = new Shift(startTime,endTime,date,employee);
+            shiftService.shiftBackend = "index";
+            when(shiftIntervalIndex.isLoaded()).thenReturn(true);
+            when(shiftIntervalIndex.hasOverlap("janewhite@gmail.com",date,startTime,endTime,null)).thenReturn(true);
+            when(shiftRepository.findShiftsByEmployeeEmailAndDate("janewhite@gmail.com",date)).thenReturn(List.of());
+            when(employeeRepository.findEmployeeByEmail("janewhite@gmail.com")).thenReturn(employee);
+            when(shiftRepository.save(shift)).thenReturn(shift);
+
+            assertEquals(shift, shiftService.createShift(shift));
+            verify(shiftRepository, times(1)).save(shift);
+      }
+
+      /**
+       * Tests that with the index backend a shift the index finds no conflict for is saved without querying the shifts
+       */
+      @Test
+      public void testCreateShiftFreeInIndex() {
+            LocalDate date = LocalDate.of(1993,4,20);
+            Employee employee = new Employee("janewhite@gmail.com","Jane White",6000,new Account());
+            Shift shift = new Shift(Time.valueOf("8:30:00"),Time.valueOf("10:30:00"),date,employee);
+            shiftService.shiftBackend = "index";
+            when(shiftIntervalIndex.isLoaded()).thenReturn(true);
+            when(employeeRepository.findEmployeeByEmail("janewhite@gmail.com")).thenReturn(employee);
+            when(shiftRepository.save(shift)).thenReturn(shift);
+
+            assertEquals(shift, shiftService.createShift(shift));
+            verify(shiftRepository, never()).findShiftsByEmployeeEmailAndDate(any(), any());
+      }
+
+      /**
+       * Tests updating a shift so that it overlaps another shift of the employee, the shift itself does not count
+       */
+      @Test
+      public void testUpdateShiftOverlapping() {
+            LocalDate date = LocalDate.of(1993,4,20);
+            Employee employee = new Employee("janewhite@gmail.com","Jane White",6000,new Account());
+            Shift oldShift = new Shift(Time.valueOf("7:30:00"),Time.valueOf("9:30:00"),date,employee);
+            oldShift.setShiftId(450);
+            Shift other = new Shift(Time.valueOf("12:00:00"),Time.valueOf("14:00:00"),date,employee);
+            other.setShiftId(451);
+            when(shiftRepository.findShiftByShiftId(450)).thenReturn(oldShift);
+            when(shiftRepository.findShiftsByEmployeeEmailAndDate("janewhite@gmail.com",date)).thenReturn(List.of(oldShift, other));
+            when(shiftRepository.save(oldShift)).thenReturn(oldShift);
+
+            Shift later = new Shift(Time.valueOf("8:30:00"),Time.valueOf("10:30:00"),date,employee);
+            assertEquals(oldShift, shiftService.updateShift(later, 450));
+            assertEquals(Time.valueOf("8:30:00"), oldShift.getStartTime());
+            verify(shiftIntervalIndex, times(1)).add(oldShift);
+
+            Shift overlapping = new Shift(Time.valueOf("11:00:00"),Time.valueOf("13:00:00"),date,employee);
+            HRSException e = assertThrows(HRSException.class, () -> shiftService.updateShift(overlapping, 450));
+            assertEquals(e.getStatus(),HttpStatus.CONFLICT);
+            assertEquals(e.getMessage(), "The employee has an overlapping shift on this date.");
+            assertEquals(Time.valueOf("8:30:00"), oldShift.getStartTime());
+      }
 
+      /**
+       * Tests generating a roster, an existing shift with the times of a slot counts towards it
+       */
+      @Test
+      public void testGenerateRoster() {
+            LocalDate monday = LocalDate.of(2031, 3, 3);
+            Time start = Time.valueOf("08:00:00");
+            Time end = Time.valueOf("16:00:00");
+            Employee alice = new Employee("alice@hotel.com", "Alice", 3000, new Account());
+            Employee bob = new Employee("bob@hotel.com", "Bob", 3000, new Account());
+            Employee carl = new Employee("carl@hotel.com", "Carl", 3000, new Account());
+            when(shiftRepository.findShiftsByDateBetween(monday, monday.plusDays(6))).thenReturn(List.of(new Shift(start, end, monday, alice)));
+            when(employeeRepository.findAllById(any())).thenReturn(List.of(alice, bob, carl));
+
+            List<CoverageRequestDto> coverage = List.of(new CoverageRequestDto(monday, start, end, 2), new CoverageRequestDto(monday.plusDays(1), start, end, 2));
+            List<AvailabilityRequestDto> employees = List.of(
+                        new AvailabilityRequestDto("alice@hotel.com", 8, List.of()),
+                        new AvailabilityRequestDto("bob@hotel.com", 40, List.of(new ShiftRequestDto(start, end, monday))),
+                        new AvailabilityRequestDto("carl@hotel.com", 40, List.of()));
+            RosterResponseDto roster = shiftService.generateRoster(new RosterRequestDto(monday, coverage, employees));
+
+            // alice already works monday and has no hours left, bob can only work monday
+            assertEquals(2, roster.getShifts().size());
+            assertEquals("bob@hotel.com", roster.getShifts().get(0).getEmployeeEmail());
+            assertEquals(monday, roster.getShifts().get(0).getDate());
+            assertEquals("carl@hotel.com", roster.getShifts().get(1).getEmployeeEmail());
+            assertEquals(monday.plusDays(1), roster.getShifts().get(1).getDate());
+            assertEquals(1, roster.getUncovered().size());
+            assertEquals(monday.plusDays(1), roster.getUncovered().get(0).getDate());
+            assertEquals(1, roster.getUncovered().get(0).getStaff());
+            verify(shiftRepository, times(1)).saveAll(any());
+      }
+
+      /**
+       * Tests generating a roster with an employee that does not exist
+       */
+      @Test
+      public void testGenerateRosterInvalidEmployee() {
+            LocalDate monday = LocalDate.of(2031, 3, 3);
+            when(shiftRepository.findShiftsByDateBetween(monday, monday.plusDays(6))).thenReturn(List.of());
+            when(employeeRepository.findAllById(any())).thenReturn(List.of());
+            RosterRequestDto request = new RosterRequestDto(monday,
+                        List.of(new CoverageRequestDto(monday, Time.valueOf("08:00:00"), Time.valueOf("16:00:00"), 1)),
+                        List.of(new AvailabilityRequestDto("nobody@hotel.com", 40, List.of())));
+
+            HRSException e = assertThrows(HRSException.class, () -> shiftService.generateRoster(request));
+            assertEquals(e.getStatus(), HttpStatus.BAD_REQUEST);
+            assertEquals(e.getMessage(), "Employee does not exist.");
+            verify(shiftRepository, never()).saveAll(any());
+      }
+
+      /**
+       * Tests generating a roster with coverage outside the week
+       */
+      @Test
+      public void testGenerateRosterOutsideWeek() {
+            LocalDate monday = LocalDate.of(2031, 3, 3);
+            when(shiftRepository.findShiftsByDateBetween(monday, monday.plusDays(6))).thenReturn(List.of());
+            RosterRequestDto request = new RosterRequestDto(monday,
+                        List.of(new CoverageRequestDto(monday.plusDays(7), Time.valueOf("08:00:00"), Time.valueOf("16:00:00"), 1)),
+                        List.of(new AvailabilityRequestDto("alice@hotel.com", 40, List.of())));
+
+            HRSException e = assertThrows(HRSException.class, () -> shiftService.generateRoster(request));
+            assertEquals(e.getStatus(), HttpStatus.BAD_REQUEST);
+            assertEquals(e.getMessage(), "Date is outside the week.");
+      }
+
+      /**
+       * Tests importing shifts, rows that overlap a saved shift or an earlier row are rejected, the others saved together
+       */
+      @Test
+      @SuppressWarnings("unchecked")
+      public void testImportShifts() throws IOException {
+            LocalDate date = LocalDate.of(1993,4,20);
+            Employee jane = new Employee("janewhite@gmail.com","Jane White",6000,new Account());
+            Employee john = new Employee("johnbrown@gmail.com","John Brown",6500,new Account());
+            doAnswer(invocation -> {
+                  ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+                  return null;
+            }).when(transactionTemplate).executeWithoutResult(any());
+            when(employeeRepository.findAllById(any())).thenReturn(List.of(jane, john));
+            when(shiftRepository.findShiftsByEmployeeEmailInAndDateBetween(any(), eq(date), eq(date.plusDays(1))))
+                        .thenReturn(List.of(new Shift(Time.valueOf("7:00:00"),Time.valueOf("9:00:00"),date,jane)));
+
+            ShiftImportReader reader = ShiftImportReader.csv(new ByteArrayInputStream((
+                        "date,startTime,endTime,employeeEmail\n" +
+                        "1993-04-20,08:00,10:00,janewhite@gmail.com\n" +
+                        "1993-04-20,09:00,13:00,janewhite@gmail.com\n" +
+                        "1993-04-20,12:00,14:00,janewhite@gmail.com\n" +
+                        "1993-04-20,12:00,14:00,johnbrown@gmail.com\n" +
+                        "1993-04-21,07:00,09:00,janewhite@gmail.com\n" +
+                        "1993-04-21,07:00,09:00,nobody@gmail.com\n" +
+                        "1993-04-21,10:00,09:00,johnbrown@gmail.com\n" +
+                        "1993-04-21,10:00,12:00,\n" +
+                        "1993-04-32,10:00,12:00,johnbrown@gmail.com\n").getBytes(StandardCharsets.UTF_8)));
+
+            ShiftImportResponseDto response = shiftService.importShifts(reader);
+
+            assertEquals(4, response.getImported());
+            assertEquals(5, response.getRejected());
+            assertEquals(List.of(2, 4, 7, 8, 10), response.getErrors().stream().map(error -> error.getRow()).toList());
+            assertEquals("The employee has an overlapping shift on this date.", response.getErrors().get(0).getMessage());
+            assertEquals("The employee has an overlapping shift on this date.", response.getErrors().get(1).getMessage());
+            assertEquals("Employee does not exist.", response.getErrors().get(2).getMessage());
+            assertEquals("Invalid start/end times.", response.getErrors().get(3).getMessage());
+            assertEquals("Invalid date 1993-04-32.", response.getErrors().get(4).getMessage());
+            verify(employeeRepository, times(1)).findAllById(any());
+            verify(shiftRepository, times(1)).findShiftsByEmployeeEmailInAndDateBetween(any(), any(), any());
+            verify(shiftRepository, times(1)).saveAll(argThat(shifts -> ((Collection<Shift>) shifts).size() == 4));
+            verify(shiftIntervalIndex, times(4)).add(any());
+            verify(entityManager, times(1)).clear();
+      }
+
+      /**
+       * Tests the shifts of a week grouped by employee and day, from one range query
+       */
+      @Test
+      public void testGetShiftGrid() {
+            LocalDate monday = LocalDate.of(2031, 3, 3);
+            when(shiftRepository.findShiftIntervalsByDateRange(monday, monday.plusDays(6))).thenReturn(List.of(
+                        interval(1, "alice@hotel.com", monday, "08:00:00", "12:00:00"),
+                        interval(2, "alice@hotel.com", monday, "13:00:00", "17:00:00"),
+                        interval(3, "alice@hotel.com", monday.plusDays(6), "08:00:00", "16:00:00"),
+                        interval(4, "bob@hotel.com", monday.plusDays(2), "16:00:00", "23:00:00"),
+                        interval(5, null, monday.plusDays(2), "08:00:00", "16:00:00")));
+
+            ShiftGridDto grid = shiftService.getShiftGrid(monday, monday.plusDays(6), null);
+
+            assertEquals(monday, grid.getFrom());
+            assertEquals(3, grid.getEmployees().size());
+            ShiftGridRowDto alice = grid.getEmployees().get(0);
+            assertEquals("alice@hotel.com", alice.getEmployeeEmail());
+            assertEquals(7, alice.getDays().size());
+            assertEquals(2, alice.getDays().get(0).size());
+            assertEquals(2, alice.getDays().get(0).get(1).getShiftId());
+            assertEquals(Time.valueOf("13:00:00"), alice.getDays().get(0).get(1).getStartTime());
+            assertEquals(0, alice.getDays().get(1).size());
+            assertEquals(3, alice.getDays().get(6).get(0).getShiftId());
+            assertEquals(4, grid.getEmployees().get(1).getDays().get(2).get(0).getShiftId());
+            assertNull(grid.getEmployees().get(2).getEmployeeEmail());
+            verify(shiftRepository, never()).findShiftIntervalsByEmployeeAndDateRange(any(), any(), any());
+      }
+
+      /**
+       * Tests the shifts of one employee over a range, and an empty range
+       */
+      @Test
+      public void testGetShiftGridOfEmployee() {
+            LocalDate monday = LocalDate.of(2031, 3, 3);
+            when(shiftRepository.findShiftIntervalsByEmployeeAndDateRange("alice@hotel.com", monday, monday)).thenReturn(List.of());
+
+            ShiftGridDto grid = shiftService.getShiftGrid(monday, monday, "alice@hotel.com");
+
+            assertEquals(0, grid.getEmployees().size());
+            verify(shiftRepository, never()).findShiftIntervalsByDateRange(any(), any());
+      }
+
+      /**
+       * Tests a reversed range and a range that is too long
+       */
+      @Test
+      public void testGetShiftGridInvalidRange() {
+            LocalDate monday = LocalDate.of(2031, 3, 3);
+
+            HRSException reversed = assertThrows(HRSException.class, () -> shiftService.getShiftGrid(monday, monday.minusDays(1), null));
+            assertEquals(reversed.getStatus(), HttpStatus.BAD_REQUEST);
+            assertEquals(reversed.getMessage(), "The end date is before the start date.");
+            HRSException tooLong = assertThrows(HRSException.class, () -> shiftService.getShiftGrid(monday, monday.plusDays(ShiftService.MAX_GRID_DAYS), null));
+            assertEquals(tooLong.getStatus(), HttpStatus.BAD_REQUEST);
+            verify(shiftRepository, never()).findShiftIntervalsByDateRange(any(), any());
+      }
+
+      private static ShiftIntervalDto interval(int shiftId, String email, LocalDate date, String startTime, String endTime) {
+            return new ShiftIntervalDto(shiftId, email, date, Time.valueOf(startTime), Time.valueOf(endTime));
+      }
 }
@@ -6,23 +6,37 @@ import ca.mcgill.ecse321.hotelsystem.Model.SpecificRoom;
 import ca.mcgill.ecse321.hotelsystem.Model.ViewType;
 import ca.mcgill.ecse321.hotelsystem.exception.HRSException;
 import ca.mcgill.ecse321.hotelsystem.repository.SpecificRoomRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 @SpringBootTest
 public class SpecificRoomServiceTests {
     @Mock
     private SpecificRoomRepository specificRoomRepository;
 
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private RoomCatalogCache roomCatalogCache = new RoomCatalogCache(100);
+
     @InjectMocks
     private SpecificRoomService specificRoomService;
 
@@ -57,7 +71,42 @@ public class SpecificRoomServiceTests {
         SpecificRoom specificRoom = new SpecificRoom(101, ViewType.Forest, "Messi's room", Boolean.TRUE, room);
         when(specificRoomRepository.findSpecificRoomByNumber(101)).thenReturn(specificRoom);
         SpecificRoom result = specificRoomService.findSpecificRoomByNumber(101);
-        assertEquals(specificRoom, result);
+        assertNotSame(specificRoom, result);
+        assertEquals(101, result.getNumber());
+        assertEquals(ViewType.Forest, result.getView());
+        assertEquals("Messi's room", result.getDescription());
+        assertEquals("Suite", result.getRoom().getType());
+    }
+
+    @Test
+    public void testFindSpecificRoomByNumberIsCached(){
+        Room room = new Room("Suite", 999, BedType.King, 4);
+        SpecificRoom specificRoom = new SpecificRoom(101, ViewType.Forest, "Messi's room", Boolean.TRUE, room);
+        when(specificRoomRepository.findSpecificRoomByNumber(101)).thenReturn(specificRoom);
+
+        specificRoomService.findSpecificRoomByNumber(101);
+        SpecificRoom result = specificRoomService.findSpecificRoomByNumber(101);
+
+        assertNotSame(specificRoom, result);
+        assertEquals(101, result.getNumber());
+        verify(specificRoomRepository, times(1)).findSpecificRoomByNumber(101);
+        assertEquals(1, roomCatalogCache.getSpecificRooms().getHits());
+    }
+
+    @Test
+    public void testUpdateSpecificRoomEvictsCachedRoom(){
+        Room room = new Room("Luxury", 999, BedType.King, 4);
+        SpecificRoom cached = new SpecificRoom(101, ViewType.Forest, "Messi's room", Boolean.TRUE, room);
+        SpecificRoom stored = new SpecificRoom(101, ViewType.Forest, "Messi's room", Boolean.TRUE, room);
+        when(specificRoomRepository.findSpecificRoomByNumber(101)).thenReturn(cached, stored, stored);
+        when(specificRoomRepository.save(stored)).thenReturn(stored);
+        specificRoomService.findSpecificRoomByNumber(101);
+
+        specificRoomService.updateSpecificRoom(new SpecificRoom(101, ViewType.Mountain, "Haaland's room", Boolean.TRUE, room));
+
+        //the cached instance is never modified, the next lookup reads the updated row
+        assertEquals("Messi's room", cached.getDescription());
+        assertEquals("Haaland's room", specificRoomService.findSpecificRoomByNumber(101).getDescription());
     }
 
     @Test
@@ -276,4 +325,113 @@ public class SpecificRoomServiceTests {
         assertEquals(e.getStatus(), HttpStatus.NOT_FOUND);
         assertEquals(e.getMessage(), "There is no specific room in the system with number "+ specificRoom.getNumber() + ".");;
     }
+
+    @Test
+    public void testGetAvailableSpecificRoomByType(){
+        Room room = new Room("Suite", 999, BedType.King, 4);
+        SpecificRoom specificRoom1 = new SpecificRoom(101, ViewType.Forest, "Messi's room", Boolean.TRUE, room);
+        SpecificRoom specificRoom2 = new SpecificRoom(102, ViewType.Forest, "Haaland's room", Boolean.TRUE, room);
+        List<SpecificRoom> specificRooms = new ArrayList<>();
+        specificRooms.add(specificRoom1);
+        specificRooms.add(specificRoom2);
+        LocalDate checkIn = LocalDate.of(2023, 12, 1);
+        LocalDate checkOut = LocalDate.of(2023, 12, 5);
+        when(specificRoomRepository.findSpecificRoomsByRoom_Type("Suite")).thenReturn(specificRooms);
+        when(roomAvailabilityIndex.isLoaded()).thenReturn(true);
+        when(roomAvailabilityIndex.isAvailable(101, checkIn, checkOut)).thenReturn(false);
+        when(roomAvailabilityIndex.isAvailable(102, checkIn, checkOut)).thenReturn(true);
+        List<SpecificRoom> result = specificRoomService.getAvailableSpecificRoomByType(checkIn, checkOut, "Suite");
+        assertEquals(1, result.size());
+        assertEquals(specificRoom2, result.get(0));
+    }
+
+    @Test
+    public void testGetAvailableSpecificRoomByTypeBeforeIndexIsLoaded(){
+        Room room = new Room("Suite", 999, BedType.King, 4);
+        SpecificRoom specificRoom = new SpecificRoom(101, ViewType.Forest, "Messi's room", Boolean.TRUE, room);
+        List<SpecificRoom> specificRooms = new ArrayList<>();
+        specificRooms.add(specificRoom);
+        LocalDate checkIn = LocalDate.of(2023, 12, 1);
+        LocalDate checkOut = LocalDate.of(2023, 12, 5);
+        when(roomAvailabilityIndex.isLoaded()).thenReturn(false);
+        when(specificRoomRepository.findAvailableSpecificRoomsByType("Suite", checkIn, checkOut)).thenReturn(specificRooms);
+        List<SpecificRoom> result = specificRoomService.getAvailableSpecificRoomByType(checkIn, checkOut, "Suite");
+        assertEquals(1, result.size());
+        assertEquals(specificRoom, result.get(0));
+    }
+
+    @Test
+    public void testGetAvailableSpecificRoomsGroupedByType(){
+        Room suite = new Room("Suite", 999, BedType.King, 4);
+        Room regular = new Room("Regular", 300, BedType.Queen, 2);
+        SpecificRoom specificRoom1 = new SpecificRoom(101, ViewType.Forest, "Messi's room", Boolean.TRUE, suite);
+        SpecificRoom specificRoom2 = new SpecificRoom(102, ViewType.Forest, "Haaland's room", Boolean.TRUE, regular);
+        SpecificRoom specificRoom3 = new SpecificRoom(103, ViewType.Forest, "Ronaldo's room", Boolean.TRUE, regular);
+        List<SpecificRoom> specificRooms = new ArrayList<>();
+        specificRooms.add(specificRoom1);
+        specificRooms.add(specificRoom2);
+        specificRooms.add(specificRoom3);
+        LocalDate checkIn = LocalDate.of(2023, 12, 1);
+        LocalDate checkOut = LocalDate.of(2023, 12, 5);
+        when(specificRoomRepository.findAll()).thenReturn(specificRooms);
+        when(roomAvailabilityIndex.isLoaded()).thenReturn(true);
+        when(roomAvailabilityIndex.isAvailable(101, checkIn, checkOut)).thenReturn(false);
+        when(roomAvailabilityIndex.isAvailable(102, checkIn, checkOut)).thenReturn(true);
+        when(roomAvailabilityIndex.isAvailable(103, checkIn, checkOut)).thenReturn(true);
+        Map<String, List<SpecificRoom>> result = specificRoomService.getAvailableSpecificRoomsGroupedByType(checkIn, checkOut);
+        assertEquals(1, result.size());
+        assertEquals(2, result.get("Regular").size());
+        assertNull(result.get("Suite"));
+        verify(specificRoomRepository, never()).findSpecificRoomsByRoom_Type(anyString());
+    }
+
+    @Test
+    public void testGetAvailableSpecificRoomsGroupedByTypeInvalidDates(){
+        HRSException e = assertThrows(HRSException.class, () -> specificRoomService.getAvailableSpecificRoomsGroupedByType(LocalDate.of(2023, 12, 5), LocalDate.of(2023, 12, 1)));
+        assertEquals(e.getStatus(), HttpStatus.BAD_REQUEST);
+        assertEquals(e.getMessage(), "Check-out date must not be before check-in date.");
+    }
+
+    @Test
+    public void testGetSpecificRoomCalendar(){
+        SpecificRoom specificRoom = new SpecificRoom(101, ViewType.Forest, "Messi's room", Boolean.TRUE, null);
+        OccupancyCalendar calendar = new OccupancyCalendar(OccupancyCalendar.alignedStart(LocalDate.now().toEpochDay()));
+        when(specificRoomRepository.findSpecificRoomByNumber(101)).thenReturn(specificRoom);
+        when(roomAvailabilityIndex.isLoaded()).thenReturn(true);
+        when(roomAvailabilityIndex.getCalendar()).thenReturn(calendar);
+        assertEquals(calendar, specificRoomService.getSpecificRoomCalendar(101));
+    }
+
+    @Test
+    public void testGetSpecificRoomCalendarBeforeIndexIsLoaded(){
+        SpecificRoom specificRoom = new SpecificRoom(101, ViewType.Forest, "Messi's room", Boolean.TRUE, null);
+        when(specificRoomRepository.findSpecificRoomByNumber(101)).thenReturn(specificRoom);
+        when(roomAvailabilityIndex.isLoaded()).thenReturn(false);
+        HRSException e = assertThrows(HRSException.class, () -> specificRoomService.getSpecificRoomCalendar(101));
+        assertEquals(e.getStatus(), HttpStatus.SERVICE_UNAVAILABLE);
+        assertEquals(e.getMessage(), "The occupancy calendar is not ready yet.");
+    }
+
+    @Test
+    public void testCreateSpecificRooms(){
+        Room room = new Room("Suite", 999, BedType.King, 4);
+        List<SpecificRoom> specificRooms = new ArrayList<>();
+        specificRooms.add(new SpecificRoom(101, ViewType.Forest, "Messi's room", Boolean.TRUE, room));
+        specificRooms.add(new SpecificRoom(102, ViewType.Forest, "Haaland's room", Boolean.TRUE, room));
+        List<SpecificRoom> result = specificRoomService.createSpecificRooms(specificRooms);
+        assertEquals(2, result.size());
+        verify(entityManager, times(2)).persist(any(SpecificRoom.class));
+        verify(specificRoomRepository, never()).saveAll(anyIterable());
+    }
+
+    @Test
+    public void testCreateSpecificRoomsInvalidNumber(){
+        List<SpecificRoom> specificRooms = new ArrayList<>();
+        specificRooms.add(new SpecificRoom(101, ViewType.Forest, "Messi's room", Boolean.TRUE, null));
+        specificRooms.add(new SpecificRoom(-1, ViewType.Forest, "Haaland's room", Boolean.TRUE, null));
+        HRSException e = assertThrows(HRSException.class, () -> specificRoomService.createSpecificRooms(specificRooms));
+        assertEquals(e.getStatus(), HttpStatus.BAD_REQUEST);
+        assertEquals(e.getMessage(), "Invalid number.");
+        verify(entityManager, never()).persist(any());
+    }
 }